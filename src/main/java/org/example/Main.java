@@ -1,9 +1,55 @@
 package org.example;
 
+import org.example.model.demoType;
+import org.example.service.AdmissionBenchmark;
+import org.example.service.ImportBenchmark;
 import org.example.service.JiraSystem;
+import org.example.service.StartupBenchmark;
+import org.example.service.StatusUpdateBenchmark;
+
+import java.nio.file.Path;
+import java.util.Arrays;
 
 public class Main {
     public static void main(String[] args) {
-        new JiraSystem().runType();
+        Path image = null;
+        demoType demo = null;
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--image" -> image = Path.of(argument(args, ++i, "--image"));
+                case "--demo" -> demo = demoType.valueOf(argument(args, ++i, "--demo").toUpperCase());
+                case "--startup-benchmark" -> {
+                    StartupBenchmark.main(Arrays.copyOfRange(args, i + 1, args.length));
+                    return;
+                }
+                case "--import-benchmark" -> {
+                    ImportBenchmark.main(Arrays.copyOfRange(args, i + 1, args.length));
+                    return;
+                }
+                case "--status-benchmark" -> {
+                    StatusUpdateBenchmark.main(Arrays.copyOfRange(args, i + 1, args.length));
+                    return;
+                }
+                case "--admission-benchmark" -> {
+                    AdmissionBenchmark.main(Arrays.copyOfRange(args, i + 1, args.length));
+                    return;
+                }
+                default -> throw new IllegalArgumentException("Unknown argument: " + args[i]);
+            }
+        }
+
+        JiraSystem system = image == null ? new JiraSystem() : new JiraSystem(image);
+        if (demo == null) {
+            system.runType();
+        } else {
+            system.runType(demo);
+        }
+    }
+
+    private static String argument(String[] args, int index, String option) {
+        if (index >= args.length) {
+            throw new IllegalArgumentException("Missing value for " + option);
+        }
+        return args[index];
     }
 }
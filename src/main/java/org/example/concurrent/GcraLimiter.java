@@ -0,0 +1,79 @@
+package org.example.concurrent;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class GcraLimiter<K> {
+    private static final int SWEEP_INTERVAL = 1 << 16;
+    private static final long UNSET = Long.MIN_VALUE;
+    private static final long RETIRED = Long.MIN_VALUE + 1;
+
+    private final long emissionIntervalNanos;
+    private final long toleranceNanos;
+    private final Map<K, AtomicLong> arrivals;
+    private final AtomicBoolean sweeping = new AtomicBoolean();
+
+    public GcraLimiter(double ratePerSecond, int burst, int expectedKeys) {
+        if (ratePerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("Rate must be positive and burst at least 1");
+        }
+        this.emissionIntervalNanos = Math.max(1, (long) (1_000_000_000L / ratePerSecond));
+        this.toleranceNanos = emissionIntervalNanos * (burst - 1);
+        this.arrivals = new ConcurrentHashMap<>(expectedKeys);
+    }
+
+    public boolean tryAcquire(K key, long nowNanos) {
+        if (ThreadLocalRandom.current().nextInt(SWEEP_INTERVAL) == 0) {
+            sweep(nowNanos);
+        }
+
+        AtomicLong arrival = arrivals.get(key);
+        while (true) {
+            if (arrival == null) {
+                arrival = arrivals.computeIfAbsent(key, k -> new AtomicLong(UNSET));
+            }
+            long theoretical = arrival.get();
+            if (theoretical == RETIRED) {
+                // Swept after this thread looked it up; an update here would be lost, so move to the key's next entry.
+                arrivals.remove(key, arrival);
+                arrival = null;
+                continue;
+            }
+            // nanoTime may wrap, so instants are only ever compared by their difference.
+            long start = theoretical == UNSET || theoretical - nowNanos < 0 ? nowNanos : theoretical;
+            if (start - nowNanos > toleranceNanos) {
+                return false;
+            }
+            if (arrival.compareAndSet(theoretical, start + emissionIntervalNanos)) {
+                return true;
+            }
+        }
+    }
+
+    public int getTrackedKeyCount() {
+        return arrivals.size();
+    }
+
+    private void sweep(long nowNanos) {
+        // A key whose theoretical arrival time has passed is indistinguishable from a new key, so it can be dropped.
+        if (sweeping.compareAndSet(false, true)) {
+            try {
+                for (Map.Entry<K, AtomicLong> entry : arrivals.entrySet()) {
+                    AtomicLong arrival = entry.getValue();
+                    long theoretical = arrival.get();
+                    // Retiring re-checks the value, so an acquire racing the sweep either lands first and keeps the
+                    // key, or sees the retirement and starts over on a fresh entry.
+                    if (theoretical != RETIRED && (theoretical == UNSET || theoretical - nowNanos < 0)
+                            && arrival.compareAndSet(theoretical, RETIRED)) {
+                        arrivals.remove(entry.getKey(), arrival);
+                    }
+                }
+            } finally {
+                sweeping.set(false);
+            }
+        }
+    }
+}
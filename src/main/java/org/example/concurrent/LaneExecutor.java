@@ -0,0 +1,242 @@
+package org.example.concurrent;
+
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+public class LaneExecutor {
+    private static final int DRAIN_BATCH = 64;
+
+    private final Executor executor;
+    private final Lane[] lanes;
+    private final Object crossLaneLock = new Object();
+
+    public LaneExecutor(int laneCount, Executor executor) {
+        if (laneCount < 1) {
+            throw new IllegalArgumentException("Lane count must be positive: " + laneCount);
+        }
+        this.executor = executor;
+        this.lanes = new Lane[laneCount];
+        for (int i = 0; i < laneCount; i++) {
+            lanes[i] = new Lane();
+        }
+    }
+
+    public int getLaneCount() {
+        return lanes.length;
+    }
+
+    public int laneOf(long key) {
+        long mixed = key * 0x9E3779B97F4A7C15L;
+        return (int) Math.floorMod(mixed ^ (mixed >>> 32), (long) lanes.length);
+    }
+
+    public <T> CompletableFuture<T> submit(long key, Supplier<T> task) {
+        LaneTask<T> laneTask = new LaneTask<>(task);
+        try {
+            lanes[laneOf(key)].enqueue(laneTask);
+        } catch (RejectedExecutionException e) {
+            laneTask.result.completeExceptionally(e);
+        }
+        return laneTask.result;
+    }
+
+    public CompletableFuture<Void> execute(long key, Runnable task) {
+        return submit(key, () -> {
+            task.run();
+            return null;
+        });
+    }
+
+    public <T> CompletableFuture<T> submitAcross(long[] keys, Supplier<T> task) {
+        int[] laneIndexes = Arrays.stream(keys).mapToInt(this::laneOf).distinct().sorted().toArray();
+        if (laneIndexes.length == 0) {
+            throw new IllegalArgumentException("At least one key is required");
+        }
+        if (laneIndexes.length == 1) {
+            return submit(keys[0], task);
+        }
+
+        CrossLaneTask<T> crossLaneTask = new CrossLaneTask<>(laneIndexes.length, task);
+        // Gates for one task are enqueued atomically with respect to other cross-lane tasks, so every pair of
+        // multi-lane tasks meets in the same order on all lanes they share and no wait cycle can form.
+        synchronized (crossLaneLock) {
+            for (int laneIndex : laneIndexes) {
+                try {
+                    lanes[laneIndex].enqueue(crossLaneTask.gate);
+                } catch (RejectedExecutionException e) {
+                    crossLaneTask.result.completeExceptionally(e);
+                    // The gate was queued before scheduling failed. Only a gate taken back out counts as arrived here;
+                    // one that a drain already polled arrives through that lane instead, so pending never goes negative.
+                    if (lanes[laneIndex].tasks.remove(crossLaneTask.gate)) {
+                        crossLaneTask.arrive(null);
+                    }
+                }
+            }
+        }
+        return crossLaneTask.result;
+    }
+
+    public int getQueuedTaskCount() {
+        int queued = 0;
+        for (Lane lane : lanes) {
+            queued += lane.tasks.size();
+        }
+        return queued;
+    }
+
+    private final class Lane {
+        private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        void enqueue(Runnable task) {
+            tasks.add(task);
+            schedule();
+        }
+
+        private void schedule() {
+            if (scheduled.compareAndSet(false, true)) {
+                try {
+                    executor.execute(this::drain);
+                } catch (RejectedExecutionException e) {
+                    scheduled.set(false);
+                    throw e;
+                }
+            }
+        }
+
+        private void drain() {
+            // Bounded batches keep one busy lane from monopolising a shared executor thread.
+            for (int i = 0; i < DRAIN_BATCH; i++) {
+                Runnable task = tasks.poll();
+                if (task == null) {
+                    break;
+                }
+                if (task instanceof Gate gate) {
+                    // The lane stays marked as scheduled while parked, so nothing else drains it until resumed.
+                    gate.owner.arrive(this);
+                    return;
+                }
+                task.run();
+            }
+            scheduled.set(false);
+            if (!tasks.isEmpty()) {
+                try {
+                    schedule();
+                } catch (RejectedExecutionException e) {
+                    abandon(e);
+                }
+            }
+        }
+
+        private void resume() {
+            try {
+                executor.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                abandon(e);
+            }
+        }
+
+        private void abandon(RejectedExecutionException rejection) {
+            // No drain is coming for what is already queued, so fail it the way submit fails a rejected task instead
+            // of leaving its futures pending until some later submit happens to reschedule the lane.
+            while (true) {
+                Runnable task;
+                while ((task = tasks.poll()) != null) {
+                    if (task instanceof Gate gate) {
+                        gate.owner.result.completeExceptionally(rejection);
+                        gate.owner.arrive(null);
+                    } else if (task instanceof LaneTask<?> laneTask) {
+                        laneTask.result.completeExceptionally(rejection);
+                    }
+                }
+                scheduled.set(false);
+                // A task enqueued while the lane still looked scheduled did not try to schedule it, so retry for it.
+                if (tasks.isEmpty() || !scheduled.compareAndSet(false, true)) {
+                    return;
+                }
+                try {
+                    executor.execute(this::drain);
+                    return;
+                } catch (RejectedExecutionException e) {
+                    rejection = e;
+                }
+            }
+        }
+    }
+
+    private static final class LaneTask<T> implements Runnable {
+        private final Supplier<T> task;
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+
+        LaneTask(Supplier<T> task) {
+            this.task = task;
+        }
+
+        @Override
+        public void run() {
+            if (result.isDone()) {
+                return;
+            }
+            try {
+                result.complete(task.get());
+            } catch (Throwable t) {
+                result.completeExceptionally(t);
+            }
+        }
+    }
+
+    private final class Gate implements Runnable {
+        private final CrossLaneTask<?> owner;
+
+        Gate(CrossLaneTask<?> owner) {
+            this.owner = owner;
+        }
+
+        @Override
+        public void run() {
+            throw new IllegalStateException("Cross-lane gates are handled by the lane drain loop");
+        }
+    }
+
+    private final class CrossLaneTask<T> {
+        private final Supplier<T> task;
+        private final AtomicInteger pending;
+        private final Queue<Lane> parked = new ConcurrentLinkedQueue<>();
+        private final Gate gate = new Gate(this);
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+
+        CrossLaneTask(int laneCount, Supplier<T> task) {
+            this.task = task;
+            this.pending = new AtomicInteger(laneCount);
+        }
+
+        void arrive(Lane arrivedFrom) {
+            if (arrivedFrom != null) {
+                parked.add(arrivedFrom);
+            }
+            if (pending.decrementAndGet() > 0) {
+                return;
+            }
+
+            // Every participating lane is parked on this task's gate, so the task runs with exclusive access to all of them.
+            if (!result.isDone()) {
+                try {
+                    result.complete(task.get());
+                } catch (Throwable t) {
+                    result.completeExceptionally(t);
+                }
+            }
+            Lane lane;
+            while ((lane = parked.poll()) != null) {
+                lane.resume();
+            }
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package org.example.concurrent;
+
+import java.util.Iterator;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+public class ListPublisher<T> implements Flow.Publisher<T> {
+    private final Supplier<? extends Iterable<T>> source;
+    private final Executor executor;
+
+    public ListPublisher(Supplier<? extends Iterable<T>> source, Executor executor) {
+        this.source = source;
+        this.executor = executor;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super T> subscriber) {
+        IteratorSubscription subscription = new IteratorSubscription(subscriber);
+        subscriber.onSubscribe(subscription);
+    }
+
+    private final class IteratorSubscription implements Flow.Subscription {
+        private final Flow.Subscriber<? super T> subscriber;
+        private final AtomicLong demand = new AtomicLong();
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean cancelled;
+        private volatile Throwable failure;
+        private Iterator<T> iterator;
+
+        IteratorSubscription(Flow.Subscriber<? super T> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+            if (cancelled) {
+                return;
+            }
+            if (n <= 0) {
+                // Signalled from the drain so it cannot overlap an onNext already in flight on another thread.
+                if (failure == null) {
+                    failure = new IllegalArgumentException("Demand must be positive: " + n);
+                }
+            } else {
+                demand.getAndAccumulate(n, (current, added) -> current + added < 0 ? Long.MAX_VALUE : current + added);
+            }
+            if (draining.compareAndSet(false, true)) {
+                try {
+                    executor.execute(this::drain);
+                } catch (RuntimeException e) {
+                    cancelled = true;
+                    draining.set(false);
+                    subscriber.onError(e);
+                }
+            }
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+        }
+
+        private void drain() {
+            try {
+                while (true) {
+                    if (cancelled) {
+                        return;
+                    }
+                    Throwable pending = failure;
+                    if (pending != null) {
+                        cancelled = true;
+                        subscriber.onError(pending);
+                        return;
+                    }
+                    if (iterator == null) {
+                        iterator = source.get().iterator();
+                    }
+                    if (!iterator.hasNext()) {
+                        cancelled = true;
+                        subscriber.onComplete();
+                        return;
+                    }
+                    if (demand.get() == 0) {
+                        draining.set(false);
+                        // Re-check after releasing so a concurrent request() cannot be lost.
+                        if ((demand.get() == 0 && failure == null) || !draining.compareAndSet(false, true)) {
+                            return;
+                        }
+                        continue;
+                    }
+                    subscriber.onNext(iterator.next());
+                    demand.decrementAndGet();
+                }
+            } catch (RuntimeException e) {
+                cancelled = true;
+                subscriber.onError(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,273 @@
+package org.example.io;
+
+import org.example.model.MutationEvent;
+import org.example.model.MutationKind;
+import org.example.model.Sprint;
+import org.example.model.SubTask;
+import org.example.model.Ticket;
+import org.example.model.TicketStatus;
+import org.example.model.TicketType;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+public final class BinaryCodec {
+    private static final MutationKind[] KINDS = MutationKind.values();
+    private static final TicketType[] TYPES = TicketType.values();
+    private static final TicketStatus[] STATUSES = TicketStatus.values();
+
+    private BinaryCodec() {
+    }
+
+    public static void writeTicket(DataOutput out, Ticket ticket) throws IOException {
+        out.writeLong(ticket.getId());
+        writeString(out, ticket.getTitle());
+        writeString(out, ticket.getDescription());
+        writeEnum(out, ticket.getType());
+        writeEnum(out, ticket.getStatus());
+        writeString(out, ticket.getAssignee());
+        out.writeInt(ticket.getStoryPoints());
+        writeNullableLong(out, ticket.getEpicId());
+        writeDateTime(out, ticket.getCreatedAt());
+        writeDateTime(out, ticket.getUpdatedAt());
+        List<String> comments = ticket.getComments();
+        out.writeInt(comments.size());
+        for (String comment : comments) {
+            writeString(out, comment);
+        }
+        for (TicketStatus status : STATUSES) {
+            out.writeLong(ticket.getStatusEnteredAtMillis(status));
+        }
+        out.writeLong(ticket.getFirstStartedAtMillis());
+    }
+
+    public static Ticket readTicket(DataInput in) throws IOException {
+        long id = in.readLong();
+        String title = readString(in);
+        String description = readString(in);
+        TicketType type = TYPES[in.readByte()];
+        TicketStatus status = STATUSES[in.readByte()];
+        String assignee = readString(in);
+        int storyPoints = in.readInt();
+        Long epicId = readNullableLong(in);
+        LocalDateTime createdAt = readDateTime(in);
+        LocalDateTime updatedAt = readDateTime(in);
+        int commentCount = in.readInt();
+        List<String> comments = new ArrayList<>(commentCount);
+        for (int i = 0; i < commentCount; i++) {
+            comments.add(readString(in));
+        }
+
+        Ticket ticket = new Ticket(id, title, description, type, assignee, createdAt);
+        ticket.setStatus(status);
+        ticket.setStoryPoints(storyPoints);
+        ticket.setEpicId(epicId);
+        ticket.setUpdatedAt(updatedAt);
+        ticket.setComments(comments);
+        for (TicketStatus entered : STATUSES) {
+            ticket.markStatusEntered(entered, in.readLong());
+        }
+        ticket.setFirstStartedAtMillis(in.readLong());
+        return ticket;
+    }
+
+    public static void writeSubTask(DataOutput out, SubTask subTask) throws IOException {
+        out.writeLong(subTask.getId());
+        out.writeLong(subTask.getParentTicketId());
+        writeString(out, subTask.getTitle());
+        writeString(out, subTask.getDescription());
+        writeEnum(out, subTask.getStatus());
+        writeString(out, subTask.getAssignee());
+        writeDateTime(out, subTask.getCreatedAt());
+        writeDateTime(out, subTask.getUpdatedAt());
+        out.writeLong(subTask.getVersion());
+        for (TicketStatus status : STATUSES) {
+            out.writeLong(subTask.getStatusEnteredAtMillis(status));
+        }
+    }
+
+    public static SubTask readSubTask(DataInput in) throws IOException {
+        long id = in.readLong();
+        long parentTicketId = in.readLong();
+        String title = readString(in);
+        String description = readString(in);
+        TicketStatus status = STATUSES[in.readByte()];
+        String assignee = readString(in);
+        LocalDateTime createdAt = readDateTime(in);
+        LocalDateTime updatedAt = readDateTime(in);
+        long version = in.readLong();
+
+        SubTask subTask = new SubTask(id, parentTicketId, title, description, assignee, createdAt);
+        subTask.setStatus(status);
+        subTask.setUpdatedAt(updatedAt);
+        subTask.setVersion(version);
+        for (TicketStatus entered : STATUSES) {
+            subTask.markStatusEntered(entered, in.readLong());
+        }
+        return subTask;
+    }
+
+    public static void writeSprint(DataOutput out, Sprint sprint) throws IOException {
+        out.writeLong(sprint.getId());
+        writeString(out, sprint.getName());
+        writeString(out, sprint.getDescription());
+        writeDateTime(out, sprint.getStartDate());
+        writeDateTime(out, sprint.getEndDate());
+        writeDateTime(out, sprint.getCreatedAt());
+        writeDateTime(out, sprint.getUpdatedAt());
+        out.writeBoolean(sprint.isActive());
+        List<Long> storyIds = sprint.getStoryIds();
+        out.writeInt(storyIds.size());
+        for (Long storyId : storyIds) {
+            out.writeLong(storyId);
+        }
+        Map<String, Integer> capacity = sprint.getAssigneeCapacity();
+        out.writeInt(capacity.size());
+        for (Map.Entry<String, Integer> entry : capacity.entrySet()) {
+            writeString(out, entry.getKey());
+            out.writeInt(entry.getValue());
+        }
+    }
+
+    public static Sprint readSprint(DataInput in) throws IOException {
+        long id = in.readLong();
+        String name = readString(in);
+        String description = readString(in);
+        LocalDateTime startDate = readDateTime(in);
+        LocalDateTime endDate = readDateTime(in);
+        LocalDateTime createdAt = readDateTime(in);
+        LocalDateTime updatedAt = readDateTime(in);
+        boolean active = in.readBoolean();
+
+        Sprint sprint = new Sprint(id, name, description, startDate, endDate, createdAt);
+        sprint.setActive(active);
+        int storyCount = in.readInt();
+        for (int i = 0; i < storyCount; i++) {
+            sprint.getStoryIds().add(in.readLong());
+        }
+        int capacityCount = in.readInt();
+        for (int i = 0; i < capacityCount; i++) {
+            sprint.getAssigneeCapacity().put(readString(in), in.readInt());
+        }
+        sprint.setUpdatedAt(updatedAt);
+        return sprint;
+    }
+
+    public static void writeEvent(DataOutput out, MutationEvent event) throws IOException {
+        out.writeLong(event.sequence());
+        out.writeLong(event.timestampMillis());
+        writeEnum(out, event.kind());
+        writeEnum(out, event.ticketType());
+        writeNullableLong(out, event.ticketId());
+        writeNullableLong(out, event.linkedTicketId());
+        writeNullableLong(out, event.subTaskId());
+        writeNullableLong(out, event.sprintId());
+        writeNullableLong(out, event.targetSprintId());
+        writeNullableLongs(out, event.storyIds());
+        writeEnum(out, event.previousStatus());
+        writeEnum(out, event.newStatus());
+        out.writeInt(event.storyPoints());
+        writeString(out, event.value());
+    }
+
+    public static MutationEvent readEvent(DataInput in) throws IOException {
+        long sequence = in.readLong();
+        long timestamp = in.readLong();
+        MutationKind kind = KINDS[in.readByte()];
+        int type = in.readByte();
+        Long ticketId = readNullableLong(in);
+        Long linkedTicketId = readNullableLong(in);
+        Long subTaskId = readNullableLong(in);
+        Long sprintId = readNullableLong(in);
+        Long targetSprintId = readNullableLong(in);
+        List<Long> storyIds = readNullableLongs(in);
+        int previousStatus = in.readByte();
+        int newStatus = in.readByte();
+        int storyPoints = in.readInt();
+        String value = readString(in);
+        return new MutationEvent(sequence, timestamp, kind,
+                type < 0 ? null : TYPES[type],
+                ticketId, linkedTicketId, subTaskId, sprintId, targetSprintId, storyIds,
+                previousStatus < 0 ? null : STATUSES[previousStatus],
+                newStatus < 0 ? null : STATUSES[newStatus],
+                storyPoints, value, null);
+    }
+
+    public static void writeString(DataOutput out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    public static String readString(DataInput in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeEnum(DataOutput out, Enum<?> value) throws IOException {
+        out.writeByte(value == null ? -1 : value.ordinal());
+    }
+
+    private static void writeNullableLong(DataOutput out, Long value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeLong(value);
+        }
+    }
+
+    private static Long readNullableLong(DataInput in) throws IOException {
+        return in.readBoolean() ? in.readLong() : null;
+    }
+
+    private static void writeNullableLongs(DataOutput out, List<Long> values) throws IOException {
+        out.writeInt(values == null ? -1 : values.size());
+        if (values != null) {
+            for (Long value : values) {
+                out.writeLong(value);
+            }
+        }
+    }
+
+    private static List<Long> readNullableLongs(DataInput in) throws IOException {
+        int count = in.readInt();
+        if (count < 0) {
+            return null;
+        }
+        List<Long> values = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            values.add(in.readLong());
+        }
+        return List.copyOf(values);
+    }
+
+    private static void writeDateTime(DataOutput out, LocalDateTime value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeLong(value.toEpochSecond(ZoneOffset.UTC));
+            out.writeInt(value.getNano());
+        }
+    }
+
+    private static LocalDateTime readDateTime(DataInput in) throws IOException {
+        if (!in.readBoolean()) {
+            return null;
+        }
+        return LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(), ZoneOffset.UTC);
+    }
+}
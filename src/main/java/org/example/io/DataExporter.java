@@ -0,0 +1,133 @@
+package org.example.io;
+
+import org.example.model.Sprint;
+import org.example.model.TransferReport;
+import org.example.service.SprintService;
+import org.example.service.SubTaskService;
+import org.example.service.TicketService;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+public class DataExporter {
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final TicketService ticketService;
+    private final SubTaskService subTaskService;
+    private final SprintService sprintService;
+
+    public DataExporter(TicketService ticketService, SubTaskService subTaskService, SprintService sprintService) {
+        this.ticketService = ticketService;
+        this.subTaskService = subTaskService;
+        this.sprintService = sprintService;
+    }
+
+    public TransferReport exportNdjson(OutputStream out) throws IOException {
+        long start = System.currentTimeMillis();
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        StringBuilder line = new StringBuilder(512);
+        long[] counts = new long[3];
+        try {
+            ticketService.forEachTicket(ticket -> {
+                if (!ticketService.isTombstoned(ticket.getId())) {
+                    line.setLength(0);
+                    NdjsonCodec.appendTicket(line, ticket);
+                    writeLine(writer, line);
+                    counts[0]++;
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        try {
+            subTaskService.forEachSubTask(subTask -> {
+                line.setLength(0);
+                NdjsonCodec.appendSubTask(line, subTask);
+                writeLine(writer, line);
+                counts[1]++;
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        for (Sprint sprint : sprintService.getAllSprints()) {
+            line.setLength(0);
+            NdjsonCodec.appendSprint(line, sprint);
+            writer.append(line).append('\n');
+            counts[2]++;
+        }
+        writer.flush();
+        return new TransferReport(counts[0], counts[1], counts[2], 0, List.of(), System.currentTimeMillis() - start);
+    }
+
+    public TransferReport exportBinary(OutputStream out) throws IOException {
+        long start = System.currentTimeMillis();
+        DataOutputStream data = new DataOutputStream(new BufferedOutputStream(out, BUFFER_SIZE));
+        ByteArrayOutputStream record = new ByteArrayOutputStream(512);
+        DataOutputStream recordData = new DataOutputStream(record);
+        long[] counts = new long[3];
+        data.writeInt(TransferFormat.MAGIC);
+        data.writeInt(TransferFormat.VERSION);
+        try {
+            ticketService.forEachTicket(ticket -> {
+                if (!ticketService.isTombstoned(ticket.getId())) {
+                    try {
+                        record.reset();
+                        BinaryCodec.writeTicket(recordData, ticket);
+                        writeFrame(data, TransferFormat.TICKET, record);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    counts[0]++;
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        try {
+            subTaskService.forEachSubTask(subTask -> {
+                try {
+                    record.reset();
+                    BinaryCodec.writeSubTask(recordData, subTask);
+                    writeFrame(data, TransferFormat.SUBTASK, record);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                counts[1]++;
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        for (Sprint sprint : sprintService.getAllSprints()) {
+            record.reset();
+            BinaryCodec.writeSprint(recordData, sprint);
+            writeFrame(data, TransferFormat.SPRINT, record);
+            counts[2]++;
+        }
+        data.writeByte(TransferFormat.END);
+        data.flush();
+        return new TransferReport(counts[0], counts[1], counts[2], 0, List.of(), System.currentTimeMillis() - start);
+    }
+
+    private static void writeLine(Writer writer, CharSequence line) {
+        try {
+            writer.append(line).append('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeFrame(DataOutputStream data, byte kind, ByteArrayOutputStream record) throws IOException {
+        data.writeByte(kind);
+        data.writeInt(record.size());
+        record.writeTo(data);
+    }
+}
@@ -0,0 +1,310 @@
+package org.example.io;
+
+import org.example.model.Sprint;
+import org.example.model.SubTask;
+import org.example.model.Ticket;
+import org.example.model.TransferReport;
+import org.example.service.SprintService;
+import org.example.service.SubTaskService;
+import org.example.service.TicketService;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+public class DataImporter {
+    public static final int DEFAULT_BATCH_SIZE = 1024;
+    public static final int DEFAULT_PROGRESS_INTERVAL = 100_000;
+
+    private static final int MAX_REPORTED_ERRORS = 100;
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final CompletableFuture<Batch> END_OF_STREAM = CompletableFuture.completedFuture(null);
+
+    private final TicketService ticketService;
+    private final SubTaskService subTaskService;
+    private final SprintService sprintService;
+    private final int parallelism;
+    private final int batchSize;
+    private final int progressInterval;
+
+    public DataImporter(TicketService ticketService, SubTaskService subTaskService, SprintService sprintService) {
+        this(ticketService, subTaskService, sprintService,
+                Runtime.getRuntime().availableProcessors(), DEFAULT_BATCH_SIZE, DEFAULT_PROGRESS_INTERVAL);
+    }
+
+    public DataImporter(TicketService ticketService, SubTaskService subTaskService, SprintService sprintService,
+                        int parallelism, int batchSize, int progressInterval) {
+        if (parallelism < 1 || batchSize < 1 || progressInterval < 1) {
+            throw new IllegalArgumentException("Parallelism, batch size and progress interval must be positive");
+        }
+        this.ticketService = ticketService;
+        this.subTaskService = subTaskService;
+        this.sprintService = sprintService;
+        this.parallelism = parallelism;
+        this.batchSize = batchSize;
+        this.progressInterval = progressInterval;
+    }
+
+    public TransferReport importNdjson(InputStream in, Consumer<TransferReport> progress) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), BUFFER_SIZE);
+        return run(() -> {
+            String line;
+            do {
+                line = reader.readLine();
+            } while (line != null && line.isBlank());
+            return line;
+        }, NdjsonCodec::parseRecord, progress);
+    }
+
+    public TransferReport importBinary(InputStream in, Consumer<TransferReport> progress) throws IOException {
+        DataInputStream data = new DataInputStream(new BufferedInputStream(in, BUFFER_SIZE));
+        if (data.readInt() != TransferFormat.MAGIC) {
+            throw new IOException("Not a ticket export stream");
+        }
+        int version = data.readInt();
+        if (version != TransferFormat.VERSION) {
+            throw new IOException("Unsupported export version: " + version);
+        }
+
+        return run(() -> {
+            byte kind = data.readByte();
+            if (kind == TransferFormat.END) {
+                return null;
+            }
+            int length = data.readInt();
+            if (length < 0 || length > TransferFormat.MAX_RECORD_BYTES) {
+                throw new IOException("Corrupt record length: " + length);
+            }
+            byte[] frame = new byte[length + 1];
+            frame[0] = kind;
+            data.readFully(frame, 1, length);
+            return frame;
+        }, DataImporter::decodeFrame, progress);
+    }
+
+    private <R> TransferReport run(RecordSource<R> source, Function<R, Object> decoder, Consumer<TransferReport> progress)
+            throws IOException {
+        Counters counters = new Counters(System.currentTimeMillis());
+        ExecutorService decoders = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "import-decoder");
+            thread.setDaemon(true);
+            return thread;
+        });
+        BlockingQueue<CompletableFuture<Batch>> pending = new ArrayBlockingQueue<>(parallelism * 4);
+        Thread inserter = new Thread(() -> insertAll(pending, counters, progress), "import-inserter");
+        inserter.setDaemon(true);
+        inserter.start();
+
+        try {
+            long recordNumber = 0;
+            List<R> batch = new ArrayList<>(batchSize);
+            R raw;
+            while ((raw = source.next()) != null && counters.failure == null) {
+                batch.add(raw);
+                if (batch.size() == batchSize) {
+                    pending.put(decodeAsync(batch, recordNumber, decoder, decoders));
+                    recordNumber += batch.size();
+                    batch = new ArrayList<>(batchSize);
+                }
+            }
+            if (!batch.isEmpty()) {
+                pending.put(decodeAsync(batch, recordNumber, decoder, decoders));
+            }
+            pending.put(END_OF_STREAM);
+            inserter.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            inserter.interrupt();
+            throw new IOException("Import interrupted", e);
+        } catch (IOException | RuntimeException e) {
+            inserter.interrupt();
+            throw e;
+        } finally {
+            decoders.shutdownNow();
+        }
+
+        if (counters.failure != null) {
+            throw new IllegalStateException("Import failed", counters.failure);
+        }
+        TransferReport report = counters.report();
+        progress.accept(report);
+        return report;
+    }
+
+    private <R> CompletableFuture<Batch> decodeAsync(List<R> batch, long firstRecord, Function<R, Object> decoder,
+                                                     ExecutorService decoders) {
+        return CompletableFuture.supplyAsync(() -> {
+            List<Object> decoded = new ArrayList<>(batch.size());
+            for (int i = 0; i < batch.size(); i++) {
+                try {
+                    Object entity = decoder.apply(batch.get(i));
+                    validate(entity);
+                    decoded.add(entity);
+                } catch (RuntimeException e) {
+                    decoded.add(new Rejected(reason(e)));
+                }
+            }
+            return new Batch(firstRecord, decoded);
+        }, decoders);
+    }
+
+    private void insertAll(BlockingQueue<CompletableFuture<Batch>> pending, Counters counters,
+                           Consumer<TransferReport> progress) {
+        long nextProgress = progressInterval;
+        try {
+            while (true) {
+                CompletableFuture<Batch> next = pending.take();
+                if (next == END_OF_STREAM) {
+                    return;
+                }
+                if (counters.failure != null) {
+                    // Keep draining so the reader never blocks on a full queue after a failure.
+                    continue;
+                }
+                try {
+                    Batch batch = next.join();
+                    for (int i = 0; i < batch.entities().size(); i++) {
+                        insert(batch.entities().get(i), batch.firstRecord() + i + 1, counters);
+                    }
+                    if (counters.processed() >= nextProgress) {
+                        progress.accept(counters.report());
+                        nextProgress = counters.processed() + progressInterval;
+                    }
+                } catch (RuntimeException e) {
+                    counters.failure = e;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void insert(Object entity, long recordNumber, Counters counters) {
+        // A record the services refuse is reported against its record number; only a broken pipeline aborts the import.
+        try {
+            insert(entity, counters);
+        } catch (RuntimeException e) {
+            counters.reject("Record " + recordNumber + ": " + reason(e));
+        }
+    }
+
+    private void insert(Object entity, Counters counters) {
+        if (entity instanceof Rejected rejected) {
+            throw new IllegalArgumentException(rejected.reason());
+        } else if (entity instanceof Ticket ticket) {
+            if (ticketService.restoreTicket(ticket)) {
+                counters.tickets++;
+            } else {
+                counters.reject("Duplicate ticket id " + ticket.getId());
+            }
+        } else if (entity instanceof SubTask subTask) {
+            if (subTaskService.restoreSubTask(subTask)) {
+                counters.subTasks++;
+            } else {
+                counters.reject("Duplicate sub-task id " + subTask.getId());
+            }
+        } else if (entity instanceof Sprint sprint) {
+            if (sprintService.restoreSprint(sprint)) {
+                counters.sprints++;
+            } else {
+                counters.reject("Duplicate sprint id " + sprint.getId());
+            }
+        }
+    }
+
+    private static void validate(Object entity) {
+        if (entity instanceof Ticket ticket) {
+            requireText(ticket.getTitle(), "Ticket " + ticket.getId() + " has no title");
+            if (ticket.getStoryPoints() < 0) {
+                throw new IllegalArgumentException("Ticket " + ticket.getId() + " has negative story points");
+            }
+        } else if (entity instanceof SubTask subTask) {
+            requireText(subTask.getTitle(), "Sub-task " + subTask.getId() + " has no title");
+        } else if (entity instanceof Sprint sprint) {
+            requireText(sprint.getName(), "Sprint " + sprint.getId() + " has no name");
+            if (sprint.getStartDate() != null && sprint.getEndDate() != null
+                    && sprint.getEndDate().isBefore(sprint.getStartDate())) {
+                throw new IllegalArgumentException("Sprint " + sprint.getId() + " ends before it starts");
+            }
+        }
+    }
+
+    private static String reason(RuntimeException e) {
+        return e.getMessage() == null ? e.getClass().getSimpleName() : e.getMessage();
+    }
+
+    private static void requireText(String value, String message) {
+        if (value == null || value.isBlank()) {
+            throw new IllegalArgumentException(message);
+        }
+    }
+
+    private static Object decodeFrame(byte[] frame) {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(frame, 1, frame.length - 1));
+        try {
+            return switch (frame[0]) {
+                case TransferFormat.TICKET -> BinaryCodec.readTicket(in);
+                case TransferFormat.SUBTASK -> BinaryCodec.readSubTask(in);
+                case TransferFormat.SPRINT -> BinaryCodec.readSprint(in);
+                default -> throw new IllegalArgumentException("Unknown record kind: " + frame[0]);
+            };
+        } catch (IOException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Corrupt record: " + e.getMessage());
+        }
+    }
+
+    @FunctionalInterface
+    private interface RecordSource<R> {
+        R next() throws IOException;
+    }
+
+    private record Batch(long firstRecord, List<Object> entities) {
+    }
+
+    private record Rejected(String reason) {
+    }
+
+    private static class Counters {
+        private final long start;
+        private final List<String> errors = new ArrayList<>();
+        private volatile Throwable failure;
+        private long tickets;
+        private long subTasks;
+        private long sprints;
+        private long rejected;
+
+        Counters(long start) {
+            this.start = start;
+        }
+
+        void reject(String error) {
+            rejected++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(error);
+            }
+        }
+
+        long processed() {
+            return tickets + subTasks + sprints + rejected;
+        }
+
+        TransferReport report() {
+            return new TransferReport(tickets, subTasks, sprints, rejected, List.copyOf(errors),
+                    System.currentTimeMillis() - start);
+        }
+    }
+}
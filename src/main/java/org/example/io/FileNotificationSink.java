@@ -0,0 +1,47 @@
+package org.example.io;
+
+import org.example.model.NotificationDigest;
+import org.example.service.NotificationSink;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+public class FileNotificationSink implements NotificationSink {
+    private final Path file;
+    private final BufferedWriter writer;
+
+    public FileNotificationSink(Path file) {
+        this.file = file;
+        try {
+            this.writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open notification file " + file, e);
+        }
+    }
+
+    @Override
+    public synchronized void deliver(NotificationDigest digest) {
+        try {
+            writer.write(digest.format());
+            writer.newLine();
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write notification to " + file, e);
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        try {
+            writer.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot close notification file " + file, e);
+        }
+    }
+}
@@ -0,0 +1,458 @@
+package org.example.io;
+
+import org.example.model.Sprint;
+import org.example.model.SubTask;
+import org.example.model.Ticket;
+import org.example.model.TicketStatus;
+import org.example.model.TicketType;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ObjLongConsumer;
+import java.util.function.ToLongFunction;
+
+public final class NdjsonCodec {
+    public static final String TICKET = "ticket";
+    public static final String SUBTASK = "subtask";
+    public static final String SPRINT = "sprint";
+
+    private static final TicketStatus[] STATUSES = TicketStatus.values();
+
+    private NdjsonCodec() {
+    }
+
+    public static void appendTicket(StringBuilder out, Ticket ticket) {
+        out.append("{\"kind\":\"").append(TICKET).append('"');
+        field(out, "id", ticket.getId());
+        field(out, "title", ticket.getTitle());
+        field(out, "description", ticket.getDescription());
+        field(out, "type", ticket.getType());
+        field(out, "status", ticket.getStatus());
+        field(out, "assignee", ticket.getAssignee());
+        field(out, "storyPoints", ticket.getStoryPoints());
+        field(out, "epicId", ticket.getEpicId());
+        field(out, "createdAt", ticket.getCreatedAt());
+        field(out, "updatedAt", ticket.getUpdatedAt());
+        statusEnteredAt(out, ticket::getStatusEnteredAtMillis);
+        field(out, "firstStartedAt", ticket.getFirstStartedAtMillis());
+        out.append(",\"comments\":[");
+        List<String> comments = ticket.getComments();
+        for (int i = 0; i < comments.size(); i++) {
+            if (i > 0) {
+                out.append(',');
+            }
+            string(out, comments.get(i));
+        }
+        out.append("]}");
+    }
+
+    public static void appendSubTask(StringBuilder out, SubTask subTask) {
+        out.append("{\"kind\":\"").append(SUBTASK).append('"');
+        field(out, "id", subTask.getId());
+        field(out, "parentTicketId", subTask.getParentTicketId());
+        field(out, "title", subTask.getTitle());
+        field(out, "description", subTask.getDescription());
+        field(out, "status", subTask.getStatus());
+        field(out, "assignee", subTask.getAssignee());
+        field(out, "createdAt", subTask.getCreatedAt());
+        field(out, "updatedAt", subTask.getUpdatedAt());
+        field(out, "version", subTask.getVersion());
+        statusEnteredAt(out, subTask::getStatusEnteredAtMillis);
+        out.append('}');
+    }
+
+    public static void appendSprint(StringBuilder out, Sprint sprint) {
+        out.append("{\"kind\":\"").append(SPRINT).append('"');
+        field(out, "id", sprint.getId());
+        field(out, "name", sprint.getName());
+        field(out, "description", sprint.getDescription());
+        field(out, "startDate", sprint.getStartDate());
+        field(out, "endDate", sprint.getEndDate());
+        field(out, "createdAt", sprint.getCreatedAt());
+        field(out, "updatedAt", sprint.getUpdatedAt());
+        out.append(",\"active\":").append(sprint.isActive());
+        out.append(",\"storyIds\":[");
+        List<Long> storyIds = sprint.getStoryIds();
+        for (int i = 0; i < storyIds.size(); i++) {
+            if (i > 0) {
+                out.append(',');
+            }
+            out.append(storyIds.get(i));
+        }
+        out.append("],\"capacity\":{");
+        boolean first = true;
+        for (Map.Entry<String, Integer> entry : sprint.getAssigneeCapacity().entrySet()) {
+            if (!first) {
+                out.append(',');
+            }
+            first = false;
+            string(out, entry.getKey());
+            out.append(':').append(entry.getValue());
+        }
+        out.append("}}");
+    }
+
+    public static Object parseRecord(String line) {
+        Map<String, Object> fields = new Parser(line).parseObject();
+        String kind = (String) fields.get("kind");
+        if (TICKET.equals(kind)) {
+            return toTicket(fields);
+        } else if (SUBTASK.equals(kind)) {
+            return toSubTask(fields);
+        } else if (SPRINT.equals(kind)) {
+            return toSprint(fields);
+        } else {
+            throw new IllegalArgumentException("Unknown record kind: " + kind);
+        }
+    }
+
+    private static Ticket toTicket(Map<String, Object> fields) {
+        Ticket ticket = new Ticket(requiredLong(fields, "id"), (String) fields.get("title"), (String) fields.get("description"),
+                TicketType.valueOf(required(fields, "type")), (String) fields.get("assignee"), requiredDateTime(fields, "createdAt"));
+        ticket.setStatus(TicketStatus.valueOf(required(fields, "status")));
+        ticket.setStoryPoints(Math.toIntExact(optionalLong(fields, "storyPoints", 0)));
+        ticket.setEpicId((Long) fields.get("epicId"));
+        List<String> comments = new ArrayList<>();
+        for (Object comment : list(fields, "comments")) {
+            comments.add((String) comment);
+        }
+        ticket.setComments(comments);
+        ticket.setUpdatedAt(requiredDateTime(fields, "updatedAt"));
+        readStatusEnteredAt(fields, ticket.getStatus(), ticket.getUpdatedAtMillis(), ticket::markStatusEntered);
+        // Older exports lack it; the IN_PROGRESS entry time marked above is then the best estimate.
+        ticket.setFirstStartedAtMillis(optionalLong(fields, "firstStartedAt", ticket.getFirstStartedAtMillis()));
+        return ticket;
+    }
+
+    private static SubTask toSubTask(Map<String, Object> fields) {
+        SubTask subTask = new SubTask(requiredLong(fields, "id"), requiredLong(fields, "parentTicketId"),
+                (String) fields.get("title"), (String) fields.get("description"), (String) fields.get("assignee"),
+                requiredDateTime(fields, "createdAt"));
+        subTask.setStatus(TicketStatus.valueOf(required(fields, "status")));
+        subTask.setVersion(optionalLong(fields, "version", 1));
+        subTask.setUpdatedAt(requiredDateTime(fields, "updatedAt"));
+        readStatusEnteredAt(fields, subTask.getStatus(), subTask.getUpdatedAtMillis(), subTask::markStatusEntered);
+        return subTask;
+    }
+
+    private static Sprint toSprint(Map<String, Object> fields) {
+        Sprint sprint = new Sprint(requiredLong(fields, "id"), (String) fields.get("name"), (String) fields.get("description"),
+                dateTime(fields, "startDate"), dateTime(fields, "endDate"), requiredDateTime(fields, "createdAt"));
+        sprint.setActive(Boolean.TRUE.equals(fields.get("active")));
+        for (Object storyId : list(fields, "storyIds")) {
+            sprint.getStoryIds().add((Long) storyId);
+        }
+        Object capacity = fields.get("capacity");
+        if (capacity instanceof Map<?, ?> map) {
+            map.forEach((assignee, points) -> sprint.getAssigneeCapacity().put((String) assignee, Math.toIntExact((Long) points)));
+        }
+        sprint.setUpdatedAt(requiredDateTime(fields, "updatedAt"));
+        return sprint;
+    }
+
+    private static void readStatusEnteredAt(Map<String, Object> fields, TicketStatus current, long updatedAtMillis,
+                                            ObjLongConsumer<TicketStatus> mark) {
+        Object value = fields.get("statusEnteredAt");
+        if (value instanceof Map<?, ?> entered) {
+            entered.forEach((status, millis) -> mark.accept(TicketStatus.valueOf((String) status), (Long) millis));
+        } else {
+            // Exports written before entry times were recorded: the last update is the best bound for the current status.
+            mark.accept(current, updatedAtMillis);
+        }
+    }
+
+    private static String required(Map<String, Object> fields, String name) {
+        Object value = fields.get(name);
+        if (!(value instanceof String text)) {
+            throw new IllegalArgumentException("Missing field: " + name);
+        }
+        return text;
+    }
+
+    private static Long requiredLong(Map<String, Object> fields, String name) {
+        Object value = fields.get(name);
+        if (!(value instanceof Long number)) {
+            throw new IllegalArgumentException("Missing numeric field: " + name);
+        }
+        return number;
+    }
+
+    private static long optionalLong(Map<String, Object> fields, String name, long defaultValue) {
+        Object value = fields.get(name);
+        return value instanceof Long number ? number : defaultValue;
+    }
+
+    private static LocalDateTime dateTime(Map<String, Object> fields, String name) {
+        Object value = fields.get(name);
+        return value == null ? null : parseDateTime((String) value);
+    }
+
+    private static LocalDateTime requiredDateTime(Map<String, Object> fields, String name) {
+        return parseDateTime(required(fields, name));
+    }
+
+    static LocalDateTime parseDateTime(String text) {
+        // Fast path for the yyyy-MM-ddTHH:mm:ss[.fraction] shape LocalDateTime.toString() writes.
+        int length = text.length();
+        if (length < 19 || text.charAt(4) != '-' || text.charAt(7) != '-' || text.charAt(10) != 'T'
+                || text.charAt(13) != ':' || text.charAt(16) != ':') {
+            return LocalDateTime.parse(text);
+        }
+        int nanos = 0;
+        if (length > 19) {
+            if (text.charAt(19) != '.' || length > 29) {
+                return LocalDateTime.parse(text);
+            }
+            for (int i = 20; i < 29; i++) {
+                nanos = nanos * 10 + (i < length ? digit(text, i) : 0);
+            }
+        }
+        return LocalDateTime.of(digits(text, 0, 4), digits(text, 5, 2), digits(text, 8, 2),
+                digits(text, 11, 2), digits(text, 14, 2), digits(text, 17, 2), nanos);
+    }
+
+    private static int digits(String text, int start, int count) {
+        int value = 0;
+        for (int i = start; i < start + count; i++) {
+            value = value * 10 + digit(text, i);
+        }
+        return value;
+    }
+
+    private static int digit(String text, int index) {
+        char c = text.charAt(index);
+        if (c < '0' || c > '9') {
+            throw new IllegalArgumentException("Invalid date-time: " + text);
+        }
+        return c - '0';
+    }
+
+    private static List<?> list(Map<String, Object> fields, String name) {
+        Object value = fields.get(name);
+        return value instanceof List<?> items ? items : List.of();
+    }
+
+    private static void statusEnteredAt(StringBuilder out, ToLongFunction<TicketStatus> enteredAt) {
+        out.append(",\"statusEnteredAt\":{");
+        boolean first = true;
+        for (TicketStatus status : STATUSES) {
+            long millis = enteredAt.applyAsLong(status);
+            if (millis == 0) {
+                continue;
+            }
+            if (!first) {
+                out.append(',');
+            }
+            first = false;
+            out.append('"').append(status.name()).append("\":").append(millis);
+        }
+        out.append('}');
+    }
+
+    private static void field(StringBuilder out, String name, Object value) {
+        out.append(",\"").append(name).append("\":");
+        if (value == null) {
+            out.append("null");
+        } else if (value instanceof Number) {
+            out.append(value);
+        } else {
+            string(out, value.toString());
+        }
+    }
+
+    private static void string(StringBuilder out, String value) {
+        out.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> out.append("\\\"");
+                case '\\' -> out.append("\\\\");
+                case '\n' -> out.append("\\n");
+                case '\r' -> out.append("\\r");
+                case '\t' -> out.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        out.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        out.append(c);
+                    }
+                }
+            }
+        }
+        out.append('"');
+    }
+
+    private static final class Parser {
+        private final String text;
+        private int position;
+
+        Parser(String text) {
+            this.text = text;
+        }
+
+        Map<String, Object> parseObject() {
+            Map<String, Object> object = new HashMap<>();
+            expect('{');
+            skipWhitespace();
+            if (peek() == '}') {
+                position++;
+                return object;
+            }
+            while (true) {
+                skipWhitespace();
+                String name = parseString();
+                skipWhitespace();
+                expect(':');
+                object.put(name, parseValue());
+                skipWhitespace();
+                char c = next();
+                if (c == '}') {
+                    return object;
+                }
+                if (c != ',') {
+                    throw error("Expected ',' or '}'");
+                }
+            }
+        }
+
+        private Object parseValue() {
+            skipWhitespace();
+            char c = peek();
+            if (c == '"') {
+                return parseString();
+            } else if (c == '{') {
+                return parseObject();
+            } else if (c == '[') {
+                return parseArray();
+            } else if (c == '-' || (c >= '0' && c <= '9')) {
+                return parseLong();
+            } else if (text.startsWith("null", position)) {
+                position += 4;
+                return null;
+            } else if (text.startsWith("true", position)) {
+                position += 4;
+                return Boolean.TRUE;
+            } else if (text.startsWith("false", position)) {
+                position += 5;
+                return Boolean.FALSE;
+            }
+            throw error("Unexpected character '" + c + "'");
+        }
+
+        private List<Object> parseArray() {
+            List<Object> array = new ArrayList<>();
+            expect('[');
+            skipWhitespace();
+            if (peek() == ']') {
+                position++;
+                return array;
+            }
+            while (true) {
+                array.add(parseValue());
+                skipWhitespace();
+                char c = next();
+                if (c == ']') {
+                    return array;
+                }
+                if (c != ',') {
+                    throw error("Expected ',' or ']'");
+                }
+            }
+        }
+
+        private Long parseLong() {
+            boolean negative = peek() == '-';
+            if (negative) {
+                position++;
+            }
+            int start = position;
+            long value = 0;
+            while (position < text.length() && Character.isDigit(text.charAt(position))) {
+                value = Math.addExact(Math.multiplyExact(value, 10), text.charAt(position++) - '0');
+            }
+            if (position == start) {
+                throw error("Expected digits");
+            }
+            return negative ? -value : value;
+        }
+
+        private String parseString() {
+            expect('"');
+            int start = position;
+            while (position < text.length()) {
+                char c = text.charAt(position);
+                if (c == '"') {
+                    return text.substring(start, position++);
+                }
+                if (c == '\\') {
+                    return parseEscapedString(start);
+                }
+                position++;
+            }
+            throw error("Unterminated string");
+        }
+
+        private String parseEscapedString(int start) {
+            StringBuilder value = new StringBuilder(text.substring(start, position));
+            while (position < text.length()) {
+                char c = text.charAt(position++);
+                if (c == '"') {
+                    return value.toString();
+                }
+                if (c != '\\') {
+                    value.append(c);
+                    continue;
+                }
+                char escaped = next();
+                switch (escaped) {
+                    case 'n' -> value.append('\n');
+                    case 'r' -> value.append('\r');
+                    case 't' -> value.append('\t');
+                    case 'b' -> value.append('\b');
+                    case 'f' -> value.append('\f');
+                    case 'u' -> {
+                        if (position + 4 > text.length()) {
+                            throw error("Truncated unicode escape");
+                        }
+                        value.append((char) Integer.parseInt(text.substring(position, position + 4), 16));
+                        position += 4;
+                    }
+                    default -> value.append(escaped);
+                }
+            }
+            throw error("Unterminated string");
+        }
+
+        private void skipWhitespace() {
+            while (position < text.length() && Character.isWhitespace(text.charAt(position))) {
+                position++;
+            }
+        }
+
+        private void expect(char expected) {
+            if (next() != expected) {
+                throw error("Expected '" + expected + "'");
+            }
+        }
+
+        private char peek() {
+            if (position >= text.length()) {
+                throw error("Unexpected end of record");
+            }
+            return text.charAt(position);
+        }
+
+        private char next() {
+            char c = peek();
+            position++;
+            return c;
+        }
+
+        private IllegalArgumentException error(String message) {
+            return new IllegalArgumentException(message + " at column " + position);
+        }
+    }
+}
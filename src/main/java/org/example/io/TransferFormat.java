@@ -0,0 +1,14 @@
+package org.example.io;
+
+public final class TransferFormat {
+    public static final int MAGIC = 0x4A495258;
+    public static final int VERSION = 3;
+    public static final byte END = 0;
+    public static final byte TICKET = 1;
+    public static final byte SUBTASK = 2;
+    public static final byte SPRINT = 3;
+    public static final int MAX_RECORD_BYTES = 16 * 1024 * 1024;
+
+    private TransferFormat() {
+    }
+}
@@ -0,0 +1,25 @@
+package org.example.model;
+
+import java.time.Duration;
+
+public record AdmissionPolicy(double clientRatePerSecond,
+                              int clientBurst,
+                              double ticketRatePerSecond,
+                              int ticketBurst,
+                              int maxInFlight,
+                              Duration latencyTarget,
+                              int expectedClients) {
+
+    public AdmissionPolicy {
+        if (maxInFlight < 1) {
+            throw new IllegalArgumentException("Max in-flight must be positive: " + maxInFlight);
+        }
+        if (latencyTarget.isNegative() || latencyTarget.isZero()) {
+            throw new IllegalArgumentException("Latency target must be positive: " + latencyTarget);
+        }
+    }
+
+    public static AdmissionPolicy defaults() {
+        return new AdmissionPolicy(50, 100, 20, 40, 1024, Duration.ofMillis(50), 100_000);
+    }
+}
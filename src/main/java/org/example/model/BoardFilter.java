@@ -0,0 +1,60 @@
+package org.example.model;
+
+import java.util.Set;
+
+public record BoardFilter(Set<TicketType> types,
+                          Set<TicketStatus> statuses,
+                          Set<String> assignees,
+                          Long sprintId,
+                          boolean activeSprintOnly) {
+
+    public BoardFilter {
+        types = types == null ? Set.of() : Set.copyOf(types);
+        statuses = statuses == null ? Set.of() : Set.copyOf(statuses);
+        assignees = assignees == null ? Set.of() : Set.copyOf(assignees);
+        if (sprintId != null && activeSprintOnly) {
+            throw new IllegalArgumentException("Filter on either a sprint id or the active sprint, not both");
+        }
+    }
+
+    public boolean matches(TicketType type, TicketStatus status, String assignee, Long ticketSprintId,
+                           Long activeSprintId) {
+        if (!types.isEmpty() && !types.contains(type)) {
+            return false;
+        }
+        if (!statuses.isEmpty() && !statuses.contains(status)) {
+            return false;
+        }
+        if (!assignees.isEmpty() && (assignee == null || !assignees.contains(assignee))) {
+            return false;
+        }
+        if (sprintId != null && !sprintId.equals(ticketSprintId)) {
+            return false;
+        }
+        return !activeSprintOnly || (activeSprintId != null && activeSprintId.equals(ticketSprintId));
+    }
+
+    public static BoardFilter all() {
+        return new BoardFilter(null, null, null, null, false);
+    }
+
+    public BoardFilter withTypes(Set<TicketType> newTypes) {
+        return new BoardFilter(newTypes, statuses, assignees, sprintId, activeSprintOnly);
+    }
+
+    public BoardFilter withStatuses(Set<TicketStatus> newStatuses) {
+        return new BoardFilter(types, newStatuses, assignees, sprintId, activeSprintOnly);
+    }
+
+    public BoardFilter withAssignees(Set<String> newAssignees) {
+        return new BoardFilter(types, statuses, newAssignees, sprintId, activeSprintOnly);
+    }
+
+    public BoardFilter inSprint(Long newSprintId) {
+        return new BoardFilter(types, statuses, assignees, newSprintId, false);
+    }
+
+    public BoardFilter inActiveSprint() {
+        return new BoardFilter(types, statuses, assignees, null, true);
+    }
+}
@@ -0,0 +1,22 @@
+package org.example.model;
+
+public record BoardQuery(Long sprintId, boolean groupByStatus, boolean includeSubTasks, int page, int pageSize) {
+
+    public BoardQuery {
+        if (page < 0 || pageSize < 1) {
+            throw new IllegalArgumentException("Page must be non-negative and page size positive");
+        }
+    }
+
+    public static BoardQuery all() {
+        return new BoardQuery(null, false, true, 0, Integer.MAX_VALUE);
+    }
+
+    public static BoardQuery sprint(Long sprintId) {
+        return new BoardQuery(sprintId, true, false, 0, Integer.MAX_VALUE);
+    }
+
+    public long firstRow() {
+        return (long) page * pageSize;
+    }
+}
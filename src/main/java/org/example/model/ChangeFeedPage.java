@@ -0,0 +1,10 @@
+package org.example.model;
+
+import java.util.List;
+
+public record ChangeFeedPage<T>(List<T> items, List<Long> deletedIds, String continuationToken, boolean truncated) {
+
+    public boolean isEmpty() {
+        return items.isEmpty() && deletedIds.isEmpty();
+    }
+}
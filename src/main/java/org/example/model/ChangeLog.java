@@ -0,0 +1,143 @@
+package org.example.model;
+
+import java.util.Arrays;
+
+final class ChangeLog {
+    private static final int CHECKPOINT_INTERVAL = 16;
+
+    private final int maxEntries;
+    private int[] deltas = new int[4];
+    private long[] values = new long[4];
+    private long[] checkpointTimes = new long[1];
+    private int[] checkpointIndexes = new int[1];
+    private int size;
+    private int checkpoints;
+    private long lastTime;
+    // Time of the oldest retained entry once older ones have been dropped; the value before it is no longer known.
+    private long retainedSince = Long.MIN_VALUE;
+
+    ChangeLog(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    void append(long timeMillis, long value) {
+        if (size > 0 && size == maxEntries) {
+            dropOldest(size / 2);
+        }
+
+        long time = Math.max(timeMillis, lastTime);
+        long delta = time - lastTime;
+        boolean checkpoint = size == 0
+                || size - checkpointIndexes[checkpoints - 1] >= CHECKPOINT_INTERVAL
+                || delta > Integer.MAX_VALUE;
+
+        ensureCapacity();
+        if (checkpoint) {
+            addCheckpoint(time, size);
+            deltas[size] = 0;
+        } else {
+            deltas[size] = (int) delta;
+        }
+        values[size] = value;
+        lastTime = time;
+        size++;
+    }
+
+    long valueAt(long timeMillis, long missing) {
+        int index = indexAt(timeMillis);
+        return index < 0 ? missing : values[index];
+    }
+
+    long lastTimeOf(long value) {
+        for (int i = size - 1; i >= 0; i--) {
+            if (values[i] == value) {
+                return timeOf(i);
+            }
+        }
+        return Long.MIN_VALUE;
+    }
+
+    long lastValue(long missing) {
+        return size == 0 ? missing : values[size - 1];
+    }
+
+    long retainedSince() {
+        return retainedSince;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private int indexAt(long timeMillis) {
+        if (size == 0 || timeMillis < checkpointTimes[0]) {
+            return -1;
+        }
+
+        int low = 0;
+        int high = checkpoints - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (checkpointTimes[mid] <= timeMillis) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+
+        int index = checkpointIndexes[low];
+        long time = checkpointTimes[low];
+        int end = low + 1 < checkpoints ? checkpointIndexes[low + 1] : size;
+        while (index + 1 < end && time + deltas[index + 1] <= timeMillis) {
+            index++;
+            time += deltas[index];
+        }
+        return index;
+    }
+
+    private long timeOf(int index) {
+        int checkpoint = Arrays.binarySearch(checkpointIndexes, 0, checkpoints, index);
+        if (checkpoint < 0) {
+            checkpoint = -checkpoint - 2;
+        }
+        long time = checkpointTimes[checkpoint];
+        for (int i = checkpointIndexes[checkpoint] + 1; i <= index; i++) {
+            time += deltas[i];
+        }
+        return time;
+    }
+
+    private void dropOldest(int count) {
+        long[] times = new long[size - count];
+        for (int i = count; i < size; i++) {
+            times[i - count] = timeOf(i);
+        }
+        long[] retainedValues = Arrays.copyOfRange(values, count, size);
+
+        size = 0;
+        checkpoints = 0;
+        lastTime = 0;
+        for (int i = 0; i < times.length; i++) {
+            append(times[i], retainedValues[i]);
+        }
+        retainedSince = times[0];
+    }
+
+    private void addCheckpoint(long time, int index) {
+        if (checkpoints == checkpointTimes.length) {
+            checkpointTimes = Arrays.copyOf(checkpointTimes, checkpoints * 2);
+            checkpointIndexes = Arrays.copyOf(checkpointIndexes, checkpoints * 2);
+        }
+        checkpointTimes[checkpoints] = time;
+        checkpointIndexes[checkpoints] = index;
+        checkpoints++;
+    }
+
+    private void ensureCapacity() {
+        if (size == deltas.length) {
+            int capacity = Math.min(Math.max(size * 2, 4), Math.max(maxEntries, 4));
+            deltas = Arrays.copyOf(deltas, capacity);
+            values = Arrays.copyOf(values, capacity);
+        }
+    }
+}
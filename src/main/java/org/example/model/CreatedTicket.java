@@ -0,0 +1,10 @@
+package org.example.model;
+
+import java.util.List;
+
+public record CreatedTicket(Ticket ticket, List<DuplicateCandidate> likelyDuplicates) {
+
+    public boolean hasLikelyDuplicates() {
+        return !likelyDuplicates.isEmpty();
+    }
+}
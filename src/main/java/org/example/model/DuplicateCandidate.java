@@ -0,0 +1,4 @@
+package org.example.model;
+
+public record DuplicateCandidate(Long ticketId, TicketType type, double similarity) {
+}
@@ -0,0 +1,20 @@
+package org.example.model;
+
+import java.util.Map;
+
+public record EpicProgress(Long epicId,
+                           int totalStories,
+                           Map<TicketStatus, Integer> storiesByStatus,
+                           int totalSubTasks,
+                           int completedSubTasks,
+                           long totalPoints,
+                           long completedPoints) {
+
+    public int completedStories() {
+        return storiesByStatus.getOrDefault(TicketStatus.DEPLOYED, 0);
+    }
+
+    public double completionRatio() {
+        return totalStories == 0 ? 0.0 : (double) completedStories() / totalStories;
+    }
+}
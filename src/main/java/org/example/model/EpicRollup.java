@@ -0,0 +1,144 @@
+package org.example.model;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class EpicRollup {
+    private static final TicketStatus[] STATUSES = TicketStatus.values();
+
+    private final Long epicId;
+    private final Map<Long, ChildState> children = new HashMap<>();
+    private final int[] storiesByStatus = new int[STATUSES.length];
+    private int totalSubTasks;
+    private int completedSubTasks;
+    private long totalPoints;
+    private long completedPoints;
+
+    public EpicRollup(Long epicId) {
+        this.epicId = epicId;
+    }
+
+    public synchronized void addStory(Ticket story) {
+        if (children.containsKey(story.getId())) {
+            return;
+        }
+
+        ChildState child = new ChildState(story.getStatus(), story.getStoryPoints());
+        for (SubTask subTask : story.getSubTasks()) {
+            boolean completed = isCompleted(subTask.getStatus());
+            child.subTasks.put(subTask.getId(), completed);
+            totalSubTasks++;
+            completedSubTasks += completed ? 1 : 0;
+        }
+        children.put(story.getId(), child);
+        storiesByStatus[child.status.ordinal()]++;
+        addPoints(child, 1);
+    }
+
+    public synchronized void removeStory(Long storyId) {
+        ChildState child = children.remove(storyId);
+        if (child == null) {
+            return;
+        }
+
+        storiesByStatus[child.status.ordinal()]--;
+        addPoints(child, -1);
+        for (boolean completed : child.subTasks.values()) {
+            totalSubTasks--;
+            completedSubTasks -= completed ? 1 : 0;
+        }
+    }
+
+    public synchronized void onStoryStatus(Long storyId, TicketStatus status) {
+        ChildState child = children.get(storyId);
+        if (child == null || child.status == status) {
+            return;
+        }
+
+        addPoints(child, -1);
+        storiesByStatus[child.status.ordinal()]--;
+        storiesByStatus[status.ordinal()]++;
+        child.status = status;
+        addPoints(child, 1);
+    }
+
+    public synchronized void onStoryPoints(Long storyId, int points) {
+        ChildState child = children.get(storyId);
+        if (child == null || child.points == points) {
+            return;
+        }
+
+        addPoints(child, -1);
+        child.points = points;
+        addPoints(child, 1);
+    }
+
+    public synchronized void onSubTaskStatus(Long storyId, Long subTaskId, TicketStatus status) {
+        ChildState child = children.get(storyId);
+        if (child == null) {
+            return;
+        }
+
+        boolean completed = isCompleted(status);
+        Boolean previous = child.subTasks.put(subTaskId, completed);
+        if (previous == null) {
+            totalSubTasks++;
+            completedSubTasks += completed ? 1 : 0;
+        } else if (previous != completed) {
+            completedSubTasks += completed ? 1 : -1;
+        }
+    }
+
+    public synchronized void onSubTaskRemoved(Long storyId, Long subTaskId) {
+        ChildState child = children.get(storyId);
+        if (child == null) {
+            return;
+        }
+
+        Boolean previous = child.subTasks.remove(subTaskId);
+        if (previous != null) {
+            totalSubTasks--;
+            completedSubTasks -= previous ? 1 : 0;
+        }
+    }
+
+    public synchronized List<Long> getStoryIds() {
+        return new ArrayList<>(children.keySet());
+    }
+
+    public synchronized EpicProgress toProgress() {
+        Map<TicketStatus, Integer> byStatus = new EnumMap<>(TicketStatus.class);
+        for (TicketStatus status : STATUSES) {
+            if (storiesByStatus[status.ordinal()] > 0) {
+                byStatus.put(status, storiesByStatus[status.ordinal()]);
+            }
+        }
+        return new EpicProgress(epicId, children.size(), byStatus, totalSubTasks, completedSubTasks,
+                totalPoints, completedPoints);
+    }
+
+    private void addPoints(ChildState child, int sign) {
+        totalPoints += (long) sign * child.points;
+        if (isCompleted(child.status)) {
+            completedPoints += (long) sign * child.points;
+        }
+    }
+
+    private static boolean isCompleted(TicketStatus status) {
+        return status == TicketStatus.DEPLOYED;
+    }
+
+    private static final class ChildState {
+        private TicketStatus status;
+        private int points;
+        private final Map<Long, Boolean> subTasks = new HashMap<>();
+
+        private ChildState(TicketStatus status, int points) {
+            this.status = status;
+            this.points = points;
+        }
+    }
+}
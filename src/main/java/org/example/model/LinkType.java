@@ -0,0 +1,7 @@
+package org.example.model;
+
+public enum LinkType {
+    BLOCKS,
+    DUPLICATES,
+    RELATES
+}
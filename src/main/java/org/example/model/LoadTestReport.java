@@ -0,0 +1,24 @@
+package org.example.model;
+
+import java.time.Duration;
+import java.util.Map;
+
+public record LoadTestReport(Duration elapsed,
+                             long operations,
+                             double targetOpsPerSecond,
+                             Map<WorkloadOperation, Long> operationCounts,
+                             Map<String, Long> errorCounts,
+                             long p50Micros,
+                             long p90Micros,
+                             long p99Micros,
+                             long p999Micros,
+                             long maxMicros) {
+
+    public double throughput() {
+        return elapsed.isZero() ? 0 : operations * 1_000_000_000.0 / elapsed.toNanos();
+    }
+
+    public long totalErrors() {
+        return errorCounts.values().stream().mapToLong(Long::longValue).sum();
+    }
+}
@@ -0,0 +1,93 @@
+package org.example.model;
+
+import java.util.List;
+
+public record MutationEvent(long sequence,
+                            long timestampMillis,
+                            MutationKind kind,
+                            TicketType ticketType,
+                            Long ticketId,
+                            Long linkedTicketId,
+                            Long subTaskId,
+                            Long sprintId,
+                            Long targetSprintId,
+                            List<Long> storyIds,
+                            TicketStatus previousStatus,
+                            TicketStatus newStatus,
+                            int storyPoints,
+                            String value,
+                            Object payload) {
+
+    // The payload is a detached copy of the entity taken while its stripe was held, carried only by the kinds whose
+    // replay needs more than ids: a listener handled later never sees state from after the event. Status changes
+    // carry a StatusTransition instead of a copy.
+
+    public static MutationEvent ticket(MutationKind kind, Ticket ticket, TicketStatus previousStatus, String value) {
+        Object payload = switch (kind) {
+            case TICKET_CREATED, TICKET_DETAILS_CHANGED -> new Ticket(ticket.getId(), ticket.getTitle(),
+                    ticket.getDescription(), ticket.getType(), ticket.getAssignee(), ticket.getCreatedAt());
+            case TICKET_STATUS_CHANGED -> new StatusTransition(ticket.getStatusEnteredAtMillis(previousStatus),
+                    ticket.getStatusEnteredAtMillis(ticket.getStatus()), ticket.getFirstStartedAtMillis(),
+                    ticket.getCreatedAtMillis(), ticket.getAssignee());
+            default -> null;
+        };
+        return new MutationEvent(0, 0, kind, ticket.getType(), ticket.getId(), null, null, null, null, null,
+                previousStatus, ticket.getStatus(), ticket.getStoryPoints(), value, payload);
+    }
+
+    public static MutationEvent subTask(MutationKind kind, TicketType parentType, SubTask subTask,
+                                        TicketStatus previousStatus, String value) {
+        Object payload = switch (kind) {
+            case SUBTASK_CREATED -> new SubTask(subTask.getId(), subTask.getParentTicketId(), subTask.getTitle(),
+                    subTask.getDescription(), subTask.getAssignee(), subTask.getCreatedAt());
+            case SUBTASK_STATUS_CHANGED -> new StatusTransition(subTask.getStatusEnteredAtMillis(previousStatus),
+                    subTask.getStatusEnteredAtMillis(subTask.getStatus()), 0, subTask.getCreatedAtMillis(),
+                    subTask.getAssignee());
+            default -> null;
+        };
+        return new MutationEvent(0, 0, kind, parentType, subTask.getParentTicketId(), null, subTask.getId(), null, null,
+                null, previousStatus, subTask.getStatus(), 0, value, payload);
+    }
+
+    public static MutationEvent sprint(MutationKind kind, Long sprintId, Long storyId) {
+        return new MutationEvent(0, 0, kind, storyId == null ? null : TicketType.STORY, storyId, null, null, sprintId,
+                null, null, null, null, 0, null, null);
+    }
+
+    public static MutationEvent sprintCreated(Sprint sprint) {
+        return new MutationEvent(0, 0, MutationKind.SPRINT_CREATED, null, null, null, null, sprint.getId(), null, null,
+                null, null, 0, null, emptyCopy(sprint));
+    }
+
+    public static MutationEvent sprintRollover(Long closedSprintId, Sprint next, List<Long> carriedStoryIds) {
+        return new MutationEvent(0, 0, MutationKind.SPRINT_ROLLED_OVER, null, null, null, null, closedSprintId,
+                next.getId(), List.copyOf(carriedStoryIds), null, null, 0, null, emptyCopy(next));
+    }
+
+    public static MutationEvent capacity(Long sprintId, String assignee, int points) {
+        return new MutationEvent(0, 0, MutationKind.SPRINT_CAPACITY_CHANGED, null, null, null, null, sprintId, null, null,
+                null, null, points, assignee, null);
+    }
+
+    public static MutationEvent link(MutationKind kind, Long sourceTicketId, Long targetTicketId, LinkType type) {
+        return new MutationEvent(0, 0, kind, null, sourceTicketId, targetTicketId, null, null, null, null, null, null, 0,
+                type.name(), null);
+    }
+
+    public static MutationEvent epic(MutationKind kind, Ticket story, Long epicId) {
+        return new MutationEvent(0, 0, kind, story.getType(), story.getId(), epicId, null, null, null, null, null,
+                story.getStatus(), story.getStoryPoints(), null, null);
+    }
+
+    public MutationEvent sequenced(long sequence, long timestampMillis) {
+        return new MutationEvent(sequence, timestampMillis, kind, ticketType, ticketId, linkedTicketId, subTaskId,
+                sprintId, targetSprintId, storyIds, previousStatus, newStatus, storyPoints, value, payload);
+    }
+
+    private static Sprint emptyCopy(Sprint sprint) {
+        Sprint copy = new Sprint(sprint.getId(), sprint.getName(), sprint.getDescription(), sprint.getStartDate(),
+                sprint.getEndDate(), sprint.getCreatedAt());
+        copy.setAssigneeCapacity(sprint.getAssigneeCapacity());
+        return copy;
+    }
+}
@@ -0,0 +1,27 @@
+package org.example.model;
+
+public enum MutationKind {
+    TICKET_CREATED,
+    TICKET_STATUS_CHANGED,
+    TICKET_ASSIGNEE_CHANGED,
+    TICKET_COMMENT_ADDED,
+    TICKET_POINTS_CHANGED,
+    TICKET_DELETED,
+    SUBTASK_CREATED,
+    SUBTASK_STATUS_CHANGED,
+    SUBTASK_ASSIGNEE_CHANGED,
+    SUBTASK_DELETED,
+    SPRINT_CREATED,
+    SPRINT_STARTED,
+    SPRINT_ENDED,
+    SPRINT_STORY_ADDED,
+    SPRINT_STORY_REMOVED,
+    SPRINT_DELETED,
+    SPRINT_ROLLED_OVER,
+    TICKET_DETAILS_CHANGED,
+    TICKET_LINKED,
+    TICKET_UNLINKED,
+    EPIC_LINKED,
+    EPIC_UNLINKED,
+    SPRINT_CAPACITY_CHANGED
+}
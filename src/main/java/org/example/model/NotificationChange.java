@@ -0,0 +1,13 @@
+package org.example.model;
+
+import java.util.Set;
+
+public record NotificationChange(Long ticketId,
+                                 TicketType ticketType,
+                                 Set<MutationKind> kinds,
+                                 TicketStatus status,
+                                 int subTaskChanges,
+                                 int comments,
+                                 int mutations,
+                                 long lastSequence) {
+}
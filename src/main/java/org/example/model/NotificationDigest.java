@@ -0,0 +1,42 @@
+package org.example.model;
+
+import java.time.Instant;
+import java.util.List;
+
+public record NotificationDigest(String recipient,
+                                 List<NotificationChange> changes,
+                                 int collapsedMutations,
+                                 long firstSequence,
+                                 long lastSequence,
+                                 Instant createdAt) {
+
+    public int getMutationCount() {
+        int mutations = collapsedMutations;
+        for (NotificationChange change : changes) {
+            mutations += change.mutations();
+        }
+        return mutations;
+    }
+
+    public String format() {
+        StringBuilder line = new StringBuilder(64 + changes.size() * 48);
+        line.append(createdAt).append(' ').append(recipient).append(": ")
+                .append(changes.size()).append(changes.size() == 1 ? " ticket" : " tickets");
+        for (NotificationChange change : changes) {
+            line.append(" | #").append(change.ticketId()).append(' ').append(change.kinds());
+            if (change.status() != null) {
+                line.append(" now ").append(change.status());
+            }
+            if (change.comments() > 0) {
+                line.append(", ").append(change.comments()).append(change.comments() == 1 ? " comment" : " comments");
+            }
+            if (change.subTaskChanges() > 0) {
+                line.append(", ").append(change.subTaskChanges()).append(" sub-task updates");
+            }
+        }
+        if (collapsedMutations > 0) {
+            line.append(" | and ").append(collapsedMutations).append(" more changes");
+        }
+        return line.toString();
+    }
+}
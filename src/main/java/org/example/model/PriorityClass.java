@@ -0,0 +1,23 @@
+package org.example.model;
+
+public enum PriorityClass {
+    ON_CALL(1.0, Double.POSITIVE_INFINITY),
+    INTERACTIVE(0.8, 2.0),
+    BULK(0.5, 1.0);
+
+    private final double maxDepthFraction;
+    private final double maxLatencyMultiple;
+
+    PriorityClass(double maxDepthFraction, double maxLatencyMultiple) {
+        this.maxDepthFraction = maxDepthFraction;
+        this.maxLatencyMultiple = maxLatencyMultiple;
+    }
+
+    public double getMaxDepthFraction() {
+        return maxDepthFraction;
+    }
+
+    public double getMaxLatencyMultiple() {
+        return maxLatencyMultiple;
+    }
+}
@@ -0,0 +1,6 @@
+package org.example.model;
+
+import java.time.Instant;
+
+public record SlaBreach(Long ticketId, SlaTarget target, Instant deadline, Instant detectedAt) {
+}
@@ -0,0 +1,15 @@
+package org.example.model;
+
+import java.time.Duration;
+
+public record SlaPolicy(Duration timeToAcknowledge, Duration timeToResolve) {
+
+    public SlaPolicy {
+        if (timeToAcknowledge.isNegative() || timeToResolve.isNegative()) {
+            throw new IllegalArgumentException("SLA durations cannot be negative");
+        }
+        if (timeToResolve.compareTo(timeToAcknowledge) < 0) {
+            throw new IllegalArgumentException("Time to resolve cannot be shorter than time to acknowledge");
+        }
+    }
+}
@@ -0,0 +1,5 @@
+package org.example.model;
+
+public enum SlaTarget {
+    ACKNOWLEDGE, RESOLVE
+}
@@ -2,8 +2,10 @@ package org.example.model;
 
 import lombok.*;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 @Getter
 @Setter
@@ -15,20 +17,23 @@ public class Sprint {
     @EqualsAndHashCode.Include
     private final Long id;
 
-    private String name;
-    private String description;
-    private LocalDateTime startDate;
-    private LocalDateTime endDate;
+    private volatile String name;
+    private volatile String description;
+    private volatile LocalDateTime startDate;
+    private volatile LocalDateTime endDate;
 
     @ToString.Exclude
-    private List<Long> storyIds = new ArrayList<>();
+    private volatile List<Long> storyIds = new CopyOnWriteArrayList<>();
 
-    private boolean active;
-    private LocalDateTime createdAt;
-    private LocalDateTime updatedAt;
+    @ToString.Exclude
+    private volatile Map<String, Integer> assigneeCapacity = new ConcurrentHashMap<>();
+
+    private volatile boolean active;
+    private volatile LocalDateTime createdAt;
+    private volatile LocalDateTime updatedAt;
 
     public Sprint(String name, String description, LocalDateTime startDate, LocalDateTime endDate) {
-        this.id = counter++;
+        this.id = nextId();
         this.name = name;
         this.description = description;
         this.startDate = startDate;
@@ -38,19 +43,65 @@ public class Sprint {
         this.updatedAt = LocalDateTime.now();
     }
 
+    public Sprint(Long id, String name, String description, LocalDateTime startDate, LocalDateTime endDate, LocalDateTime createdAt) {
+        this.id = id;
+        this.name = name;
+        this.description = description;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.active = false;
+        this.createdAt = createdAt;
+        this.updatedAt = createdAt;
+        reserveId(id);
+    }
+
+    private static synchronized long nextId() {
+        return counter++;
+    }
+
+    private static synchronized void reserveId(Long id) {
+        counter = Math.max(counter, id + 1);
+    }
+
+    public void setStoryIds(List<Long> storyIds) {
+        this.storyIds = new CopyOnWriteArrayList<>(storyIds);
+    }
+
+    public void setAssigneeCapacity(Map<String, Integer> assigneeCapacity) {
+        this.assigneeCapacity = new ConcurrentHashMap<>(assigneeCapacity);
+    }
+
 
-    public void addStory(Long storyId) {
+    public boolean addStory(Long storyId) {
         if (!storyIds.contains(storyId)) {
             storyIds.add(storyId);
             updateTimestamp();
+            return true;
+        }
+        return false;
+    }
+
+    public boolean removeStory(Long storyId) {
+        boolean removed = storyIds.remove(storyId);
+        if (removed) {
+            updateTimestamp();
         }
+        return removed;
     }
 
-    public void removeStory(Long storyId) {
-        storyIds.remove(storyId);
+    public void setCapacity(String assignee, int points) {
+        if (points <= 0) {
+            assigneeCapacity.remove(assignee);
+        } else {
+            assigneeCapacity.put(assignee, points);
+        }
         updateTimestamp();
     }
 
+    public int getCapacity(String assignee) {
+        return assigneeCapacity.getOrDefault(assignee, 0);
+    }
+
     private void updateTimestamp() {
         this.updatedAt = LocalDateTime.now();
     }
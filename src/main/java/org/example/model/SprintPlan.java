@@ -0,0 +1,12 @@
+package org.example.model;
+
+import java.util.List;
+import java.util.Map;
+
+public record SprintPlan(Long sprintId,
+                         List<Long> storyIds,
+                         Map<String, Integer> plannedPoints,
+                         Map<String, Integer> remainingCapacity,
+                         int totalPoints,
+                         double totalValue) {
+}
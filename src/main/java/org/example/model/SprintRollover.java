@@ -0,0 +1,23 @@
+package org.example.model;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+public record SprintRollover(Long closedSprintId,
+                             Long nextSprintId,
+                             List<Long> completedStoryIds,
+                             List<Long> carriedStoryIds,
+                             int completedStoryPoints,
+                             int carriedStoryPoints,
+                             Map<TicketStatus, Integer> carriedByStatus,
+                             Instant rolledOverAt) {
+
+    public int totalStories() {
+        return completedStoryIds.size() + carriedStoryIds.size();
+    }
+
+    public double completionRate() {
+        return totalStories() == 0 ? 0 : (double) completedStoryIds.size() / totalStories();
+    }
+}
@@ -0,0 +1,10 @@
+package org.example.model;
+
+// Times of a status change taken under the entity's stripe: enteredAtMillis is when the previous status began and
+// leftAtMillis when it ended, so the sample survives later reopens, reassignments and deletes.
+public record StatusTransition(long enteredAtMillis,
+                               long leftAtMillis,
+                               long firstStartedAtMillis,
+                               long createdAtMillis,
+                               String assignee) {
+}
@@ -0,0 +1,14 @@
+package org.example.model;
+
+public enum StatusUpdateResult {
+    UPDATED,
+    NOT_FOUND,
+    PARENT_NOT_FOUND,
+    INVALID_TRANSITION,
+    SUBTASKS_OPEN,
+    BLOCKED;
+
+    public boolean isUpdated() {
+        return this == UPDATED;
+    }
+}
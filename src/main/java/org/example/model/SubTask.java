@@ -1,11 +1,15 @@
 package org.example.model;
 
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
 import lombok.EqualsAndHashCode;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.concurrent.atomic.AtomicLongArray;
 
 @Getter
 @Setter
@@ -17,38 +21,106 @@ public class SubTask {
     private final Long id;
     private final Long parentTicketId;
 
-    private String title;
-    private String description;
-    private TicketStatus status;
-    private String assignee;
-    private LocalDateTime createdAt;
-    private LocalDateTime updatedAt;
-    private Long version;
+    private volatile String title;
+    private volatile String description;
+    private volatile TicketStatus status;
+    private volatile String assignee;
+    private volatile long version;
+
+    @Setter(AccessLevel.NONE)
+    private volatile long createdAtMillis;
+
+    @Setter(AccessLevel.NONE)
+    private volatile long updatedAtMillis;
+
+    @Getter(AccessLevel.NONE)
+    @ToString.Exclude
+    private final AtomicLongArray statusEnteredAtMillis = new AtomicLongArray(TicketStatus.values().length);
+
+    // Dropped under the parent ticket's mutation stripe by every writer and rebuilt on the next read; null until then.
+    @ToString.Exclude
+    private volatile SubTaskSnapshot cachedSnapshot;
 
     public SubTask(Long parentTicketId, String title, String description, String assignee) {
-        this.id = counter++;
+        this.id = nextId();
+        this.parentTicketId = parentTicketId;
+        this.title = title;
+        this.description = description;
+        this.assignee = assignee;
+        this.status = TicketStatus.OPEN;
+        this.createdAtMillis = System.currentTimeMillis();
+        this.updatedAtMillis = createdAtMillis;
+        this.version = 1L;
+        markStatusEntered(TicketStatus.OPEN, updatedAtMillis);
+    }
+
+    public SubTask(Long id, Long parentTicketId, String title, String description, String assignee, LocalDateTime createdAt) {
+        this.id = id;
         this.parentTicketId = parentTicketId;
         this.title = title;
         this.description = description;
         this.assignee = assignee;
         this.status = TicketStatus.OPEN;
-        this.createdAt = LocalDateTime.now();
-        this.updatedAt = LocalDateTime.now();
+        this.createdAtMillis = toEpochMillis(createdAt);
+        this.updatedAtMillis = createdAtMillis;
         this.version = 1L;
+        markStatusEntered(TicketStatus.OPEN, updatedAtMillis);
+        reserveId(id);
+    }
+
+    private static synchronized long nextId() {
+        return counter++;
+    }
+
+    private static synchronized void reserveId(Long id) {
+        counter = Math.max(counter, id + 1);
     }
 
     public void setStatus(TicketStatus status) {
+        setStatus(status, System.currentTimeMillis());
+    }
+
+    public void setStatus(TicketStatus status, long nowMillis) {
         this.status = status;
-        updateTimestamp();
+        updateTimestamp(nowMillis);
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(createdAtMillis), ZoneId.systemDefault());
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAtMillis = toEpochMillis(createdAt);
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(updatedAtMillis), ZoneId.systemDefault());
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAtMillis = toEpochMillis(updatedAt);
+    }
+
+    public void markStatusEntered(TicketStatus status, long enteredAtMillis) {
+        statusEnteredAtMillis.set(status.ordinal(), enteredAtMillis);
+    }
+
+    public long getStatusEnteredAtMillis(TicketStatus status) {
+        return statusEnteredAtMillis.get(status.ordinal());
     }
 
     public void setAssignee(String assignee) {
         this.assignee = assignee;
-        updateTimestamp();
+        updateTimestamp(System.currentTimeMillis());
     }
 
-    private void updateTimestamp() {
-        this.updatedAt = LocalDateTime.now();
+    private void updateTimestamp(long nowMillis) {
+        // Kept as epoch millis so status changes do not allocate a LocalDateTime; getUpdatedAt converts on read.
+        this.updatedAtMillis = nowMillis;
         this.version++;
     }
+
+    private static long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
 }
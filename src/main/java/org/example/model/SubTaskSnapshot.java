@@ -0,0 +1,26 @@
+package org.example.model;
+
+public record SubTaskSnapshot(long id,
+                              long parentTicketId,
+                              String title,
+                              String description,
+                              TicketStatus status,
+                              String assignee,
+                              long createdAtMillis,
+                              long updatedAtMillis,
+                              long version) {
+
+    public static SubTaskSnapshot of(SubTask subTask) {
+        return new SubTaskSnapshot(
+                subTask.getId(),
+                subTask.getParentTicketId(),
+                subTask.getTitle(),
+                subTask.getDescription(),
+                subTask.getStatus(),
+                subTask.getAssignee(),
+                subTask.getCreatedAtMillis(),
+                subTask.getUpdatedAtMillis(),
+                subTask.getVersion()
+        );
+    }
+}
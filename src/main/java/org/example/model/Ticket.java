@@ -1,9 +1,12 @@
 package org.example.model;
 
 import lombok.*;
+import java.time.Instant;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
+import java.time.ZoneId;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLongArray;
 
 @Getter
 @Setter
@@ -15,31 +18,95 @@ public class Ticket {
     @EqualsAndHashCode.Include
     private final Long id;
 
-    private String title;
-    private String description;
-    private TicketType type;
-    private TicketStatus status;
-    private String assignee;
-    private LocalDateTime createdAt;
-    private LocalDateTime updatedAt;
+    private volatile String title;
+    private volatile String description;
+    private volatile TicketType type;
+    private volatile TicketStatus status;
+    private volatile String assignee;
+    private volatile Long epicId;
+    private volatile int storyPoints;
+
+    // Epoch millis rather than LocalDateTime: two LocalDateTimes cost ~144 bytes per ticket; getters convert on read.
+    @Setter(AccessLevel.NONE)
+    private volatile long createdAtMillis;
+    @Setter(AccessLevel.NONE)
+    private volatile long updatedAtMillis;
+    // When work first started; the IN_PROGRESS entry time is overwritten each time a ticket is picked up again.
+    private volatile long firstStartedAtMillis;
+
+    @ToString.Exclude
+    private volatile List<String> comments = new CopyOnWriteArrayList<>();
 
     @ToString.Exclude
-    private List<String> comments = new ArrayList<>();
+    private volatile List<SubTask> subTasks = new CopyOnWriteArrayList<>();
 
+    @Getter(AccessLevel.NONE)
     @ToString.Exclude
-    private List<SubTask> subTasks = new ArrayList<>();
+    private final AtomicLongArray statusEnteredAtMillis = new AtomicLongArray(TicketStatus.values().length);
+
+    // The immutable view of this ticket, dropped under the ticket's mutation stripe by every writer and rebuilt on the
+    // next read; null until then, so tickets nobody reads as snapshots carry no second copy.
+    @ToString.Exclude
+    private volatile TicketSnapshot cachedSnapshot;
 
     public Ticket(String title, String description, TicketType type, String assignee) {
-        this.id = counter++;
+        this.id = nextId();
+        this.title = title;
+        this.description = description;
+        this.type = type;
+        this.assignee = assignee;
+        this.status = TicketStatus.OPEN;
+        this.createdAtMillis = System.currentTimeMillis();
+        this.updatedAtMillis = createdAtMillis;
+        markStatusEntered(TicketStatus.OPEN, createdAtMillis);
+    }
+
+    public Ticket(Long id, String title, String description, TicketType type, String assignee, LocalDateTime createdAt) {
+        this.id = id;
         this.title = title;
         this.description = description;
         this.type = type;
         this.assignee = assignee;
         this.status = TicketStatus.OPEN;
-        this.createdAt = LocalDateTime.now();
-        this.updatedAt = LocalDateTime.now();
+        this.createdAtMillis = toEpochMillis(createdAt);
+        this.updatedAtMillis = createdAtMillis;
+        markStatusEntered(TicketStatus.OPEN, createdAtMillis);
+        reserveId(id);
+    }
+
+    private static synchronized long nextId() {
+        return counter++;
     }
 
+    private static synchronized void reserveId(Long id) {
+        counter = Math.max(counter, id + 1);
+    }
+
+    public void setComments(List<String> comments) {
+        this.comments = new CopyOnWriteArrayList<>(comments);
+    }
+
+    public void setSubTasks(List<SubTask> subTasks) {
+        this.subTasks = new CopyOnWriteArrayList<>(subTasks);
+    }
+
+
+    public void markStatusEntered(TicketStatus status, long enteredAtMillis) {
+        statusEnteredAtMillis.set(status.ordinal(), enteredAtMillis);
+        if (status == TicketStatus.IN_PROGRESS && firstStartedAtMillis == 0) {
+            firstStartedAtMillis = enteredAtMillis;
+        }
+    }
+
+    public long getStatusEnteredAtMillis(TicketStatus status) {
+        return statusEnteredAtMillis.get(status.ordinal());
+    }
+
+    public void updateDetails(String title, String description) {
+        this.title = title;
+        this.description = description;
+        updateTimestamp();
+    }
 
     public void addComment(String comment) {
         comments.add(comment);
@@ -57,24 +124,50 @@ public class Ticket {
     }
 
     private void updateTimestamp() {
-        this.updatedAt = LocalDateTime.now();
+        this.updatedAtMillis = System.currentTimeMillis();
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return toLocalDateTime(createdAtMillis);
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAtMillis = toEpochMillis(createdAt);
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return toLocalDateTime(updatedAtMillis);
+    }
+
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAtMillis = toEpochMillis(updatedAt);
+    }
+
+    private static LocalDateTime toLocalDateTime(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneId.systemDefault());
+    }
+
+    private static long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
     }
 
     public boolean areAllSubTasksCompleted() {
         if (subTasks.isEmpty()) return true;
 
-        return subTasks.stream().allMatch(subTask -> {
-            TicketStatus subTaskStatus = subTask.getStatus();
-            return switch (type) {
-                case STORY -> subTaskStatus == TicketStatus.DEPLOYED;
-                case EPIC -> subTaskStatus == TicketStatus.COMPLETED;
-                case ON_CALL -> subTaskStatus == TicketStatus.RESOLVED;
-                default -> false;
-            };
-        });
+        TicketStatus finalStatus = getFinalStatus();
+        for (SubTask subTask : subTasks) {
+            if (subTask.getStatus() != finalStatus) {
+                return false;
+            }
+        }
+        return true;
     }
 
     public TicketStatus getFinalStatus() {
+        return finalStatusOf(type);
+    }
+
+    public static TicketStatus finalStatusOf(TicketType type) {
         return switch (type) {
             case STORY -> TicketStatus.DEPLOYED;
             case EPIC -> TicketStatus.COMPLETED;
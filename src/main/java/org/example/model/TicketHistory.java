@@ -0,0 +1,84 @@
+package org.example.model;
+
+public class TicketHistory {
+    public static final int DELETED = -1;
+    public static final int NONE = 0;
+
+    private final Long ticketId;
+    private final TicketType type;
+    private final ChangeLog statuses;
+    private final ChangeLog assignees;
+    private final ChangeLog sprints;
+    private final ChangeLog epics;
+
+    public TicketHistory(Long ticketId, TicketType type, int maxChangesPerField) {
+        this.ticketId = ticketId;
+        this.type = type;
+        this.statuses = new ChangeLog(maxChangesPerField);
+        this.assignees = new ChangeLog(maxChangesPerField);
+        this.sprints = new ChangeLog(maxChangesPerField);
+        this.epics = new ChangeLog(maxChangesPerField);
+    }
+
+    public Long getTicketId() {
+        return ticketId;
+    }
+
+    public TicketType getType() {
+        return type;
+    }
+
+    public synchronized void recordStatus(long timeMillis, TicketStatus status) {
+        statuses.append(timeMillis, status.ordinal());
+    }
+
+    public synchronized void recordDeleted(long timeMillis) {
+        statuses.append(timeMillis, DELETED);
+    }
+
+    public synchronized void recordAssignee(long timeMillis, int assigneeCode) {
+        assignees.append(timeMillis, assigneeCode);
+    }
+
+    public synchronized void recordSprint(long timeMillis, long sprintId) {
+        sprints.append(timeMillis, sprintId);
+    }
+
+    public synchronized void recordEpic(long timeMillis, long epicId) {
+        epics.append(timeMillis, epicId);
+    }
+
+    public synchronized int statusCodeAt(long timeMillis) {
+        return (int) statuses.valueAt(timeMillis, DELETED);
+    }
+
+    public synchronized int assigneeCodeAt(long timeMillis) {
+        return (int) assignees.valueAt(timeMillis, NONE);
+    }
+
+    public synchronized long sprintIdAt(long timeMillis) {
+        return sprints.valueAt(timeMillis, NONE);
+    }
+
+    public synchronized long epicIdAt(long timeMillis) {
+        return epics.valueAt(timeMillis, NONE);
+    }
+
+    public synchronized long currentSprintId() {
+        return sprints.lastValue(NONE);
+    }
+
+    public synchronized long lastEnteredStatus(TicketStatus status) {
+        return statuses.lastTimeOf(status.ordinal());
+    }
+
+    public synchronized long retainedSince() {
+        // Each field drops its oldest changes independently, so a point in time is only fully known after all of them.
+        return Math.max(Math.max(statuses.retainedSince(), assignees.retainedSince()),
+                Math.max(sprints.retainedSince(), epics.retainedSince()));
+    }
+
+    public synchronized int size() {
+        return statuses.size() + assignees.size() + sprints.size() + epics.size();
+    }
+}
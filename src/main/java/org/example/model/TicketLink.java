@@ -0,0 +1,4 @@
+package org.example.model;
+
+public record TicketLink(Long sourceTicketId, Long targetTicketId, LinkType type) {
+}
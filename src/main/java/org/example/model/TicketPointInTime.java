@@ -0,0 +1,12 @@
+package org.example.model;
+
+import java.time.Instant;
+
+public record TicketPointInTime(Long ticketId,
+                                Instant asOf,
+                                TicketType type,
+                                TicketStatus status,
+                                String assignee,
+                                Long sprintId,
+                                Long epicId) {
+}
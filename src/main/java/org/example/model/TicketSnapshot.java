@@ -0,0 +1,32 @@
+package org.example.model;
+
+import java.util.List;
+
+public record TicketSnapshot(long id,
+                             String title,
+                             String description,
+                             TicketType type,
+                             TicketStatus status,
+                             String assignee,
+                             int storyPoints,
+                             long createdAtMillis,
+                             long updatedAtMillis,
+                             List<Long> subTaskIds,
+                             List<String> comments) {
+
+    public static TicketSnapshot of(Ticket ticket) {
+        return new TicketSnapshot(
+                ticket.getId(),
+                ticket.getTitle(),
+                ticket.getDescription(),
+                ticket.getType(),
+                ticket.getStatus(),
+                ticket.getAssignee(),
+                ticket.getStoryPoints(),
+                ticket.getCreatedAtMillis(),
+                ticket.getUpdatedAtMillis(),
+                ticket.getSubTasks().stream().map(SubTask::getId).toList(),
+                List.copyOf(ticket.getComments())
+        );
+    }
+}
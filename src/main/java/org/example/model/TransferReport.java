@@ -0,0 +1,19 @@
+package org.example.model;
+
+import java.util.List;
+
+public record TransferReport(long tickets,
+                             long subTasks,
+                             long sprints,
+                             long rejected,
+                             List<String> errors,
+                             long elapsedMillis) {
+
+    public long total() {
+        return tickets + subTasks + sprints;
+    }
+
+    public double recordsPerSecond() {
+        return elapsedMillis == 0 ? total() * 1000.0 : total() * 1000.0 / elapsedMillis;
+    }
+}
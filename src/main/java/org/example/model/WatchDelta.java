@@ -0,0 +1,4 @@
+package org.example.model;
+
+public record WatchDelta(long watchId, WatchDeltaKind kind, Long ticketId, MutationEvent event) {
+}
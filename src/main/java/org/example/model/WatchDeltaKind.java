@@ -0,0 +1,8 @@
+package org.example.model;
+
+public enum WatchDeltaKind {
+    ENTERED,
+    UPDATED,
+    LEFT,
+    RESYNC
+}
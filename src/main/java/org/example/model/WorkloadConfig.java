@@ -0,0 +1,49 @@
+package org.example.model;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+public record WorkloadConfig(int threads,
+                             int targetOpsPerSecond,
+                             Duration duration,
+                             int initialTickets,
+                             double zipfTheta,
+                             Map<WorkloadOperation, Integer> mix,
+                             long seed) {
+
+    public WorkloadConfig {
+        if (threads < 1 || targetOpsPerSecond < 1 || initialTickets < 1) {
+            throw new IllegalArgumentException("Threads, target rate and initial tickets must be positive");
+        }
+        if (duration.isNegative() || duration.isZero()) {
+            throw new IllegalArgumentException("Duration must be positive: " + duration);
+        }
+        if (zipfTheta <= 0 || zipfTheta >= 1) {
+            throw new IllegalArgumentException("Zipf theta must be in (0, 1): " + zipfTheta);
+        }
+        if (mix.values().stream().mapToInt(Integer::intValue).sum() <= 0) {
+            throw new IllegalArgumentException("Operation mix must have a positive total weight");
+        }
+        mix = Map.copyOf(mix);
+    }
+
+    public static WorkloadConfig defaults() {
+        return new WorkloadConfig(4, 2_000, Duration.ofSeconds(10), 5_000, 0.99, defaultMix(), 42L);
+    }
+
+    public static Map<WorkloadOperation, Integer> defaultMix() {
+        Map<WorkloadOperation, Integer> mix = new EnumMap<>(WorkloadOperation.class);
+        mix.put(WorkloadOperation.BOARD_READ, 35);
+        mix.put(WorkloadOperation.COMMENT, 15);
+        mix.put(WorkloadOperation.TRANSITION, 15);
+        mix.put(WorkloadOperation.SUBTASK_CREATE, 7);
+        mix.put(WorkloadOperation.SUBTASK_TRANSITION, 8);
+        mix.put(WorkloadOperation.SUBTASK_DELETE, 2);
+        mix.put(WorkloadOperation.SPRINT_PLANNING, 6);
+        mix.put(WorkloadOperation.CREATE_STORY, 7);
+        mix.put(WorkloadOperation.CREATE_EPIC, 1);
+        mix.put(WorkloadOperation.CREATE_ON_CALL, 4);
+        return mix;
+    }
+}
@@ -0,0 +1,14 @@
+package org.example.model;
+
+public enum WorkloadOperation {
+    CREATE_STORY,
+    CREATE_EPIC,
+    CREATE_ON_CALL,
+    TRANSITION,
+    COMMENT,
+    SUBTASK_CREATE,
+    SUBTASK_TRANSITION,
+    SUBTASK_DELETE,
+    SPRINT_PLANNING,
+    BOARD_READ
+}
@@ -1,5 +1,5 @@
 package org.example.model;
 
 public enum demoType {
-    CLI,HARDCODED
+    CLI,HARDCODED,LOAD_TEST
 }
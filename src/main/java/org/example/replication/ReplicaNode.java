@@ -0,0 +1,317 @@
+package org.example.replication;
+
+import org.example.io.BinaryCodec;
+import org.example.model.LinkType;
+import org.example.model.MutationEvent;
+import org.example.model.Sprint;
+import org.example.model.SubTask;
+import org.example.model.Ticket;
+import org.example.model.TicketStatus;
+import org.example.service.SprintService;
+import org.example.service.SubTaskService;
+import org.example.service.TicketService;
+
+import java.io.*;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+public class ReplicaNode implements AutoCloseable {
+    private static final System.Logger LOGGER = System.getLogger(ReplicaNode.class.getName());
+    private static final long RECONNECT_BACKOFF_MILLIS = 200;
+    private static final LinkType[] LINK_TYPES = LinkType.values();
+
+    private final String host;
+    private final int port;
+    private final long maxStalenessMillis;
+    private final AtomicLong snapshotsLoaded = new AtomicLong();
+    private final AtomicLong reconnects = new AtomicLong();
+    private final AtomicLong resyncs = new AtomicLong();
+
+    private volatile ReplicaView view = ReplicaView.empty();
+    private volatile boolean running;
+    private volatile Socket socket;
+    private volatile RuntimeException lastDivergence;
+    private long appliedSequence;
+    private long leaderSequence;
+    private long lastCaughtUpMillis;
+
+    public ReplicaNode(String host, int port, Duration maxStaleness) {
+        this.host = host;
+        this.port = port;
+        this.maxStalenessMillis = maxStaleness.toMillis();
+    }
+
+    public void start() {
+        running = true;
+        Thread thread = new Thread(this::replicate, "replica-" + host + ":" + port);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public synchronized long getAppliedSequence() {
+        return appliedSequence;
+    }
+
+    public synchronized boolean awaitSequence(long token, Duration timeout) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeout.toMillis();
+        while (appliedSequence < token) {
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) {
+                return false;
+            }
+            wait(remaining);
+        }
+        return true;
+    }
+
+    public synchronized boolean isWithinStalenessBound() {
+        return System.currentTimeMillis() - lastCaughtUpMillis <= maxStalenessMillis;
+    }
+
+    public <T> T read(Function<ReplicaView, T> query) {
+        return read(0, query);
+    }
+
+    public <T> T read(long readToken, Function<ReplicaView, T> query) {
+        try {
+            if (!awaitSequence(readToken, Duration.ofMillis(maxStalenessMillis))) {
+                throw new IllegalStateException("Replica has not applied read token " + readToken
+                        + " (applied " + getAppliedSequence() + ")");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for read token " + readToken);
+        }
+        if (!isWithinStalenessBound()) {
+            throw new IllegalStateException("Replica is staler than " + maxStalenessMillis + "ms");
+        }
+        return query.apply(view);
+    }
+
+    public synchronized Map<String, Object> getStatus() {
+        Map<String, Object> status = new HashMap<>();
+        status.put("appliedSequence", appliedSequence);
+        status.put("leaderSequence", leaderSequence);
+        status.put("lag", Math.max(0, leaderSequence - appliedSequence));
+        status.put("withinStalenessBound", isWithinStalenessBound());
+        status.put("snapshotsLoaded", snapshotsLoaded.get());
+        status.put("reconnects", reconnects.get());
+        status.put("resyncs", resyncs.get());
+        RuntimeException divergence = lastDivergence;
+        status.put("lastDivergence", divergence == null ? null : divergence.toString());
+        return status;
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        Socket current = socket;
+        if (current != null) {
+            try {
+                current.close();
+            } catch (IOException ignored) {
+            }
+        }
+    }
+
+    private void replicate() {
+        while (running) {
+            try (Socket connection = new Socket()) {
+                connection.connect(new InetSocketAddress(host, port));
+                connection.setTcpNoDelay(true);
+                socket = connection;
+                DataOutputStream out = new DataOutputStream(connection.getOutputStream());
+                out.writeLong(getAppliedSequence());
+                out.flush();
+                receive(new DataInputStream(new BufferedInputStream(connection.getInputStream())));
+            } catch (IOException e) {
+                if (running) {
+                    reconnects.incrementAndGet();
+                }
+            } catch (RuntimeException e) {
+                lastDivergence = e;
+                LOGGER.log(System.Logger.Level.WARNING, "Replica of " + host + ":" + port
+                        + " diverged from its leader at sequence " + getAppliedSequence() + ", resynchronising", e);
+                resync();
+            }
+
+            if (running) {
+                try {
+                    Thread.sleep(RECONNECT_BACKOFF_MILLIS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void receive(DataInputStream in) throws IOException {
+        while (running) {
+            byte type = in.readByte();
+            switch (type) {
+                case ReplicationFrame.EVENT -> applyEvent(in);
+                case ReplicationFrame.HEARTBEAT -> onLeaderSequence(in.readLong());
+                case ReplicationFrame.SNAPSHOT_BEGIN -> loadSnapshot(in, in.readLong());
+                default -> throw new IOException("Unknown replication frame type: " + type);
+            }
+        }
+    }
+
+    private void loadSnapshot(DataInputStream in, long sequence) throws IOException {
+        ReplicaView fresh = ReplicaView.empty();
+        while (true) {
+            byte type = in.readByte();
+            switch (type) {
+                case ReplicationFrame.SNAPSHOT_TICKET -> fresh.ticketService().restoreTicket(BinaryCodec.readTicket(in));
+                case ReplicationFrame.SNAPSHOT_SUBTASK -> {
+                    SubTask subTask = BinaryCodec.readSubTask(in);
+                    if (fresh.ticketService().getTicket(subTask.getParentTicketId()).isPresent()) {
+                        fresh.subTaskService().restoreSubTask(subTask);
+                    }
+                }
+                case ReplicationFrame.SNAPSHOT_SPRINT -> fresh.sprintService().restoreSprint(BinaryCodec.readSprint(in));
+                case ReplicationFrame.SNAPSHOT_LINK -> fresh.ticketService().linkTickets(in.readLong(), in.readLong(),
+                        LINK_TYPES[in.readByte()]);
+                case ReplicationFrame.SNAPSHOT_END -> {
+                    synchronized (this) {
+                        view = fresh;
+                        appliedSequence = sequence;
+                        snapshotsLoaded.incrementAndGet();
+                        onLeaderSequence(sequence);
+                    }
+                    return;
+                }
+                default -> throw new IOException("Unexpected frame inside snapshot: " + type);
+            }
+        }
+    }
+
+    private void applyEvent(DataInputStream in) throws IOException {
+        MutationEvent event = BinaryCodec.readEvent(in);
+        Ticket ticketRecord = null;
+        SubTask createdSubTask = null;
+        Sprint createdSprint = null;
+        switch (event.kind()) {
+            case TICKET_CREATED, TICKET_DETAILS_CHANGED -> ticketRecord = in.readBoolean() ? BinaryCodec.readTicket(in) : null;
+            case SUBTASK_CREATED -> createdSubTask = in.readBoolean() ? BinaryCodec.readSubTask(in) : null;
+            case SPRINT_CREATED, SPRINT_ROLLED_OVER -> createdSprint = in.readBoolean() ? BinaryCodec.readSprint(in) : null;
+            default -> {
+            }
+        }
+
+        synchronized (this) {
+            if (event.sequence() <= appliedSequence) {
+                return;
+            }
+            if (event.sequence() != appliedSequence + 1) {
+                throw new IllegalStateException("Replication gap: applied " + appliedSequence + ", received " + event.sequence());
+            }
+        }
+
+        ReplicaView current = view;
+        TicketService tickets = current.ticketService();
+        SubTaskService subTasks = current.subTaskService();
+        SprintService sprints = current.sprintService();
+        switch (event.kind()) {
+            case TICKET_CREATED -> {
+                if (ticketRecord != null) {
+                    tickets.restoreTicket(new Ticket(ticketRecord.getId(), ticketRecord.getTitle(),
+                            ticketRecord.getDescription(), ticketRecord.getType(), event.value(), ticketRecord.getCreatedAt()));
+                }
+            }
+            case TICKET_STATUS_CHANGED -> {
+                if (statusOf(tickets, event.ticketId()) != event.newStatus()) {
+                    tickets.updateTicketStatus(event.ticketId(), event.newStatus());
+                }
+            }
+            case TICKET_DETAILS_CHANGED -> {
+                if (ticketRecord != null) {
+                    tickets.updateTicketDetails(event.ticketId(), ticketRecord.getTitle(), ticketRecord.getDescription());
+                }
+            }
+            case TICKET_ASSIGNEE_CHANGED -> tickets.updateTicketAssignee(event.ticketId(), event.value());
+            case TICKET_COMMENT_ADDED -> tickets.addComment(event.ticketId(), event.value());
+            case TICKET_POINTS_CHANGED -> tickets.updateStoryPoints(event.ticketId(), event.storyPoints());
+            case TICKET_DELETED -> tickets.deleteTicket(event.ticketId());
+            case TICKET_LINKED -> tickets.linkTickets(event.ticketId(), event.linkedTicketId(),
+                    LinkType.valueOf(event.value()));
+            case EPIC_LINKED -> tickets.linkToEpic(event.ticketId(), event.linkedTicketId());
+            case EPIC_UNLINKED -> tickets.unlinkFromEpic(event.ticketId());
+            case TICKET_UNLINKED -> tickets.unlinkTickets(event.ticketId(), event.linkedTicketId(),
+                    LinkType.valueOf(event.value()));
+            case SUBTASK_CREATED -> {
+                if (createdSubTask != null) {
+                    subTasks.restoreSubTask(new SubTask(createdSubTask.getId(), createdSubTask.getParentTicketId(),
+                            createdSubTask.getTitle(), createdSubTask.getDescription(), event.value(), createdSubTask.getCreatedAt()));
+                }
+            }
+            case SUBTASK_STATUS_CHANGED -> {
+                TicketStatus status = subTasks.getSubTask(event.subTaskId()).map(SubTask::getStatus).orElse(null);
+                if (status != event.newStatus()) {
+                    subTasks.updateSubTaskStatus(event.subTaskId(), event.newStatus());
+                }
+            }
+            case SUBTASK_ASSIGNEE_CHANGED -> subTasks.updateSubTaskAssignee(event.subTaskId(), event.value());
+            case SUBTASK_DELETED -> subTasks.deleteSubTask(event.subTaskId());
+            case SPRINT_CREATED -> {
+                if (createdSprint != null) {
+                    sprints.restoreSprint(emptyCopy(createdSprint));
+                }
+            }
+            case SPRINT_STARTED -> {
+                boolean alreadyActive = sprints.getActiveSprint().map(s -> s.getId().equals(event.sprintId())).orElse(false);
+                if (!alreadyActive) {
+                    sprints.startSprint(event.sprintId());
+                }
+            }
+            case SPRINT_ENDED -> sprints.endActiveSprint();
+            case SPRINT_STORY_ADDED -> sprints.addStoryToSprint(event.sprintId(), event.ticketId());
+            case SPRINT_STORY_REMOVED -> sprints.removeStoryFromSprint(event.sprintId(), event.ticketId());
+            case SPRINT_DELETED -> sprints.deleteSprint(event.sprintId());
+            case SPRINT_ROLLED_OVER -> {
+                // A sprint created by the rollover itself never had its own SPRINT_CREATED record.
+                if (createdSprint != null && sprints.getSprint(createdSprint.getId()).isEmpty()) {
+                    sprints.restoreSprint(emptyCopy(createdSprint));
+                }
+                sprints.rolloverActiveSprint(event.targetSprintId());
+            }
+            case SPRINT_CAPACITY_CHANGED -> sprints.setAssigneeCapacity(event.sprintId(), event.value(), event.storyPoints());
+        }
+
+        synchronized (this) {
+            appliedSequence = event.sequence();
+            onLeaderSequence(event.sequence());
+        }
+    }
+
+    private synchronized void onLeaderSequence(long sequence) {
+        leaderSequence = Math.max(leaderSequence, sequence);
+        if (appliedSequence >= leaderSequence) {
+            lastCaughtUpMillis = System.currentTimeMillis();
+        }
+        notifyAll();
+    }
+
+    private synchronized void resync() {
+        resyncs.incrementAndGet();
+        view = ReplicaView.empty();
+        appliedSequence = 0;
+        leaderSequence = 0;
+    }
+
+    private static TicketStatus statusOf(TicketService tickets, Long ticketId) {
+        return tickets.getTicket(ticketId).map(Ticket::getStatus).orElse(null);
+    }
+
+    private static Sprint emptyCopy(Sprint sprint) {
+        Sprint copy = new Sprint(sprint.getId(), sprint.getName(), sprint.getDescription(), sprint.getStartDate(),
+                sprint.getEndDate(), sprint.getCreatedAt());
+        copy.setAssigneeCapacity(sprint.getAssigneeCapacity());
+        return copy;
+    }
+}
@@ -0,0 +1,13 @@
+package org.example.replication;
+
+import org.example.service.SprintService;
+import org.example.service.SubTaskService;
+import org.example.service.TicketService;
+
+public record ReplicaView(TicketService ticketService, SubTaskService subTaskService, SprintService sprintService) {
+
+    public static ReplicaView empty() {
+        TicketService ticketService = new TicketService();
+        return new ReplicaView(ticketService, new SubTaskService(ticketService), new SprintService(ticketService));
+    }
+}
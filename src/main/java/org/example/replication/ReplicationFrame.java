@@ -0,0 +1,15 @@
+package org.example.replication;
+
+final class ReplicationFrame {
+    static final byte EVENT = 1;
+    static final byte SNAPSHOT_BEGIN = 2;
+    static final byte SNAPSHOT_TICKET = 3;
+    static final byte SNAPSHOT_SUBTASK = 4;
+    static final byte SNAPSHOT_SPRINT = 5;
+    static final byte SNAPSHOT_END = 6;
+    static final byte HEARTBEAT = 7;
+    static final byte SNAPSHOT_LINK = 8;
+
+    private ReplicationFrame() {
+    }
+}
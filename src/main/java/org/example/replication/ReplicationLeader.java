@@ -0,0 +1,241 @@
+package org.example.replication;
+
+import org.example.io.BinaryCodec;
+import org.example.model.MutationEvent;
+import org.example.model.Sprint;
+import org.example.model.SubTask;
+import org.example.model.Ticket;
+import org.example.model.TicketLink;
+import org.example.service.MutationBus;
+import org.example.service.MutationListener;
+import org.example.service.SprintService;
+import org.example.service.SubTaskService;
+import org.example.service.TicketService;
+
+import java.io.*;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+public class ReplicationLeader implements MutationListener, AutoCloseable {
+    public static final int DEFAULT_LOG_CAPACITY = 65_536;
+    static final long HEARTBEAT_MILLIS = 100;
+
+    private final TicketService ticketService;
+    private final SubTaskService subTaskService;
+    private final SprintService sprintService;
+    private final MutationBus mutationBus;
+    private final ReplicationLog log;
+    private final int requestedPort;
+    private final List<Socket> followers = new CopyOnWriteArrayList<>();
+    private volatile boolean running;
+    private ServerSocket serverSocket;
+
+    public ReplicationLeader(TicketService ticketService, SubTaskService subTaskService, SprintService sprintService, int port) {
+        this(ticketService, subTaskService, sprintService, port, DEFAULT_LOG_CAPACITY);
+    }
+
+    public ReplicationLeader(TicketService ticketService, SubTaskService subTaskService, SprintService sprintService,
+                             int port, int logCapacity) {
+        this.ticketService = ticketService;
+        this.subTaskService = subTaskService;
+        this.sprintService = sprintService;
+        this.mutationBus = ticketService.getMutationBus();
+        this.requestedPort = port;
+        long locks = mutationBus.lockEverything();
+        try {
+            this.log = new ReplicationLog(logCapacity, mutationBus.addListener(this));
+        } finally {
+            mutationBus.unlock(locks);
+        }
+    }
+
+    public void start() {
+        try {
+            serverSocket = new ServerSocket(requestedPort, 50, InetAddress.getLoopbackAddress());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot bind replication port " + requestedPort, e);
+        }
+        running = true;
+        Thread acceptor = new Thread(this::acceptFollowers, "replication-acceptor");
+        acceptor.setDaemon(true);
+        acceptor.start();
+    }
+
+    public int getPort() {
+        return serverSocket == null ? requestedPort : serverSocket.getLocalPort();
+    }
+
+    public long currentToken() {
+        return mutationBus.getLastSequence();
+    }
+
+    public int getFollowerCount() {
+        return followers.size();
+    }
+
+    @Override
+    public void onMutation(MutationEvent event) {
+        log.append(event.sequence(), encodeEvent(event));
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        mutationBus.removeListener(this);
+        log.close();
+        closeQuietly(serverSocket);
+        followers.forEach(ReplicationLeader::closeQuietly);
+    }
+
+    private void acceptFollowers() {
+        while (running) {
+            try {
+                Socket socket = serverSocket.accept();
+                socket.setTcpNoDelay(true);
+                followers.add(socket);
+                Thread session = new Thread(() -> serve(socket), "replication-session-" + socket.getPort());
+                session.setDaemon(true);
+                session.start();
+            } catch (IOException e) {
+                if (running) {
+                    System.err.println("Replication accept failed: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void serve(Socket socket) {
+        try (socket) {
+            DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            long next = in.readLong() + 1;
+
+            while (running) {
+                // A follower ahead of this leader's history, or behind its retained log, starts over from a snapshot.
+                if (next > mutationBus.getLastSequence() + 1 || !log.isRetained(next)) {
+                    next = sendSnapshot(out) + 1;
+                    continue;
+                }
+
+                byte[] frame = log.await(next, HEARTBEAT_MILLIS);
+                if (frame != null) {
+                    out.write(frame);
+                    next++;
+                    if (next <= log.getLastSequence()) {
+                        continue;
+                    }
+                } else if (log.isRetained(next)) {
+                    out.writeByte(ReplicationFrame.HEARTBEAT);
+                    out.writeLong(log.getLastSequence());
+                }
+                out.flush();
+            }
+        } catch (IOException e) {
+            if (running) {
+                System.err.println("Replication follower disconnected: " + e.getMessage());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            followers.remove(socket);
+        }
+    }
+
+    private long sendSnapshot(DataOutputStream out) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        DataOutputStream snapshot = new DataOutputStream(buffer);
+        long sequence;
+        // Every change is applied and sequenced under its stripe, so holding all stripes freezes state at this sequence.
+        long locks = mutationBus.lockEverything();
+        try {
+            sequence = mutationBus.getLastSequence();
+            snapshot.writeByte(ReplicationFrame.SNAPSHOT_BEGIN);
+            snapshot.writeLong(sequence);
+            ticketService.forEachTicket(ticket -> writeSnapshotRecord(snapshot, ReplicationFrame.SNAPSHOT_TICKET,
+                    ticket, BinaryCodec::writeTicket));
+            subTaskService.forEachSubTask(subTask -> writeSnapshotRecord(snapshot, ReplicationFrame.SNAPSHOT_SUBTASK,
+                    subTask, BinaryCodec::writeSubTask));
+            for (Sprint sprint : sprintService.getAllSprints()) {
+                snapshot.writeByte(ReplicationFrame.SNAPSHOT_SPRINT);
+                BinaryCodec.writeSprint(snapshot, sprint);
+            }
+            // Links follow every ticket, so both endpoints already exist when a follower restores them.
+            ticketService.forEachTicket(ticket -> {
+                for (TicketLink link : ticketService.getLinks(ticket.getId())) {
+                    if (link.sourceTicketId().equals(ticket.getId())) {
+                        writeSnapshotRecord(snapshot, ReplicationFrame.SNAPSHOT_LINK, link, ReplicationLeader::writeLink);
+                    }
+                }
+            });
+            snapshot.writeByte(ReplicationFrame.SNAPSHOT_END);
+        } finally {
+            mutationBus.unlock(locks);
+        }
+        buffer.writeTo(out);
+        out.flush();
+        return sequence;
+    }
+
+    private byte[] encodeEvent(MutationEvent event) {
+        try {
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream(128);
+            DataOutputStream out = new DataOutputStream(buffer);
+            out.writeByte(ReplicationFrame.EVENT);
+            BinaryCodec.writeEvent(out, event);
+            // Payloads were captured under the entity's stripe when the event was recorded, so a frame never carries
+            // state from a later change, or misses an entity deleted before this event was delivered.
+            switch (event.kind()) {
+                case TICKET_CREATED, TICKET_DETAILS_CHANGED ->
+                        writePayload(out, (Ticket) event.payload(), BinaryCodec::writeTicket);
+                case SUBTASK_CREATED -> writePayload(out, (SubTask) event.payload(), BinaryCodec::writeSubTask);
+                case SPRINT_CREATED, SPRINT_ROLLED_OVER ->
+                        writePayload(out, (Sprint) event.payload(), BinaryCodec::writeSprint);
+                default -> {
+                }
+            }
+            return buffer.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static <T> void writePayload(DataOutputStream out, T payload, RecordWriter<T> writer) throws IOException {
+        out.writeBoolean(payload != null);
+        if (payload != null) {
+            writer.write(out, payload);
+        }
+    }
+
+    private static <T> void writeSnapshotRecord(DataOutputStream out, byte frame, T value, RecordWriter<T> writer) {
+        try {
+            out.writeByte(frame);
+            writer.write(out, value);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeLink(DataOutput out, TicketLink link) throws IOException {
+        out.writeLong(link.sourceTicketId());
+        out.writeLong(link.targetTicketId());
+        out.writeByte(link.type().ordinal());
+    }
+
+    private static void closeQuietly(Closeable closeable) {
+        if (closeable == null) {
+            return;
+        }
+        try {
+            closeable.close();
+        } catch (IOException ignored) {
+        }
+    }
+
+    @FunctionalInterface
+    private interface RecordWriter<T> {
+        void write(DataOutput out, T value) throws IOException;
+    }
+}
@@ -0,0 +1,54 @@
+package org.example.replication;
+
+final class ReplicationLog {
+    private final byte[][] entries;
+    private long firstSequence;
+    private long lastSequence;
+    private boolean closed;
+
+    ReplicationLog(int capacity, long lastSequence) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Replication log capacity must be positive: " + capacity);
+        }
+        this.entries = new byte[capacity][];
+        this.firstSequence = lastSequence + 1;
+        this.lastSequence = lastSequence;
+    }
+
+    synchronized void append(long sequence, byte[] entry) {
+        if (sequence != lastSequence + 1) {
+            throw new IllegalStateException("Replication log gap: expected " + (lastSequence + 1) + " but got " + sequence);
+        }
+
+        entries[(int) (sequence % entries.length)] = entry;
+        lastSequence = sequence;
+        if (lastSequence - firstSequence >= entries.length) {
+            firstSequence = lastSequence - entries.length + 1;
+        }
+        notifyAll();
+    }
+
+    synchronized byte[] await(long sequence, long timeoutMillis) throws InterruptedException {
+        if (sequence > lastSequence && !closed) {
+            wait(timeoutMillis);
+        }
+        if (sequence > lastSequence || sequence < firstSequence) {
+            return null;
+        }
+        return entries[(int) (sequence % entries.length)];
+    }
+
+    synchronized boolean isRetained(long sequence) {
+        // Sequences past the tail are already applied on the leader and only waiting to be delivered here.
+        return sequence >= firstSequence;
+    }
+
+    synchronized long getLastSequence() {
+        return lastSequence;
+    }
+
+    synchronized void close() {
+        closed = true;
+        notifyAll();
+    }
+}
@@ -0,0 +1,127 @@
+package org.example.service;
+
+import org.example.model.AdmissionPolicy;
+import org.example.model.PriorityClass;
+import org.example.model.StatusUpdateResult;
+import org.example.model.TicketStatus;
+import org.example.model.TicketType;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class AdmissionBenchmark {
+    public static final int DEFAULT_TICKETS = 10_000;
+    public static final int DEFAULT_CLIENTS = 100_000;
+    public static final int DEFAULT_ROUNDS = 50;
+
+    private static final int WARMUP_ROUNDS = 20;
+
+    private final int ticketCount;
+    private final int clientCount;
+    private final int rounds;
+    private final com.sun.management.ThreadMXBean threads;
+    private int nextClient;
+
+    public AdmissionBenchmark(int ticketCount, int clientCount, int rounds) {
+        if (ticketCount <= 0 || clientCount <= 0 || rounds <= 0) {
+            throw new IllegalArgumentException("Ticket count, client count and rounds must be positive");
+        }
+        if (!(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean mxBean)
+                || !mxBean.isThreadAllocatedMemorySupported()) {
+            throw new IllegalStateException("This JVM does not report per-thread allocation");
+        }
+        this.ticketCount = ticketCount;
+        this.clientCount = clientCount;
+        this.rounds = rounds;
+        this.threads = mxBean;
+    }
+
+    public static void main(String[] args) {
+        int tickets = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_TICKETS;
+        int clients = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_CLIENTS;
+        int rounds = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_ROUNDS;
+        new AdmissionBenchmark(tickets, clients, rounds).run()
+                .forEach((key, value) -> System.out.println(key + "=" + value));
+    }
+
+    public Map<String, Object> run() {
+        TicketService ticketService = new TicketService();
+        Long[] ids = new Long[ticketCount];
+        for (int i = 0; i < ticketCount; i++) {
+            ids[i] = ticketService.createTicket("Ticket " + i, "", TicketType.ON_CALL, "benchmark").getId();
+        }
+        String[] clients = new String[clientCount];
+        for (int i = 0; i < clientCount; i++) {
+            clients[i] = "client-" + i;
+        }
+        // Limits far above what one thread can reach, so every call takes the happy path through every check.
+        AdmissionController admission = new AdmissionController(ticketService, new SubTaskService(ticketService),
+                new AdmissionPolicy(1e9, 1_000_000, 1e9, 1_000_000, Integer.MAX_VALUE, Duration.ofSeconds(10),
+                        clientCount));
+
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            direct(ticketService, ids);
+            admitted(ticketService, admission, ids, clients);
+        }
+
+        Map<String, Object> results = new LinkedHashMap<>();
+        results.put("tickets", ticketCount);
+        results.put("clients", clientCount);
+        results.put("rounds", rounds);
+        double direct = measure("direct", results, () -> direct(ticketService, ids));
+        double admitted = measure("admitted", results, () -> admitted(ticketService, admission, ids, clients));
+        results.put("overheadNanosPerOp", admitted - direct);
+        return results;
+    }
+
+    private double measure(String name, Map<String, Object> results, Runnable round) {
+        long operations = 2L * ticketCount * rounds;
+        long startedBytes = allocatedBytes();
+        long started = System.nanoTime();
+        for (int i = 0; i < rounds; i++) {
+            round.run();
+        }
+        long elapsed = System.nanoTime() - started;
+        long bytes = allocatedBytes() - startedBytes;
+
+        double nanosPerOp = elapsed / (double) operations;
+        results.put(name + ".nanosPerOp", nanosPerOp);
+        results.put(name + ".bytesPerOp", bytes / (double) operations);
+        return nanosPerOp;
+    }
+
+    private static void direct(TicketService ticketService, Long[] ids) {
+        for (Long id : ids) {
+            require(ticketService.tryUpdateTicketStatus(id, TicketStatus.IN_PROGRESS));
+            require(ticketService.tryUpdateTicketStatus(id, TicketStatus.OPEN));
+        }
+    }
+
+    private void admitted(TicketService ticketService, AdmissionController admission, Long[] ids, String[] clients) {
+        // Consecutive calls rotate through the whole client population, as they would under real traffic.
+        for (Long id : ids) {
+            require(admission.admit(nextClient(clients), id, PriorityClass.INTERACTIVE,
+                    () -> ticketService.tryUpdateTicketStatus(id, TicketStatus.IN_PROGRESS)));
+            require(admission.admit(nextClient(clients), id, PriorityClass.INTERACTIVE,
+                    () -> ticketService.tryUpdateTicketStatus(id, TicketStatus.OPEN)));
+        }
+    }
+
+    private String nextClient(String[] clients) {
+        String client = clients[nextClient];
+        nextClient = nextClient + 1 == clients.length ? 0 : nextClient + 1;
+        return client;
+    }
+
+    private static void require(StatusUpdateResult actual) {
+        if (actual != StatusUpdateResult.UPDATED) {
+            throw new IllegalStateException("Expected " + StatusUpdateResult.UPDATED + " but got " + actual);
+        }
+    }
+
+    private long allocatedBytes() {
+        return threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+}
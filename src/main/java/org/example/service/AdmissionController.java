@@ -0,0 +1,168 @@
+package org.example.service;
+
+import org.example.concurrent.GcraLimiter;
+import org.example.model.AdmissionPolicy;
+import org.example.model.PriorityClass;
+import org.example.model.SubTask;
+import org.example.model.Ticket;
+import org.example.model.TicketStatus;
+import org.example.model.TicketType;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+public class AdmissionController {
+    private static final long LATENCY_SIGNAL_WINDOW_NANOS = 1_000_000_000L;
+
+    private final TicketService ticketService;
+    private final SubTaskService subTaskService;
+    private final AdmissionPolicy policy;
+    private final GcraLimiter<String> clientLimiter;
+    private final GcraLimiter<Long> ticketLimiter;
+    private final Map<String, PriorityClass> clientClasses = new ConcurrentHashMap<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong latencyEwmaNanos = new AtomicLong();
+    private final AtomicLong lastLatencySampleNanos = new AtomicLong();
+    private final LongAdder admitted = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder rejectedByClientRate = new LongAdder();
+    private final LongAdder rejectedByTicketRate = new LongAdder();
+    private final Map<PriorityClass, LongAdder> shedByClass = new EnumMap<>(PriorityClass.class);
+
+    public AdmissionController(TicketService ticketService, SubTaskService subTaskService) {
+        this(ticketService, subTaskService, AdmissionPolicy.defaults());
+    }
+
+    public AdmissionController(TicketService ticketService, SubTaskService subTaskService, AdmissionPolicy policy) {
+        this.ticketService = ticketService;
+        this.subTaskService = subTaskService;
+        this.policy = policy;
+        this.clientLimiter = new GcraLimiter<>(policy.clientRatePerSecond(), policy.clientBurst(), policy.expectedClients());
+        this.ticketLimiter = new GcraLimiter<>(policy.ticketRatePerSecond(), policy.ticketBurst(), policy.expectedClients());
+        for (PriorityClass priorityClass : PriorityClass.values()) {
+            shedByClass.put(priorityClass, new LongAdder());
+        }
+    }
+
+    public void registerClient(String clientId, PriorityClass priorityClass) {
+        clientClasses.put(clientId, priorityClass);
+    }
+
+    public <T> T admit(String clientId, Long ticketId, PriorityClass priorityClass, Supplier<T> operation) {
+        long start = System.nanoTime();
+        if (isOverloaded(priorityClass, start)) {
+            shedByClass.get(priorityClass).increment();
+            throw new AdmissionRejectedException(AdmissionRejectedException.Reason.LOAD_SHED,
+                    "Shedding " + priorityClass + " traffic under load");
+        }
+        if (!clientLimiter.tryAcquire(clientId, start)) {
+            rejectedByClientRate.increment();
+            throw new AdmissionRejectedException(AdmissionRejectedException.Reason.CLIENT_RATE,
+                    "Rate limit exceeded for client " + clientId);
+        }
+        if (ticketId != null && !ticketLimiter.tryAcquire(ticketId, start)) {
+            rejectedByTicketRate.increment();
+            throw new AdmissionRejectedException(AdmissionRejectedException.Reason.TICKET_RATE,
+                    "Rate limit exceeded for ticket " + ticketId);
+        }
+
+        inFlight.incrementAndGet();
+        try {
+            T result = operation.get();
+            admitted.increment();
+            return result;
+        } catch (RuntimeException e) {
+            failed.increment();
+            throw e;
+        } finally {
+            inFlight.decrementAndGet();
+            recordLatency(start);
+        }
+    }
+
+    public Ticket createTicket(String clientId, String title, String description, TicketType type, String assignee) {
+        return admit(clientId, null, priorityFor(clientId, type),
+                () -> ticketService.createTicket(title, description, type, assignee));
+    }
+
+    public void updateTicketStatus(String clientId, Long ticketId, TicketStatus newStatus) {
+        admit(clientId, ticketId, priorityFor(clientId, ticketId), () -> {
+            ticketService.updateTicketStatus(ticketId, newStatus);
+            return null;
+        });
+    }
+
+    public boolean updateTicketAssignee(String clientId, Long ticketId, String newAssignee) {
+        return admit(clientId, ticketId, priorityFor(clientId, ticketId),
+                () -> ticketService.updateTicketAssignee(ticketId, newAssignee));
+    }
+
+    public boolean addComment(String clientId, Long ticketId, String comment) {
+        return admit(clientId, ticketId, priorityFor(clientId, ticketId),
+                () -> ticketService.addComment(ticketId, comment));
+    }
+
+    public SubTask createSubTask(String clientId, Long parentTicketId, String title, String description, String assignee) {
+        return admit(clientId, parentTicketId, priorityFor(clientId, parentTicketId),
+                () -> subTaskService.createSubTask(parentTicketId, title, description, assignee));
+    }
+
+    public boolean updateSubTaskStatus(String clientId, Long subTaskId, TicketStatus newStatus) {
+        Long parentTicketId = subTaskService.getSubTask(subTaskId).map(SubTask::getParentTicketId).orElse(null);
+        return admit(clientId, parentTicketId, priorityFor(clientId, parentTicketId),
+                () -> subTaskService.updateSubTaskStatus(subTaskId, newStatus));
+    }
+
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new HashMap<>();
+        metrics.put("admitted", admitted.sum());
+        metrics.put("failed", failed.sum());
+        metrics.put("rejectedClientRate", rejectedByClientRate.sum());
+        metrics.put("rejectedTicketRate", rejectedByTicketRate.sum());
+        Map<PriorityClass, Long> shed = new EnumMap<>(PriorityClass.class);
+        shedByClass.forEach((priorityClass, count) -> shed.put(priorityClass, count.sum()));
+        metrics.put("shedByClass", shed);
+        metrics.put("inFlight", inFlight.get());
+        metrics.put("latencyEwmaMicros", latencyEwmaNanos.get() / 1_000);
+        metrics.put("trackedClients", clientLimiter.getTrackedKeyCount());
+        metrics.put("trackedTickets", ticketLimiter.getTrackedKeyCount());
+        return metrics;
+    }
+
+    private PriorityClass priorityFor(String clientId, TicketType type) {
+        PriorityClass clientClass = clientClasses.getOrDefault(clientId, PriorityClass.INTERACTIVE);
+        if (type == TicketType.ON_CALL && clientClass != PriorityClass.BULK) {
+            return PriorityClass.ON_CALL;
+        }
+        return clientClass;
+    }
+
+    private PriorityClass priorityFor(String clientId, Long ticketId) {
+        // Only the type is needed, so read it off the stored ticket rather than building a snapshot for every request.
+        Ticket ticket = ticketId == null ? null : ticketService.findTicketOrNull(ticketId);
+        return priorityFor(clientId, ticket == null ? null : ticket.getType());
+    }
+
+    private boolean isOverloaded(PriorityClass priorityClass, long now) {
+        if (inFlight.get() >= policy.maxInFlight() * priorityClass.getMaxDepthFraction()) {
+            return true;
+        }
+        // A stale latency average says nothing about current load, so it only counts while requests keep completing.
+        if (now - lastLatencySampleNanos.get() > LATENCY_SIGNAL_WINDOW_NANOS) {
+            return false;
+        }
+        return latencyEwmaNanos.get() > policy.latencyTarget().toNanos() * priorityClass.getMaxLatencyMultiple();
+    }
+
+    private void recordLatency(long startNanos) {
+        long end = System.nanoTime();
+        latencyEwmaNanos.accumulateAndGet(end - startNanos, (average, latest) -> average + ((latest - average) >> 3));
+        lastLatencySampleNanos.set(end);
+    }
+}
@@ -0,0 +1,22 @@
+package org.example.service;
+
+public class AdmissionRejectedException extends IllegalStateException {
+    private static final long serialVersionUID = 1L;
+
+    public enum Reason {
+        CLIENT_RATE,
+        TICKET_RATE,
+        LOAD_SHED
+    }
+
+    private final Reason reason;
+
+    public AdmissionRejectedException(Reason reason, String message) {
+        super(message);
+        this.reason = reason;
+    }
+
+    public Reason getReason() {
+        return reason;
+    }
+}
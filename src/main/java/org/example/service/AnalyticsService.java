@@ -0,0 +1,97 @@
+package org.example.service;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class AnalyticsService implements AutoCloseable {
+    public static final Duration DEFAULT_REFRESH_INTERVAL = Duration.ofSeconds(30);
+
+    private final TicketService ticketService;
+    private final SprintService sprintService;
+    private final Duration refreshInterval;
+    private final ForkJoinPool pool;
+    private final ScheduledExecutorService scheduler;
+    private final AtomicLong refreshes = new AtomicLong();
+    private final AtomicLong lastRefreshNanos = new AtomicLong();
+    private volatile AnalyticsSnapshot snapshot;
+
+    public AnalyticsService(TicketService ticketService, SprintService sprintService) {
+        this(ticketService, sprintService, DEFAULT_REFRESH_INTERVAL,
+                Math.max(1, Runtime.getRuntime().availableProcessors() / 2));
+    }
+
+    public AnalyticsService(TicketService ticketService, SprintService sprintService, Duration refreshInterval,
+                            int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("Parallelism must be positive: " + parallelism);
+        }
+        this.ticketService = ticketService;
+        this.sprintService = sprintService;
+        this.refreshInterval = refreshInterval;
+        this.pool = new ForkJoinPool(parallelism, pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName("analytics-" + thread.getPoolIndex());
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        }, null, false);
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "analytics-refresh");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        });
+    }
+
+    public void start() {
+        long periodMillis = refreshInterval.toMillis();
+        scheduler.scheduleWithFixedDelay(this::refreshSafely, 0, periodMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public AnalyticsSnapshot refresh() {
+        long started = System.nanoTime();
+        AnalyticsSnapshot rebuilt = AnalyticsSnapshot.build(ticketService, sprintService, pool);
+        snapshot = rebuilt;
+        refreshes.incrementAndGet();
+        lastRefreshNanos.set(System.nanoTime() - started);
+        return rebuilt;
+    }
+
+    public AnalyticsSnapshot getSnapshot() {
+        AnalyticsSnapshot current = snapshot;
+        return current != null ? current : refresh();
+    }
+
+    public Map<String, Object> getMetrics() {
+        AnalyticsSnapshot current = snapshot;
+        Map<String, Object> metrics = new HashMap<>();
+        metrics.put("refreshes", refreshes.get());
+        metrics.put("lastRefreshMillis", lastRefreshNanos.get() / 1_000_000);
+        metrics.put("snapshotTickets", current == null ? 0 : current.getTicketCount());
+        metrics.put("snapshotSubTasks", current == null ? 0 : current.getSubTaskCount());
+        metrics.put("snapshotAgeMillis", current == null ? -1 : System.currentTimeMillis() - current.getBuiltAtMillis());
+        metrics.put("parallelism", pool.getParallelism());
+        return metrics;
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+        pool.shutdownNow();
+    }
+
+    private void refreshSafely() {
+        try {
+            refresh();
+        } catch (RuntimeException e) {
+            System.err.println("Analytics refresh failed: " + e.getMessage());
+        }
+    }
+}
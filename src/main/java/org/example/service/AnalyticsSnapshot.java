@@ -0,0 +1,387 @@
+package org.example.service;
+
+import org.example.model.Sprint;
+import org.example.model.SubTask;
+import org.example.model.Ticket;
+import org.example.model.TicketStatus;
+import org.example.model.TicketType;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+public final class AnalyticsSnapshot {
+    private static final int NONE = -1;
+    private static final int WORDS_PER_CHUNK = 1024;
+    private static final TicketType[] TYPES = TicketType.values();
+    private static final TicketStatus[] STATUSES = TicketStatus.values();
+
+    private final ForkJoinPool pool;
+    private final long builtAtMillis;
+    private final String[] assigneeNames;
+    private final long[] sprintIds;
+
+    private final int ticketCount;
+    private final long[] ticketIds;
+    private final byte[] ticketTypes;
+    private final byte[] ticketStatuses;
+    private final int[] ticketAssignees;
+    private final int[] ticketSprints;
+    private final int[] storyPoints;
+    private final long[] createdAtMillis;
+    private final long[] startedAtMillis;
+    private final long[] closedAtMillis;
+
+    private final int subTaskCount;
+    private final int[] subTaskParentRows;
+    private final byte[] subTaskStatuses;
+    private final int[] subTaskAssignees;
+
+    private final long[][] typeBitmaps;
+    private final long[][] statusBitmaps;
+    private final long[] closedBitmap;
+
+    private AnalyticsSnapshot(Builder builder, ForkJoinPool pool) {
+        this.pool = pool;
+        this.builtAtMillis = System.currentTimeMillis();
+        this.assigneeNames = builder.assigneeNames.toArray(new String[0]);
+        this.sprintIds = builder.sprintIds;
+        this.ticketCount = builder.ticketCount;
+        this.ticketIds = Arrays.copyOf(builder.ticketIds, ticketCount);
+        this.ticketTypes = Arrays.copyOf(builder.ticketTypes, ticketCount);
+        this.ticketStatuses = Arrays.copyOf(builder.ticketStatuses, ticketCount);
+        this.ticketAssignees = Arrays.copyOf(builder.ticketAssignees, ticketCount);
+        this.ticketSprints = Arrays.copyOf(builder.ticketSprints, ticketCount);
+        this.storyPoints = Arrays.copyOf(builder.storyPoints, ticketCount);
+        this.createdAtMillis = Arrays.copyOf(builder.createdAtMillis, ticketCount);
+        this.startedAtMillis = Arrays.copyOf(builder.startedAtMillis, ticketCount);
+        this.closedAtMillis = Arrays.copyOf(builder.closedAtMillis, ticketCount);
+        this.subTaskCount = builder.subTaskCount;
+        this.subTaskParentRows = Arrays.copyOf(builder.subTaskParentRows, subTaskCount);
+        this.subTaskStatuses = Arrays.copyOf(builder.subTaskStatuses, subTaskCount);
+        this.subTaskAssignees = Arrays.copyOf(builder.subTaskAssignees, subTaskCount);
+
+        int words = (ticketCount + 63) >>> 6;
+        this.typeBitmaps = new long[TYPES.length][words];
+        this.statusBitmaps = new long[STATUSES.length][words];
+        this.closedBitmap = new long[words];
+        for (int row = 0; row < ticketCount; row++) {
+            long bit = 1L << row;
+            typeBitmaps[ticketTypes[row]][row >>> 6] |= bit;
+            statusBitmaps[ticketStatuses[row]][row >>> 6] |= bit;
+            if (isClosed(TYPES[ticketTypes[row]], STATUSES[ticketStatuses[row]])) {
+                closedBitmap[row >>> 6] |= bit;
+            }
+        }
+    }
+
+    static AnalyticsSnapshot build(TicketService ticketService, SprintService sprintService, ForkJoinPool pool) {
+        Builder builder = new Builder(sprintService.getAllSprints());
+        ticketService.forEachTicket(ticket -> {
+            if (!ticketService.isTombstoned(ticket.getId())) {
+                builder.add(ticket);
+            }
+        });
+        return new AnalyticsSnapshot(builder, pool);
+    }
+
+    public long getBuiltAtMillis() {
+        return builtAtMillis;
+    }
+
+    public int getTicketCount() {
+        return ticketCount;
+    }
+
+    public int getSubTaskCount() {
+        return subTaskCount;
+    }
+
+    public long countTickets(TicketType type, TicketStatus status) {
+        return popCount(filter(type, status));
+    }
+
+    public long[] findTicketIds(TicketType type, TicketStatus status) {
+        long[] filter = filter(type, status);
+        long[] ids = new long[(int) popCount(filter)];
+        int count = 0;
+        for (int word = 0; word < filter.length; word++) {
+            for (long bits = filter[word]; bits != 0; bits &= bits - 1) {
+                ids[count++] = ticketIds[(word << 6) + Long.numberOfTrailingZeros(bits)];
+            }
+        }
+        return ids;
+    }
+
+    public Map<TicketStatus, Long> countByStatus(Long sprintId) {
+        int sprint = sprintId == null ? NONE : Arrays.binarySearch(sprintIds, sprintId);
+        if (sprintId != null && sprint < 0) {
+            return new EnumMap<>(TicketStatus.class);
+        }
+
+        long[] counts = groupCount(STATUSES.length, null, (row, acc) -> {
+            if (sprint == NONE || ticketSprints[row] == sprint) {
+                acc[ticketStatuses[row]]++;
+            }
+        });
+        return byStatus(counts);
+    }
+
+    public Map<TicketType, Long> countClosedByType(long sinceMillis) {
+        long[] counts = groupCount(TYPES.length, closedBitmap, (row, acc) -> {
+            if (closedAtMillis[row] >= sinceMillis) {
+                acc[ticketTypes[row]]++;
+            }
+        });
+        Map<TicketType, Long> result = new EnumMap<>(TicketType.class);
+        for (TicketType type : TYPES) {
+            if (counts[type.ordinal()] > 0) {
+                result.put(type, counts[type.ordinal()]);
+            }
+        }
+        return result;
+    }
+
+    public Map<String, Long> countClosedByAssignee(long sinceMillis) {
+        long[] counts = groupCount(assigneeNames.length, closedBitmap, (row, acc) -> {
+            if (ticketAssignees[row] != NONE && closedAtMillis[row] >= sinceMillis) {
+                acc[ticketAssignees[row]]++;
+            }
+        });
+        return byAssignee(counts);
+    }
+
+    public Map<String, Long> sumStoryPointsByAssignee(TicketStatus status) {
+        long[] sums = groupCount(assigneeNames.length, status == null ? null : statusBitmaps[status.ordinal()], (row, acc) -> {
+            if (ticketAssignees[row] != NONE) {
+                acc[ticketAssignees[row]] += storyPoints[row];
+            }
+        });
+        return byAssignee(sums);
+    }
+
+    public Map<String, Long> countOpenSubTasksByAssignee() {
+        long[] counts = new long[assigneeNames.length];
+        for (int i = 0; i < subTaskCount; i++) {
+            if (subTaskAssignees[i] != NONE && !isClosed(TYPES[ticketTypes[subTaskParentRows[i]]], STATUSES[subTaskStatuses[i]])) {
+                counts[subTaskAssignees[i]]++;
+            }
+        }
+        return byAssignee(counts);
+    }
+
+    public Optional<Duration> cycleTimePercentile(TicketType type, double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100: " + percentile);
+        }
+
+        long[] filter = and(closedBitmap, type == null ? null : typeBitmaps[type.ordinal()]);
+        long[] durations = new long[(int) popCount(filter)];
+        int count = 0;
+        for (int word = 0; word < filter.length; word++) {
+            for (long bits = filter[word]; bits != 0; bits &= bits - 1) {
+                int row = (word << 6) + Long.numberOfTrailingZeros(bits);
+                long started = startedAtMillis[row] > 0 ? startedAtMillis[row] : createdAtMillis[row];
+                durations[count++] = Math.max(0, closedAtMillis[row] - started);
+            }
+        }
+        if (count == 0) {
+            return Optional.empty();
+        }
+
+        pool.submit(() -> Arrays.parallelSort(durations)).join();
+        int index = (int) Math.ceil(percentile / 100.0 * count) - 1;
+        return Optional.of(Duration.ofMillis(durations[Math.max(0, index)]));
+    }
+
+    private long[] filter(TicketType type, TicketStatus status) {
+        long[] all = new long[(ticketCount + 63) >>> 6];
+        Arrays.fill(all, -1L);
+        if (ticketCount % 64 != 0) {
+            all[all.length - 1] = (1L << ticketCount) - 1;
+        }
+        long[] filtered = and(all, type == null ? null : typeBitmaps[type.ordinal()]);
+        return and(filtered, status == null ? null : statusBitmaps[status.ordinal()]);
+    }
+
+    private long[] groupCount(int groups, long[] filter, RowAccumulator accumulator) {
+        int words = (ticketCount + 63) >>> 6;
+        int chunks = (words + WORDS_PER_CHUNK - 1) / WORDS_PER_CHUNK;
+        // Each chunk fills its own counters and only the small per-group arrays are merged, so workers never
+        // share a cache line while scanning; the dedicated pool keeps reports off the request threads.
+        return pool.submit(() -> IntStream.range(0, chunks).parallel()
+                .mapToObj(chunk -> {
+                    long[] acc = new long[groups];
+                    int end = Math.min(words, (chunk + 1) * WORDS_PER_CHUNK);
+                    for (int word = chunk * WORDS_PER_CHUNK; word < end; word++) {
+                        long bits = filter == null ? -1L : filter[word];
+                        int base = word << 6;
+                        for (; bits != 0; bits &= bits - 1) {
+                            int row = base + Long.numberOfTrailingZeros(bits);
+                            if (row >= ticketCount) {
+                                break;
+                            }
+                            accumulator.accept(row, acc);
+                        }
+                    }
+                    return acc;
+                })
+                .reduce(new long[groups], (left, right) -> {
+                    long[] merged = new long[groups];
+                    for (int i = 0; i < groups; i++) {
+                        merged[i] = left[i] + right[i];
+                    }
+                    return merged;
+                })).join();
+    }
+
+    private Map<TicketStatus, Long> byStatus(long[] counts) {
+        Map<TicketStatus, Long> result = new EnumMap<>(TicketStatus.class);
+        for (TicketStatus status : STATUSES) {
+            if (counts[status.ordinal()] > 0) {
+                result.put(status, counts[status.ordinal()]);
+            }
+        }
+        return result;
+    }
+
+    private Map<String, Long> byAssignee(long[] counts) {
+        Map<String, Long> result = new HashMap<>();
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] > 0) {
+                result.put(assigneeNames[i], counts[i]);
+            }
+        }
+        return result;
+    }
+
+    private static long[] and(long[] left, long[] right) {
+        if (right == null) {
+            return left;
+        }
+        long[] result = new long[left.length];
+        for (int i = 0; i < left.length; i++) {
+            result[i] = left[i] & right[i];
+        }
+        return result;
+    }
+
+    private static long popCount(long[] bitmap) {
+        long count = 0;
+        for (long word : bitmap) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    private static boolean isClosed(TicketType type, TicketStatus status) {
+        return switch (type) {
+            case STORY -> status == TicketStatus.DEPLOYED;
+            case EPIC -> status == TicketStatus.COMPLETED;
+            case ON_CALL -> status == TicketStatus.RESOLVED;
+        };
+    }
+
+    private static long toMillis(LocalDateTime dateTime) {
+        return dateTime == null ? 0 : dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    @FunctionalInterface
+    private interface RowAccumulator {
+        void accept(int row, long[] acc);
+    }
+
+    private static final class Builder {
+        private final Map<String, Integer> assigneeCodes = new HashMap<>();
+        private final List<String> assigneeNames = new ArrayList<>();
+        private final Map<Long, Integer> sprintByStory = new HashMap<>();
+        private final long[] sprintIds;
+
+        private int ticketCount;
+        private long[] ticketIds = new long[1024];
+        private byte[] ticketTypes = new byte[1024];
+        private byte[] ticketStatuses = new byte[1024];
+        private int[] ticketAssignees = new int[1024];
+        private int[] ticketSprints = new int[1024];
+        private int[] storyPoints = new int[1024];
+        private long[] createdAtMillis = new long[1024];
+        private long[] startedAtMillis = new long[1024];
+        private long[] closedAtMillis = new long[1024];
+
+        private int subTaskCount;
+        private int[] subTaskParentRows = new int[1024];
+        private byte[] subTaskStatuses = new byte[1024];
+        private int[] subTaskAssignees = new int[1024];
+
+        Builder(List<Sprint> sprints) {
+            sprintIds = sprints.stream().mapToLong(Sprint::getId).sorted().toArray();
+            for (Sprint sprint : sprints) {
+                int code = Arrays.binarySearch(sprintIds, sprint.getId());
+                for (Long storyId : sprint.getStoryIds()) {
+                    sprintByStory.put(storyId, code);
+                }
+            }
+        }
+
+        void add(Ticket ticket) {
+            if (ticketCount == ticketIds.length) {
+                int capacity = ticketCount * 2;
+                ticketIds = Arrays.copyOf(ticketIds, capacity);
+                ticketTypes = Arrays.copyOf(ticketTypes, capacity);
+                ticketStatuses = Arrays.copyOf(ticketStatuses, capacity);
+                ticketAssignees = Arrays.copyOf(ticketAssignees, capacity);
+                ticketSprints = Arrays.copyOf(ticketSprints, capacity);
+                storyPoints = Arrays.copyOf(storyPoints, capacity);
+                createdAtMillis = Arrays.copyOf(createdAtMillis, capacity);
+                startedAtMillis = Arrays.copyOf(startedAtMillis, capacity);
+                closedAtMillis = Arrays.copyOf(closedAtMillis, capacity);
+            }
+
+            int row = ticketCount++;
+            ticketIds[row] = ticket.getId();
+            ticketTypes[row] = (byte) ticket.getType().ordinal();
+            ticketStatuses[row] = (byte) ticket.getStatus().ordinal();
+            ticketAssignees[row] = assigneeCode(ticket.getAssignee());
+            ticketSprints[row] = sprintByStory.getOrDefault(ticket.getId(), NONE);
+            storyPoints[row] = ticket.getStoryPoints();
+            createdAtMillis[row] = toMillis(ticket.getCreatedAt());
+            startedAtMillis[row] = ticket.getStatusEnteredAtMillis(TicketStatus.IN_PROGRESS);
+            if (ticket.getStatus() == ticket.getFinalStatus()) {
+                long closedAt = ticket.getStatusEnteredAtMillis(ticket.getStatus());
+                closedAtMillis[row] = closedAt > 0 ? closedAt : toMillis(ticket.getUpdatedAt());
+            }
+
+            for (SubTask subTask : ticket.getSubTasks()) {
+                if (subTaskCount == subTaskParentRows.length) {
+                    int capacity = subTaskCount * 2;
+                    subTaskParentRows = Arrays.copyOf(subTaskParentRows, capacity);
+                    subTaskStatuses = Arrays.copyOf(subTaskStatuses, capacity);
+                    subTaskAssignees = Arrays.copyOf(subTaskAssignees, capacity);
+                }
+                subTaskParentRows[subTaskCount] = row;
+                subTaskStatuses[subTaskCount] = (byte) subTask.getStatus().ordinal();
+                subTaskAssignees[subTaskCount] = assigneeCode(subTask.getAssignee());
+                subTaskCount++;
+            }
+        }
+
+        private int assigneeCode(String assignee) {
+            if (assignee == null) {
+                return NONE;
+            }
+            return assigneeCodes.computeIfAbsent(assignee, name -> {
+                assigneeNames.add(name);
+                return assigneeNames.size() - 1;
+            });
+        }
+    }
+}
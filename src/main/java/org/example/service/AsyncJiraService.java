@@ -0,0 +1,216 @@
+package org.example.service;
+
+import org.example.concurrent.LaneExecutor;
+import org.example.concurrent.ListPublisher;
+import org.example.model.Sprint;
+import org.example.model.SprintRollover;
+import org.example.model.SubTask;
+import org.example.model.Ticket;
+import org.example.model.TicketStatus;
+import org.example.model.TicketType;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+
+public class AsyncJiraService {
+    private static final long SPRINT_REGISTRY_KEY = Long.MIN_VALUE;
+
+    private final TicketService ticketService;
+    private final SubTaskService subTaskService;
+    private final SprintService sprintService;
+    private final LaneExecutor lanes;
+    private final Executor queryExecutor;
+
+    public AsyncJiraService(TicketService ticketService, SubTaskService subTaskService, SprintService sprintService) {
+        this(ticketService, subTaskService, sprintService,
+                new LaneExecutor(Runtime.getRuntime().availableProcessors() * 4, ForkJoinPool.commonPool()),
+                ForkJoinPool.commonPool());
+    }
+
+    public AsyncJiraService(TicketService ticketService, SubTaskService subTaskService, SprintService sprintService,
+                            LaneExecutor lanes, Executor queryExecutor) {
+        this.ticketService = ticketService;
+        this.subTaskService = subTaskService;
+        this.sprintService = sprintService;
+        this.lanes = lanes;
+        this.queryExecutor = queryExecutor;
+    }
+
+    public CompletableFuture<Ticket> createTicket(String title, String description, TicketType type, String assignee) {
+        // The id is assigned up front, so the insert runs on the new ticket's own lane like every later change to it.
+        Ticket ticket = new Ticket(title, description, type, assignee);
+        return lanes.submit(ticket.getId(), () -> ticketService.insertTicket(ticket));
+    }
+
+    public CompletableFuture<Optional<Ticket>> getTicket(Long ticketId) {
+        return query(() -> ticketService.getTicket(ticketId));
+    }
+
+    public CompletableFuture<Void> updateTicketStatus(Long ticketId, TicketStatus newStatus) {
+        return lanes.execute(ticketId, () -> ticketService.updateTicketStatus(ticketId, newStatus));
+    }
+
+    public CompletableFuture<Boolean> updateTicketAssignee(Long ticketId, String newAssignee) {
+        return lanes.submit(ticketId, () -> ticketService.updateTicketAssignee(ticketId, newAssignee));
+    }
+
+    public CompletableFuture<Boolean> updateTicketDetails(Long ticketId, String title, String description) {
+        return lanes.submit(ticketId, () -> ticketService.updateTicketDetails(ticketId, title, description));
+    }
+
+    public CompletableFuture<Boolean> updateStoryPoints(Long ticketId, int storyPoints) {
+        return lanes.submit(ticketId, () -> ticketService.updateStoryPoints(ticketId, storyPoints));
+    }
+
+    public CompletableFuture<Boolean> addComment(Long ticketId, String comment) {
+        return lanes.submit(ticketId, () -> ticketService.addComment(ticketId, comment));
+    }
+
+    public CompletableFuture<Boolean> deleteTicket(Long ticketId) {
+        return lanes.submit(ticketId, () -> ticketService.deleteTicket(ticketId));
+    }
+
+    public Flow.Publisher<Ticket> getAllTickets() {
+        return publish(ticketService::getAllTickets);
+    }
+
+    public Flow.Publisher<Ticket> getTicketsByType(TicketType type) {
+        return publish(() -> ticketService.getTicketsByType(type));
+    }
+
+    public Flow.Publisher<Ticket> getTicketsUpdatedBetween(LocalDateTime from, LocalDateTime to, int limit) {
+        return publish(() -> ticketService.getTicketsUpdatedBetween(from, to, limit));
+    }
+
+    public CompletableFuture<SubTask> createSubTask(Long parentTicketId, String title, String description, String assignee) {
+        return lanes.submit(parentTicketId, () -> subTaskService.createSubTask(parentTicketId, title, description, assignee));
+    }
+
+    public CompletableFuture<Optional<SubTask>> getSubTask(Long subTaskId) {
+        return query(() -> subTaskService.getSubTask(subTaskId));
+    }
+
+    public CompletableFuture<Boolean> updateSubTaskStatus(Long subTaskId, TicketStatus newStatus) {
+        return onParentLane(subTaskId, () -> subTaskService.updateSubTaskStatus(subTaskId, newStatus));
+    }
+
+    public CompletableFuture<Boolean> updateSubTaskAssignee(Long subTaskId, String newAssignee) {
+        return onParentLane(subTaskId, () -> subTaskService.updateSubTaskAssignee(subTaskId, newAssignee));
+    }
+
+    public CompletableFuture<Boolean> deleteSubTask(Long subTaskId) {
+        return onParentLane(subTaskId, () -> subTaskService.deleteSubTask(subTaskId));
+    }
+
+    public Flow.Publisher<SubTask> getSubTasksForTicket(Long ticketId) {
+        return publish(() -> subTaskService.getSubTasksForTicket(ticketId));
+    }
+
+    public Flow.Publisher<SubTask> getSubTasksByAssignee(String assignee) {
+        return publish(() -> subTaskService.getSubTasksByAssignee(assignee));
+    }
+
+    public CompletableFuture<Sprint> createSprint(String name, String description, LocalDateTime startDate, LocalDateTime endDate) {
+        Sprint sprint;
+        try {
+            sprint = sprintService.newSprint(name, description, startDate, endDate);
+        } catch (IllegalArgumentException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return lanes.submit(sprintKey(sprint.getId()), () -> sprintService.insertSprint(sprint));
+    }
+
+    public CompletableFuture<Boolean> startSprint(Long sprintId) {
+        return lanes.submitAcross(new long[]{SPRINT_REGISTRY_KEY, sprintKey(sprintId)}, () -> sprintService.startSprint(sprintId));
+    }
+
+    public CompletableFuture<Boolean> endActiveSprint() {
+        Optional<Long> activeId = sprintService.getActiveSprint().map(Sprint::getId);
+        if (activeId.isEmpty()) {
+            return CompletableFuture.completedFuture(false);
+        }
+
+        // Another registry task may end or swap the active sprint first; retry against whichever sprint is active then.
+        return lanes.submitAcross(new long[]{SPRINT_REGISTRY_KEY, sprintKey(activeId.get())},
+                        () -> activeId.equals(sprintService.getActiveSprint().map(Sprint::getId))
+                                ? Optional.of(sprintService.endActiveSprint())
+                                : Optional.<Boolean>empty())
+                .thenCompose(ended -> ended.map(CompletableFuture::completedFuture).orElseGet(this::endActiveSprint));
+    }
+
+    public CompletableFuture<Optional<SprintRollover>> rolloverActiveSprint(Long nextSprintId) {
+        Optional<Long> activeId = sprintService.getActiveSprint().map(Sprint::getId);
+        if (activeId.isEmpty()) {
+            return CompletableFuture.completedFuture(Optional.empty());
+        }
+
+        // Same retry as endActiveSprint: lock the sprint that was active when the task was queued, recheck on entry.
+        return lanes.submitAcross(new long[]{SPRINT_REGISTRY_KEY, sprintKey(activeId.get()), sprintKey(nextSprintId)},
+                        () -> activeId.equals(sprintService.getActiveSprint().map(Sprint::getId))
+                                ? Optional.of(sprintService.rolloverActiveSprint(nextSprintId))
+                                : Optional.<Optional<SprintRollover>>empty())
+                .thenCompose(rolled -> rolled.map(CompletableFuture::completedFuture)
+                        .orElseGet(() -> rolloverActiveSprint(nextSprintId)));
+    }
+
+    public CompletableFuture<Boolean> addStoryToSprint(Long sprintId, Long storyId) {
+        return lanes.submitAcross(new long[]{storyId, sprintKey(sprintId)}, () -> sprintService.addStoryToSprint(sprintId, storyId));
+    }
+
+    public CompletableFuture<Boolean> removeStoryFromSprint(Long sprintId, Long storyId) {
+        return lanes.submitAcross(new long[]{storyId, sprintKey(sprintId)}, () -> sprintService.removeStoryFromSprint(sprintId, storyId));
+    }
+
+    public CompletableFuture<Boolean> moveStory(Long storyId, Long fromSprintId, Long toSprintId) {
+        return lanes.submitAcross(new long[]{storyId, sprintKey(fromSprintId), sprintKey(toSprintId)}, () -> {
+            if (sprintService.getSprint(toSprintId).isEmpty() || !sprintService.removeStoryFromSprint(fromSprintId, storyId)) {
+                return false;
+            }
+            return sprintService.addStoryToSprint(toSprintId, storyId);
+        });
+    }
+
+    public CompletableFuture<Boolean> setAssigneeCapacity(Long sprintId, String assignee, int points) {
+        return lanes.submit(sprintKey(sprintId), () -> sprintService.setAssigneeCapacity(sprintId, assignee, points));
+    }
+
+    public CompletableFuture<Boolean> deleteSprint(Long sprintId) {
+        return lanes.submitAcross(new long[]{SPRINT_REGISTRY_KEY, sprintKey(sprintId)}, () -> sprintService.deleteSprint(sprintId));
+    }
+
+    public CompletableFuture<Optional<Sprint>> getSprint(Long sprintId) {
+        return query(() -> sprintService.getSprint(sprintId));
+    }
+
+    public Flow.Publisher<Sprint> getAllSprints() {
+        return publish(sprintService::getAllSprints);
+    }
+
+    public Flow.Publisher<Ticket> getStoriesInSprint(Long sprintId) {
+        return publish(() -> sprintService.getStoriesInSprint(sprintId));
+    }
+
+    private static long sprintKey(Long sprintId) {
+        return -sprintId;
+    }
+
+    private CompletableFuture<Boolean> onParentLane(Long subTaskId, Supplier<Boolean> mutation) {
+        Optional<Long> parentId = subTaskService.getSubTask(subTaskId).map(SubTask::getParentTicketId);
+        return parentId.map(id -> lanes.submit(id, mutation))
+                .orElseGet(() -> CompletableFuture.completedFuture(false));
+    }
+
+    private <T> CompletableFuture<T> query(Supplier<T> query) {
+        return CompletableFuture.supplyAsync(query, queryExecutor);
+    }
+
+    private <T> Flow.Publisher<T> publish(Supplier<List<T>> query) {
+        return new ListPublisher<>(query, queryExecutor);
+    }
+}
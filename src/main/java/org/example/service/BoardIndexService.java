@@ -0,0 +1,283 @@
+package org.example.service;
+
+import org.example.model.BoardFilter;
+import org.example.model.MutationEvent;
+import org.example.model.Sprint;
+import org.example.model.Ticket;
+import org.example.model.TicketStatus;
+import org.example.model.TicketType;
+import org.example.util.RoaringBitmap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+public class BoardIndexService implements MutationListener {
+    private static final int NONE = -1;
+
+    private final TicketService ticketService;
+    private final SprintService sprintService;
+    private final RoaringBitmap live = new RoaringBitmap();
+    private final RoaringBitmap[] byType = newBitmaps(TicketType.values().length);
+    private final RoaringBitmap[] byStatus = newBitmaps(TicketStatus.values().length);
+    private final Map<String, Integer> assigneeCodes = new HashMap<>();
+    private final List<RoaringBitmap> byAssignee = new ArrayList<>();
+    private final Map<Long, RoaringBitmap> bySprint = new HashMap<>();
+    private int[] assigneeOf = newAssigneeColumn(1024);
+
+    public BoardIndexService(TicketService ticketService, SprintService sprintService) {
+        this.ticketService = ticketService;
+        this.sprintService = sprintService;
+        MutationBus bus = ticketService.getMutationBus();
+        long locks = bus.lockEverything();
+        try {
+            synchronized (this) {
+                ticketService.forEachTicket(ticket -> {
+                    if (!ticketService.isTombstoned(ticket.getId())) {
+                        index(ticket.getId(), ticket.getType(), ticket.getStatus(), ticket.getAssignee());
+                    }
+                });
+                sprintService.getAllSprints().forEach(this::indexSprint);
+                ticketService.getMutationBus().addListener(this);
+            }
+        } finally {
+            bus.unlock(locks);
+        }
+    }
+
+    @Override
+    public synchronized void onMutation(MutationEvent event) {
+        switch (event.kind()) {
+            case TICKET_CREATED -> index(event.ticketId(), event.ticketType(), event.newStatus(), event.value());
+            case TICKET_STATUS_CHANGED -> {
+                int ordinal = ordinal(event.ticketId());
+                byStatus[event.previousStatus().ordinal()].remove(ordinal);
+                byStatus[event.newStatus().ordinal()].add(ordinal);
+            }
+            case TICKET_ASSIGNEE_CHANGED -> reassign(ordinal(event.ticketId()), event.value());
+            case TICKET_DELETED -> unindex(event.ticketId(), event.ticketType(), event.previousStatus());
+            case SPRINT_CREATED -> sprintService.getSprint(event.sprintId()).ifPresent(this::indexSprint);
+            case SPRINT_STORY_ADDED -> sprintBitmap(event.sprintId()).add(ordinal(event.ticketId()));
+            case SPRINT_STORY_REMOVED -> sprintBitmap(event.sprintId()).remove(ordinal(event.ticketId()));
+            case SPRINT_DELETED -> bySprint.remove(event.sprintId());
+            case SPRINT_ROLLED_OVER -> {
+                RoaringBitmap closed = sprintBitmap(event.sprintId());
+                RoaringBitmap next = sprintBitmap(event.targetSprintId());
+                for (Long storyId : event.storyIds()) {
+                    closed.remove(ordinal(storyId));
+                    next.add(ordinal(storyId));
+                }
+            }
+            default -> {
+            }
+        }
+    }
+
+    public synchronized RoaringBitmap evaluate(BoardFilter filter) {
+        List<List<RoaringBitmap>> constraints = new ArrayList<>();
+        if (!filter.types().isEmpty()) {
+            constraints.add(filter.types().stream().map(type -> byType[type.ordinal()]).toList());
+        }
+        if (!filter.statuses().isEmpty()) {
+            constraints.add(filter.statuses().stream().map(status -> byStatus[status.ordinal()]).toList());
+        }
+        if (!filter.assignees().isEmpty()) {
+            constraints.add(filter.assignees().stream()
+                    .map(assigneeCodes::get)
+                    .filter(code -> code != null)
+                    .map(byAssignee::get)
+                    .toList());
+        }
+        if (filter.sprintId() != null || filter.activeSprintOnly()) {
+            Long sprintId = filter.activeSprintOnly()
+                    ? sprintService.getActiveSprint().map(Sprint::getId).orElse(null)
+                    : filter.sprintId();
+            RoaringBitmap sprint = sprintId == null ? null : bySprint.get(sprintId);
+            constraints.add(sprint == null ? List.of() : List.of(sprint));
+        }
+        if (constraints.isEmpty()) {
+            return live.copy();
+        }
+
+        // Intersecting the most selective constraint first keeps every later AND small.
+        constraints.sort(Comparator.comparingLong(BoardIndexService::cardinality));
+        List<RoaringBitmap> smallest = constraints.get(0);
+        RoaringBitmap result = union(smallest);
+        for (int i = 1; i < constraints.size() && !result.isEmpty(); i++) {
+            result = RoaringBitmap.and(result, union(constraints.get(i)));
+        }
+        // An empty first constraint stops the ANDs early, so the result can still be one of the index's own bitmaps.
+        return smallest.size() == 1 && result == smallest.get(0) ? result.copy() : result;
+    }
+
+    public long count(BoardFilter filter) {
+        return evaluate(filter).cardinality();
+    }
+
+    public List<Long> findTicketIds(BoardFilter filter) {
+        int[] ordinals = evaluate(filter).toArray();
+        List<Long> ids = new ArrayList<>(ordinals.length);
+        for (int ordinal : ordinals) {
+            ids.add((long) ordinal);
+        }
+        return ids;
+    }
+
+    public List<Ticket> findTickets(BoardFilter filter) {
+        List<Ticket> tickets = new ArrayList<>();
+        evaluate(filter).forEach(ordinal -> ticketService.getTicket((long) ordinal).ifPresent(tickets::add));
+        return tickets;
+    }
+
+    public synchronized Map<TicketStatus, Long> countByStatus(BoardFilter filter) {
+        RoaringBitmap matches = evaluate(filter);
+        Map<TicketStatus, Long> counts = new EnumMap<>(TicketStatus.class);
+        for (TicketStatus status : TicketStatus.values()) {
+            long count = RoaringBitmap.andCardinality(matches, byStatus[status.ordinal()]);
+            if (count > 0) {
+                counts.put(status, count);
+            }
+        }
+        return counts;
+    }
+
+    public synchronized Optional<RoaringBitmap> getAssigneeBitmap(String assignee) {
+        Integer code = assigneeCodes.get(assignee);
+        return code == null ? Optional.empty() : Optional.of(byAssignee.get(code).copy());
+    }
+
+    public synchronized RoaringBitmap getTypeBitmap(TicketType type) {
+        return byType[type.ordinal()].copy();
+    }
+
+    public synchronized RoaringBitmap getStatusBitmap(TicketStatus status) {
+        return byStatus[status.ordinal()].copy();
+    }
+
+    public synchronized Optional<RoaringBitmap> getSprintBitmap(Long sprintId) {
+        return Optional.ofNullable(bySprint.get(sprintId)).map(RoaringBitmap::copy);
+    }
+
+    public synchronized Map<String, Object> getStatistics() {
+        long bytes = live.getSizeInBytes();
+        for (RoaringBitmap bitmap : byType) {
+            bytes += bitmap.getSizeInBytes();
+        }
+        for (RoaringBitmap bitmap : byStatus) {
+            bytes += bitmap.getSizeInBytes();
+        }
+        for (RoaringBitmap bitmap : byAssignee) {
+            bytes += bitmap.getSizeInBytes();
+        }
+        for (RoaringBitmap bitmap : bySprint.values()) {
+            bytes += bitmap.getSizeInBytes();
+        }
+
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("indexedTickets", live.cardinality());
+        stats.put("assignees", assigneeCodes.size());
+        stats.put("sprints", bySprint.size());
+        stats.put("indexBytes", bytes);
+        return stats;
+    }
+
+    private void index(Long ticketId, TicketType type, TicketStatus status, String assignee) {
+        int ordinal = ordinal(ticketId);
+        live.add(ordinal);
+        byType[type.ordinal()].add(ordinal);
+        byStatus[status.ordinal()].add(ordinal);
+        if (ordinal >= assigneeOf.length) {
+            int[] grown = newAssigneeColumn(Math.max(ordinal + 1, assigneeOf.length * 2));
+            System.arraycopy(assigneeOf, 0, grown, 0, assigneeOf.length);
+            assigneeOf = grown;
+        }
+        reassign(ordinal, assignee);
+    }
+
+    private void unindex(Long ticketId, TicketType type, TicketStatus status) {
+        int ordinal = ordinal(ticketId);
+        live.remove(ordinal);
+        byType[type.ordinal()].remove(ordinal);
+        byStatus[status.ordinal()].remove(ordinal);
+        reassign(ordinal, null);
+        for (RoaringBitmap sprint : bySprint.values()) {
+            sprint.remove(ordinal);
+        }
+    }
+
+    private void reassign(int ordinal, String assignee) {
+        if (ordinal >= assigneeOf.length) {
+            return;
+        }
+        if (assigneeOf[ordinal] != NONE) {
+            byAssignee.get(assigneeOf[ordinal]).remove(ordinal);
+        }
+        if (assignee == null) {
+            assigneeOf[ordinal] = NONE;
+            return;
+        }
+        int code = assigneeCodes.computeIfAbsent(assignee, name -> {
+            byAssignee.add(new RoaringBitmap());
+            return byAssignee.size() - 1;
+        });
+        byAssignee.get(code).add(ordinal);
+        assigneeOf[ordinal] = code;
+    }
+
+    private void indexSprint(Sprint sprint) {
+        RoaringBitmap stories = sprintBitmap(sprint.getId());
+        for (Long storyId : sprint.getStoryIds()) {
+            stories.add(ordinal(storyId));
+        }
+    }
+
+    private RoaringBitmap sprintBitmap(Long sprintId) {
+        return bySprint.computeIfAbsent(sprintId, id -> new RoaringBitmap());
+    }
+
+    private static long cardinality(List<RoaringBitmap> bitmaps) {
+        long cardinality = 0;
+        for (RoaringBitmap bitmap : bitmaps) {
+            cardinality += bitmap.cardinality();
+        }
+        return cardinality;
+    }
+
+    private static RoaringBitmap union(List<RoaringBitmap> bitmaps) {
+        if (bitmaps.size() == 1) {
+            return bitmaps.get(0);
+        }
+        RoaringBitmap result = new RoaringBitmap();
+        for (RoaringBitmap bitmap : bitmaps) {
+            result = RoaringBitmap.or(result, bitmap);
+        }
+        return result;
+    }
+
+    private static int ordinal(Long ticketId) {
+        // Ticket ids are allocated densely from 1, so they double as bitmap ordinals.
+        if (ticketId <= 0 || ticketId > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Ticket id out of bitmap range: " + ticketId);
+        }
+        return ticketId.intValue();
+    }
+
+    private static int[] newAssigneeColumn(int length) {
+        int[] column = new int[length];
+        Arrays.fill(column, NONE);
+        return column;
+    }
+
+    private static RoaringBitmap[] newBitmaps(int count) {
+        RoaringBitmap[] bitmaps = new RoaringBitmap[count];
+        for (int i = 0; i < count; i++) {
+            bitmaps[i] = new RoaringBitmap();
+        }
+        return bitmaps;
+    }
+}
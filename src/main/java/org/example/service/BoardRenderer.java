@@ -0,0 +1,160 @@
+package org.example.service;
+
+import org.example.model.BoardQuery;
+import org.example.model.Sprint;
+import org.example.model.SubTask;
+import org.example.model.Ticket;
+import org.example.model.TicketStatus;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Predicate;
+
+public class BoardRenderer {
+    private static final int FLUSH_THRESHOLD = 8 * 1024;
+
+    private final TicketService ticketService;
+    private final SprintService sprintService;
+
+    public BoardRenderer(TicketService ticketService, SprintService sprintService) {
+        this.ticketService = ticketService;
+        this.sprintService = sprintService;
+    }
+
+    public long render(BoardQuery query, PrintStream out) {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), FLUSH_THRESHOLD);
+        long rendered = render(query, writer);
+        try {
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return rendered;
+    }
+
+    public long render(BoardQuery query, Writer out) {
+        Cursor cursor = new Cursor(query, out);
+        if (!query.groupByStatus()) {
+            forEachCandidate(query, ticket -> cursor.accept(ticket, null));
+        } else {
+            // One pass per status column keeps memory constant; there are only a handful of statuses.
+            for (TicketStatus status : TicketStatus.values()) {
+                if (cursor.isPageComplete()) {
+                    break;
+                }
+                forEachCandidate(query, ticket -> ticket.getStatus() != status || cursor.accept(ticket, status));
+            }
+        }
+        cursor.flush();
+        return cursor.rendered;
+    }
+
+    private void forEachCandidate(BoardQuery query, Predicate<Ticket> action) {
+        // The action returns false once the page is full, which ends the scan instead of counting past the last row.
+        if (query.sprintId() == null) {
+            ticketService.scanTickets(ticket -> ticketService.isTombstoned(ticket.getId()) || action.test(ticket));
+            return;
+        }
+
+        sprintService.getSprint(query.sprintId()).map(Sprint::getStoryIds).ifPresent(storyIds -> {
+            for (Long storyId : storyIds) {
+                Ticket ticket = ticketService.getTicket(storyId).orElse(null);
+                if (ticket != null && !action.test(ticket)) {
+                    return;
+                }
+            }
+        });
+    }
+
+    private static final class Cursor {
+        private final BoardQuery query;
+        private final Writer out;
+        private final StringBuilder buffer = new StringBuilder(FLUSH_THRESHOLD + 512);
+        private final char[] chunk = new char[FLUSH_THRESHOLD];
+        private final long firstRow;
+        private final long lastRow;
+        private long row;
+        private long rendered;
+        private TicketStatus currentGroup;
+
+        Cursor(BoardQuery query, Writer out) {
+            this.query = query;
+            this.out = out;
+            this.firstRow = query.firstRow();
+            this.lastRow = firstRow + query.pageSize();
+        }
+
+        boolean accept(Ticket ticket, TicketStatus group) {
+            long current = row++;
+            if (current < firstRow) {
+                return true;
+            }
+            if (current >= lastRow) {
+                return false;
+            }
+            if (group != null && group != currentGroup) {
+                currentGroup = group;
+                buffer.append("== ").append(group).append(" ==\n");
+            }
+            appendTicket(ticket);
+            rendered++;
+            if (buffer.length() >= FLUSH_THRESHOLD) {
+                flush();
+            }
+            return row < lastRow;
+        }
+
+        boolean isPageComplete() {
+            return row >= lastRow;
+        }
+
+        private void appendTicket(Ticket ticket) {
+            buffer.append("- #").append(ticket.getId())
+                    .append(" [").append(ticket.getType()).append("] ")
+                    .append(ticket.getStatus()).append(' ')
+                    .append(ticket.getTitle());
+            if (ticket.getAssignee() != null) {
+                buffer.append(" (").append(ticket.getAssignee()).append(')');
+            }
+            if (ticket.getStoryPoints() > 0) {
+                buffer.append(' ').append(ticket.getStoryPoints()).append("pts");
+            }
+            int subTaskCount = ticket.getSubTasks().size();
+            if (subTaskCount > 0) {
+                buffer.append(", ").append(subTaskCount).append(subTaskCount == 1 ? " sub-task" : " sub-tasks");
+            }
+            buffer.append('\n');
+
+            if (query.includeSubTasks()) {
+                for (SubTask subTask : ticket.getSubTasks()) {
+                    buffer.append("  * #").append(subTask.getId()).append(' ')
+                            .append(subTask.getStatus()).append(' ')
+                            .append(subTask.getTitle());
+                    if (subTask.getAssignee() != null) {
+                        buffer.append(" (").append(subTask.getAssignee()).append(')');
+                    }
+                    buffer.append('\n');
+                }
+            }
+        }
+
+        void flush() {
+            // Copied through one reused char[]; Writer.append(CharSequence) would build a String per flush.
+            try {
+                for (int start = 0; start < buffer.length(); start += chunk.length) {
+                    int end = Math.min(buffer.length(), start + chunk.length);
+                    buffer.getChars(start, end, chunk, 0);
+                    out.write(chunk, 0, end - start);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            buffer.setLength(0);
+        }
+    }
+}
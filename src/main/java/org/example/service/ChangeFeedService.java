@@ -0,0 +1,199 @@
+package org.example.service;
+
+import org.example.model.ChangeFeedPage;
+import org.example.model.MutationEvent;
+import org.example.model.SubTask;
+import org.example.model.Ticket;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Function;
+
+public class ChangeFeedService implements MutationListener {
+    public static final Duration DEFAULT_TOMBSTONE_RETENTION = Duration.ofDays(7);
+
+    private final TicketService ticketService;
+    private final SubTaskService subTaskService;
+    private final long retentionMillis;
+    private final UpdateIndex ticketIndex = new UpdateIndex();
+    private final UpdateIndex subTaskIndex = new UpdateIndex();
+    private long lastMillis = Long.MIN_VALUE;
+
+    public ChangeFeedService(TicketService ticketService, SubTaskService subTaskService) {
+        this(ticketService, subTaskService, DEFAULT_TOMBSTONE_RETENTION);
+    }
+
+    public ChangeFeedService(TicketService ticketService, SubTaskService subTaskService, Duration tombstoneRetention) {
+        if (tombstoneRetention.isNegative()) {
+            throw new IllegalArgumentException("Tombstone retention cannot be negative: " + tombstoneRetention);
+        }
+        this.ticketService = ticketService;
+        this.subTaskService = subTaskService;
+        this.retentionMillis = tombstoneRetention.toMillis();
+        ticketService.getMutationBus().addListener(this);
+    }
+
+    @Override
+    public void onMutation(MutationEvent event) {
+        // The bus delivers events one at a time, so clamping keeps index keys monotonic even if the wall clock steps back.
+        lastMillis = Math.max(lastMillis, event.timestampMillis());
+        FeedKey key = new FeedKey(lastMillis, event.sequence());
+        switch (event.kind()) {
+            case TICKET_CREATED, TICKET_STATUS_CHANGED, TICKET_ASSIGNEE_CHANGED,
+                 TICKET_COMMENT_ADDED, TICKET_POINTS_CHANGED, TICKET_DETAILS_CHANGED, EPIC_LINKED,
+                 EPIC_UNLINKED -> ticketIndex.touch(event.ticketId(), key);
+            // Deletes stay in the index as tombstones at their own position, so a reader paging past them learns of them.
+            case TICKET_DELETED -> ticketIndex.bury(event.ticketId(), key);
+            case SUBTASK_CREATED -> {
+                subTaskIndex.touch(event.subTaskId(), key);
+                ticketIndex.touch(event.ticketId(), key);
+            }
+            case SUBTASK_STATUS_CHANGED, SUBTASK_ASSIGNEE_CHANGED -> subTaskIndex.touch(event.subTaskId(), key);
+            case SUBTASK_DELETED -> {
+                subTaskIndex.bury(event.subTaskId(), key);
+                ticketIndex.touch(event.ticketId(), key);
+            }
+            default -> {
+            }
+        }
+        // Tombstones older than the retention are dropped; a reader whose cursor is behind the newest dropped one is told
+        // its view is truncated and should resynchronise from a full read.
+        long cutoff = lastMillis - retentionMillis;
+        ticketIndex.expire(cutoff);
+        subTaskIndex.expire(cutoff);
+    }
+
+    public ChangeFeedPage<Ticket> getTicketsUpdatedSince(Instant since, int limit) {
+        return ticketIndex.page(FeedKey.before(since), limit, ticketService::getTicket);
+    }
+
+    public ChangeFeedPage<Ticket> getTicketsUpdatedSince(String continuationToken, int limit) {
+        return ticketIndex.page(FeedKey.parse(continuationToken), limit, ticketService::getTicket);
+    }
+
+    public ChangeFeedPage<SubTask> getSubTasksUpdatedSince(Instant since, int limit) {
+        return subTaskIndex.page(FeedKey.before(since), limit, this::visibleSubTask);
+    }
+
+    public ChangeFeedPage<SubTask> getSubTasksUpdatedSince(String continuationToken, int limit) {
+        return subTaskIndex.page(FeedKey.parse(continuationToken), limit, this::visibleSubTask);
+    }
+
+    public int getIndexedTicketCount() {
+        return ticketIndex.size();
+    }
+
+    public int getIndexedSubTaskCount() {
+        return subTaskIndex.size();
+    }
+
+    private Optional<SubTask> visibleSubTask(Long subTaskId) {
+        return subTaskService.getSubTask(subTaskId)
+                .filter(subTask -> !ticketService.isTombstoned(subTask.getParentTicketId()));
+    }
+
+    private record FeedKey(long updatedAtMillis, long sequence) {
+        private static final Comparator<FeedKey> ORDER = Comparator
+                .comparingLong(FeedKey::updatedAtMillis)
+                .thenComparingLong(FeedKey::sequence);
+
+        static FeedKey before(Instant since) {
+            return new FeedKey(since.toEpochMilli(), 0);
+        }
+
+        static FeedKey parse(String token) {
+            int separator = token == null ? -1 : token.indexOf('-', 1);
+            if (separator < 0) {
+                throw new IllegalArgumentException("Malformed continuation token: " + token);
+            }
+            try {
+                return new FeedKey(Long.parseLong(token.substring(0, separator)), Long.parseLong(token.substring(separator + 1)));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Malformed continuation token: " + token);
+            }
+        }
+
+        String token() {
+            return updatedAtMillis + "-" + sequence;
+        }
+    }
+
+    private record Tombstone(Long id, FeedKey key) {
+    }
+
+    private static class UpdateIndex {
+        private final ConcurrentSkipListMap<FeedKey, Long> byUpdate = new ConcurrentSkipListMap<>(FeedKey.ORDER);
+        private final Map<Long, FeedKey> current = new ConcurrentHashMap<>();
+        // Only the delivering thread touches the queue; keys arrive in order, so the oldest tombstone is always first.
+        private final ArrayDeque<Tombstone> tombstones = new ArrayDeque<>();
+        private volatile FeedKey horizon;
+
+        void touch(Long id, FeedKey key) {
+            if (id == null) {
+                return;
+            }
+            byUpdate.put(key, id);
+            FeedKey previous = current.put(id, key);
+            if (previous != null) {
+                byUpdate.remove(previous);
+            }
+        }
+
+        void bury(Long id, FeedKey key) {
+            if (id != null) {
+                touch(id, key);
+                tombstones.addLast(new Tombstone(id, key));
+            }
+        }
+
+        void expire(long cutoffMillis) {
+            while (!tombstones.isEmpty() && tombstones.peekFirst().key().updatedAtMillis() < cutoffMillis) {
+                Tombstone tombstone = tombstones.pollFirst();
+                // A restored id has moved on to a newer key, which must stay.
+                if (current.remove(tombstone.id(), tombstone.key())) {
+                    byUpdate.remove(tombstone.key());
+                }
+                horizon = tombstone.key();
+            }
+        }
+
+        int size() {
+            return current.size();
+        }
+
+        <T> ChangeFeedPage<T> page(FeedKey after, int limit, Function<Long, Optional<T>> resolver) {
+            if (limit <= 0) {
+                throw new IllegalArgumentException("Limit must be positive: " + limit);
+            }
+
+            FeedKey expired = horizon;
+            boolean truncated = expired != null && FeedKey.ORDER.compare(after, expired) < 0;
+            List<T> items = new ArrayList<>(Math.min(limit, 256));
+            List<Long> deletedIds = new ArrayList<>();
+            FeedKey last = after;
+            ConcurrentNavigableMap<FeedKey, Long> tail = byUpdate.tailMap(after, false);
+            for (Map.Entry<FeedKey, Long> entry : tail.entrySet()) {
+                if (items.size() + deletedIds.size() == limit) {
+                    break;
+                }
+                last = entry.getKey();
+                Optional<T> item = resolver.apply(entry.getValue());
+                if (item.isPresent()) {
+                    items.add(item.get());
+                } else {
+                    deletedIds.add(entry.getValue());
+                }
+            }
+            return new ChangeFeedPage<>(items, deletedIds, last.token(), truncated);
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package org.example.service;
+
+import org.example.model.MutationEvent;
+import org.example.model.Sprint;
+import org.example.model.StatusTransition;
+import org.example.model.Ticket;
+import org.example.model.TicketStatus;
+import org.example.model.TicketType;
+import org.example.util.LatencyHistogram;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+public class CycleTimeService implements MutationListener {
+    private static final int TYPES = TicketType.values().length;
+    private static final int STATUSES = TicketStatus.values().length;
+
+    private final LatencyHistogram[][] timeInStatus = newSketches(TYPES, STATUSES);
+    private final LatencyHistogram[][] subTaskTimeInStatus = newSketches(TYPES, STATUSES);
+    private final LatencyHistogram[] cycleTimeByType = newSketches(1, TYPES)[0];
+    private final LatencyHistogram[] leadTimeByType = newSketches(1, TYPES)[0];
+    private final Map<Long, LatencyHistogram> cycleTimeBySprint = new HashMap<>();
+    private final Map<String, LatencyHistogram> cycleTimeByAssignee = new HashMap<>();
+    private final Map<Long, Long> sprintByStory = new HashMap<>();
+
+    public CycleTimeService(TicketService ticketService, SubTaskService subTaskService, SprintService sprintService) {
+        MutationBus bus = ticketService.getMutationBus();
+        long locks = bus.lockEverything();
+        try {
+            for (Sprint sprint : sprintService.getAllSprints()) {
+                for (Long storyId : sprint.getStoryIds()) {
+                    sprintByStory.put(storyId, sprint.getId());
+                }
+            }
+            bus.addListener(this);
+        } finally {
+            bus.unlock(locks);
+        }
+    }
+
+    @Override
+    public synchronized void onMutation(MutationEvent event) {
+        switch (event.kind()) {
+            // The transition was captured when the status changed, so a ticket that was reopened, reassigned or
+            // deleted before this event was delivered still contributes the sample it produced.
+            case TICKET_STATUS_CHANGED -> {
+                if (event.payload() instanceof StatusTransition transition) {
+                    recordTicketTransition(event, transition);
+                }
+            }
+            case SUBTASK_STATUS_CHANGED -> {
+                if (event.payload() instanceof StatusTransition transition && event.ticketType() != null) {
+                    recordSince(subTaskTimeInStatus[event.ticketType().ordinal()][event.previousStatus().ordinal()],
+                            transition.enteredAtMillis(), transition.leftAtMillis());
+                }
+            }
+            case SPRINT_STORY_ADDED -> sprintByStory.put(event.ticketId(), event.sprintId());
+            case SPRINT_STORY_REMOVED -> sprintByStory.remove(event.ticketId(), event.sprintId());
+            case SPRINT_ROLLED_OVER -> event.storyIds()
+                    .forEach(storyId -> sprintByStory.put(storyId, event.targetSprintId()));
+            case TICKET_DELETED -> sprintByStory.remove(event.ticketId());
+            default -> {
+            }
+        }
+    }
+
+    public synchronized Optional<Duration> getTimeInStatusPercentile(TicketType type, TicketStatus status, double percentile) {
+        return percentile(timeInStatus[type.ordinal()][status.ordinal()], percentile);
+    }
+
+    public synchronized Optional<Duration> getSubTaskTimeInStatusPercentile(TicketType parentType, TicketStatus status,
+                                                                            double percentile) {
+        return percentile(subTaskTimeInStatus[parentType.ordinal()][status.ordinal()], percentile);
+    }
+
+    public synchronized Optional<Duration> getCycleTimePercentile(TicketType type, double percentile) {
+        return percentile(cycleTimeByType[type.ordinal()], percentile);
+    }
+
+    public synchronized Optional<Duration> getLeadTimePercentile(TicketType type, double percentile) {
+        return percentile(leadTimeByType[type.ordinal()], percentile);
+    }
+
+    public synchronized Optional<Duration> getCycleTimePercentileForSprint(Long sprintId, double percentile) {
+        return percentile(cycleTimeBySprint.get(sprintId), percentile);
+    }
+
+    public synchronized Optional<Duration> getCycleTimePercentileForAssignees(Collection<String> assignees,
+                                                                             double percentile) {
+        LatencyHistogram merged = new LatencyHistogram();
+        for (String assignee : assignees) {
+            LatencyHistogram sketch = cycleTimeByAssignee.get(assignee);
+            if (sketch != null) {
+                merged.merge(sketch);
+            }
+        }
+        return percentile(merged, percentile);
+    }
+
+    public synchronized Map<String, Object> getCycleTimeSummary(TicketType type) {
+        LatencyHistogram sketch = cycleTimeByType[type.ordinal()];
+        Map<String, Object> summary = new HashMap<>();
+        summary.put("type", type);
+        summary.put("closed", sketch.getTotalCount());
+        summary.put("p50Millis", sketch.valueAtPercentile(50));
+        summary.put("p90Millis", sketch.valueAtPercentile(90));
+        summary.put("p99Millis", sketch.valueAtPercentile(99));
+        summary.put("maxMillis", sketch.getMax());
+        return summary;
+    }
+
+    private void recordTicketTransition(MutationEvent event, StatusTransition transition) {
+        long now = transition.leftAtMillis();
+        int type = event.ticketType().ordinal();
+        recordSince(timeInStatus[type][event.previousStatus().ordinal()], transition.enteredAtMillis(), now);
+        if (event.newStatus() != Ticket.finalStatusOf(event.ticketType())) {
+            return;
+        }
+
+        recordSince(leadTimeByType[type], transition.createdAtMillis(), now);
+        // Measured from the first start: a ticket sent back to OPEN and picked up again keeps its whole cycle.
+        long started = transition.firstStartedAtMillis();
+        if (started == 0 || now < started) {
+            return;
+        }
+
+        long cycleTime = now - started;
+        cycleTimeByType[type].record(cycleTime);
+        Long sprintId = sprintByStory.get(event.ticketId());
+        if (sprintId != null) {
+            cycleTimeBySprint.computeIfAbsent(sprintId, id -> new LatencyHistogram()).record(cycleTime);
+        }
+        if (transition.assignee() != null) {
+            cycleTimeByAssignee.computeIfAbsent(transition.assignee(), name -> new LatencyHistogram()).record(cycleTime);
+        }
+    }
+
+    private static void recordSince(LatencyHistogram sketch, long enteredAtMillis, long leftAtMillis) {
+        // Records restored from older data have no entry time; skipping them beats recording a bogus epoch duration.
+        if (enteredAtMillis > 0 && leftAtMillis >= enteredAtMillis) {
+            sketch.record(leftAtMillis - enteredAtMillis);
+        }
+    }
+
+    private static Optional<Duration> percentile(LatencyHistogram sketch, double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100: " + percentile);
+        }
+        if (sketch == null || sketch.getTotalCount() == 0) {
+            return Optional.empty();
+        }
+        return Optional.of(Duration.ofMillis(sketch.valueAtPercentile(percentile)));
+    }
+
+    private static LatencyHistogram[][] newSketches(int rows, int columns) {
+        LatencyHistogram[][] sketches = new LatencyHistogram[rows][columns];
+        for (LatencyHistogram[] row : sketches) {
+            for (int i = 0; i < columns; i++) {
+                row[i] = new LatencyHistogram();
+            }
+        }
+        return sketches;
+    }
+}
@@ -21,6 +21,7 @@ public class DemoRunnerFactory {
         return switch (type) {
             case CLI -> new CliDemoRunner(ticketService, subTaskService, sprintService, scanner);
             case HARDCODED -> new HardcodedDemoRunner();
+            case LOAD_TEST -> new LoadTestDemoRunner(ticketService, subTaskService, sprintService, scanner);
         };
     }
 }
@@ -0,0 +1,396 @@
+package org.example.service;
+
+import org.example.model.CreatedTicket;
+import org.example.model.DuplicateCandidate;
+import org.example.model.MutationEvent;
+import org.example.model.Ticket;
+import org.example.model.TicketType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+public class DuplicateDetector implements MutationListener {
+    public static final int DEFAULT_BANDS = 16;
+    public static final int DEFAULT_ROWS = 4;
+    public static final int DEFAULT_SHINGLE_LENGTH = 4;
+    public static final double DEFAULT_MIN_SIMILARITY = 0.5;
+    public static final int DEFAULT_LIMIT = 5;
+
+    private static final int MAX_TEXT_CHARS = 4096;
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int NONE = -1;
+    private static final byte DEAD = -1;
+    // Only the low byte of each min-hash is stored, so unrelated signatures still agree on about 1/256 of their rows.
+    private static final double CHANCE_AGREEMENT = 1.0 / 256;
+    private static final TicketType[] TYPES = TicketType.values();
+
+    private final TicketService ticketService;
+    private final int bands;
+    private final int rows;
+    private final int hashes;
+    private final int shingleLength;
+    private final double minSimilarity;
+    private final int[] seeds;
+    private final int[] minHashes;
+    private final byte[] query;
+    private final char[] text = new char[MAX_TEXT_CHARS];
+
+    // Slot columns. Editing or deleting a ticket leaves a dead slot that the next rebuild compacts away.
+    private long[] ticketIds;
+    private byte[] types;
+    private byte[] signatures;
+    private int[] nextInBucket;
+    private int[] visited;
+    private int[] buckets;
+    private int bucketMask;
+    private int slotCount;
+    private int liveCount;
+    private int visitEpoch;
+
+    // Ticket id -> slot + 1, open addressing with linear probing; NONE marks a ticket that is no longer indexed.
+    private long[] keys;
+    private int[] slotOf;
+    private int keyCount;
+
+    private long lookups;
+    private long candidatesScanned;
+    private long rebuilds;
+
+    public DuplicateDetector(TicketService ticketService) {
+        this(ticketService, DEFAULT_BANDS, DEFAULT_ROWS, DEFAULT_SHINGLE_LENGTH, DEFAULT_MIN_SIMILARITY);
+    }
+
+    public DuplicateDetector(TicketService ticketService, int bands, int rows, int shingleLength, double minSimilarity) {
+        if (bands <= 0 || rows <= 0 || shingleLength <= 0) {
+            throw new IllegalArgumentException("Bands, rows and shingle length must be positive");
+        }
+        if (minSimilarity < 0.0 || minSimilarity > 1.0) {
+            throw new IllegalArgumentException("Minimum similarity must be between 0 and 1: " + minSimilarity);
+        }
+        this.ticketService = ticketService;
+        this.bands = bands;
+        this.rows = rows;
+        this.hashes = bands * rows;
+        this.shingleLength = shingleLength;
+        this.minSimilarity = minSimilarity;
+        this.seeds = new SplittableRandom(0x5EEDL).ints(hashes).toArray();
+        this.minHashes = new int[hashes];
+        this.query = new byte[hashes];
+        MutationBus bus = ticketService.getMutationBus();
+        long locks = bus.lockEverything();
+        try {
+            synchronized (this) {
+                rebuild();
+                ticketService.forEachTicket(ticket -> {
+                    if (!ticketService.isTombstoned(ticket.getId())) {
+                        index(ticket);
+                    }
+                });
+                ticketService.getMutationBus().addListener(this);
+            }
+        } finally {
+            bus.unlock(locks);
+        }
+    }
+
+    @Override
+    public synchronized void onMutation(MutationEvent event) {
+        switch (event.kind()) {
+            case TICKET_CREATED, TICKET_DETAILS_CHANGED -> ticketService.getTicket(event.ticketId()).ifPresent(this::index);
+            case TICKET_DELETED -> remove(event.ticketId());
+            default -> {
+            }
+        }
+    }
+
+    public CreatedTicket createTicket(String title, String description, TicketType type, String assignee) {
+        // Looked up before creating so the new ticket is never reported as a duplicate of itself.
+        List<DuplicateCandidate> duplicates = findSimilar(title, description, type, DEFAULT_LIMIT);
+        return new CreatedTicket(ticketService.createTicket(title, description, type, assignee), duplicates);
+    }
+
+    public synchronized List<DuplicateCandidate> findSimilar(String title, String description, TicketType type, int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Limit must be positive: " + limit);
+        }
+        if (!sign(title, description, query)) {
+            return List.of();
+        }
+        return collect(type, NONE, limit);
+    }
+
+    public synchronized List<DuplicateCandidate> findDuplicatesOf(Long ticketId, int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Limit must be positive: " + limit);
+        }
+        int slot = find(ticketId);
+        if (slot == NONE) {
+            return List.of();
+        }
+        System.arraycopy(signatures, slot * hashes, query, 0, hashes);
+        return collect(TYPES[types[slot]], slot, limit);
+    }
+
+    public synchronized Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("indexedTickets", liveCount);
+        stats.put("deadSlots", slotCount - liveCount);
+        stats.put("capacity", ticketIds.length);
+        stats.put("bands", bands);
+        stats.put("rows", rows);
+        stats.put("shingleLength", shingleLength);
+        stats.put("minSimilarity", minSimilarity);
+        stats.put("approximateThreshold", Math.pow(1.0 / bands, 1.0 / rows));
+        stats.put("lookups", lookups);
+        stats.put("candidatesScanned", candidatesScanned);
+        stats.put("rebuilds", rebuilds);
+        stats.put("indexBytes", (long) ticketIds.length * Long.BYTES + types.length + signatures.length
+                + ((long) nextInBucket.length + visited.length + buckets.length + slotOf.length) * Integer.BYTES
+                + (long) keys.length * Long.BYTES);
+        return stats;
+    }
+
+    private List<DuplicateCandidate> collect(TicketType type, int excludedSlot, int limit) {
+        lookups++;
+        if (++visitEpoch == 0) {
+            Arrays.fill(visited, 0);
+            visitEpoch = 1;
+        }
+        List<DuplicateCandidate> matches = new ArrayList<>();
+        int bucketCount = bucketMask + 1;
+        for (int band = 0; band < bands; band++) {
+            int slot = buckets[band * bucketCount + (bandKey(query, 0, band) & bucketMask)];
+            for (; slot != NONE; slot = nextInBucket[slot * bands + band]) {
+                if (visited[slot] == visitEpoch) {
+                    continue;
+                }
+                visited[slot] = visitEpoch;
+                candidatesScanned++;
+                if (slot == excludedSlot || types[slot] == DEAD || (type != null && types[slot] != type.ordinal())) {
+                    continue;
+                }
+                // Buckets are shared by unrelated band keys, so every candidate is confirmed against the full signature.
+                double similarity = similarity(slot);
+                if (similarity >= minSimilarity) {
+                    matches.add(new DuplicateCandidate(ticketIds[slot], TYPES[types[slot]], similarity));
+                }
+            }
+        }
+        matches.sort(Comparator.comparingDouble(DuplicateCandidate::similarity).reversed());
+        return matches.size() > limit ? List.copyOf(matches.subList(0, limit)) : matches;
+    }
+
+    private void index(Ticket ticket) {
+        long ticketId = ticket.getId();
+        int previous = find(ticketId);
+        if (previous != NONE) {
+            types[previous] = DEAD;
+            liveCount--;
+        }
+        if (!sign(ticket.getTitle(), ticket.getDescription(), query)) {
+            if (previous != NONE) {
+                putSlot(ticketId, NONE);
+            }
+            return;
+        }
+        if (slotCount == ticketIds.length) {
+            rebuild();
+        }
+
+        int slot = slotCount++;
+        ticketIds[slot] = ticketId;
+        types[slot] = (byte) ticket.getType().ordinal();
+        System.arraycopy(query, 0, signatures, slot * hashes, hashes);
+        link(slot);
+        liveCount++;
+        putSlot(ticketId, slot);
+    }
+
+    private void remove(Long ticketId) {
+        int slot = find(ticketId);
+        if (slot != NONE) {
+            types[slot] = DEAD;
+            liveCount--;
+            putSlot(ticketId, NONE);
+        }
+    }
+
+    private void link(int slot) {
+        int bucketCount = bucketMask + 1;
+        for (int band = 0; band < bands; band++) {
+            int bucket = band * bucketCount + (bandKey(signatures, slot * hashes, band) & bucketMask);
+            nextInBucket[slot * bands + band] = buckets[bucket];
+            buckets[bucket] = slot;
+        }
+    }
+
+    private void rebuild() {
+        int capacity = Math.max(INITIAL_CAPACITY, Integer.highestOneBit(Math.max(1, liveCount * 2 - 1)) << 1);
+        long[] oldTicketIds = ticketIds;
+        byte[] oldTypes = types;
+        byte[] oldSignatures = signatures;
+        int oldSlotCount = slotCount;
+
+        ticketIds = new long[capacity];
+        types = new byte[capacity];
+        signatures = new byte[capacity * hashes];
+        nextInBucket = new int[capacity * bands];
+        visited = new int[capacity];
+        visitEpoch = 0;
+        // Half as many buckets per band as slots keeps chains short while holding the head tables to 2 bytes per slot and band.
+        bucketMask = Math.max(1, capacity / 2) - 1;
+        buckets = new int[bands * (bucketMask + 1)];
+        Arrays.fill(buckets, NONE);
+        keys = new long[capacity * 2];
+        slotOf = new int[capacity * 2];
+        keyCount = 0;
+        slotCount = 0;
+
+        for (int old = 0; old < oldSlotCount; old++) {
+            if (oldTypes[old] == DEAD) {
+                continue;
+            }
+            int slot = slotCount++;
+            ticketIds[slot] = oldTicketIds[old];
+            types[slot] = oldTypes[old];
+            System.arraycopy(oldSignatures, old * hashes, signatures, slot * hashes, hashes);
+            link(slot);
+            putSlot(ticketIds[slot], slot);
+        }
+        rebuilds++;
+    }
+
+    private boolean sign(String title, String description, byte[] signature) {
+        int length = normalize(title, 0);
+        if (length > 0 && length < MAX_TEXT_CHARS && text[length - 1] != ' ') {
+            text[length++] = ' ';
+        }
+        length = normalize(description, length);
+        if (length > 0 && text[length - 1] == ' ') {
+            length--;
+        }
+        if (length == 0) {
+            return false;
+        }
+
+        Arrays.fill(minHashes, Integer.MAX_VALUE);
+        int width = Math.min(shingleLength, length);
+        for (int start = 0; start + width <= length; start++) {
+            int shingle = 0x811C9DC5;
+            for (int i = start; i < start + width; i++) {
+                shingle = (shingle ^ text[i]) * 0x01000193;
+            }
+            shingle = mix(shingle);
+            for (int i = 0; i < hashes; i++) {
+                int value = mix(shingle ^ seeds[i]);
+                if (value < minHashes[i]) {
+                    minHashes[i] = value;
+                }
+            }
+        }
+        for (int i = 0; i < hashes; i++) {
+            signature[i] = (byte) minHashes[i];
+        }
+        return true;
+    }
+
+    private int normalize(String value, int length) {
+        if (value == null) {
+            return length;
+        }
+        // Lower-cased letters and digits with every other run collapsed to one space, so punctuation and case never split a shingle.
+        for (int i = 0; i < value.length() && length < MAX_TEXT_CHARS; i++) {
+            char c = value.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                text[length++] = Character.toLowerCase(c);
+            } else if (length > 0 && text[length - 1] != ' ') {
+                text[length++] = ' ';
+            }
+        }
+        return length;
+    }
+
+    private double similarity(int slot) {
+        int base = slot * hashes;
+        int agreeing = 0;
+        for (int i = 0; i < hashes; i++) {
+            if (query[i] == signatures[base + i]) {
+                agreeing++;
+            }
+        }
+        double observed = (double) agreeing / hashes;
+        return Math.max(0.0, (observed - CHANCE_AGREEMENT) / (1.0 - CHANCE_AGREEMENT));
+    }
+
+    private int bandKey(byte[] signature, int offset, int band) {
+        int key = band * 0x9E3779B9;
+        int start = offset + band * rows;
+        for (int i = start; i < start + rows; i++) {
+            key = (key ^ (signature[i] & 0xFF)) * 0x01000193;
+        }
+        return mix(key);
+    }
+
+    private int find(long ticketId) {
+        int mask = keys.length - 1;
+        for (int i = hash(ticketId) & mask; slotOf[i] != 0; i = (i + 1) & mask) {
+            if (keys[i] == ticketId) {
+                return slotOf[i] > 0 ? slotOf[i] - 1 : NONE;
+            }
+        }
+        return NONE;
+    }
+
+    private void putSlot(long ticketId, int slot) {
+        int value = slot == NONE ? NONE : slot + 1;
+        int mask = keys.length - 1;
+        int i = hash(ticketId) & mask;
+        while (slotOf[i] != 0) {
+            if (keys[i] == ticketId) {
+                slotOf[i] = value;
+                return;
+            }
+            i = (i + 1) & mask;
+        }
+        if ((keyCount + 1) * 2 > keys.length) {
+            rehashKeys();
+            putSlot(ticketId, slot);
+            return;
+        }
+        keys[i] = ticketId;
+        slotOf[i] = value;
+        keyCount++;
+    }
+
+    private void rehashKeys() {
+        long[] oldKeys = keys;
+        int[] oldSlotOf = slotOf;
+        keys = new long[oldKeys.length * 2];
+        slotOf = new int[oldSlotOf.length * 2];
+        keyCount = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldSlotOf[i] > 0) {
+                putSlot(oldKeys[i], oldSlotOf[i] - 1);
+            }
+        }
+    }
+
+    private static int hash(long ticketId) {
+        long mixed = ticketId * 0x9E3779B97F4A7C15L;
+        return (int) (mixed ^ (mixed >>> 32));
+    }
+
+    private static int mix(int h) {
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        h *= 0xC2B2AE35;
+        h ^= h >>> 16;
+        return h;
+    }
+}
@@ -0,0 +1,116 @@
+package org.example.service;
+
+import org.example.model.EpicProgress;
+import org.example.model.EpicRollup;
+import org.example.model.MutationEvent;
+import org.example.model.Ticket;
+import org.example.model.TicketType;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+public class EpicService implements MutationListener {
+    private final TicketService ticketService;
+    private final Map<Long, EpicRollup> rollups = new ConcurrentHashMap<>();
+    private final Map<Long, Long> epicByStory = new ConcurrentHashMap<>();
+
+    public EpicService(TicketService ticketService) {
+        this.ticketService = ticketService;
+        // Seeded and registered with every stripe held, so no link lands between the scan and the first event.
+        MutationBus bus = ticketService.getMutationBus();
+        long locks = bus.lockEverything();
+        try {
+            ticketService.forEachTicket(ticket -> {
+                if (ticket.getEpicId() != null) {
+                    index(ticket.getEpicId(), ticket);
+                }
+            });
+            bus.addListener(this);
+        } finally {
+            bus.unlock(locks);
+        }
+    }
+
+    public void linkStoryToEpic(Long epicId, Long storyId) {
+        // The story's epic id is the source of truth; the rollups follow it through EPIC_LINKED events.
+        ticketService.linkToEpic(storyId, epicId);
+    }
+
+    public boolean unlinkStory(Long storyId) {
+        return ticketService.unlinkFromEpic(storyId);
+    }
+
+    public Optional<Long> getEpicForStory(Long storyId) {
+        return Optional.ofNullable(epicByStory.get(storyId));
+    }
+
+    public List<Ticket> getStoriesInEpic(Long epicId) {
+        EpicRollup rollup = rollups.get(epicId);
+        if (rollup == null) {
+            return Collections.emptyList();
+        }
+
+        return rollup.getStoryIds().stream()
+                .map(ticketService::getTicket)
+                .flatMap(Optional::stream)
+                .collect(Collectors.toList());
+    }
+
+    public Optional<EpicProgress> getEpicProgress(Long epicId) {
+        EpicRollup rollup = rollups.get(epicId);
+        if (rollup != null) {
+            return Optional.of(rollup.toProgress());
+        }
+        return ticketService.getTicket(epicId)
+                .filter(ticket -> ticket.getType() == TicketType.EPIC)
+                .map(ticket -> new EpicRollup(epicId).toProgress());
+    }
+
+    @Override
+    public void onMutation(MutationEvent event) {
+        switch (event.kind()) {
+            case TICKET_STATUS_CHANGED -> rollupOf(event.ticketId())
+                    .ifPresent(rollup -> rollup.onStoryStatus(event.ticketId(), event.newStatus()));
+            case TICKET_POINTS_CHANGED -> rollupOf(event.ticketId())
+                    .ifPresent(rollup -> rollup.onStoryPoints(event.ticketId(), event.storyPoints()));
+            case SUBTASK_CREATED, SUBTASK_STATUS_CHANGED -> rollupOf(event.ticketId())
+                    .ifPresent(rollup -> rollup.onSubTaskStatus(event.ticketId(), event.subTaskId(), event.newStatus()));
+            case SUBTASK_DELETED -> rollupOf(event.ticketId())
+                    .ifPresent(rollup -> rollup.onSubTaskRemoved(event.ticketId(), event.subTaskId()));
+            case EPIC_LINKED -> ticketService.getTicket(event.ticketId())
+                    .ifPresent(story -> index(event.linkedTicketId(), story));
+            case EPIC_UNLINKED -> forget(event.ticketId());
+            case TICKET_DELETED -> {
+                if (event.ticketType() == TicketType.EPIC) {
+                    EpicRollup rollup = rollups.remove(event.ticketId());
+                    if (rollup != null) {
+                        rollup.getStoryIds().forEach(ticketService::unlinkFromEpic);
+                    }
+                } else {
+                    forget(event.ticketId());
+                }
+            }
+            default -> {
+            }
+        }
+    }
+
+    private void index(Long epicId, Ticket story) {
+        epicByStory.put(story.getId(), epicId);
+        rollups.computeIfAbsent(epicId, EpicRollup::new).addStory(story);
+    }
+
+    private void forget(Long storyId) {
+        Long epicId = epicByStory.remove(storyId);
+        EpicRollup rollup = epicId == null ? null : rollups.get(epicId);
+        if (rollup != null) {
+            rollup.removeStory(storyId);
+        }
+    }
+
+    private Optional<EpicRollup> rollupOf(Long storyId) {
+        Long epicId = epicByStory.get(storyId);
+        return epicId == null ? Optional.empty() : Optional.ofNullable(rollups.get(epicId));
+    }
+}
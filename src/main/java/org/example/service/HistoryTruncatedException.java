@@ -0,0 +1,24 @@
+package org.example.service;
+
+import java.time.Instant;
+
+public class HistoryTruncatedException extends IllegalStateException {
+    private static final long serialVersionUID = 1L;
+
+    private final Long ticketId;
+    private final Instant retainedSince;
+
+    public HistoryTruncatedException(Long ticketId, Instant retainedSince) {
+        super("History of ticket " + ticketId + " is only retained since " + retainedSince);
+        this.ticketId = ticketId;
+        this.retainedSince = retainedSince;
+    }
+
+    public Long getTicketId() {
+        return ticketId;
+    }
+
+    public Instant getRetainedSince() {
+        return retainedSince;
+    }
+}
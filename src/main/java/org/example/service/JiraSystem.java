@@ -1,25 +1,54 @@
 package org.example.service;
 
 import org.example.model.demoType;
+import org.example.storage.ImageBackedStore;
+
+import java.nio.file.Path;
 import java.util.*;
 
 public class JiraSystem {
     private final DemoRunnerFactory factory;
     private final Scanner scanner;
+    private final EpicService epicService;
 
     public JiraSystem() {
         TicketService ticketService = new TicketService();
         SubTaskService subTaskService = new SubTaskService(ticketService);
         SprintService sprintService = new SprintService(ticketService);
+        this.epicService = new EpicService(ticketService);
+        new OrphanReclaimer(ticketService, subTaskService, sprintService).start();
+        this.scanner = new Scanner(System.in);
+        this.factory = new DemoRunnerFactory(ticketService, subTaskService, sprintService, scanner);
+    }
+
+    public JiraSystem(Path stateImage) {
+        long started = System.nanoTime();
+        ImageBackedStore store = ImageBackedStore.open(stateImage);
+        TicketService ticketService = new TicketService(store.ticketRepository());
+        SubTaskService subTaskService = new SubTaskService(ticketService, store.subTaskRepository());
+        SprintService sprintService = new SprintService(ticketService, store.sprintRepository());
+        this.epicService = new EpicService(ticketService);
+        new OrphanReclaimer(ticketService, subTaskService, sprintService).start();
+        store.startWarmup();
+        System.out.printf("Attached state image %s in %.1f ms, warming up in background%n",
+                stateImage, (System.nanoTime() - started) / 1_000_000.0);
         this.scanner = new Scanner(System.in);
         this.factory = new DemoRunnerFactory(ticketService, subTaskService, sprintService, scanner);
     }
 
+    public EpicService getEpicService() {
+        return epicService;
+    }
+
+    public void runType(demoType type) {
+        factory.getRunner(type).run();
+    }
+
     public void runType() {
         demoType selectedDemoType = null;
 
         while (selectedDemoType == null) {
-            System.out.println("Enter the way that demo should be presented (CLI or HARDCODED): ");
+            System.out.println("Enter the way that demo should be presented (CLI, HARDCODED or LOAD_TEST): ");
             String input = scanner.nextLine().toUpperCase();
 
             try {
@@ -0,0 +1,55 @@
+package org.example.service;
+
+import org.example.model.LoadTestReport;
+import org.example.model.WorkloadConfig;
+
+import java.time.Duration;
+import java.util.Scanner;
+
+public class LoadTestDemoRunner implements DemoRunner {
+    private final TicketService ticketService;
+    private final SubTaskService subTaskService;
+    private final SprintService sprintService;
+    private final Scanner scanner;
+
+    public LoadTestDemoRunner(TicketService ticketService, SubTaskService subTaskService, SprintService sprintService, Scanner scanner) {
+        this.ticketService = ticketService;
+        this.subTaskService = subTaskService;
+        this.sprintService = sprintService;
+        this.scanner = scanner;
+    }
+
+    @Override
+    public void run() {
+        WorkloadConfig defaults = WorkloadConfig.defaults();
+        System.out.println("=== Jira Load Test ===");
+        int threads = readInt("Threads", defaults.threads());
+        int rate = readInt("Target operations per second", defaults.targetOpsPerSecond());
+        int seconds = readInt("Duration in seconds", (int) defaults.duration().toSeconds());
+
+        WorkloadConfig config = new WorkloadConfig(threads, rate, Duration.ofSeconds(seconds), defaults.initialTickets(),
+                defaults.zipfTheta(), defaults.mix(), defaults.seed());
+        System.out.println("Running " + rate + " ops/s across " + threads + " threads for " + seconds + "s...");
+        LoadTestReport report = new WorkloadGenerator(ticketService, subTaskService, sprintService, config).run();
+
+        System.out.printf("Throughput: %.1f ops/s (target %.0f)%n", report.throughput(), report.targetOpsPerSecond());
+        System.out.println("Operations: " + report.operations() + " " + report.operationCounts());
+        System.out.println("Latency (us): p50=" + report.p50Micros() + " p90=" + report.p90Micros()
+                + " p99=" + report.p99Micros() + " p99.9=" + report.p999Micros() + " max=" + report.maxMicros());
+        System.out.println("Errors: " + report.totalErrors() + " " + report.errorCounts());
+    }
+
+    private int readInt(String prompt, int defaultValue) {
+        System.out.print(prompt + " [" + defaultValue + "]: ");
+        String input = scanner.nextLine().trim();
+        if (input.isEmpty()) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(input);
+        } catch (NumberFormatException e) {
+            System.out.println("Not a number, using " + defaultValue);
+            return defaultValue;
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package org.example.service;
+
+import org.example.model.MutationEvent;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+public class MutationBus {
+    private static final System.Logger LOGGER = System.getLogger(MutationBus.class.getName());
+    private static final int STRIPES = Long.SIZE;
+    private static final int RECENT_FAILURES = 32;
+
+    private final List<Registration> listeners = new CopyOnWriteArrayList<>();
+    private final ReentrantLock[] stripes = new ReentrantLock[STRIPES];
+    private final ArrayDeque<MutationEvent> undelivered = new ArrayDeque<>();
+    private final ReentrantLock deliveryLock = new ReentrantLock();
+    private final ArrayDeque<MutationFailure> recentFailures = new ArrayDeque<>();
+    private final AtomicLong listenerFailures = new AtomicLong();
+    private volatile Consumer<MutationFailure> failureHandler = MutationBus::logFailure;
+    private long lastSequence = 0;
+    private volatile long deliveredSequence = 0;
+
+    public MutationBus() {
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    public long addListener(MutationListener listener) {
+        // Events already sequenced but not yet delivered are part of the state the listener seeds from, so it skips them.
+        synchronized (undelivered) {
+            listeners.add(new Registration(listener, lastSequence));
+            return lastSequence;
+        }
+    }
+
+    public void removeListener(MutationListener listener) {
+        listeners.removeIf(registration -> registration.listener() == listener);
+    }
+
+    public void setFailureHandler(Consumer<MutationFailure> failureHandler) {
+        this.failureHandler = failureHandler == null ? MutationBus::logFailure : failureHandler;
+    }
+
+    public long lock(Long key) {
+        long mask = 1L << stripe(key);
+        lockStripes(mask);
+        return mask;
+    }
+
+    public long lockAll(Collection<Long> keys) {
+        long mask = 0;
+        for (Long key : keys) {
+            mask |= 1L << stripe(key);
+        }
+        lockStripes(mask);
+        return mask;
+    }
+
+    public long lockEverything() {
+        lockStripes(-1L);
+        return -1L;
+    }
+
+    public void unlock(long mask) {
+        for (int i = STRIPES - 1; i >= 0; i--) {
+            if ((mask & (1L << i)) != 0) {
+                stripes[i].unlock();
+            }
+        }
+    }
+
+    public MutationEvent record(MutationEvent event) {
+        // Called while the caller still holds the stripe of the entity it changed, so per-entity sequence order is apply order.
+        synchronized (undelivered) {
+            MutationEvent sequenced = event.sequenced(++lastSequence, System.currentTimeMillis());
+            if (!listeners.isEmpty()) {
+                // A listener registered later starts after this sequence, so nobody could ever receive this event.
+                undelivered.add(sequenced);
+            }
+            return sequenced;
+        }
+    }
+
+    public void deliver() {
+        if (deliveryLock.isHeldByCurrentThread()) {
+            // A listener changed state while being notified; the outer drain delivers its event after the current one.
+            return;
+        }
+        deliveryLock.lock();
+        try {
+            MutationEvent event;
+            while ((event = nextUndelivered()) != null) {
+                dispatch(event);
+                deliveredSequence = event.sequence();
+            }
+        } finally {
+            deliveryLock.unlock();
+        }
+    }
+
+    public MutationEvent publish(Long key, MutationEvent event) {
+        long locks = lock(key);
+        MutationEvent sequenced;
+        try {
+            sequenced = record(event);
+        } finally {
+            unlock(locks);
+        }
+        deliver();
+        return sequenced;
+    }
+
+    public long getLastSequence() {
+        synchronized (undelivered) {
+            return lastSequence;
+        }
+    }
+
+    public long getDeliveredSequence() {
+        return deliveredSequence;
+    }
+
+    public long getListenerFailureCount() {
+        return listenerFailures.get();
+    }
+
+    public List<MutationFailure> getRecentFailures() {
+        synchronized (recentFailures) {
+            return new ArrayList<>(recentFailures);
+        }
+    }
+
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("listeners", listeners.size());
+        stats.put("lastSequence", getLastSequence());
+        stats.put("deliveredSequence", deliveredSequence);
+        stats.put("listenerFailures", listenerFailures.get());
+        return stats;
+    }
+
+    private MutationEvent nextUndelivered() {
+        synchronized (undelivered) {
+            return undelivered.poll();
+        }
+    }
+
+    private void dispatch(MutationEvent event) {
+        for (Registration registration : listeners) {
+            if (event.sequence() <= registration.afterSequence()) {
+                continue;
+            }
+            try {
+                registration.listener().onMutation(event);
+            } catch (RuntimeException e) {
+                fail(new MutationFailure(registration.listener().getClass().getName(), event.sequence(), event.kind(), e));
+            }
+        }
+    }
+
+    private void fail(MutationFailure failure) {
+        listenerFailures.incrementAndGet();
+        synchronized (recentFailures) {
+            if (recentFailures.size() == RECENT_FAILURES) {
+                recentFailures.poll();
+            }
+            recentFailures.add(failure);
+        }
+        try {
+            failureHandler.accept(failure);
+        } catch (RuntimeException e) {
+            logFailure(failure);
+        }
+    }
+
+    private void lockStripes(long mask) {
+        // Stripes are always taken in index order, so multi-entity changes cannot deadlock against each other.
+        for (int i = 0; i < STRIPES; i++) {
+            if ((mask & (1L << i)) != 0) {
+                stripes[i].lock();
+            }
+        }
+    }
+
+    private record Registration(MutationListener listener, long afterSequence) {
+    }
+
+    private static int stripe(Long key) {
+        long hash = (key == null ? 0 : key) * 0x9E3779B97F4A7C15L;
+        return (int) (hash >>> (Long.SIZE - 6));
+    }
+
+    private static void logFailure(MutationFailure failure) {
+        LOGGER.log(System.Logger.Level.ERROR, "Mutation listener " + failure.listener() + " failed on event "
+                + failure.sequence() + " (" + failure.kind() + ")", failure.cause());
+    }
+}
@@ -0,0 +1,6 @@
+package org.example.service;
+
+import org.example.model.MutationKind;
+
+public record MutationFailure(String listener, long sequence, MutationKind kind, RuntimeException cause) {
+}
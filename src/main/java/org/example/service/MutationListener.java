@@ -0,0 +1,8 @@
+package org.example.service;
+
+import org.example.model.MutationEvent;
+
+@FunctionalInterface
+public interface MutationListener {
+    void onMutation(MutationEvent event);
+}
@@ -0,0 +1,333 @@
+package org.example.service;
+
+import org.example.concurrent.LaneExecutor;
+import org.example.model.MutationEvent;
+import org.example.model.MutationKind;
+import org.example.model.NotificationChange;
+import org.example.model.NotificationDigest;
+import org.example.model.SubTask;
+import org.example.model.Ticket;
+import org.example.model.TicketStatus;
+import org.example.model.TicketType;
+import org.example.util.HierarchicalTimingWheel;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class NotificationService implements MutationListener, AutoCloseable {
+    public static final Duration DEFAULT_WINDOW = Duration.ofSeconds(2);
+    public static final int DEFAULT_MAX_PENDING_CHANGES = 100_000;
+    public static final int DEFAULT_MAX_CHANGES_PER_DIGEST = 256;
+    public static final int DEFAULT_MAX_QUEUED_DIGESTS = 4096;
+
+    private static final long TICK_MILLIS = 50;
+    private static final int DELIVERY_LANES = 16;
+
+    private final TicketService ticketService;
+    private final SubTaskService subTaskService;
+    private final NotificationSink sink;
+    private final long windowMillis;
+    private final int maxPendingChanges;
+    private final int maxChangesPerDigest;
+    private final int maxQueuedDigests;
+    private final HierarchicalTimingWheel wheel;
+    private final Map<String, Inbox> inboxes = new LinkedHashMap<>();
+    private final Semaphore deliveryPermits;
+    private final ExecutorService deliveryPool;
+    private final LaneExecutor deliveryLanes;
+    private final ScheduledExecutorService ticker;
+    private int pendingChanges;
+
+    private final AtomicLong mutationsReceived = new AtomicLong();
+    private final AtomicLong mutationsCoalesced = new AtomicLong();
+    private final AtomicLong digestsDelivered = new AtomicLong();
+    private final AtomicLong deliveryFailures = new AtomicLong();
+    private final AtomicLong forcedFlushes = new AtomicLong();
+    private final AtomicLong deferredFlushes = new AtomicLong();
+    private final AtomicLong changesCollapsed = new AtomicLong();
+
+    public NotificationService(TicketService ticketService, SubTaskService subTaskService, NotificationSink sink) {
+        this(ticketService, subTaskService, sink, DEFAULT_WINDOW, DEFAULT_MAX_PENDING_CHANGES,
+                DEFAULT_MAX_CHANGES_PER_DIGEST, DEFAULT_MAX_QUEUED_DIGESTS);
+    }
+
+    public NotificationService(TicketService ticketService, SubTaskService subTaskService, NotificationSink sink,
+                               Duration window, int maxPendingChanges, int maxChangesPerDigest,
+                               int maxQueuedDigests) {
+        if (window.isNegative() || window.isZero()) {
+            throw new IllegalArgumentException("Coalescing window must be positive: " + window);
+        }
+        if (maxPendingChanges <= 0 || maxChangesPerDigest <= 0 || maxQueuedDigests <= 0) {
+            throw new IllegalArgumentException("Notification limits must be positive");
+        }
+        this.ticketService = ticketService;
+        this.subTaskService = subTaskService;
+        this.sink = sink;
+        this.windowMillis = window.toMillis();
+        this.maxPendingChanges = maxPendingChanges;
+        this.maxChangesPerDigest = maxChangesPerDigest;
+        this.maxQueuedDigests = maxQueuedDigests;
+        this.wheel = new HierarchicalTimingWheel(Math.min(TICK_MILLIS, windowMillis), System.currentTimeMillis());
+        this.deliveryPermits = new Semaphore(maxQueuedDigests);
+        this.deliveryPool = Executors.newFixedThreadPool(Math.min(4, Runtime.getRuntime().availableProcessors()),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "notification-delivery");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.deliveryLanes = new LaneExecutor(DELIVERY_LANES, deliveryPool);
+        this.ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "notification-ticker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ticketService.getMutationBus().addListener(this);
+    }
+
+    public void start() {
+        long tick = Math.min(TICK_MILLIS, windowMillis);
+        ticker.scheduleAtFixedRate(() -> advanceTo(System.currentTimeMillis()), tick, tick, TimeUnit.MILLISECONDS);
+    }
+
+    public void advanceTo(long nowMillis) {
+        try {
+            wheel.advanceTo(nowMillis);
+        } catch (RuntimeException e) {
+            System.err.println("Notification tick failed: " + e.getMessage());
+        }
+    }
+
+    @Override
+    public synchronized void onMutation(MutationEvent event) {
+        switch (event.kind()) {
+            case TICKET_STATUS_CHANGED, TICKET_COMMENT_ADDED, TICKET_POINTS_CHANGED, TICKET_DETAILS_CHANGED ->
+                    record(ticketAssignee(event.ticketId()), event);
+            case TICKET_ASSIGNEE_CHANGED -> record(event.value(), event);
+            case SUBTASK_CREATED, SUBTASK_STATUS_CHANGED, SUBTASK_ASSIGNEE_CHANGED -> {
+                String subTaskAssignee = event.kind() == MutationKind.SUBTASK_ASSIGNEE_CHANGED
+                        ? event.value()
+                        : subTaskService.getSubTask(event.subTaskId()).map(SubTask::getAssignee).orElse(null);
+                String ticketAssignee = ticketAssignee(event.ticketId());
+                record(subTaskAssignee, event);
+                if (ticketAssignee != null && !ticketAssignee.equals(subTaskAssignee)) {
+                    record(ticketAssignee, event);
+                }
+            }
+            default -> {
+                return;
+            }
+        }
+        mutationsReceived.incrementAndGet();
+    }
+
+    public void flushAll() {
+        while (true) {
+            // Wait for the sink outside the monitor, so mutations keep being recorded while a slow sink drains.
+            deliveryPermits.acquireUninterruptibly();
+            synchronized (this) {
+                if (inboxes.isEmpty()) {
+                    deliveryPermits.release();
+                    return;
+                }
+                dispatch(inboxes.values().iterator().next());
+            }
+        }
+    }
+
+    public synchronized Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("pendingRecipients", inboxes.size());
+        stats.put("pendingChanges", pendingChanges);
+        stats.put("queuedDigests", deliveryLanes.getQueuedTaskCount());
+        stats.put("mutationsReceived", mutationsReceived.get());
+        stats.put("mutationsCoalesced", mutationsCoalesced.get());
+        stats.put("digestsDelivered", digestsDelivered.get());
+        stats.put("deliveryFailures", deliveryFailures.get());
+        stats.put("forcedFlushes", forcedFlushes.get());
+        stats.put("deferredFlushes", deferredFlushes.get());
+        stats.put("changesCollapsed", changesCollapsed.get());
+        return stats;
+    }
+
+    @Override
+    public void close() {
+        ticketService.getMutationBus().removeListener(this);
+        ticker.shutdownNow();
+        flushAll();
+        try {
+            // Every queued digest holds a permit until delivered, so taking them all means the lanes are drained.
+            if (!deliveryPermits.tryAcquire(maxQueuedDigests, 5, TimeUnit.SECONDS)) {
+                System.err.println("Notification delivery did not drain within 5s");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        deliveryPool.shutdown();
+        sink.close();
+    }
+
+    private String ticketAssignee(Long ticketId) {
+        return ticketService.getTicket(ticketId).map(Ticket::getAssignee).orElse(null);
+    }
+
+    private void record(String recipient, MutationEvent event) {
+        if (recipient == null) {
+            return;
+        }
+        Inbox inbox = inboxes.get(recipient);
+        if (inbox == null) {
+            Inbox created = new Inbox(recipient, event.sequence());
+            created.timer = wheel.schedule(event.timestampMillis() + windowMillis, () -> flushDue(created));
+            inboxes.put(recipient, created);
+            inbox = created;
+        }
+
+        PendingChange change = inbox.changes.get(event.ticketId());
+        if (change == null) {
+            change = new PendingChange(event.ticketId(), event.ticketType());
+            inbox.changes.put(event.ticketId(), change);
+            pendingChanges++;
+        } else {
+            mutationsCoalesced.incrementAndGet();
+        }
+        change.apply(event);
+
+        // Both caps first try to flush early. When the sink is too far behind to take another digest, the inbox folds its
+        // per-ticket changes into a "more changes" count instead, so memory stays bounded and the recipient still hears
+        // that something changed, just without the detail.
+        if (inbox.changes.size() >= maxChangesPerDigest) {
+            if (!forceFlush(inbox)) {
+                collapse(inbox);
+            }
+        } else if (pendingChanges > maxPendingChanges) {
+            forceFlush(inboxes.values().iterator().next());
+            if (pendingChanges > maxPendingChanges) {
+                collapse(inbox);
+            }
+        }
+    }
+
+    private boolean forceFlush(Inbox inbox) {
+        // This runs on the publishing thread, so it never waits for the sink.
+        if (!deliveryPermits.tryAcquire()) {
+            deferredFlushes.incrementAndGet();
+            return false;
+        }
+        forcedFlushes.incrementAndGet();
+        dispatch(inbox);
+        return true;
+    }
+
+    private void collapse(Inbox inbox) {
+        for (PendingChange change : inbox.changes.values()) {
+            inbox.collapsedMutations += change.mutations;
+            inbox.collapsedLastSequence = Math.max(inbox.collapsedLastSequence, change.lastSequence);
+        }
+        changesCollapsed.addAndGet(inbox.changes.size());
+        pendingChanges -= inbox.changes.size();
+        inbox.changes.clear();
+    }
+
+    private synchronized void flushDue(Inbox inbox) {
+        if (inboxes.get(inbox.recipient) != inbox) {
+            return;
+        }
+        if (!deliveryPermits.tryAcquire()) {
+            // The sink is behind; keep coalescing for another window rather than queueing more digests.
+            deferredFlushes.incrementAndGet();
+            inbox.timer = wheel.schedule(System.currentTimeMillis() + windowMillis, () -> flushDue(inbox));
+            return;
+        }
+        dispatch(inbox);
+    }
+
+    private void dispatch(Inbox inbox) {
+        inboxes.remove(inbox.recipient);
+        inbox.timer.cancel();
+        pendingChanges -= inbox.changes.size();
+
+        List<NotificationChange> changes = new ArrayList<>(inbox.changes.size());
+        long lastSequence = Math.max(inbox.firstSequence, inbox.collapsedLastSequence);
+        for (PendingChange change : inbox.changes.values()) {
+            changes.add(change.toChange());
+            lastSequence = Math.max(lastSequence, change.lastSequence);
+        }
+        NotificationDigest digest = new NotificationDigest(inbox.recipient, changes, inbox.collapsedMutations,
+                inbox.firstSequence, lastSequence, Instant.now());
+        // One lane per recipient keeps that recipient's digests in order while different recipients deliver in parallel.
+        deliveryLanes.execute(inbox.recipient.hashCode(), () -> deliver(digest));
+    }
+
+    private void deliver(NotificationDigest digest) {
+        try {
+            sink.deliver(digest);
+            digestsDelivered.incrementAndGet();
+        } catch (RuntimeException e) {
+            deliveryFailures.incrementAndGet();
+            System.err.println("Notification delivery to " + digest.recipient() + " failed: " + e.getMessage());
+        } finally {
+            deliveryPermits.release();
+        }
+    }
+
+    private static final class Inbox {
+        private final String recipient;
+        private final long firstSequence;
+        private final Map<Long, PendingChange> changes = new LinkedHashMap<>();
+        private int collapsedMutations;
+        private long collapsedLastSequence;
+        private HierarchicalTimingWheel.Timer timer;
+
+        Inbox(String recipient, long firstSequence) {
+            this.recipient = recipient;
+            this.firstSequence = firstSequence;
+        }
+    }
+
+    private static final class PendingChange {
+        private final Long ticketId;
+        private final TicketType ticketType;
+        private final EnumSet<MutationKind> kinds = EnumSet.noneOf(MutationKind.class);
+        private TicketStatus status;
+        private int subTaskChanges;
+        private int comments;
+        private int mutations;
+        private long lastSequence;
+
+        PendingChange(Long ticketId, TicketType ticketType) {
+            this.ticketId = ticketId;
+            this.ticketType = ticketType;
+        }
+
+        void apply(MutationEvent event) {
+            kinds.add(event.kind());
+            mutations++;
+            lastSequence = event.sequence();
+            if (event.subTaskId() != null) {
+                subTaskChanges++;
+            } else {
+                status = event.newStatus();
+            }
+            if (event.kind() == MutationKind.TICKET_COMMENT_ADDED) {
+                comments++;
+            }
+        }
+
+        NotificationChange toChange() {
+            return new NotificationChange(ticketId, ticketType, EnumSet.copyOf(kinds), status, subTaskChanges,
+                    comments, mutations, lastSequence);
+        }
+    }
+}
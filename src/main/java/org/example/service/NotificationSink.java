@@ -0,0 +1,18 @@
+package org.example.service;
+
+import org.example.model.NotificationDigest;
+
+import java.io.PrintStream;
+
+public interface NotificationSink extends AutoCloseable {
+
+    void deliver(NotificationDigest digest);
+
+    @Override
+    default void close() {
+    }
+
+    static NotificationSink printing(PrintStream out) {
+        return digest -> out.println(digest.format());
+    }
+}
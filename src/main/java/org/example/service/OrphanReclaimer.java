@@ -0,0 +1,113 @@
+package org.example.service;
+
+import org.example.model.SubTask;
+import org.example.model.Ticket;
+import org.example.model.TicketType;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class OrphanReclaimer implements AutoCloseable {
+    public static final int DEFAULT_BATCH_SIZE = 256;
+    public static final Duration DEFAULT_INTERVAL = Duration.ofMillis(200);
+
+    private final TicketService ticketService;
+    private final SubTaskService subTaskService;
+    private final SprintService sprintService;
+    private final int batchSize;
+    private final Duration interval;
+    private final ScheduledExecutorService scheduler;
+
+    private final AtomicLong ticketsReclaimed = new AtomicLong();
+    private final AtomicLong subTasksRemoved = new AtomicLong();
+    private final AtomicLong sprintReferencesRemoved = new AtomicLong();
+    private final AtomicLong batchesRun = new AtomicLong();
+    private final AtomicLong lastBatchNanos = new AtomicLong();
+
+    public OrphanReclaimer(TicketService ticketService, SubTaskService subTaskService, SprintService sprintService) {
+        this(ticketService, subTaskService, sprintService, DEFAULT_BATCH_SIZE, DEFAULT_INTERVAL);
+    }
+
+    public OrphanReclaimer(TicketService ticketService, SubTaskService subTaskService, SprintService sprintService,
+                           int batchSize, Duration interval) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive: " + batchSize);
+        }
+        this.ticketService = ticketService;
+        this.subTaskService = subTaskService;
+        this.sprintService = sprintService;
+        this.batchSize = batchSize;
+        this.interval = interval;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "orphan-reclaimer");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        });
+    }
+
+    public void start() {
+        long periodMillis = interval.toMillis();
+        scheduler.scheduleWithFixedDelay(this::runSafely, periodMillis, periodMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public int reclaimBatch() {
+        long started = System.nanoTime();
+        int reclaimed = 0;
+
+        Ticket ticket;
+        while (reclaimed < batchSize && (ticket = ticketService.pollTombstone()) != null) {
+            reclaim(ticket);
+            reclaimed++;
+        }
+
+        if (reclaimed > 0) {
+            batchesRun.incrementAndGet();
+            lastBatchNanos.set(System.nanoTime() - started);
+        }
+        return reclaimed;
+    }
+
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new HashMap<>();
+        metrics.put("pendingTombstones", ticketService.getPendingTombstoneCount());
+        metrics.put("ticketsReclaimed", ticketsReclaimed.get());
+        metrics.put("subTasksRemoved", subTasksRemoved.get());
+        metrics.put("sprintReferencesRemoved", sprintReferencesRemoved.get());
+        metrics.put("batchesRun", batchesRun.get());
+        metrics.put("lastBatchMicros", TimeUnit.NANOSECONDS.toMicros(lastBatchNanos.get()));
+        return metrics;
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+
+    private void reclaim(Ticket ticket) {
+        for (SubTask subTask : new ArrayList<>(ticket.getSubTasks())) {
+            if (subTaskService.reclaimOrphan(subTask, ticket.getType())) {
+                subTasksRemoved.incrementAndGet();
+            }
+        }
+
+        if (ticket.getType() == TicketType.STORY) {
+            sprintReferencesRemoved.addAndGet(sprintService.purgeStory(ticket.getId()));
+        }
+
+        ticketService.clearTombstone(ticket.getId());
+        ticketsReclaimed.incrementAndGet();
+    }
+
+    private void runSafely() {
+        try {
+            reclaimBatch();
+        } catch (RuntimeException e) {
+            System.err.println("Orphan reclaimer batch failed: " + e.getMessage());
+        }
+    }
+}
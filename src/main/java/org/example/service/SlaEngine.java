@@ -0,0 +1,196 @@
+package org.example.service;
+
+import org.example.model.MutationEvent;
+import org.example.model.SlaBreach;
+import org.example.model.SlaPolicy;
+import org.example.model.SlaTarget;
+import org.example.model.TicketStatus;
+import org.example.model.TicketType;
+import org.example.util.HierarchicalTimingWheel;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+public class SlaEngine implements MutationListener, AutoCloseable {
+    public static final Duration DEFAULT_TICK = Duration.ofMillis(100);
+
+    private final SlaPolicy policy;
+    private final long tickMillis;
+    private final HierarchicalTimingWheel wheel;
+    private final Map<Long, SlaTimers> timers = new ConcurrentHashMap<>();
+    private final Map<Long, List<SlaBreach>> openBreaches = new ConcurrentHashMap<>();
+    private final List<Consumer<SlaBreach>> breachListeners = new CopyOnWriteArrayList<>();
+    private final AtomicLong acknowledgeBreaches = new AtomicLong();
+    private final AtomicLong resolveBreaches = new AtomicLong();
+    private final AtomicLong listenerFailures = new AtomicLong();
+    private final ScheduledExecutorService ticker;
+
+    public SlaEngine(TicketService ticketService, SlaPolicy policy) {
+        this(ticketService, policy, DEFAULT_TICK);
+    }
+
+    public SlaEngine(TicketService ticketService, SlaPolicy policy, Duration tick) {
+        this.policy = policy;
+        this.tickMillis = tick.toMillis();
+        this.wheel = new HierarchicalTimingWheel(tickMillis, System.currentTimeMillis());
+        this.ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "sla-ticker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ticketService.getMutationBus().addListener(this);
+    }
+
+    public void start() {
+        ticker.scheduleAtFixedRate(() -> advanceTo(System.currentTimeMillis()), tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public void advanceTo(long nowMillis) {
+        try {
+            wheel.advanceTo(nowMillis);
+        } catch (RuntimeException e) {
+            System.err.println("SLA tick failed: " + e.getMessage());
+        }
+    }
+
+    public void addBreachListener(Consumer<SlaBreach> listener) {
+        breachListeners.add(listener);
+    }
+
+    @Override
+    public void onMutation(MutationEvent event) {
+        if (event.ticketType() != TicketType.ON_CALL) {
+            return;
+        }
+
+        synchronized (this) {
+            switch (event.kind()) {
+                case TICKET_CREATED -> schedule(event.ticketId(), event.timestampMillis());
+                case TICKET_STATUS_CHANGED -> {
+                    SlaTimers ticketTimers = timers.get(event.ticketId());
+                    if (ticketTimers == null) {
+                        return;
+                    }
+                    if (event.newStatus() == TicketStatus.IN_PROGRESS) {
+                        ticketTimers.disarmAcknowledge();
+                    } else if (event.newStatus() == TicketStatus.OPEN
+                            && event.previousStatus() == TicketStatus.IN_PROGRESS) {
+                        // Handing the ticket back unacknowledges it, so the acknowledge clock starts again from now.
+                        armAcknowledge(event.ticketId(), ticketTimers,
+                                event.timestampMillis() + policy.timeToAcknowledge().toMillis());
+                    } else if (event.newStatus() == TicketStatus.RESOLVED) {
+                        cancel(event.ticketId());
+                        openBreaches.remove(event.ticketId());
+                    }
+                }
+                case TICKET_DELETED -> {
+                    cancel(event.ticketId());
+                    openBreaches.remove(event.ticketId());
+                }
+                default -> {
+                }
+            }
+        }
+    }
+
+    public List<SlaBreach> getOpenBreaches() {
+        return openBreaches.values().stream()
+                .flatMap(List::stream)
+                .sorted(Comparator.comparing(SlaBreach::deadline))
+                .collect(Collectors.toList());
+    }
+
+    public Map<String, Object> getBreachDashboard() {
+        Map<String, Object> dashboard = new HashMap<>();
+        List<SlaBreach> open = getOpenBreaches();
+        dashboard.put("pendingTimers", wheel.pendingTimers());
+        dashboard.put("trackedTickets", timers.size());
+        dashboard.put("openBreachedTickets", openBreaches.size());
+        dashboard.put("acknowledgeBreaches", acknowledgeBreaches.get());
+        dashboard.put("resolveBreaches", resolveBreaches.get());
+        dashboard.put("listenerFailures", listenerFailures.get());
+        dashboard.put("oldestOpenBreach", open.isEmpty() ? null : open.get(0));
+        return dashboard;
+    }
+
+    @Override
+    public void close() {
+        ticker.shutdownNow();
+    }
+
+    private void schedule(Long ticketId, long createdAtMillis) {
+        long resolveBy = createdAtMillis + policy.timeToResolve().toMillis();
+        SlaTimers ticketTimers = new SlaTimers();
+        ticketTimers.resolve = wheel.schedule(resolveBy,
+                () -> breach(ticketId, ticketTimers, SlaTarget.RESOLVE, 0, resolveBy));
+        armAcknowledge(ticketId, ticketTimers, createdAtMillis + policy.timeToAcknowledge().toMillis());
+        timers.put(ticketId, ticketTimers);
+    }
+
+    private void armAcknowledge(Long ticketId, SlaTimers ticketTimers, long acknowledgeBy) {
+        ticketTimers.disarmAcknowledge();
+        int generation = ticketTimers.acknowledgeGeneration;
+        ticketTimers.acknowledge = wheel.schedule(acknowledgeBy,
+                () -> breach(ticketId, ticketTimers, SlaTarget.ACKNOWLEDGE, generation, acknowledgeBy));
+    }
+
+    private void cancel(Long ticketId) {
+        SlaTimers ticketTimers = timers.remove(ticketId);
+        if (ticketTimers != null) {
+            ticketTimers.disarmAcknowledge();
+            ticketTimers.resolve.cancel();
+        }
+    }
+
+    private void breach(Long ticketId, SlaTimers firing, SlaTarget target, int generation, long deadlineMillis) {
+        SlaBreach breach;
+        synchronized (this) {
+            // The wheel runs due timers after releasing its own lock, so a resolve, delete or acknowledge can land
+            // between collection and this call; cancel() then finds the timer already done and cannot stop it.
+            if (timers.get(ticketId) != firing
+                    || (target == SlaTarget.ACKNOWLEDGE && firing.acknowledgeGeneration != generation)) {
+                return;
+            }
+            breach = new SlaBreach(ticketId, target, Instant.ofEpochMilli(deadlineMillis), Instant.now());
+            (target == SlaTarget.ACKNOWLEDGE ? acknowledgeBreaches : resolveBreaches).incrementAndGet();
+            openBreaches.computeIfAbsent(ticketId, id -> new CopyOnWriteArrayList<>()).add(breach);
+            if (target == SlaTarget.RESOLVE) {
+                timers.remove(ticketId);
+                firing.disarmAcknowledge();
+            }
+        }
+
+        for (Consumer<SlaBreach> listener : breachListeners) {
+            try {
+                listener.accept(breach);
+            } catch (RuntimeException e) {
+                listenerFailures.incrementAndGet();
+                System.err.println("SLA breach listener failed for ticket " + ticketId + ": " + e.getMessage());
+            }
+        }
+    }
+
+    private static final class SlaTimers {
+        private HierarchicalTimingWheel.Timer acknowledge;
+        private HierarchicalTimingWheel.Timer resolve;
+        // Bumped whenever the acknowledge timer is disarmed, so a copy that was already collected cannot breach.
+        private int acknowledgeGeneration;
+
+        void disarmAcknowledge() {
+            if (acknowledge != null) {
+                acknowledge.cancel();
+                acknowledge = null;
+            }
+            acknowledgeGeneration++;
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package org.example.service;
+
+import org.example.model.Sprint;
+import org.example.model.SprintPlan;
+import org.example.model.Ticket;
+import org.example.model.TicketStatus;
+import org.example.model.TicketType;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.Collectors;
+
+public class SprintPlanner {
+    private static final long MAX_EXACT_CELLS = 1L << 26;
+    private static final double VALUE_SCALE = 1000.0;
+
+    private final TicketService ticketService;
+    private final SprintService sprintService;
+    private final ToDoubleFunction<Ticket> priority;
+
+    public SprintPlanner(TicketService ticketService, SprintService sprintService) {
+        this(ticketService, sprintService, SprintPlanner::agingPriority);
+    }
+
+    public SprintPlanner(TicketService ticketService, SprintService sprintService, ToDoubleFunction<Ticket> priority) {
+        this.ticketService = ticketService;
+        this.sprintService = sprintService;
+        this.priority = priority;
+    }
+
+    public SprintPlan planSprint(Long sprintId) {
+        Sprint sprint = sprintService.getSprint(sprintId)
+                .orElseThrow(() -> new IllegalArgumentException("Sprint not found: " + sprintId));
+
+        Map<String, Integer> remaining = remainingCapacity(sprint);
+        Set<Long> planned = new HashSet<>();
+        sprintService.getAllSprints().forEach(s -> planned.addAll(s.getStoryIds()));
+
+        Map<String, List<Ticket>> backlogByAssignee = ticketService.getTicketsByType(TicketType.STORY).stream()
+                .filter(story -> story.getStoryPoints() > 0)
+                .filter(story -> story.getStatus() != TicketStatus.DEPLOYED)
+                .filter(story -> story.getAssignee() != null && remaining.getOrDefault(story.getAssignee(), 0) > 0)
+                .filter(story -> !planned.contains(story.getId()))
+                .collect(Collectors.groupingBy(Ticket::getAssignee));
+
+        List<AssigneeSelection> selections = backlogByAssignee.entrySet().parallelStream()
+                .map(entry -> select(entry.getKey(), entry.getValue(), remaining.get(entry.getKey())))
+                .collect(Collectors.toList());
+
+        List<Long> storyIds = new ArrayList<>();
+        Map<String, Integer> plannedPoints = new HashMap<>();
+        int totalPoints = 0;
+        long totalValue = 0;
+        for (AssigneeSelection selection : selections) {
+            for (long id : selection.storyIds) {
+                storyIds.add(id);
+            }
+            plannedPoints.put(selection.assignee, selection.points);
+            remaining.merge(selection.assignee, -selection.points, Integer::sum);
+            totalPoints += selection.points;
+            totalValue += selection.value;
+        }
+        storyIds.sort(Comparator.naturalOrder());
+
+        return new SprintPlan(sprintId, storyIds, plannedPoints, remaining, totalPoints, totalValue / VALUE_SCALE);
+    }
+
+    public int applyPlan(SprintPlan plan) {
+        int added = 0;
+        for (Long storyId : plan.storyIds()) {
+            if (sprintService.addStoryToSprint(plan.sprintId(), storyId)) {
+                added++;
+            }
+        }
+        return added;
+    }
+
+    private Map<String, Integer> remainingCapacity(Sprint sprint) {
+        Map<String, Integer> remaining = new HashMap<>(sprint.getAssigneeCapacity());
+        for (Ticket story : sprintService.getStoriesInSprint(sprint.getId())) {
+            if (story.getAssignee() != null) {
+                remaining.computeIfPresent(story.getAssignee(), (assignee, left) -> Math.max(0, left - story.getStoryPoints()));
+            }
+        }
+        return remaining;
+    }
+
+    private AssigneeSelection select(String assignee, List<Ticket> stories, int capacity) {
+        int n = stories.size();
+        long[] ids = new long[n];
+        int[] weights = new int[n];
+        long[] values = new long[n];
+        int count = 0;
+        for (Ticket story : stories) {
+            if (story.getStoryPoints() <= capacity) {
+                ids[count] = story.getId();
+                weights[count] = story.getStoryPoints();
+                values[count] = Math.round(story.getStoryPoints() * priority.applyAsDouble(story) * VALUE_SCALE);
+                count++;
+            }
+        }
+
+        boolean[] chosen = (long) count * (capacity + 1) <= MAX_EXACT_CELLS
+                ? solveExact(count, weights, values, capacity)
+                : solveGreedy(count, weights, values, capacity);
+
+        AssigneeSelection selection = new AssigneeSelection(assignee);
+        long[] selected = new long[count];
+        int selectedCount = 0;
+        for (int i = 0; i < count; i++) {
+            if (chosen[i]) {
+                selected[selectedCount++] = ids[i];
+                selection.points += weights[i];
+                selection.value += values[i];
+            }
+        }
+        selection.storyIds = Arrays.copyOf(selected, selectedCount);
+        return selection;
+    }
+
+    private static boolean[] solveExact(int count, int[] weights, long[] values, int capacity) {
+        int width = capacity + 1;
+        long[] best = new long[width];
+        long[] taken = new long[(int) (((long) count * width + 63) >>> 6)];
+
+        for (int i = 0; i < count; i++) {
+            int weight = weights[i];
+            long value = values[i];
+            long row = (long) i * width;
+            for (int c = capacity; c >= weight; c--) {
+                long candidate = best[c - weight] + value;
+                if (candidate > best[c]) {
+                    best[c] = candidate;
+                    long bit = row + c;
+                    taken[(int) (bit >>> 6)] |= 1L << bit;
+                }
+            }
+        }
+
+        boolean[] chosen = new boolean[count];
+        int c = capacity;
+        for (int i = count - 1; i >= 0 && c > 0; i--) {
+            long bit = (long) i * width + c;
+            if ((taken[(int) (bit >>> 6)] & (1L << bit)) != 0) {
+                chosen[i] = true;
+                c -= weights[i];
+            }
+        }
+        return chosen;
+    }
+
+    private static boolean[] solveGreedy(int count, int[] weights, long[] values, int capacity) {
+        Integer[] order = new Integer[count];
+        for (int i = 0; i < count; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Double.compare((double) values[b] / weights[b], (double) values[a] / weights[a]));
+
+        boolean[] chosen = new boolean[count];
+        int left = capacity;
+        for (int index : order) {
+            if (weights[index] <= left) {
+                chosen[index] = true;
+                left -= weights[index];
+            }
+        }
+        return chosen;
+    }
+
+    private static double agingPriority(Ticket story) {
+        long ageDays = Duration.between(story.getCreatedAt(), LocalDateTime.now()).toDays();
+        return 1.0 + Math.min(ageDays, 90) / 30.0;
+    }
+
+    private static final class AssigneeSelection {
+        private final String assignee;
+        private long[] storyIds = new long[0];
+        private int points;
+        private long value;
+
+        private AssigneeSelection(String assignee) {
+            this.assignee = assignee;
+        }
+    }
+}
@@ -1,86 +1,257 @@
 package org.example.service;
 
+import org.example.model.MutationEvent;
+import org.example.model.MutationKind;
 import org.example.model.Sprint;
+import org.example.model.SprintRollover;
 import org.example.model.Ticket;
+import org.example.model.TicketStatus;
 import org.example.model.TicketType;
+import org.example.storage.InMemorySprintRepository;
+import org.example.storage.SprintRepository;
 
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
 
 
 public class SprintService {
-    private final Map<Long, Sprint> sprints = new ConcurrentHashMap<>();
+    private final SprintRepository sprints;
     private final TicketService ticketService;
-    private Long currentActiveSprintId = null;
+    private final Map<Long, SprintRollover> rollovers = new ConcurrentHashMap<>();
+    // Only ever moved by compare-and-set, so two sprints racing to start cannot both see no active sprint and win.
+    private final AtomicReference<Long> activeSprintId = new AtomicReference<>();
     
     public SprintService(TicketService ticketService) {
+        this(ticketService, new InMemorySprintRepository());
+    }
+
+    public SprintService(TicketService ticketService, SprintRepository sprints) {
         this.ticketService = ticketService;
+        this.sprints = sprints;
+        sprints.findAll().stream()
+                .filter(Sprint::isActive)
+                .findFirst()
+                .ifPresent(sprint -> activeSprintId.set(sprint.getId()));
     }
     
 
     public Sprint createSprint(String name, String description, LocalDateTime startDate, LocalDateTime endDate) {
+        return insertSprint(newSprint(name, description, startDate, endDate));
+    }
+
+    Sprint newSprint(String name, String description, LocalDateTime startDate, LocalDateTime endDate) {
         if (startDate.isAfter(endDate)) {
             throw new IllegalArgumentException("Start date cannot be after end date");
         }
-        
-        Sprint sprint = new Sprint(name, description, startDate, endDate);
-        sprints.put(sprint.getId(), sprint);
+        return new Sprint(name, description, startDate, endDate);
+    }
+
+    Sprint insertSprint(Sprint sprint) {
+        long locks = bus().lock(sprint.getId());
+        try {
+            sprints.insert(sprint);
+            bus().record(MutationEvent.sprintCreated(sprint));
+        } finally {
+            bus().unlock(locks);
+        }
+        bus().deliver();
         return sprint;
     }
     
 
+    public boolean restoreSprint(Sprint sprint) {
+        long locks = bus().lock(sprint.getId());
+        try {
+            if (!sprints.insert(sprint)) {
+                return false;
+            }
+
+            bus().record(MutationEvent.sprintCreated(sprint));
+            if (sprint.isActive() && activeSprintId.compareAndSet(null, sprint.getId())) {
+                record(MutationKind.SPRINT_STARTED, sprint.getId(), null);
+            }
+        } finally {
+            bus().unlock(locks);
+        }
+        bus().deliver();
+        return true;
+    }
+
     public Optional<Sprint> getSprint(Long sprintId) {
-        return Optional.ofNullable(sprints.get(sprintId));
+        return sprints.findById(sprintId);
     }
     
 
     public List<Sprint> getAllSprints() {
-        return new ArrayList<>(sprints.values());
+        return sprints.findAll();
     }
     
 
     public Optional<Sprint> getActiveSprint() {
-        if (currentActiveSprintId == null) {
+        Long sprintId = activeSprintId.get();
+        if (sprintId == null) {
             return Optional.empty();
         }
-        return getSprint(currentActiveSprintId);
+        return getSprint(sprintId);
     }
 
     public boolean startSprint(Long sprintId) {
-        Optional<Sprint> sprintOpt = getSprint(sprintId);
-        if (sprintOpt.isEmpty()) {
-            return false;
-        }
-        
-        Sprint sprint = sprintOpt.get();
-        
-        if (currentActiveSprintId != null) {
-            throw new IllegalStateException("Cannot start sprint - another sprint is already active: " + currentActiveSprintId);
+        long locks = bus().lock(sprintId);
+        try {
+            Optional<Sprint> sprintOpt = getSprint(sprintId);
+            if (sprintOpt.isEmpty()) {
+                return false;
+            }
+
+            Sprint sprint = sprintOpt.get();
+
+            if (!activeSprintId.compareAndSet(null, sprintId)) {
+                throw new IllegalStateException("Cannot start sprint - another sprint is already active: "
+                        + activeSprintId.get());
+            }
+
+            sprint.setActive(true);
+            sprints.save(sprint);
+            record(MutationKind.SPRINT_STARTED, sprintId, null);
+        } finally {
+            bus().unlock(locks);
         }
-        
-        sprint.setActive(true);
-        currentActiveSprintId = sprintId;
+        bus().deliver();
         return true;
     }
     
 
     public boolean endActiveSprint() {
-        if (currentActiveSprintId == null) {
-            return false;
-        }
-        
-        Optional<Sprint> sprintOpt = getSprint(currentActiveSprintId);
-        if (sprintOpt.isPresent()) {
-            sprintOpt.get().setActive(false);
+        while (true) {
+            Long endedSprintId = activeSprintId.get();
+            if (endedSprintId == null) {
+                return false;
+            }
+
+            long locks = bus().lock(endedSprintId);
+            try {
+                // A rollover holding the old sprint's stripe may have moved the active sprint on; end that one instead.
+                if (!activeSprintId.compareAndSet(endedSprintId, null)) {
+                    continue;
+                }
+                Optional<Sprint> sprintOpt = getSprint(endedSprintId);
+                if (sprintOpt.isPresent()) {
+                    sprintOpt.get().setActive(false);
+                    sprints.save(sprintOpt.get());
+                }
+                record(MutationKind.SPRINT_ENDED, endedSprintId, null);
+            } finally {
+                bus().unlock(locks);
+            }
+            bus().deliver();
+            return true;
         }
-        
-        currentActiveSprintId = null;
-        return true;
     }
     
 
+    public Optional<SprintRollover> rolloverActiveSprint(Long nextSprintId) {
+        Sprint next = getSprint(nextSprintId)
+                .orElseThrow(() -> new IllegalArgumentException("Sprint not found: " + nextSprintId));
+        return rollover(next, false);
+    }
+
+    public Optional<SprintRollover> rolloverActiveSprint(String name, String description, LocalDateTime startDate,
+                                                         LocalDateTime endDate) {
+        if (startDate.isAfter(endDate)) {
+            throw new IllegalArgumentException("Start date cannot be after end date");
+        }
+        if (activeSprintId.get() == null) {
+            return Optional.empty();
+        }
+        return rollover(new Sprint(name, description, startDate, endDate), true);
+    }
+
+    public Optional<SprintRollover> getRollover(Long closedSprintId) {
+        return Optional.ofNullable(rollovers.get(closedSprintId));
+    }
+
+    private Optional<SprintRollover> rollover(Sprint next, boolean created) {
+        while (true) {
+            Long closedSprintId = activeSprintId.get();
+            if (closedSprintId == null) {
+                return Optional.empty();
+            }
+            if (closedSprintId.equals(next.getId())) {
+                throw new IllegalArgumentException("Cannot roll sprint " + closedSprintId + " over into itself");
+            }
+            Sprint closed = getSprint(closedSprintId)
+                    .orElseThrow(() -> new IllegalStateException("Active sprint not found: " + closedSprintId));
+
+            // Both sprint stripes block story adds and removals, and the story stripes block status changes, so the split
+            // below sees one consistent state. Stripes are taken in one ordered acquisition, which means the story list is
+            // read before locking and re-checked afterwards; if it moved, the locks are dropped and the split retried.
+            List<Long> storyIds = new ArrayList<>(closed.getStoryIds());
+            List<Long> keys = new ArrayList<>(storyIds);
+            keys.add(closedSprintId);
+            keys.add(next.getId());
+            SprintRollover rollover;
+            long locks = bus().lockAll(keys);
+            try {
+                if (!closedSprintId.equals(activeSprintId.get()) || !storyIds.equals(closed.getStoryIds())) {
+                    continue;
+                }
+                rollover = applyRollover(closed, next, created);
+            } finally {
+                bus().unlock(locks);
+            }
+            bus().deliver();
+            return Optional.of(rollover);
+        }
+    }
+
+    private SprintRollover applyRollover(Sprint closed, Sprint next, boolean created) {
+        // One pass over the closed sprint splits its stories and tallies its final statistics.
+        List<Long> completed = new ArrayList<>();
+        List<Long> carried = new ArrayList<>();
+        Map<TicketStatus, Integer> carriedByStatus = new EnumMap<>(TicketStatus.class);
+        int completedPoints = 0;
+        int carriedPoints = 0;
+        for (Long storyId : closed.getStoryIds()) {
+            Optional<Ticket> story = ticketService.getTicket(storyId);
+            if (story.isEmpty()) {
+                continue;
+            }
+            Ticket ticket = story.get();
+            if (ticket.getStatus() == ticket.getFinalStatus()) {
+                completed.add(storyId);
+                completedPoints += ticket.getStoryPoints();
+            } else {
+                carried.add(storyId);
+                carriedPoints += ticket.getStoryPoints();
+                carriedByStatus.merge(ticket.getStatus(), 1, Integer::sum);
+            }
+        }
+
+        if (created) {
+            sprints.insert(next);
+        }
+        Set<Long> nextStories = new LinkedHashSet<>(next.getStoryIds());
+        nextStories.addAll(carried);
+        next.setStoryIds(new ArrayList<>(nextStories));
+        next.setActive(true);
+        closed.setStoryIds(completed);
+        closed.setActive(false);
+        sprints.save(closed);
+        sprints.save(next);
+        activeSprintId.set(next.getId());
+
+        SprintRollover rollover = new SprintRollover(closed.getId(), next.getId(), List.copyOf(completed),
+                List.copyOf(carried), completedPoints, carriedPoints, Collections.unmodifiableMap(carriedByStatus),
+                Instant.now());
+        rollovers.put(closed.getId(), rollover);
+        bus().record(MutationEvent.sprintRollover(closed.getId(), next, carried));
+        return rollover;
+    }
+
     public boolean addStoryToSprint(Long sprintId, Long storyId) {
         Optional<Sprint> sprintOpt = getSprint(sprintId);
         if (sprintOpt.isEmpty()) {
@@ -97,13 +268,23 @@ public class SprintService {
             throw new IllegalArgumentException("Only Story tickets can be added to sprints. Ticket " + storyId + " is of type: " + ticket.getType());
         }
         
-        for (Sprint sprint : sprints.values()) {
-            if (!sprint.getId().equals(sprintId) && sprint.getStoryIds().contains(storyId)) {
-                throw new IllegalStateException("Story " + storyId + " is already in sprint " + sprint.getId());
+        long locks = bus().lockAll(List.of(sprintId, storyId));
+        try {
+            // Every add, removal and rollover of this story holds its stripe, so the membership seen here cannot change
+            // before the add below; checked outside it, two sprints could each claim the story.
+            for (Sprint sprint : sprints.findAll()) {
+                if (!sprint.getId().equals(sprintId) && sprint.getStoryIds().contains(storyId)) {
+                    throw new IllegalStateException("Story " + storyId + " is already in sprint " + sprint.getId());
+                }
+            }
+            if (sprintOpt.get().addStory(storyId)) {
+                sprints.save(sprintOpt.get());
+                record(MutationKind.SPRINT_STORY_ADDED, sprintId, storyId);
             }
+        } finally {
+            bus().unlock(locks);
         }
-        
-        sprintOpt.get().addStory(storyId);
+        bus().deliver();
         return true;
     }
     
@@ -114,25 +295,60 @@ public class SprintService {
             return false;
         }
         
-        sprintOpt.get().removeStory(storyId);
+        long locks = bus().lockAll(List.of(sprintId, storyId));
+        try {
+            if (sprintOpt.get().removeStory(storyId)) {
+                sprints.save(sprintOpt.get());
+                record(MutationKind.SPRINT_STORY_REMOVED, sprintId, storyId);
+            }
+        } finally {
+            bus().unlock(locks);
+        }
+        bus().deliver();
         return true;
     }
     
 
+    public boolean setAssigneeCapacity(Long sprintId, String assignee, int points) {
+        if (points < 0) {
+            throw new IllegalArgumentException("Capacity cannot be negative: " + points);
+        }
+
+        Optional<Sprint> sprintOpt = getSprint(sprintId);
+        if (sprintOpt.isEmpty()) {
+            return false;
+        }
+
+        long locks = bus().lock(sprintId);
+        try {
+            if (sprintOpt.get().getCapacity(assignee) != points) {
+                sprintOpt.get().setCapacity(assignee, points);
+                sprints.save(sprintOpt.get());
+                bus().record(MutationEvent.capacity(sprintId, assignee, points));
+            }
+        } finally {
+            bus().unlock(locks);
+        }
+        bus().deliver();
+        return true;
+    }
+
     public boolean addStoryToCurrentSprint(Long storyId) {
-        if (currentActiveSprintId == null) {
+        Long sprintId = activeSprintId.get();
+        if (sprintId == null) {
             throw new IllegalStateException("No active sprint to add story to");
         }
         
-        return addStoryToSprint(currentActiveSprintId, storyId);
+        return addStoryToSprint(sprintId, storyId);
     }
 
     public boolean removeStoryFromCurrentSprint(Long storyId) {
-        if (currentActiveSprintId == null) {
+        Long sprintId = activeSprintId.get();
+        if (sprintId == null) {
             return false;
         }
         
-        return removeStoryFromSprint(currentActiveSprintId, storyId);
+        return removeStoryFromSprint(sprintId, storyId);
     }
     
 
@@ -150,11 +366,12 @@ public class SprintService {
     }
 
     public List<Ticket> getStoriesInCurrentSprint() {
-        if (currentActiveSprintId == null) {
+        Long sprintId = activeSprintId.get();
+        if (sprintId == null) {
             return Collections.emptyList();
         }
         
-        return getStoriesInSprint(currentActiveSprintId);
+        return getStoriesInSprint(sprintId);
     }
 
     public boolean deleteSprint(Long sprintId) {
@@ -168,7 +385,18 @@ public class SprintService {
             throw new IllegalStateException("Cannot delete active sprint: " + sprintId);
         }
         
-        return sprints.remove(sprintId) != null;
+        long locks = bus().lock(sprintId);
+        try {
+            if (sprints.delete(sprintId).isEmpty()) {
+                return false;
+            }
+
+            record(MutationKind.SPRINT_DELETED, sprintId, null);
+        } finally {
+            bus().unlock(locks);
+        }
+        bus().deliver();
+        return true;
     }
 
     public Map<String, Object> getSprintStatistics(Long sprintId) {
@@ -191,14 +419,47 @@ public class SprintService {
         stats.put("openStories", stories.stream()
                 .mapToLong(story -> story.getStatus().name().equals("OPEN") ? 1 : 0)
                 .sum());
+        SprintRollover rollover = rollovers.get(sprintId);
+        if (rollover != null) {
+            stats.put("carriedOverStories", rollover.carriedStoryIds().size());
+            stats.put("carriedOverStoryPoints", rollover.carriedStoryPoints());
+            stats.put("completedStoryPoints", rollover.completedStoryPoints());
+            stats.put("rolledOverTo", rollover.nextSprintId());
+        }
         
         return stats;
     }
     
 
     public Optional<Sprint> findSprintContainingStory(Long storyId) {
-        return sprints.values().stream()
+        return sprints.findAll().stream()
                 .filter(sprint -> sprint.getStoryIds().contains(storyId))
                 .findFirst();
     }
+
+    int purgeStory(Long storyId) {
+        int removed = 0;
+        for (Sprint sprint : sprints.findAll()) {
+            long locks = bus().lockAll(List.of(sprint.getId(), storyId));
+            try {
+                if (sprint.removeStory(storyId)) {
+                    sprints.save(sprint);
+                    record(MutationKind.SPRINT_STORY_REMOVED, sprint.getId(), storyId);
+                    removed++;
+                }
+            } finally {
+                bus().unlock(locks);
+            }
+        }
+        bus().deliver();
+        return removed;
+    }
+
+    private MutationBus bus() {
+        return ticketService.getMutationBus();
+    }
+
+    private void record(MutationKind kind, Long sprintId, Long storyId) {
+        bus().record(MutationEvent.sprint(kind, sprintId, storyId));
+    }
 }
@@ -227,20 +227,16 @@ public class StartJiraDemo {
     private void showSystemState() {
         System.out.println("6. Current system state...\n");
 
+        BoardRenderer renderer = new BoardRenderer(ticketService, sprintService);
         System.out.println("All Tickets:");
-        ticketService.getAllTickets().forEach(ticket -> {
-            System.out.println("- " + ticket);
-            List<SubTask> subTasks = subTaskService.getSubTasksForTicket(ticket.getId());
-            subTasks.forEach(subTask -> System.out.println("  * " + subTask));
-        });
+        renderer.render(BoardQuery.all(), System.out);
 
         System.out.println("\nActive Sprint:");
         Optional<Sprint> activeSprint = sprintService.getActiveSprint();
         if (activeSprint.isPresent()) {
             Sprint sprint = activeSprint.get();
             System.out.println("- " + sprint);
-            List<Ticket> sprintStories = sprintService.getStoriesInCurrentSprint();
-            sprintStories.forEach(story -> System.out.println("  * " + story));
+            renderer.render(BoardQuery.sprint(sprint.getId()), System.out);
         } else {
             System.out.println("No active sprint found.");
         }
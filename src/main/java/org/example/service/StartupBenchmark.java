@@ -0,0 +1,131 @@
+package org.example.service;
+
+import org.example.io.DataExporter;
+import org.example.io.DataImporter;
+import org.example.model.Ticket;
+import org.example.model.TicketType;
+import org.example.storage.ImageBackedStore;
+import org.example.storage.StateImage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+public class StartupBenchmark {
+    public static final int DEFAULT_TICKETS = 200_000;
+
+    private static final TicketType[] TYPES = TicketType.values();
+    private static final String[] ASSIGNEES = {"alice", "bob", "carol", "dave", "erin", "frank"};
+
+    private final int ticketCount;
+    private final Path directory;
+
+    public StartupBenchmark(int ticketCount, Path directory) {
+        if (ticketCount <= 0) {
+            throw new IllegalArgumentException("Ticket count must be positive: " + ticketCount);
+        }
+        this.ticketCount = ticketCount;
+        this.directory = directory;
+    }
+
+    public static void main(String[] args) {
+        // JVM start to main() is the part AppCDS shrinks; compare runs with and without -XX:SharedArchiveFile.
+        long jvmStartupMillis = System.currentTimeMillis() - ManagementFactory.getRuntimeMXBean().getStartTime();
+        int tickets = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_TICKETS;
+        try {
+            Path directory = Files.createTempDirectory("startup-benchmark");
+            Map<String, Object> results = new StartupBenchmark(tickets, directory).run();
+            System.out.println("jvmStartupMillis=" + jvmStartupMillis);
+            results.forEach((key, value) -> System.out.println(key + "=" + value));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public Map<String, Object> run() throws IOException {
+        Path export = directory.resolve("state.bin");
+        Path image = directory.resolve("state.img");
+        Long probeId = populate(export, image);
+
+        Map<String, Object> results = new LinkedHashMap<>();
+        results.put("tickets", ticketCount);
+        results.put("exportBytes", Files.size(export));
+        results.put("imageBytes", Files.size(image));
+
+        long started = System.nanoTime();
+        TicketService eagerTickets = new TicketService();
+        SubTaskService eagerSubTasks = new SubTaskService(eagerTickets);
+        SprintService eagerSprints = new SprintService(eagerTickets);
+        try (InputStream in = Files.newInputStream(export)) {
+            new DataImporter(eagerTickets, eagerSubTasks, eagerSprints).importBinary(in, report -> {
+            });
+        }
+        requireTicket(eagerTickets, probeId);
+        results.put("eagerFirstRequestMillis", millisSince(started));
+
+        started = System.nanoTime();
+        ImageBackedStore store = ImageBackedStore.open(image);
+        TicketService imageTickets = new TicketService(store.ticketRepository());
+        new SubTaskService(imageTickets, store.subTaskRepository());
+        new SprintService(imageTickets, store.sprintRepository());
+        requireTicket(imageTickets, probeId);
+        results.put("imageFirstRequestMillis", millisSince(started));
+        store.startWarmup().join();
+        results.put("imageWarmMillis", millisSince(started));
+        results.put("imageStatistics", store.getStatistics());
+        return results;
+    }
+
+    private Long populate(Path export, Path image) throws IOException {
+        TicketService ticketService = new TicketService();
+        SubTaskService subTaskService = new SubTaskService(ticketService);
+        SprintService sprintService = new SprintService(ticketService);
+        SplittableRandom random = new SplittableRandom(42);
+        LocalDateTime now = LocalDateTime.now();
+        Long sprintId = sprintService.createSprint("Benchmark sprint", "Startup benchmark data", now, now.plusWeeks(2))
+                .getId();
+        Long probeId = null;
+        for (int i = 0; i < ticketCount; i++) {
+            TicketType type = TYPES[random.nextInt(TYPES.length)];
+            Ticket ticket = ticketService.createTicket("Ticket " + i, "Generated for the startup benchmark", type,
+                    ASSIGNEES[random.nextInt(ASSIGNEES.length)]);
+            if (random.nextInt(4) == 0) {
+                subTaskService.createSubTask(ticket.getId(), "Sub-task of " + i, "", null);
+            }
+            if (type == TicketType.STORY && random.nextInt(10) == 0) {
+                sprintService.addStoryToSprint(sprintId, ticket.getId());
+            }
+            if (i == ticketCount / 2) {
+                probeId = ticket.getId();
+            }
+        }
+
+        try (OutputStream out = Files.newOutputStream(export)) {
+            new DataExporter(ticketService, subTaskService, sprintService).exportBinary(out);
+        }
+        List<Ticket> live = ticketService.getAllTickets().stream()
+                .filter(ticket -> !ticketService.isTombstoned(ticket.getId()))
+                .toList();
+        StateImage.write(image, live, sprintService.getAllSprints());
+        return probeId;
+    }
+
+    private static void requireTicket(TicketService ticketService, Long ticketId) {
+        if (ticketService.getTicket(ticketId).isEmpty()) {
+            throw new IllegalStateException("Benchmark ticket missing after load: " + ticketId);
+        }
+    }
+
+    private static double millisSince(long startedNanos) {
+        return (System.nanoTime() - startedNanos) / 1_000_000.0;
+    }
+}
@@ -0,0 +1,109 @@
+package org.example.service;
+
+import org.example.model.StatusUpdateResult;
+import org.example.model.TicketStatus;
+import org.example.model.TicketType;
+import org.example.storage.InMemoryTicketRepository;
+import org.example.util.CoarseEpochClock;
+import org.example.util.EpochClock;
+
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class StatusUpdateBenchmark {
+    public static final int DEFAULT_TICKETS = 10_000;
+    public static final int DEFAULT_ROUNDS = 50;
+
+    private static final int WARMUP_ROUNDS = 20;
+
+    private final int ticketCount;
+    private final int rounds;
+    private final com.sun.management.ThreadMXBean threads;
+
+    public StatusUpdateBenchmark(int ticketCount, int rounds) {
+        if (ticketCount <= 0 || rounds <= 0) {
+            throw new IllegalArgumentException("Ticket count and rounds must be positive");
+        }
+        if (!(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean mxBean)
+                || !mxBean.isThreadAllocatedMemorySupported()) {
+            throw new IllegalStateException("This JVM does not report per-thread allocation");
+        }
+        this.ticketCount = ticketCount;
+        this.rounds = rounds;
+        this.threads = mxBean;
+    }
+
+    public static void main(String[] args) {
+        int tickets = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_TICKETS;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_ROUNDS;
+        new StatusUpdateBenchmark(tickets, rounds).run()
+                .forEach((key, value) -> System.out.println(key + "=" + value));
+    }
+
+    public Map<String, Object> run() {
+        Map<String, Object> results = new LinkedHashMap<>();
+        results.put("tickets", ticketCount);
+        results.put("rounds", rounds);
+        measure("system", EpochClock.system(), results);
+        try (CoarseEpochClock coarse = new CoarseEpochClock(1)) {
+            measure("coarse", coarse, results);
+        }
+        return results;
+    }
+
+    private void measure(String clockName, EpochClock clock, Map<String, Object> results) {
+        TicketService ticketService = new TicketService(new InMemoryTicketRepository(), clock);
+        Long[] ids = new Long[ticketCount];
+        for (int i = 0; i < ticketCount; i++) {
+            ids[i] = ticketService.createTicket("Ticket " + i, "", TicketType.ON_CALL, "benchmark").getId();
+        }
+
+        for (int round = 0; round < WARMUP_ROUNDS; round++) {
+            toggle(ticketService, ids);
+            reject(ticketService, ids);
+        }
+
+        long operations = 2L * ticketCount * rounds;
+        long startedBytes = allocatedBytes();
+        long started = System.nanoTime();
+        for (int round = 0; round < rounds; round++) {
+            toggle(ticketService, ids);
+        }
+        long elapsed = System.nanoTime() - started;
+        long validBytes = allocatedBytes() - startedBytes;
+
+        startedBytes = allocatedBytes();
+        for (int round = 0; round < rounds; round++) {
+            reject(ticketService, ids);
+        }
+        long rejectedBytes = allocatedBytes() - startedBytes;
+
+        results.put(clockName + ".validNanosPerOp", elapsed / (double) operations);
+        results.put(clockName + ".validBytesPerOp", validBytes / (double) operations);
+        results.put(clockName + ".rejectedBytesPerOp", rejectedBytes / (double) (operations / 2));
+    }
+
+    private static void toggle(TicketService ticketService, Long[] ids) {
+        for (Long id : ids) {
+            require(ticketService.tryUpdateTicketStatus(id, TicketStatus.IN_PROGRESS), StatusUpdateResult.UPDATED);
+            require(ticketService.tryUpdateTicketStatus(id, TicketStatus.OPEN), StatusUpdateResult.UPDATED);
+        }
+    }
+
+    private static void reject(TicketService ticketService, Long[] ids) {
+        for (Long id : ids) {
+            require(ticketService.tryUpdateTicketStatus(id, TicketStatus.DEPLOYED), StatusUpdateResult.INVALID_TRANSITION);
+        }
+    }
+
+    private static void require(StatusUpdateResult actual, StatusUpdateResult expected) {
+        if (actual != expected) {
+            throw new IllegalStateException("Expected " + expected + " but got " + actual);
+        }
+    }
+
+    private long allocatedBytes() {
+        return threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+}
@@ -1,111 +1,290 @@
 package org.example.service;
 
+import org.example.model.MutationEvent;
+import org.example.model.MutationKind;
+import org.example.model.StatusUpdateResult;
 import org.example.model.SubTask;
+import org.example.model.SubTaskSnapshot;
 import org.example.model.Ticket;
 import org.example.model.TicketStatus;
 import org.example.model.TicketType;
+import org.example.storage.InMemorySubTaskRepository;
+import org.example.storage.SubTaskRepository;
 
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 
 public class SubTaskService {
-    private final Map<Long, SubTask> subTasks = new ConcurrentHashMap<>();
+    private final SubTaskRepository subTasks;
     private final TicketService ticketService;
     
     public SubTaskService(TicketService ticketService) {
+        this(ticketService, new InMemorySubTaskRepository());
+    }
+
+    public SubTaskService(TicketService ticketService, SubTaskRepository subTasks) {
         this.ticketService = ticketService;
+        this.subTasks = subTasks;
     }
     
 
     public SubTask createSubTask(Long parentTicketId, String title, String description, String assignee) {
-        Optional<Ticket> parentTicket = ticketService.getTicket(parentTicketId);
-        if (parentTicket.isEmpty()) {
-            throw new IllegalArgumentException("Parent ticket not found: " + parentTicketId);
+        // Sub-task changes run under the parent's stripe, so they order against the parent's own status changes.
+        long locks = bus().lock(parentTicketId);
+        SubTask subTask;
+        try {
+            Ticket parentTicket = ticketService.findTicketOrNull(parentTicketId);
+            if (parentTicket == null) {
+                throw new IllegalArgumentException("Parent ticket not found: " + parentTicketId);
+            }
+
+            subTask = new SubTask(parentTicketId, title, description, assignee);
+            subTasks.insert(subTask);
+
+            parentTicket.addSubTask(subTask);
+            ticketService.recordSubTasksChanged(parentTicket);
+            record(MutationKind.SUBTASK_CREATED, parentTicket.getType(), subTask, null, assignee);
+        } finally {
+            bus().unlock(locks);
         }
-        
-        SubTask subTask = new SubTask(parentTicketId, title, description, assignee);
-        subTasks.put(subTask.getId(), subTask);
-        
-        parentTicket.get().addSubTask(subTask);
-        
+        bus().deliver();
         return subTask;
     }
     
 
+    public boolean restoreSubTask(SubTask subTask) {
+        long locks = bus().lock(subTask.getParentTicketId());
+        try {
+            Ticket parent = ticketService.getTicket(subTask.getParentTicketId())
+                    .orElseThrow(() -> new IllegalArgumentException("Parent ticket not found: " + subTask.getParentTicketId()));
+            if (!subTasks.insert(subTask)) {
+                return false;
+            }
+
+            parent.addSubTask(subTask);
+            ticketService.recordSubTasksChanged(parent);
+            record(MutationKind.SUBTASK_CREATED, parent.getType(), subTask, null, subTask.getAssignee());
+        } finally {
+            bus().unlock(locks);
+        }
+        bus().deliver();
+        return true;
+    }
+
     public Optional<SubTask> getSubTask(Long subTaskId) {
-        return Optional.ofNullable(subTasks.get(subTaskId));
+        return subTasks.findById(subTaskId);
+    }
+
+    public Optional<SubTaskSnapshot> getSubTaskSnapshot(Long subTaskId) {
+        SubTask subTask = subTasks.findOrNull(subTaskId);
+        return subTask == null ? Optional.empty() : Optional.of(snapshotOf(subTask));
+    }
+
+    public List<SubTaskSnapshot> getSubTaskSnapshotsForTicket(Long ticketId) {
+        return ticketService.getTicketSnapshot(ticketId)
+                .map(ticket -> ticket.subTaskIds().stream()
+                        .map(this::getSubTaskSnapshot)
+                        .flatMap(Optional::stream)
+                        .collect(Collectors.toList()))
+                .orElse(Collections.emptyList());
+    }
+
+    private SubTaskSnapshot snapshotOf(SubTask subTask) {
+        SubTaskSnapshot snapshot = subTask.getCachedSnapshot();
+        if (snapshot != null) {
+            return snapshot;
+        }
+        long locks = bus().lock(subTask.getParentTicketId());
+        try {
+            snapshot = subTask.getCachedSnapshot();
+            if (snapshot == null) {
+                snapshot = SubTaskSnapshot.of(subTask);
+                subTask.setCachedSnapshot(snapshot);
+            }
+        } finally {
+            bus().unlock(locks);
+        }
+        return snapshot;
     }
     
 
     public List<SubTask> getSubTasksForTicket(Long ticketId) {
-        return subTasks.values().stream()
-                .filter(subTask -> subTask.getParentTicketId().equals(ticketId))
-                .collect(Collectors.toList());
+        if (ticketService.isTombstoned(ticketId)) {
+            return Collections.emptyList();
+        }
+
+        return subTasks.findByParent(ticketId);
     }
     
 
     public List<SubTask> getAllSubTasks() {
-        return new ArrayList<>(subTasks.values());
+        List<SubTask> result = new ArrayList<>();
+        forEachSubTask(result::add);
+        return result;
+    }
+
+    public void forEachSubTask(Consumer<SubTask> action) {
+        subTasks.forEach(subTask -> {
+            if (!ticketService.isTombstoned(subTask.getParentTicketId())) {
+                action.accept(subTask);
+            }
+        });
     }
 
 
     public List<SubTask> getSubTasksByAssignee(String assignee) {
-        return subTasks.values().stream()
-                .filter(subTask -> assignee.equals(subTask.getAssignee()))
-                .collect(Collectors.toList());
+        List<SubTask> result = new ArrayList<>();
+        forEachSubTask(subTask -> {
+            if (assignee.equals(subTask.getAssignee())) {
+                result.add(subTask);
+            }
+        });
+        return result;
     }
 
     public boolean updateSubTaskStatus(Long subTaskId, TicketStatus newStatus) {
-        Optional<SubTask> subTaskOpt = getSubTask(subTaskId);
-        if (subTaskOpt.isEmpty()) {
-            return false;
+        SubTask subTask = subTasks.findOrNull(subTaskId);
+        TicketStatus currentStatus = subTask == null ? null : subTask.getStatus();
+        // Read with the status, so the message neither re-reads a parent that may be gone by then nor dereferences null.
+        TicketType parentType = subTask == null ? null : parentTypeOf(subTask);
+        return switch (tryUpdateSubTaskStatus(subTaskId, newStatus)) {
+            case UPDATED -> true;
+            case NOT_FOUND -> false;
+            case PARENT_NOT_FOUND -> throw new IllegalStateException("Parent ticket not found for sub-task: " + subTaskId);
+            default -> throw new IllegalArgumentException("Invalid status transition from " + currentStatus + " to "
+                    + newStatus + " for sub-task of type " + parentType);
+        };
+    }
+
+    public StatusUpdateResult tryUpdateSubTaskStatus(Long subTaskId, TicketStatus newStatus) {
+        SubTask subTask = subTasks.findOrNull(subTaskId);
+        if (subTask == null) {
+            return StatusUpdateResult.NOT_FOUND;
         }
-        
-        SubTask subTask = subTaskOpt.get();
-        Optional<Ticket> parentTicket = ticketService.getTicket(subTask.getParentTicketId());
-        
-        if (parentTicket.isEmpty()) {
-            throw new IllegalStateException("Parent ticket not found for sub-task: " + subTaskId);
+
+        long locks = bus().lock(subTask.getParentTicketId());
+        StatusUpdateResult result;
+        try {
+            result = applyStatus(subTaskId, newStatus);
+        } finally {
+            bus().unlock(locks);
         }
-        
-        TicketType parentType = parentTicket.get().getType();
-        
-        if (!isValidStatusTransition(parentType, subTask.getStatus(), newStatus)) {
-            throw new IllegalArgumentException(
-                String.format("Invalid status transition from %s to %s for sub-task of type %s", 
-                            subTask.getStatus(), newStatus, parentType));
+        if (result == StatusUpdateResult.UPDATED) {
+            bus().deliver();
         }
-        
-        subTask.setStatus(newStatus);
-        return true;
+        return result;
+    }
+
+    private StatusUpdateResult applyStatus(Long subTaskId, TicketStatus newStatus) {
+        SubTask subTask = subTasks.findOrNull(subTaskId);
+        if (subTask == null) {
+            return StatusUpdateResult.NOT_FOUND;
+        }
+        Ticket parent = ticketService.findTicketOrNull(subTask.getParentTicketId());
+        if (parent == null) {
+            return StatusUpdateResult.PARENT_NOT_FOUND;
+        }
+
+        TicketType parentType = parent.getType();
+        TicketStatus previousStatus = subTask.getStatus();
+        if (!isValidStatusTransition(parentType, previousStatus, newStatus)) {
+            return StatusUpdateResult.INVALID_TRANSITION;
+        }
+
+        long now = ticketService.getClock().epochMillis();
+        subTask.setStatus(newStatus, now);
+        subTask.markStatusEntered(newStatus, now);
+        subTask.setCachedSnapshot(null);
+        subTasks.save(subTask);
+        record(MutationKind.SUBTASK_STATUS_CHANGED, parentType, subTask, previousStatus, null);
+        return StatusUpdateResult.UPDATED;
     }
     
 
     public boolean updateSubTaskAssignee(Long subTaskId, String newAssignee) {
-        Optional<SubTask> subTaskOpt = getSubTask(subTaskId);
-        if (subTaskOpt.isEmpty()) {
+        SubTask found = subTasks.findOrNull(subTaskId);
+        if (found == null) {
             return false;
         }
-        
-        subTaskOpt.get().setAssignee(newAssignee);
+
+        long locks = bus().lock(found.getParentTicketId());
+        try {
+            SubTask subTask = subTasks.findOrNull(subTaskId);
+            if (subTask == null) {
+                return false;
+            }
+
+            subTask.setAssignee(newAssignee);
+            subTask.setCachedSnapshot(null);
+            subTasks.save(subTask);
+            record(MutationKind.SUBTASK_ASSIGNEE_CHANGED, parentTypeOf(subTask), subTask, null, newAssignee);
+        } finally {
+            bus().unlock(locks);
+        }
+        bus().deliver();
         return true;
     }
     
 
     public boolean deleteSubTask(Long subTaskId) {
-        Optional<SubTask> subTaskOpt = getSubTask(subTaskId);
-        if (subTaskOpt.isEmpty()) {
+        SubTask found = subTasks.findOrNull(subTaskId);
+        if (found == null) {
             return false;
         }
-        
-        SubTask subTask = subTaskOpt.get();
-        
-        Optional<Ticket> parentTicket = ticketService.getTicket(subTask.getParentTicketId());
-        parentTicket.ifPresent(ticket -> ticket.removeSubTask(subTask));
-        
-        return subTasks.remove(subTaskId) != null;
+
+        long locks = bus().lock(found.getParentTicketId());
+        try {
+            SubTask subTask = subTasks.findOrNull(subTaskId);
+            if (subTask == null) {
+                return false;
+            }
+
+            Ticket parentTicket = ticketService.findTicketOrNull(subTask.getParentTicketId());
+            if (parentTicket != null) {
+                parentTicket.removeSubTask(subTask);
+                ticketService.recordSubTasksChanged(parentTicket);
+            }
+
+            if (subTasks.delete(subTaskId).isEmpty()) {
+                return false;
+            }
+
+            record(MutationKind.SUBTASK_DELETED, parentTicket == null ? null : parentTicket.getType(), subTask,
+                    subTask.getStatus(), null);
+        } finally {
+            bus().unlock(locks);
+        }
+        bus().deliver();
+        return true;
+    }
+
+    boolean reclaimOrphan(SubTask subTask, TicketType parentType) {
+        long locks = bus().lock(subTask.getParentTicketId());
+        try {
+            if (subTasks.delete(subTask.getId()).isEmpty()) {
+                return false;
+            }
+
+            record(MutationKind.SUBTASK_DELETED, parentType, subTask, subTask.getStatus(), null);
+        } finally {
+            bus().unlock(locks);
+        }
+        bus().deliver();
+        return true;
+    }
+
+    private TicketType parentTypeOf(SubTask subTask) {
+        return ticketService.getTicket(subTask.getParentTicketId()).map(Ticket::getType).orElse(null);
+    }
+
+    private MutationBus bus() {
+        return ticketService.getMutationBus();
+    }
+
+    private void record(MutationKind kind, TicketType parentType, SubTask subTask, TicketStatus previousStatus, String value) {
+        bus().record(MutationEvent.subTask(kind, parentType, subTask, previousStatus, value));
     }
 
     private boolean isValidStatusTransition(TicketType parentType, TicketStatus currentStatus, TicketStatus newStatus) {
@@ -0,0 +1,148 @@
+package org.example.service;
+
+import org.example.model.MutationEvent;
+import org.example.model.TicketHistory;
+import org.example.model.TicketPointInTime;
+import org.example.model.TicketStatus;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+public class TicketHistoryService implements MutationListener {
+    public static final int DEFAULT_MAX_CHANGES_PER_FIELD = 1024;
+
+    private static final TicketStatus[] STATUSES = TicketStatus.values();
+
+    private final Map<Long, TicketHistory> histories = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Long>> ticketsEverInSprint = new ConcurrentHashMap<>();
+    private final Map<String, Integer> assigneeCodes = new ConcurrentHashMap<>();
+    private final List<String> assigneeNames = new CopyOnWriteArrayList<>();
+    private final int maxChangesPerField;
+
+    public TicketHistoryService(TicketService ticketService) {
+        this(ticketService, DEFAULT_MAX_CHANGES_PER_FIELD);
+    }
+
+    public TicketHistoryService(TicketService ticketService, int maxChangesPerField) {
+        if (maxChangesPerField < 2) {
+            throw new IllegalArgumentException("History retention must keep at least 2 changes per field");
+        }
+        this.maxChangesPerField = maxChangesPerField;
+        ticketService.getMutationBus().addListener(this);
+    }
+
+    @Override
+    public void onMutation(MutationEvent event) {
+        long time = event.timestampMillis();
+        switch (event.kind()) {
+            case TICKET_CREATED -> {
+                TicketHistory history = new TicketHistory(event.ticketId(), event.ticketType(), maxChangesPerField);
+                history.recordStatus(time, event.newStatus());
+                history.recordAssignee(time, assigneeCode(event.value()));
+                histories.put(event.ticketId(), history);
+            }
+            case TICKET_STATUS_CHANGED -> history(event).ifPresent(h -> h.recordStatus(time, event.newStatus()));
+            case TICKET_ASSIGNEE_CHANGED -> history(event).ifPresent(h -> h.recordAssignee(time, assigneeCode(event.value())));
+            case TICKET_DELETED -> history(event).ifPresent(h -> h.recordDeleted(time));
+            case EPIC_LINKED -> history(event).ifPresent(h -> h.recordEpic(time, event.linkedTicketId()));
+            case EPIC_UNLINKED -> history(event).ifPresent(h -> h.recordEpic(time, TicketHistory.NONE));
+            case SPRINT_STORY_ADDED -> history(event).ifPresent(h -> {
+                h.recordSprint(time, event.sprintId());
+                ticketsEverInSprint.computeIfAbsent(event.sprintId(), id -> ConcurrentHashMap.newKeySet())
+                        .add(event.ticketId());
+            });
+            case SPRINT_STORY_REMOVED -> history(event).ifPresent(h -> {
+                if (h.currentSprintId() == event.sprintId()) {
+                    h.recordSprint(time, TicketHistory.NONE);
+                }
+            });
+            case SPRINT_ROLLED_OVER -> {
+                Set<Long> nextSprintTickets = ticketsEverInSprint.computeIfAbsent(event.targetSprintId(),
+                        id -> ConcurrentHashMap.newKeySet());
+                for (Long storyId : event.storyIds()) {
+                    TicketHistory h = histories.get(storyId);
+                    if (h != null) {
+                        h.recordSprint(time, event.targetSprintId());
+                        nextSprintTickets.add(storyId);
+                    }
+                }
+            }
+            default -> {
+            }
+        }
+    }
+
+    public Optional<TicketPointInTime> asOf(Long ticketId, Instant instant) {
+        TicketHistory history = histories.get(ticketId);
+        if (history == null) {
+            return Optional.empty();
+        }
+
+        long time = instant.toEpochMilli();
+        long retainedSince = history.retainedSince();
+        if (time < retainedSince) {
+            // Older changes were dropped to bound memory, so an empty answer here would wrongly claim the ticket was gone.
+            throw new HistoryTruncatedException(ticketId, Instant.ofEpochMilli(retainedSince));
+        }
+        int statusCode = history.statusCodeAt(time);
+        if (statusCode == TicketHistory.DELETED) {
+            return Optional.empty();
+        }
+
+        long sprintId = history.sprintIdAt(time);
+        long epicId = history.epicIdAt(time);
+        return Optional.of(new TicketPointInTime(
+                ticketId,
+                instant,
+                history.getType(),
+                STATUSES[statusCode],
+                assigneeName(history.assigneeCodeAt(time)),
+                sprintId == TicketHistory.NONE ? null : sprintId,
+                epicId == TicketHistory.NONE ? null : epicId
+        ));
+    }
+
+    public List<TicketPointInTime> getStoriesInSprint(Long sprintId, Instant instant) {
+        Set<Long> candidates = ticketsEverInSprint.getOrDefault(sprintId, Collections.emptySet());
+        List<TicketPointInTime> stories = new ArrayList<>();
+        for (Long ticketId : candidates) {
+            asOf(ticketId, instant)
+                    .filter(state -> sprintId.equals(state.sprintId()))
+                    .ifPresent(stories::add);
+        }
+        stories.sort(Comparator.comparing(TicketPointInTime::ticketId));
+        return stories;
+    }
+
+    public Optional<Instant> whenStatusEntered(Long ticketId, TicketStatus status) {
+        TicketHistory history = histories.get(ticketId);
+        if (history == null) {
+            return Optional.empty();
+        }
+
+        long time = history.lastEnteredStatus(status);
+        return time == Long.MIN_VALUE ? Optional.empty() : Optional.of(Instant.ofEpochMilli(time));
+    }
+
+    private Optional<TicketHistory> history(MutationEvent event) {
+        return Optional.ofNullable(histories.get(event.ticketId()));
+    }
+
+    private int assigneeCode(String assignee) {
+        if (assignee == null) {
+            return TicketHistory.NONE;
+        }
+        return assigneeCodes.computeIfAbsent(assignee, name -> {
+            synchronized (assigneeNames) {
+                assigneeNames.add(name);
+                return assigneeNames.size();
+            }
+        });
+    }
+
+    private String assigneeName(int code) {
+        return code == TicketHistory.NONE ? null : assigneeNames.get(code - 1);
+    }
+}
@@ -0,0 +1,408 @@
+package org.example.service;
+
+import org.example.model.LinkType;
+import org.example.model.TicketLink;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongPredicate;
+
+public class TicketLinkGraph {
+    private static final int INITIAL_NODES = 64;
+    private static final int INITIAL_EDGES = 4;
+    private static final int TYPE_BITS = 2;
+    private static final int TYPE_MASK = (1 << TYPE_BITS) - 1;
+    private static final int BLOCKS = LinkType.BLOCKS.ordinal();
+    private static final LinkType[] TYPES = LinkType.values();
+
+    // Ticket id -> dense node index, open addressing with linear probing. Ticket ids are never reused, so
+    // entries are never removed and a deleted ticket simply keeps an empty node.
+    private long[] keys = new long[INITIAL_NODES * 2];
+    private int[] slots = new int[INITIAL_NODES * 2];
+
+    // Edges are packed as (neighbour node << TYPE_BITS | link type) in per-node int arrays.
+    private long[] ticketIds = new long[INITIAL_NODES];
+    private int[][] outEdges = new int[INITIAL_NODES][];
+    private int[] outSize = new int[INITIAL_NODES];
+    private int[][] inEdges = new int[INITIAL_NODES][];
+    private int[] inSize = new int[INITIAL_NODES];
+    private int[] openBlockers = new int[INITIAL_NODES];
+    private boolean[] closed = new boolean[INITIAL_NODES];
+    private int[] visitMark = new int[INITIAL_NODES];
+    private int visitEpoch;
+
+    // Topological order of the BLOCKS sub-graph, maintained incrementally (Pearce-Kelly).
+    private int[] order = new int[INITIAL_NODES];
+
+    private int nodeCount;
+    private int linkCount;
+    private long reorders;
+
+    public synchronized boolean addLink(long sourceId, long targetId, LinkType type, LongPredicate closedTickets) {
+        if (sourceId == targetId) {
+            throw new IllegalArgumentException("A ticket cannot be linked to itself: " + sourceId);
+        }
+
+        // A ticket enters the graph with its closed state read under this monitor; from then on tryClose keeps it current.
+        int source = nodeFor(sourceId, closedTickets);
+        int target = nodeFor(targetId, closedTickets);
+        int edge = encode(target, type.ordinal());
+        if (indexOf(outEdges[source], outSize[source], edge) >= 0) {
+            return false;
+        }
+        // An edge that already agrees with the order cannot close a cycle, which is the common case.
+        if (type == LinkType.BLOCKS && order[source] > order[target] && !reorder(source, target)) {
+            throw new IllegalStateException("Linking " + sourceId + " to block " + targetId + " would create a dependency cycle");
+        }
+
+        appendOut(source, edge);
+        appendIn(target, encode(source, type.ordinal()));
+        if (type == LinkType.BLOCKS && !closed[source]) {
+            openBlockers[target]++;
+        }
+        linkCount++;
+        return true;
+    }
+
+    public synchronized boolean removeLink(long sourceId, long targetId, LinkType type) {
+        int source = find(sourceId);
+        int target = find(targetId);
+        if (source < 0 || target < 0 || !removeEdge(source, target, type.ordinal())) {
+            return false;
+        }
+
+        if (type == LinkType.BLOCKS && !closed[source]) {
+            openBlockers[target]--;
+        }
+        linkCount--;
+        return true;
+    }
+
+    public synchronized void removeTicket(long ticketId) {
+        int node = find(ticketId);
+        if (node < 0) {
+            return;
+        }
+
+        for (int i = 0; i < outSize[node]; i++) {
+            int neighbour = outEdges[node][i] >>> TYPE_BITS;
+            int type = outEdges[node][i] & TYPE_MASK;
+            removeAt(inEdges[neighbour], inSize, neighbour, encode(node, type));
+            if (type == BLOCKS && !closed[node]) {
+                openBlockers[neighbour]--;
+            }
+        }
+        for (int i = 0; i < inSize[node]; i++) {
+            int neighbour = inEdges[node][i] >>> TYPE_BITS;
+            removeAt(outEdges[neighbour], outSize, neighbour, encode(node, inEdges[node][i] & TYPE_MASK));
+        }
+        linkCount -= outSize[node] + inSize[node];
+        outSize[node] = 0;
+        inSize[node] = 0;
+        openBlockers[node] = 0;
+    }
+
+    public synchronized boolean tryClose(long ticketId) {
+        int node = find(ticketId);
+        if (node < 0 || closed[node]) {
+            return true;
+        }
+        if (openBlockers[node] > 0) {
+            return false;
+        }
+
+        closed[node] = true;
+        for (int i = 0; i < outSize[node]; i++) {
+            if ((outEdges[node][i] & TYPE_MASK) == BLOCKS) {
+                openBlockers[outEdges[node][i] >>> TYPE_BITS]--;
+            }
+        }
+        return true;
+    }
+
+    public synchronized int getOpenBlockerCount(long ticketId) {
+        int node = find(ticketId);
+        return node < 0 ? 0 : openBlockers[node];
+    }
+
+    public synchronized List<Long> getOpenBlockers(long ticketId) {
+        int node = find(ticketId);
+        List<Long> blockers = new ArrayList<>();
+        if (node < 0) {
+            return blockers;
+        }
+
+        for (int i = 0; i < inSize[node]; i++) {
+            int blocker = inEdges[node][i] >>> TYPE_BITS;
+            if ((inEdges[node][i] & TYPE_MASK) == BLOCKS && !closed[blocker]) {
+                blockers.add(ticketIds[blocker]);
+            }
+        }
+        return blockers;
+    }
+
+    public synchronized List<Long> getTransitiveBlockers(long ticketId) {
+        int node = find(ticketId);
+        List<Long> blockers = new ArrayList<>();
+        if (node < 0) {
+            return blockers;
+        }
+
+        int epoch = nextEpoch();
+        int[] queue = new int[16];
+        int head = 0;
+        int tail = 0;
+        queue[tail++] = node;
+        visitMark[node] = epoch;
+        while (head < tail) {
+            int current = queue[head++];
+            for (int i = 0; i < inSize[current]; i++) {
+                int blocker = inEdges[current][i] >>> TYPE_BITS;
+                if ((inEdges[current][i] & TYPE_MASK) != BLOCKS || visitMark[blocker] == epoch) {
+                    continue;
+                }
+                visitMark[blocker] = epoch;
+                blockers.add(ticketIds[blocker]);
+                if (tail == queue.length) {
+                    queue = Arrays.copyOf(queue, queue.length * 2);
+                }
+                queue[tail++] = blocker;
+            }
+        }
+        return blockers;
+    }
+
+    public synchronized List<TicketLink> getLinks(long ticketId) {
+        int node = find(ticketId);
+        List<TicketLink> links = new ArrayList<>();
+        if (node < 0) {
+            return links;
+        }
+
+        for (int i = 0; i < outSize[node]; i++) {
+            links.add(new TicketLink(ticketId, ticketIds[outEdges[node][i] >>> TYPE_BITS], TYPES[outEdges[node][i] & TYPE_MASK]));
+        }
+        for (int i = 0; i < inSize[node]; i++) {
+            links.add(new TicketLink(ticketIds[inEdges[node][i] >>> TYPE_BITS], ticketId, TYPES[inEdges[node][i] & TYPE_MASK]));
+        }
+        return links;
+    }
+
+    public synchronized Map<String, Object> getStatistics() {
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("nodes", nodeCount);
+        stats.put("links", linkCount);
+        stats.put("reorders", reorders);
+        return stats;
+    }
+
+    private boolean reorder(int source, int target) {
+        int lower = order[target];
+        int upper = order[source];
+        int epoch = nextEpoch();
+        int[] forward = search(target, epoch, true, lower, upper, source);
+        if (forward == null) {
+            return false;
+        }
+        int[] backward = search(source, epoch, false, lower, upper, -1);
+        reorders++;
+
+        // Everything that reaches the source moves ahead of everything the target reaches, reusing the same
+        // positions, so only the affected region between the two endpoints is touched.
+        sortByOrder(forward);
+        sortByOrder(backward);
+        int[] positions = new int[forward.length + backward.length];
+        int count = 0;
+        for (int node : backward) {
+            positions[count++] = order[node];
+        }
+        for (int node : forward) {
+            positions[count++] = order[node];
+        }
+        Arrays.sort(positions);
+
+        count = 0;
+        for (int node : backward) {
+            order[node] = positions[count++];
+        }
+        for (int node : forward) {
+            order[node] = positions[count++];
+        }
+        return true;
+    }
+
+    private int[] search(int start, int epoch, boolean forward, int lower, int upper, int goal) {
+        int[] stack = new int[16];
+        int[] visited = new int[16];
+        int stackSize = 0;
+        int visitedCount = 0;
+        stack[stackSize++] = start;
+        visitMark[start] = epoch;
+        while (stackSize > 0) {
+            int node = stack[--stackSize];
+            if (visitedCount == visited.length) {
+                visited = Arrays.copyOf(visited, visitedCount * 2);
+            }
+            visited[visitedCount++] = node;
+
+            int[] edges = forward ? outEdges[node] : inEdges[node];
+            int size = forward ? outSize[node] : inSize[node];
+            for (int i = 0; i < size; i++) {
+                if ((edges[i] & TYPE_MASK) != BLOCKS) {
+                    continue;
+                }
+                int next = edges[i] >>> TYPE_BITS;
+                if (next == goal) {
+                    return null;
+                }
+                boolean inRegion = forward ? order[next] < upper : order[next] > lower;
+                if (inRegion && visitMark[next] != epoch) {
+                    visitMark[next] = epoch;
+                    if (stackSize == stack.length) {
+                        stack = Arrays.copyOf(stack, stackSize * 2);
+                    }
+                    stack[stackSize++] = next;
+                }
+            }
+        }
+        return Arrays.copyOf(visited, visitedCount);
+    }
+
+    private void sortByOrder(int[] nodes) {
+        long[] keyed = new long[nodes.length];
+        for (int i = 0; i < nodes.length; i++) {
+            keyed[i] = (long) order[nodes[i]] << 32 | nodes[i];
+        }
+        Arrays.sort(keyed);
+        for (int i = 0; i < nodes.length; i++) {
+            nodes[i] = (int) keyed[i];
+        }
+    }
+
+    private int nextEpoch() {
+        if (++visitEpoch == Integer.MAX_VALUE) {
+            Arrays.fill(visitMark, 0);
+            visitEpoch = 1;
+        }
+        return visitEpoch;
+    }
+
+    private int nodeFor(long ticketId, LongPredicate closedTickets) {
+        int node = find(ticketId);
+        if (node >= 0) {
+            return node;
+        }
+
+        if (nodeCount == ticketIds.length) {
+            growNodes();
+        }
+        node = nodeCount++;
+        ticketIds[node] = ticketId;
+        outEdges[node] = new int[INITIAL_EDGES];
+        inEdges[node] = new int[INITIAL_EDGES];
+        closed[node] = closedTickets.test(ticketId);
+        order[node] = node;
+        insertKey(ticketId, node);
+        return node;
+    }
+
+    private int find(long ticketId) {
+        int mask = keys.length - 1;
+        for (int slot = hash(ticketId) & mask; slots[slot] != 0; slot = (slot + 1) & mask) {
+            if (keys[slot] == ticketId) {
+                return slots[slot] - 1;
+            }
+        }
+        return -1;
+    }
+
+    private void insertKey(long ticketId, int node) {
+        if (nodeCount * 2 > keys.length) {
+            long[] oldKeys = keys;
+            int[] oldSlots = slots;
+            keys = new long[oldKeys.length * 2];
+            slots = new int[oldSlots.length * 2];
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldSlots[i] != 0) {
+                    putKey(oldKeys[i], oldSlots[i]);
+                }
+            }
+        }
+        putKey(ticketId, node + 1);
+    }
+
+    private void putKey(long ticketId, int slotValue) {
+        int mask = keys.length - 1;
+        int slot = hash(ticketId) & mask;
+        while (slots[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = ticketId;
+        slots[slot] = slotValue;
+    }
+
+    private void growNodes() {
+        int capacity = ticketIds.length * 2;
+        ticketIds = Arrays.copyOf(ticketIds, capacity);
+        outEdges = Arrays.copyOf(outEdges, capacity);
+        outSize = Arrays.copyOf(outSize, capacity);
+        inEdges = Arrays.copyOf(inEdges, capacity);
+        inSize = Arrays.copyOf(inSize, capacity);
+        openBlockers = Arrays.copyOf(openBlockers, capacity);
+        closed = Arrays.copyOf(closed, capacity);
+        visitMark = Arrays.copyOf(visitMark, capacity);
+        order = Arrays.copyOf(order, capacity);
+    }
+
+    private void appendOut(int node, int edge) {
+        if (outSize[node] == outEdges[node].length) {
+            outEdges[node] = Arrays.copyOf(outEdges[node], outSize[node] * 2);
+        }
+        outEdges[node][outSize[node]++] = edge;
+    }
+
+    private void appendIn(int node, int edge) {
+        if (inSize[node] == inEdges[node].length) {
+            inEdges[node] = Arrays.copyOf(inEdges[node], inSize[node] * 2);
+        }
+        inEdges[node][inSize[node]++] = edge;
+    }
+
+    private boolean removeEdge(int source, int target, int type) {
+        if (!removeAt(outEdges[source], outSize, source, encode(target, type))) {
+            return false;
+        }
+        removeAt(inEdges[target], inSize, target, encode(source, type));
+        return true;
+    }
+
+    private static boolean removeAt(int[] edges, int[] sizes, int node, int edge) {
+        int index = indexOf(edges, sizes[node], edge);
+        if (index < 0) {
+            return false;
+        }
+        edges[index] = edges[--sizes[node]];
+        return true;
+    }
+
+    private static int indexOf(int[] edges, int size, int edge) {
+        for (int i = 0; i < size; i++) {
+            if (edges[i] == edge) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int encode(int node, int type) {
+        return node << TYPE_BITS | type;
+    }
+
+    private static int hash(long ticketId) {
+        long mixed = ticketId * 0x9E3779B97F4A7C15L;
+        return (int) (mixed ^ (mixed >>> 32));
+    }
+}
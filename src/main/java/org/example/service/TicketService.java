@@ -1,11 +1,24 @@
 package org.example.service;
 
+import org.example.model.LinkType;
+import org.example.model.MutationEvent;
+import org.example.model.MutationKind;
 import org.example.model.Ticket;
+import org.example.model.TicketLink;
+import org.example.model.TicketSnapshot;
+import org.example.model.StatusUpdateResult;
 import org.example.model.TicketStatus;
 import org.example.model.TicketType;
+import org.example.storage.InMemoryTicketRepository;
+import org.example.storage.TicketRepository;
+import org.example.util.EpochClock;
 
+import java.time.LocalDateTime;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import lombok.Getter;
 import lombok.Setter;
@@ -13,75 +26,421 @@ import lombok.ToString;
 import lombok.EqualsAndHashCode;
 
 public class TicketService {
-    private final Map<Long, Ticket> tickets = new ConcurrentHashMap<>();
-    
+    private final TicketRepository tickets;
+    private final MutationBus mutationBus = new MutationBus();
+    private final Queue<Ticket> tombstones = new ConcurrentLinkedQueue<>();
+    private final Set<Long> tombstonedIds = ConcurrentHashMap.newKeySet();
+    private final TicketLinkGraph links = new TicketLinkGraph();
+    private final EpochClock clock;
+
+    public TicketService() {
+        this(new InMemoryTicketRepository());
+    }
+
+    public TicketService(TicketRepository tickets) {
+        this(tickets, EpochClock.system());
+    }
+
+    public TicketService(TicketRepository tickets, EpochClock clock) {
+        this.tickets = tickets;
+        this.clock = clock;
+    }
+
+    public MutationBus getMutationBus() {
+        return mutationBus;
+    }
+
+    public EpochClock getClock() {
+        return clock;
+    }
 
     public Ticket createTicket(String title, String description, TicketType type, String assignee) {
-        Ticket ticket = new Ticket(title, description, type, assignee);
-        tickets.put(ticket.getId(), ticket);
+        return insertTicket(new Ticket(title, description, type, assignee));
+    }
+
+    Ticket insertTicket(Ticket ticket) {
+        long locks = mutationBus.lock(ticket.getId());
+        try {
+            tickets.insert(ticket);
+            mutationBus.record(MutationEvent.ticket(MutationKind.TICKET_CREATED, ticket, null, ticket.getAssignee()));
+        } finally {
+            mutationBus.unlock(locks);
+        }
+        mutationBus.deliver();
         return ticket;
     }
 
+    public boolean restoreTicket(Ticket ticket) {
+        long locks = mutationBus.lock(ticket.getId());
+        try {
+            if (!tickets.insert(ticket)) {
+                return false;
+            }
+            mutationBus.record(MutationEvent.ticket(MutationKind.TICKET_CREATED, ticket, null, ticket.getAssignee()));
+        } finally {
+            mutationBus.unlock(locks);
+        }
+        mutationBus.deliver();
+        return true;
+    }
+
     public Optional<Ticket> getTicket(Long ticketId) {
-        return Optional.ofNullable(tickets.get(ticketId));
+        return tickets.findById(ticketId);
+    }
+
+    public Optional<TicketSnapshot> getTicketSnapshot(Long ticketId) {
+        Ticket ticket = tickets.findOrNull(ticketId);
+        return ticket == null ? Optional.empty() : Optional.of(snapshotOf(ticket));
+    }
+
+    public List<TicketSnapshot> getAllTicketSnapshots() {
+        List<TicketSnapshot> snapshots = new ArrayList<>();
+        tickets.forEach(ticket -> snapshots.add(snapshotOf(ticket)));
+        return snapshots;
+    }
+
+    private TicketSnapshot snapshotOf(Ticket ticket) {
+        TicketSnapshot snapshot = ticket.getCachedSnapshot();
+        if (snapshot != null) {
+            return snapshot;
+        }
+        // Built under the ticket's stripe, where every writer also drops the cached copy, so a snapshot never
+        // mixes fields from before and after a change.
+        long locks = mutationBus.lock(ticket.getId());
+        try {
+            snapshot = ticket.getCachedSnapshot();
+            if (snapshot == null) {
+                snapshot = TicketSnapshot.of(ticket);
+                ticket.setCachedSnapshot(snapshot);
+            }
+        } finally {
+            mutationBus.unlock(locks);
+        }
+        return snapshot;
     }
     
 
     public List<Ticket> getAllTickets() {
-        return new ArrayList<>(tickets.values());
+        return tickets.findAll();
+    }
+
+    public void forEachTicket(Consumer<Ticket> action) {
+        tickets.forEach(action);
+    }
+
+    public void scanTickets(Predicate<Ticket> action) {
+        // Stops at the first false, so callers that only need a prefix do not walk the whole store.
+        tickets.forEachWhile(action);
     }
 
     public List<Ticket> getTicketsByType(TicketType type) {
-        return tickets.values().stream()
-                .filter(ticket -> ticket.getType() == type)
-                .collect(Collectors.toList());
+        List<Ticket> result = new ArrayList<>();
+        tickets.forEach(ticket -> {
+            if (ticket.getType() == type) {
+                result.add(ticket);
+            }
+        });
+        return result;
+    }
+
+    public List<Ticket> getTicketsUpdatedBetween(LocalDateTime from, LocalDateTime to, int limit) {
+        return tickets.findUpdatedBetween(from, to, limit);
     }
 
 
 
     public void updateTicketStatus(Long ticketId, TicketStatus newStatus) {
-        Optional<Ticket> ticketOpt = getTicket(ticketId);
-        if (ticketOpt.isEmpty()) {
-            return ;
-        }
-        
-        Ticket ticket = ticketOpt.get();
-        
-        if (!isValidStatusTransition(ticket.getType(), ticket.getStatus(), newStatus)) {
-            throw new IllegalArgumentException(
-                String.format("Invalid status transition from %s to %s for ticket type %s", 
-                            ticket.getStatus(), newStatus, ticket.getType()));
-        }
-        
-        if (newStatus == ticket.getFinalStatus() && !ticket.areAllSubTasksCompleted()) {
-            throw new IllegalStateException(
-                "Cannot close ticket " + ticketId + "  mark all sub-task completed to change status");
-        }
-        
+        Ticket ticket = tickets.findOrNull(ticketId);
+        TicketStatus currentStatus = ticket == null ? null : ticket.getStatus();
+        switch (tryUpdateTicketStatus(ticketId, newStatus)) {
+            case INVALID_TRANSITION -> throw new IllegalArgumentException("Invalid status transition from "
+                    + currentStatus + " to " + newStatus + " for ticket type " + ticket.getType());
+            case SUBTASKS_OPEN -> throw new IllegalStateException(
+                    "Cannot close ticket " + ticketId + "  mark all sub-task completed to change status");
+            case BLOCKED -> throw new IllegalStateException("Cannot close ticket " + ticketId
+                    + " while it is blocked by open tickets " + links.getOpenBlockers(ticketId));
+            default -> {
+            }
+        }
+    }
+
+    public StatusUpdateResult tryUpdateTicketStatus(Long ticketId, TicketStatus newStatus) {
+        long locks = mutationBus.lock(ticketId);
+        StatusUpdateResult result;
+        try {
+            result = applyStatus(ticketId, newStatus);
+        } finally {
+            mutationBus.unlock(locks);
+        }
+        if (result == StatusUpdateResult.UPDATED) {
+            mutationBus.deliver();
+        }
+        return result;
+    }
+
+    private StatusUpdateResult applyStatus(Long ticketId, TicketStatus newStatus) {
+        // Expected rejections come back as result codes, so neither path builds messages, exceptions or Optionals.
+        Ticket ticket = tickets.findOrNull(ticketId);
+        if (ticket == null) {
+            return StatusUpdateResult.NOT_FOUND;
+        }
+
+        TicketStatus previousStatus = ticket.getStatus();
+        if (!isValidStatusTransition(ticket.getType(), previousStatus, newStatus)) {
+            return StatusUpdateResult.INVALID_TRANSITION;
+        }
+        if (newStatus == ticket.getFinalStatus()) {
+            if (!ticket.areAllSubTasksCompleted()) {
+                return StatusUpdateResult.SUBTASKS_OPEN;
+            }
+            if (!links.tryClose(ticketId)) {
+                return StatusUpdateResult.BLOCKED;
+            }
+        }
+
+        long now = clock.epochMillis();
         ticket.setStatus(newStatus);
+        ticket.markStatusEntered(newStatus, now);
+        ticket.setCachedSnapshot(null);
+        tickets.save(ticket);
+        mutationBus.record(MutationEvent.ticket(MutationKind.TICKET_STATUS_CHANGED, ticket, previousStatus, null));
+        return StatusUpdateResult.UPDATED;
     }
 
     public boolean updateTicketAssignee(Long ticketId, String newAssignee) {
-        Optional<Ticket> ticketOpt = getTicket(ticketId);
-        if (ticketOpt.isEmpty()) {
-            return false;
+        long locks = mutationBus.lock(ticketId);
+        try {
+            Ticket ticket = tickets.findOrNull(ticketId);
+            if (ticket == null) {
+                return false;
+            }
+
+            ticket.setAssignee(newAssignee);
+            ticket.setCachedSnapshot(null);
+            tickets.save(ticket);
+            mutationBus.record(MutationEvent.ticket(MutationKind.TICKET_ASSIGNEE_CHANGED, ticket, null, newAssignee));
+        } finally {
+            mutationBus.unlock(locks);
+        }
+        mutationBus.deliver();
+        return true;
+    }
+
+    public boolean updateTicketDetails(Long ticketId, String title, String description) {
+        long locks = mutationBus.lock(ticketId);
+        try {
+            Ticket ticket = tickets.findOrNull(ticketId);
+            if (ticket == null) {
+                return false;
+            }
+
+            ticket.updateDetails(title, description);
+            ticket.setCachedSnapshot(null);
+            tickets.save(ticket);
+            mutationBus.record(MutationEvent.ticket(MutationKind.TICKET_DETAILS_CHANGED, ticket, null, null));
+        } finally {
+            mutationBus.unlock(locks);
+        }
+        mutationBus.deliver();
+        return true;
+    }
+
+    public boolean updateStoryPoints(Long ticketId, int storyPoints) {
+        if (storyPoints < 0) {
+            throw new IllegalArgumentException("Story points cannot be negative: " + storyPoints);
         }
-        
-        ticketOpt.get().setAssignee(newAssignee);
+
+        long locks = mutationBus.lock(ticketId);
+        try {
+            Ticket ticket = tickets.findOrNull(ticketId);
+            if (ticket == null) {
+                return false;
+            }
+            if (ticket.getType() != TicketType.STORY) {
+                throw new IllegalArgumentException("Only Story tickets can be estimated. Ticket " + ticketId + " is of type: " + ticket.getType());
+            }
+
+            ticket.setStoryPoints(storyPoints);
+            ticket.setCachedSnapshot(null);
+            tickets.save(ticket);
+            mutationBus.record(MutationEvent.ticket(MutationKind.TICKET_POINTS_CHANGED, ticket, null, null));
+        } finally {
+            mutationBus.unlock(locks);
+        }
+        mutationBus.deliver();
         return true;
     }
+
     public boolean addComment(Long ticketId, String comment) {
-        Optional<Ticket> ticketOpt = getTicket(ticketId);
-        if (ticketOpt.isEmpty()) {
-            return false;
+        long locks = mutationBus.lock(ticketId);
+        try {
+            Ticket ticket = tickets.findOrNull(ticketId);
+            if (ticket == null) {
+                return false;
+            }
+
+            ticket.addComment(comment);
+            ticket.setCachedSnapshot(null);
+            tickets.save(ticket);
+            mutationBus.record(MutationEvent.ticket(MutationKind.TICKET_COMMENT_ADDED, ticket, null, comment));
+        } finally {
+            mutationBus.unlock(locks);
         }
-        
-        ticketOpt.get().addComment(comment);
+        mutationBus.deliver();
         return true;
     }
 
     public boolean deleteTicket(Long ticketId) {
-        return tickets.remove(ticketId) != null;
+        long locks = mutationBus.lock(ticketId);
+        try {
+            Ticket removed = tickets.delete(ticketId).orElse(null);
+            if (removed == null) {
+                return false;
+            }
+
+            tombstonedIds.add(ticketId);
+            tombstones.add(removed);
+            links.removeTicket(ticketId);
+            mutationBus.record(MutationEvent.ticket(MutationKind.TICKET_DELETED, removed, removed.getStatus(), null));
+        } finally {
+            mutationBus.unlock(locks);
+        }
+        mutationBus.deliver();
+        return true;
+    }
+
+    public boolean linkToEpic(Long storyId, Long epicId) {
+        // The epic's stripe is held too, so an epic deleted concurrently is either seen here or unlinks this story.
+        long locks = mutationBus.lockAll(Arrays.asList(storyId, epicId));
+        try {
+            Ticket epic = tickets.findOrNull(epicId);
+            if (epic == null) {
+                throw new IllegalArgumentException("Epic not found: " + epicId);
+            }
+            if (epic.getType() != TicketType.EPIC) {
+                throw new IllegalArgumentException("Ticket " + epicId + " is not an epic, it is of type: " + epic.getType());
+            }
+            Ticket story = tickets.findOrNull(storyId);
+            if (story == null) {
+                throw new IllegalArgumentException("Story not found: " + storyId);
+            }
+            if (story.getType() != TicketType.STORY) {
+                throw new IllegalArgumentException("Only Story tickets can be linked to epics. Ticket " + storyId
+                        + " is of type: " + story.getType());
+            }
+            if (epicId.equals(story.getEpicId())) {
+                return false;
+            }
+            if (story.getEpicId() != null) {
+                throw new IllegalStateException("Story " + storyId + " is already linked to epic " + story.getEpicId());
+            }
+
+            story.setEpicId(epicId);
+            tickets.save(story);
+            mutationBus.record(MutationEvent.epic(MutationKind.EPIC_LINKED, story, epicId));
+        } finally {
+            mutationBus.unlock(locks);
+        }
+        mutationBus.deliver();
+        return true;
+    }
+
+    public boolean unlinkFromEpic(Long storyId) {
+        long locks = mutationBus.lock(storyId);
+        try {
+            Ticket story = tickets.findOrNull(storyId);
+            if (story == null || story.getEpicId() == null) {
+                return false;
+            }
+
+            Long epicId = story.getEpicId();
+            story.setEpicId(null);
+            tickets.save(story);
+            mutationBus.record(MutationEvent.epic(MutationKind.EPIC_UNLINKED, story, epicId));
+        } finally {
+            mutationBus.unlock(locks);
+        }
+        mutationBus.deliver();
+        return true;
+    }
+
+    public boolean linkTickets(Long sourceTicketId, Long targetTicketId, LinkType type) {
+        // Both stripes are held so neither ticket can close between the graph reading its state and the link landing.
+        long locks = mutationBus.lockAll(Arrays.asList(sourceTicketId, targetTicketId));
+        try {
+            getTicket(sourceTicketId)
+                    .orElseThrow(() -> new IllegalArgumentException("Ticket not found: " + sourceTicketId));
+            getTicket(targetTicketId)
+                    .orElseThrow(() -> new IllegalArgumentException("Ticket not found: " + targetTicketId));
+            if (!links.addLink(sourceTicketId, targetTicketId, type, this::isClosed)) {
+                return false;
+            }
+            mutationBus.record(MutationEvent.link(MutationKind.TICKET_LINKED, sourceTicketId, targetTicketId, type));
+        } finally {
+            mutationBus.unlock(locks);
+        }
+        mutationBus.deliver();
+        return true;
+    }
+
+    public boolean unlinkTickets(Long sourceTicketId, Long targetTicketId, LinkType type) {
+        long locks = mutationBus.lockAll(Arrays.asList(sourceTicketId, targetTicketId));
+        try {
+            if (!links.removeLink(sourceTicketId, targetTicketId, type)) {
+                return false;
+            }
+            mutationBus.record(MutationEvent.link(MutationKind.TICKET_UNLINKED, sourceTicketId, targetTicketId, type));
+        } finally {
+            mutationBus.unlock(locks);
+        }
+        mutationBus.deliver();
+        return true;
+    }
+
+    public List<TicketLink> getLinks(Long ticketId) {
+        return links.getLinks(ticketId);
+    }
+
+    public List<Long> getOpenBlockers(Long ticketId) {
+        return links.getOpenBlockers(ticketId);
+    }
+
+    public List<Long> getTransitiveBlockers(Long ticketId) {
+        return links.getTransitiveBlockers(ticketId);
+    }
+
+    public Map<String, Object> getLinkStatistics() {
+        return links.getStatistics();
+    }
+
+    public boolean isTombstoned(Long ticketId) {
+        return tombstonedIds.contains(ticketId);
+    }
+
+    public int getPendingTombstoneCount() {
+        return tombstonedIds.size();
+    }
+
+    Ticket pollTombstone() {
+        return tombstones.poll();
+    }
+
+    void clearTombstone(Long ticketId) {
+        tombstonedIds.remove(ticketId);
+    }
+
+    private boolean isClosed(long ticketId) {
+        Ticket ticket = tickets.findOrNull(ticketId);
+        return ticket != null && ticket.getStatus() == ticket.getFinalStatus();
+    }
+
+    Ticket findTicketOrNull(Long ticketId) {
+        return tickets.findOrNull(ticketId);
+    }
+
+    void recordSubTasksChanged(Ticket ticket) {
+        ticket.setCachedSnapshot(null);
+        tickets.save(ticket);
     }
 
     private boolean isValidOnCallTransition(TicketStatus current, TicketStatus next) {
@@ -0,0 +1,489 @@
+package org.example.service;
+
+import org.example.concurrent.LaneExecutor;
+import org.example.model.BoardFilter;
+import org.example.model.MutationEvent;
+import org.example.model.Sprint;
+import org.example.model.TicketStatus;
+import org.example.model.TicketType;
+import org.example.model.WatchDelta;
+import org.example.model.WatchDeltaKind;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.UnaryOperator;
+
+public class WatchService implements MutationListener, AutoCloseable {
+    public static final int DEFAULT_MAX_PENDING_DELTAS = 1024;
+
+    private static final int TYPES = TicketType.values().length;
+    private static final int STATUSES = TicketStatus.values().length;
+    private static final int DELIVERY_LANES = 64;
+    private static final int DELIVERY_BATCH = 64;
+
+    private final TicketService ticketService;
+    private final SprintService sprintService;
+    private final Map<Long, TicketState> states = new HashMap<>();
+    private final Map<Long, Set<Long>> storiesBySprint = new HashMap<>();
+    private final Map<Long, Watch> watches = new HashMap<>();
+
+    // Each watch is filed under one attribute of its filter, so a mutation only visits watches that could match it.
+    private final Set<Watch> unfiltered = new LinkedHashSet<>();
+    private final Set<Watch> activeSprintWatches = new LinkedHashSet<>();
+    private final Map<Long, Set<Watch>> bySprint = new HashMap<>();
+    private final Map<String, Set<Watch>> byAssignee = new HashMap<>();
+    private final List<Set<Watch>> byStatus = newBuckets(STATUSES);
+    private final List<Set<Watch>> byType = newBuckets(TYPES);
+
+    private final ExecutorService deliveryPool;
+    private final LaneExecutor deliveryLanes;
+    private final int maxPendingDeltas;
+    private Long activeSprintId;
+    private long nextWatchId = 1;
+    private int stamp;
+
+    private final AtomicLong mutationsProcessed = new AtomicLong();
+    private final AtomicLong candidatesEvaluated = new AtomicLong();
+    private final AtomicLong deltasDelivered = new AtomicLong();
+    private final AtomicLong deliveryFailures = new AtomicLong();
+    private final AtomicLong queuedDeltas = new AtomicLong();
+    private final AtomicLong deltasDropped = new AtomicLong();
+    private final AtomicLong resyncsSignalled = new AtomicLong();
+
+    public WatchService(TicketService ticketService, SprintService sprintService) {
+        this(ticketService, sprintService, DEFAULT_MAX_PENDING_DELTAS);
+    }
+
+    public WatchService(TicketService ticketService, SprintService sprintService, int maxPendingDeltas) {
+        if (maxPendingDeltas < 1) {
+            throw new IllegalArgumentException("Max pending deltas must be positive: " + maxPendingDeltas);
+        }
+        this.ticketService = ticketService;
+        this.sprintService = sprintService;
+        this.maxPendingDeltas = maxPendingDeltas;
+        this.deliveryPool = Executors.newFixedThreadPool(Math.min(4, Runtime.getRuntime().availableProcessors()),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "watch-delivery");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.deliveryLanes = new LaneExecutor(DELIVERY_LANES, deliveryPool);
+        MutationBus bus = ticketService.getMutationBus();
+        long locks = bus.lockEverything();
+        try {
+            synchronized (this) {
+                ticketService.forEachTicket(ticket -> {
+                    if (!ticketService.isTombstoned(ticket.getId())) {
+                        states.put(ticket.getId(),
+                                new TicketState(ticket.getType(), ticket.getStatus(), ticket.getAssignee(), null));
+                    }
+                });
+                sprintService.getAllSprints().forEach(this::mirrorSprint);
+                activeSprintId = sprintService.getActiveSprint().map(Sprint::getId).orElse(null);
+                ticketService.getMutationBus().addListener(this);
+            }
+        } finally {
+            bus.unlock(locks);
+        }
+    }
+
+    public synchronized long watch(BoardFilter filter, Consumer<WatchDelta> consumer) {
+        Watch watch = new Watch(nextWatchId++, filter, consumer);
+        watches.put(watch.id, watch);
+        for (Set<Watch> bucket : bucketsFor(filter, true)) {
+            bucket.add(watch);
+        }
+        return watch.id;
+    }
+
+    public synchronized boolean unwatch(long watchId) {
+        Watch watch = watches.remove(watchId);
+        if (watch == null) {
+            return false;
+        }
+        for (Set<Watch> bucket : bucketsFor(watch.filter, false)) {
+            bucket.remove(watch);
+        }
+        // Sprints and assignees come and go, so their buckets are dropped once empty rather than kept per key forever.
+        if (watch.filter.sprintId() != null) {
+            bySprint.computeIfPresent(watch.filter.sprintId(), (id, bucket) -> bucket.isEmpty() ? null : bucket);
+        }
+        for (String assignee : watch.filter.assignees()) {
+            byAssignee.computeIfPresent(assignee, (name, bucket) -> bucket.isEmpty() ? null : bucket);
+        }
+        return true;
+    }
+
+    @Override
+    public synchronized void onMutation(MutationEvent event) {
+        mutationsProcessed.incrementAndGet();
+        switch (event.kind()) {
+            case TICKET_CREATED -> {
+                TicketState created = new TicketState(event.ticketType(), event.newStatus(), event.value(), null);
+                states.put(event.ticketId(), created);
+                transition(event.ticketId(), null, created, event);
+            }
+            case TICKET_STATUS_CHANGED -> update(event, state -> state.withStatus(event.newStatus()));
+            case TICKET_ASSIGNEE_CHANGED -> update(event, state -> state.withAssignee(event.value()));
+            case TICKET_COMMENT_ADDED, TICKET_POINTS_CHANGED, TICKET_DETAILS_CHANGED, TICKET_LINKED, TICKET_UNLINKED,
+                 EPIC_LINKED, EPIC_UNLINKED, SUBTASK_CREATED, SUBTASK_STATUS_CHANGED, SUBTASK_ASSIGNEE_CHANGED, SUBTASK_DELETED ->
+                    update(event, UnaryOperator.identity());
+            case TICKET_DELETED -> {
+                TicketState removed = states.remove(event.ticketId());
+                if (removed != null) {
+                    unmirrorStory(removed.sprintId(), event.ticketId());
+                    transition(event.ticketId(), removed, null, event);
+                }
+            }
+            case SPRINT_CREATED -> sprintService.getSprint(event.sprintId()).ifPresent(sprint -> {
+                for (Long storyId : sprint.getStoryIds()) {
+                    moveStory(storyId, sprint.getId(), event);
+                }
+            });
+            case SPRINT_STORY_ADDED -> moveStory(event.ticketId(), event.sprintId(), event);
+            case SPRINT_STORY_REMOVED -> {
+                TicketState state = states.get(event.ticketId());
+                if (state != null && event.sprintId().equals(state.sprintId())) {
+                    moveStory(event.ticketId(), null, event);
+                }
+            }
+            case SPRINT_DELETED -> {
+                for (Long storyId : new ArrayList<>(storiesBySprint.getOrDefault(event.sprintId(), Set.of()))) {
+                    moveStory(storyId, null, event);
+                }
+                storiesBySprint.remove(event.sprintId());
+            }
+            case SPRINT_STARTED -> changeActiveSprint(event.sprintId(), event);
+            case SPRINT_ENDED -> changeActiveSprint(null, event);
+            case SPRINT_ROLLED_OVER -> rollover(event);
+            case SPRINT_CAPACITY_CHANGED -> {
+                // Capacity is not part of any ticket's watched state.
+            }
+        }
+    }
+
+    public synchronized Map<String, Object> getStatistics() {
+        int assigneeWatches = 0;
+        for (Set<Watch> bucket : byAssignee.values()) {
+            assigneeWatches += bucket.size();
+        }
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("watches", watches.size());
+        stats.put("unfilteredWatches", unfiltered.size());
+        stats.put("activeSprintWatches", activeSprintWatches.size());
+        stats.put("sprintWatches", bySprint.values().stream().mapToInt(Set::size).sum());
+        stats.put("assigneeWatchEntries", assigneeWatches);
+        stats.put("watchedSprints", bySprint.size());
+        stats.put("watchedAssignees", byAssignee.size());
+        stats.put("statusWatchEntries", byStatus.stream().mapToInt(Set::size).sum());
+        stats.put("typeWatchEntries", byType.stream().mapToInt(Set::size).sum());
+        stats.put("trackedTickets", states.size());
+        stats.put("mutationsProcessed", mutationsProcessed.get());
+        stats.put("candidatesEvaluated", candidatesEvaluated.get());
+        stats.put("deltasDelivered", deltasDelivered.get());
+        stats.put("deliveryFailures", deliveryFailures.get());
+        stats.put("queuedDeltas", queuedDeltas.get());
+        stats.put("deltasDropped", deltasDropped.get());
+        stats.put("resyncsSignalled", resyncsSignalled.get());
+        return stats;
+    }
+
+    @Override
+    public void close() {
+        ticketService.getMutationBus().removeListener(this);
+        deliveryPool.shutdown();
+    }
+
+    private void update(MutationEvent event, UnaryOperator<TicketState> change) {
+        TicketState before = states.get(event.ticketId());
+        if (before == null) {
+            return;
+        }
+        TicketState after = change.apply(before);
+        if (after != before) {
+            states.put(event.ticketId(), after);
+        }
+        transition(event.ticketId(), before, after, event);
+    }
+
+    private void moveStory(Long storyId, Long sprintId, MutationEvent event) {
+        TicketState before = states.get(storyId);
+        if (before == null) {
+            return;
+        }
+        transition(new Change(storyId, before, activeSprintId, mirrorMove(storyId, before, sprintId), activeSprintId,
+                event));
+    }
+
+    private TicketState mirrorMove(Long storyId, TicketState before, Long sprintId) {
+        unmirrorStory(before.sprintId(), storyId);
+        if (sprintId != null) {
+            storiesBySprint.computeIfAbsent(sprintId, id -> new HashSet<>()).add(storyId);
+        }
+        TicketState after = before.withSprint(sprintId);
+        states.put(storyId, after);
+        return after;
+    }
+
+    private void transition(Long ticketId, TicketState before, TicketState after, MutationEvent event) {
+        transition(new Change(ticketId, before, activeSprintId, after, activeSprintId, event));
+    }
+
+    private void transition(Change change) {
+        int current = ++stamp;
+        if (change.before() != null) {
+            visit(change, change.before(), current);
+        }
+        if (change.after() != null && !change.after().equals(change.before())) {
+            visit(change, change.after(), current);
+        }
+    }
+
+    private void visit(Change change, TicketState key, int current) {
+        evaluate(unfiltered, change, current);
+        if (key.sprintId() != null) {
+            evaluate(bySprint.get(key.sprintId()), change, current);
+            if (key.sprintId().equals(change.beforeActiveSprintId())
+                    || key.sprintId().equals(change.afterActiveSprintId())) {
+                evaluate(activeSprintWatches, change, current);
+            }
+        }
+        if (key.assignee() != null) {
+            evaluate(byAssignee.get(key.assignee()), change, current);
+        }
+        evaluate(byStatus.get(key.status().ordinal()), change, current);
+        evaluate(byType.get(key.type().ordinal()), change, current);
+    }
+
+    private void evaluate(Set<Watch> bucket, Change change, int current) {
+        if (bucket == null || bucket.isEmpty()) {
+            return;
+        }
+        for (Watch watch : bucket) {
+            if (watch.mark == current) {
+                continue;
+            }
+            watch.mark = current;
+            candidatesEvaluated.incrementAndGet();
+            boolean matchedBefore = change.before() != null
+                    && change.before().matches(watch.filter, change.beforeActiveSprintId());
+            boolean matchesAfter = change.after() != null
+                    && change.after().matches(watch.filter, change.afterActiveSprintId());
+            emit(watch, matchedBefore, matchesAfter, change.ticketId(), change.event());
+        }
+    }
+
+    private void changeActiveSprint(Long newActiveSprintId, MutationEvent event) {
+        Long previousActiveSprintId = activeSprintId;
+        activeSprintId = newActiveSprintId;
+        reevaluateActiveSprintWatches(previousActiveSprintId, newActiveSprintId, Set.of(), event);
+    }
+
+    private void rollover(MutationEvent event) {
+        Long previousActiveSprintId = activeSprintId;
+        activeSprintId = event.targetSprintId();
+        Set<Long> carried = new HashSet<>(event.storyIds());
+        // A carried story changes sprint and active sprint together, so it gets one delta rather than a LEFT/ENTERED pair.
+        for (Long storyId : carried) {
+            TicketState before = states.get(storyId);
+            if (before != null) {
+                TicketState after = mirrorMove(storyId, before, event.targetSprintId());
+                transition(new Change(storyId, before, previousActiveSprintId, after, activeSprintId, event));
+            }
+        }
+        reevaluateActiveSprintWatches(previousActiveSprintId, activeSprintId, carried, event);
+    }
+
+    private void reevaluateActiveSprintWatches(Long previousActiveSprintId, Long newActiveSprintId, Set<Long> skipped,
+                                               MutationEvent event) {
+        if (activeSprintWatches.isEmpty()) {
+            return;
+        }
+        // Only active-sprint watches depend on which sprint is active, and they are all filed in one bucket.
+        for (Long sprintId : new LinkedHashSet<>(Arrays.asList(previousActiveSprintId, newActiveSprintId))) {
+            Set<Long> stories = sprintId == null ? null : storiesBySprint.get(sprintId);
+            if (stories == null) {
+                continue;
+            }
+            for (Long storyId : stories) {
+                TicketState state = states.get(storyId);
+                if (state == null || skipped.contains(storyId)) {
+                    continue;
+                }
+                for (Watch watch : activeSprintWatches) {
+                    candidatesEvaluated.incrementAndGet();
+                    emit(watch, state.matches(watch.filter, previousActiveSprintId),
+                            state.matches(watch.filter, newActiveSprintId), storyId, event);
+                }
+            }
+        }
+    }
+
+    private void emit(Watch watch, boolean matchedBefore, boolean matchesAfter, Long ticketId, MutationEvent event) {
+        if (!matchedBefore && !matchesAfter) {
+            return;
+        }
+        WatchDeltaKind kind = !matchedBefore ? WatchDeltaKind.ENTERED
+                : !matchesAfter ? WatchDeltaKind.LEFT
+                : WatchDeltaKind.UPDATED;
+        enqueue(watch, new WatchDelta(watch.id, kind, ticketId, event));
+    }
+
+    private void enqueue(Watch watch, WatchDelta delta) {
+        // Each watch buffers at most maxPendingDeltas. A watcher that falls further behind loses its backlog and gets
+        // one RESYNC in its place, telling it to re-read the board, and nothing more until it has taken that RESYNC.
+        synchronized (watch) {
+            if (watch.resyncPending) {
+                deltasDropped.incrementAndGet();
+                return;
+            }
+            if (watch.pending.size() == maxPendingDeltas) {
+                deltasDropped.addAndGet(watch.pending.size() + 1);
+                queuedDeltas.addAndGet(-watch.pending.size());
+                watch.pending.clear();
+                watch.pending.add(new WatchDelta(watch.id, WatchDeltaKind.RESYNC, null, delta.event()));
+                watch.resyncPending = true;
+                resyncsSignalled.incrementAndGet();
+            } else {
+                watch.pending.add(delta);
+            }
+            queuedDeltas.incrementAndGet();
+            if (watch.draining) {
+                return;
+            }
+            watch.draining = true;
+        }
+        // Deltas leave the bus thread immediately; one lane per watch keeps each watcher's stream in order.
+        deliveryLanes.execute(watch.id, () -> drain(watch));
+    }
+
+    private void drain(Watch watch) {
+        // A bounded batch per turn, so one busy watch cannot hold its lane against the other watches sharing it.
+        for (int i = 0; i < DELIVERY_BATCH; i++) {
+            WatchDelta delta;
+            synchronized (watch) {
+                delta = watch.pending.poll();
+                if (delta == null) {
+                    watch.draining = false;
+                    return;
+                }
+                queuedDeltas.decrementAndGet();
+                if (delta.kind() == WatchDeltaKind.RESYNC) {
+                    watch.resyncPending = false;
+                }
+            }
+            try {
+                watch.consumer.accept(delta);
+                deltasDelivered.incrementAndGet();
+            } catch (RuntimeException e) {
+                deliveryFailures.incrementAndGet();
+                System.err.println("Watch " + watch.id + " consumer failed: " + e.getMessage());
+            }
+        }
+        deliveryLanes.execute(watch.id, () -> drain(watch));
+    }
+
+    private List<Set<Watch>> bucketsFor(BoardFilter filter, boolean create) {
+        List<Set<Watch>> buckets = new ArrayList<>();
+        if (filter.sprintId() != null) {
+            buckets.add(create ? bySprint.computeIfAbsent(filter.sprintId(), id -> new LinkedHashSet<>())
+                    : bySprint.getOrDefault(filter.sprintId(), new HashSet<>()));
+        } else if (filter.activeSprintOnly()) {
+            buckets.add(activeSprintWatches);
+        } else if (!filter.assignees().isEmpty()) {
+            for (String assignee : filter.assignees()) {
+                buckets.add(create ? byAssignee.computeIfAbsent(assignee, name -> new LinkedHashSet<>())
+                        : byAssignee.getOrDefault(assignee, new HashSet<>()));
+            }
+        } else if (!filter.statuses().isEmpty()
+                && (filter.types().isEmpty() || filter.statuses().size() * TYPES <= filter.types().size() * STATUSES)) {
+            for (TicketStatus status : filter.statuses()) {
+                buckets.add(byStatus.get(status.ordinal()));
+            }
+        } else if (!filter.types().isEmpty()) {
+            for (TicketType type : filter.types()) {
+                buckets.add(byType.get(type.ordinal()));
+            }
+        } else {
+            buckets.add(unfiltered);
+        }
+        return buckets;
+    }
+
+    private void mirrorSprint(Sprint sprint) {
+        for (Long storyId : sprint.getStoryIds()) {
+            TicketState state = states.get(storyId);
+            if (state != null) {
+                states.put(storyId, state.withSprint(sprint.getId()));
+                storiesBySprint.computeIfAbsent(sprint.getId(), id -> new HashSet<>()).add(storyId);
+            }
+        }
+    }
+
+    private void unmirrorStory(Long sprintId, Long storyId) {
+        if (sprintId != null) {
+            Set<Long> stories = storiesBySprint.get(sprintId);
+            if (stories != null) {
+                stories.remove(storyId);
+            }
+        }
+    }
+
+    private static List<Set<Watch>> newBuckets(int count) {
+        List<Set<Watch>> buckets = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            buckets.add(new LinkedHashSet<>());
+        }
+        return buckets;
+    }
+
+    private record Change(Long ticketId, TicketState before, Long beforeActiveSprintId, TicketState after,
+                          Long afterActiveSprintId, MutationEvent event) {
+    }
+
+    private record TicketState(TicketType type, TicketStatus status, String assignee, Long sprintId) {
+
+        TicketState withStatus(TicketStatus newStatus) {
+            return new TicketState(type, newStatus, assignee, sprintId);
+        }
+
+        TicketState withAssignee(String newAssignee) {
+            return new TicketState(type, status, newAssignee, sprintId);
+        }
+
+        TicketState withSprint(Long newSprintId) {
+            return new TicketState(type, status, assignee, newSprintId);
+        }
+
+        boolean matches(BoardFilter filter, Long activeSprintId) {
+            return filter.matches(type, status, assignee, sprintId, activeSprintId);
+        }
+    }
+
+    private static final class Watch {
+        private final long id;
+        private final BoardFilter filter;
+        private final Consumer<WatchDelta> consumer;
+        private final ArrayDeque<WatchDelta> pending = new ArrayDeque<>();
+        private boolean draining;
+        private boolean resyncPending;
+        private int mark;
+
+        Watch(long id, BoardFilter filter, Consumer<WatchDelta> consumer) {
+            this.id = id;
+            this.filter = filter;
+            this.consumer = consumer;
+        }
+    }
+}
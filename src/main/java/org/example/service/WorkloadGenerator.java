@@ -0,0 +1,256 @@
+package org.example.service;
+
+import org.example.model.LoadTestReport;
+import org.example.model.Sprint;
+import org.example.model.Ticket;
+import org.example.model.TicketStatus;
+import org.example.model.TicketType;
+import org.example.model.WorkloadConfig;
+import org.example.model.WorkloadOperation;
+import org.example.util.LatencyHistogram;
+import org.example.util.ZipfianGenerator;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SplittableRandom;
+import java.util.concurrent.locks.LockSupport;
+
+public class WorkloadGenerator {
+    private static final Map<TicketType, List<TicketStatus>> WORKFLOWS = Map.of(
+            TicketType.STORY, List.of(TicketStatus.OPEN, TicketStatus.IN_PROGRESS, TicketStatus.TESTING,
+                    TicketStatus.IN_REVIEW, TicketStatus.DEPLOYED),
+            TicketType.EPIC, List.of(TicketStatus.OPEN, TicketStatus.IN_PROGRESS, TicketStatus.COMPLETED),
+            TicketType.ON_CALL, List.of(TicketStatus.OPEN, TicketStatus.IN_PROGRESS, TicketStatus.RESOLVED));
+    private static final String[] ASSIGNEES = {"alice", "bob", "carol", "dave", "erin", "frank", "grace", "heidi"};
+
+    private final TicketService ticketService;
+    private final SubTaskService subTaskService;
+    private final SprintService sprintService;
+    private final WorkloadConfig config;
+    private final WorkloadOperation[] operationTable;
+    private final IdPool tickets = new IdPool();
+    private final IdPool subTasks = new IdPool();
+    private ZipfianGenerator hotTickets;
+
+    public WorkloadGenerator(TicketService ticketService, SubTaskService subTaskService, SprintService sprintService,
+                             WorkloadConfig config) {
+        this.ticketService = ticketService;
+        this.subTaskService = subTaskService;
+        this.sprintService = sprintService;
+        this.config = config;
+        this.operationTable = buildOperationTable(config.mix());
+    }
+
+    public LoadTestReport run() {
+        seed();
+
+        long intervalNanos = 1_000_000_000L * config.threads() / config.targetOpsPerSecond();
+        long start = System.nanoTime() + 10_000_000L;
+        long end = start + config.duration().toNanos();
+        List<Worker> workers = new ArrayList<>();
+        for (int i = 0; i < config.threads(); i++) {
+            long firstIntent = start + i * (intervalNanos / config.threads());
+            Worker worker = new Worker(new SplittableRandom(config.seed() + i), firstIntent, intervalNanos, end);
+            workers.add(worker);
+            worker.thread.start();
+        }
+
+        LatencyHistogram latencies = new LatencyHistogram();
+        Map<WorkloadOperation, Long> operationCounts = new EnumMap<>(WorkloadOperation.class);
+        Map<String, Long> errorCounts = new HashMap<>();
+        for (Worker worker : workers) {
+            try {
+                worker.thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for load workers", e);
+            }
+            latencies.merge(worker.latencies);
+            worker.operationCounts.forEach((operation, count) -> operationCounts.merge(operation, count, Long::sum));
+            worker.errorCounts.forEach((error, count) -> errorCounts.merge(error, count, Long::sum));
+        }
+
+        Duration elapsed = Duration.ofNanos(Math.max(end, System.nanoTime()) - start);
+        return new LoadTestReport(elapsed, latencies.getTotalCount(), config.targetOpsPerSecond(),
+                operationCounts, errorCounts,
+                micros(latencies.valueAtPercentile(50)), micros(latencies.valueAtPercentile(90)),
+                micros(latencies.valueAtPercentile(99)), micros(latencies.valueAtPercentile(99.9)),
+                micros(latencies.getMax()));
+    }
+
+    private void seed() {
+        SplittableRandom random = new SplittableRandom(config.seed());
+        for (int i = 0; i < config.initialTickets(); i++) {
+            int roll = random.nextInt(10);
+            TicketType type = roll < 8 ? TicketType.STORY : roll == 8 ? TicketType.EPIC : TicketType.ON_CALL;
+            tickets.add(ticketService.createTicket("Seed " + type + " " + i, "Generated by the load test", type,
+                    ASSIGNEES[random.nextInt(ASSIGNEES.length)]).getId());
+        }
+        hotTickets = new ZipfianGenerator(config.initialTickets(), config.zipfTheta());
+
+        if (sprintService.getActiveSprint().isEmpty()) {
+            Sprint sprint = sprintService.createSprint("Load test sprint", "Generated by the load test",
+                    LocalDateTime.now(), LocalDateTime.now().plusWeeks(2));
+            sprintService.startSprint(sprint.getId());
+        }
+    }
+
+    private void execute(WorkloadOperation operation, SplittableRandom random) {
+        switch (operation) {
+            case CREATE_STORY -> create(TicketType.STORY, random);
+            case CREATE_EPIC -> create(TicketType.EPIC, random);
+            case CREATE_ON_CALL -> create(TicketType.ON_CALL, random);
+            case TRANSITION -> transition(hotTicket(random));
+            case COMMENT -> ticketService.addComment(hotTicket(random), "Load test comment");
+            case SUBTASK_CREATE -> subTasks.add(subTaskService.createSubTask(hotTicket(random), "Load test sub-task",
+                    "Generated by the load test", ASSIGNEES[random.nextInt(ASSIGNEES.length)]).getId());
+            case SUBTASK_TRANSITION -> subTasks.pick(random).ifPresent(this::transitionSubTask);
+            case SUBTASK_DELETE -> subTasks.pick(random).ifPresent(subTaskService::deleteSubTask);
+            case SPRINT_PLANNING -> planSprint(hotTicket(random), random);
+            case BOARD_READ -> readBoard();
+        }
+    }
+
+    private void create(TicketType type, SplittableRandom random) {
+        tickets.add(ticketService.createTicket("Load test " + type, "Generated by the load test", type,
+                ASSIGNEES[random.nextInt(ASSIGNEES.length)]).getId());
+    }
+
+    private void transition(Long ticketId) {
+        ticketService.getTicket(ticketId).ifPresent(ticket -> {
+            Optional<TicketStatus> next = nextStatus(ticket.getType(), ticket.getStatus());
+            if (next.isEmpty()) {
+                return;
+            }
+            if (next.get() == ticket.getFinalStatus() && !ticket.areAllSubTasksCompleted()) {
+                // Real users finish the sub-tasks before closing the parent, so advance one of those instead.
+                ticket.getSubTasks().stream()
+                        .filter(subTask -> nextStatus(ticket.getType(), subTask.getStatus()).isPresent())
+                        .findFirst()
+                        .ifPresent(subTask -> transitionSubTask(subTask.getId()));
+                return;
+            }
+            ticketService.updateTicketStatus(ticketId, next.get());
+        });
+    }
+
+    private void transitionSubTask(Long subTaskId) {
+        subTaskService.getSubTask(subTaskId).ifPresent(subTask -> ticketService.getTicket(subTask.getParentTicketId())
+                .flatMap(parent -> nextStatus(parent.getType(), subTask.getStatus()))
+                .ifPresent(next -> subTaskService.updateSubTaskStatus(subTaskId, next)));
+    }
+
+    private void planSprint(Long ticketId, SplittableRandom random) {
+        Optional<Sprint> activeSprint = sprintService.getActiveSprint();
+        Optional<Ticket> ticket = ticketService.getTicket(ticketId);
+        if (activeSprint.isEmpty() || ticket.isEmpty() || ticket.get().getType() != TicketType.STORY) {
+            return;
+        }
+        if (random.nextBoolean()) {
+            sprintService.addStoryToSprint(activeSprint.get().getId(), ticketId);
+        } else {
+            sprintService.removeStoryFromSprint(activeSprint.get().getId(), ticketId);
+        }
+    }
+
+    private void readBoard() {
+        Map<TicketStatus, Integer> columns = new EnumMap<>(TicketStatus.class);
+        for (Ticket story : sprintService.getStoriesInCurrentSprint()) {
+            columns.merge(story.getStatus(), 1, Integer::sum);
+            subTaskService.getSubTaskSnapshotsForTicket(story.getId());
+        }
+    }
+
+    private Long hotTicket(SplittableRandom random) {
+        return tickets.get((int) hotTickets.next(random));
+    }
+
+    private static Optional<TicketStatus> nextStatus(TicketType type, TicketStatus current) {
+        List<TicketStatus> workflow = WORKFLOWS.get(type);
+        int index = workflow.indexOf(current);
+        return index < 0 || index + 1 >= workflow.size() ? Optional.empty() : Optional.of(workflow.get(index + 1));
+    }
+
+    private static WorkloadOperation[] buildOperationTable(Map<WorkloadOperation, Integer> mix) {
+        List<WorkloadOperation> table = new ArrayList<>();
+        for (WorkloadOperation operation : WorkloadOperation.values()) {
+            for (int i = 0; i < mix.getOrDefault(operation, 0); i++) {
+                table.add(operation);
+            }
+        }
+        return table.toArray(new WorkloadOperation[0]);
+    }
+
+    private static long micros(long nanos) {
+        return nanos / 1_000;
+    }
+
+    private final class Worker implements Runnable {
+        private final Thread thread;
+        private final SplittableRandom random;
+        private final long firstIntent;
+        private final long intervalNanos;
+        private final long end;
+        private final LatencyHistogram latencies = new LatencyHistogram();
+        private final Map<WorkloadOperation, Long> operationCounts = new EnumMap<>(WorkloadOperation.class);
+        private final Map<String, Long> errorCounts = new HashMap<>();
+
+        Worker(SplittableRandom random, long firstIntent, long intervalNanos, long end) {
+            this.random = random;
+            this.firstIntent = firstIntent;
+            this.intervalNanos = intervalNanos;
+            this.end = end;
+            this.thread = new Thread(this, "load-worker");
+            this.thread.setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            // Open loop: each operation has an intended start time on a fixed schedule, and latency is measured from
+            // that intent, so a stalled call is charged for the queueing it causes instead of silently slowing the load.
+            for (long intent = firstIntent; intent < end; intent += intervalNanos) {
+                long wait = intent - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                WorkloadOperation operation = operationTable[random.nextInt(operationTable.length)];
+                try {
+                    execute(operation, random);
+                } catch (RuntimeException e) {
+                    errorCounts.merge(operation + ":" + e.getClass().getSimpleName(), 1L, Long::sum);
+                }
+                latencies.record(System.nanoTime() - intent);
+                operationCounts.merge(operation, 1L, Long::sum);
+            }
+        }
+    }
+
+    private static final class IdPool {
+        private long[] ids = new long[1024];
+        private int size;
+
+        synchronized void add(Long id) {
+            if (size == ids.length) {
+                long[] grown = new long[ids.length * 2];
+                System.arraycopy(ids, 0, grown, 0, size);
+                ids = grown;
+            }
+            ids[size] = id;
+            size++;
+        }
+
+        synchronized Long get(int index) {
+            return ids[Math.min(index, size - 1)];
+        }
+
+        synchronized Optional<Long> pick(SplittableRandom random) {
+            return size == 0 ? Optional.empty() : Optional.of(ids[random.nextInt(size)]);
+        }
+    }
+}
@@ -118,14 +118,15 @@ public class runCliDemoclass {
     }
 
     private void showSystemState() {
+        BoardRenderer renderer = new BoardRenderer(ticketService, sprintService);
         System.out.println("\nAll Tickets:");
-        ticketService.getAllTickets().forEach(System.out::println);
+        renderer.render(BoardQuery.all(), System.out);
 
         System.out.println("\nActive Sprint:");
         sprintService.getActiveSprint().ifPresentOrElse(
                 s -> {
                     System.out.println(s);
-                    sprintService.getStoriesInCurrentSprint().forEach(story -> System.out.println(" * " + story));
+                    renderer.render(BoardQuery.sprint(s.getId()), System.out);
                 },
                 () -> System.out.println("No active sprint.")
         );
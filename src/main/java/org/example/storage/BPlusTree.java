@@ -0,0 +1,396 @@
+package org.example.storage;
+
+import java.nio.ByteBuffer;
+
+public class BPlusTree {
+    private static final byte LEAF = 1;
+    private static final byte INTERNAL = 2;
+    private static final int TYPE = 0;
+    private static final int COUNT = 1;
+    private static final int NEXT = 5;
+    private static final int HEADER = 16;
+    private static final int ENTRY = 24;
+    private static final int LEAF_CAPACITY = (BufferPool.PAGE_SIZE - HEADER) / ENTRY;
+    private static final int INTERNAL_CAPACITY = (BufferPool.PAGE_SIZE - HEADER - 8) / ENTRY;
+    private static final int META_PAGE = 0;
+    private static final int META_ROOTS = 8;
+
+    private final BufferPool pool;
+    private final int slot;
+
+    @FunctionalInterface
+    public interface EntryVisitor {
+        boolean visit(long key1, long key2, long value);
+    }
+
+    public BPlusTree(BufferPool pool, int slot) {
+        this.pool = pool;
+        this.slot = slot;
+    }
+
+    public synchronized long get(long key1, long key2, long missing) {
+        long page = root();
+        if (page == 0) {
+            return missing;
+        }
+
+        while (true) {
+            int frame = pool.pin(page);
+            ByteBuffer node = pool.buffer(frame);
+            int count = node.getInt(COUNT);
+            if (node.get(TYPE) == LEAF) {
+                int index = lowerBound(node, count, key1, key2, LEAF);
+                long value = index < count && compareAt(node, index, key1, key2, LEAF) == 0
+                        ? node.getLong(leafOffset(index) + 16)
+                        : missing;
+                pool.unpin(frame, false);
+                return value;
+            }
+            long child = childAt(node, upperBound(node, count, key1, key2));
+            pool.unpin(frame, false);
+            page = child;
+        }
+    }
+
+    public synchronized void put(long key1, long key2, long value) {
+        long rootPage = root();
+        if (rootPage == 0) {
+            int frame = pool.allocate();
+            ByteBuffer leaf = pool.buffer(frame);
+            leaf.put(TYPE, LEAF);
+            leaf.putInt(COUNT, 1);
+            writeLeafEntry(leaf, 0, key1, key2, value);
+            setRoot(pool.pageId(frame));
+            pool.unpin(frame, true);
+            return;
+        }
+
+        Split split = insert(rootPage, key1, key2, value);
+        if (split != null) {
+            int frame = pool.allocate();
+            ByteBuffer node = pool.buffer(frame);
+            node.put(TYPE, INTERNAL);
+            node.putInt(COUNT, 1);
+            node.putLong(HEADER, rootPage);
+            writeInternalEntry(node, 0, split.key1, split.key2, split.rightPage);
+            setRoot(pool.pageId(frame));
+            pool.unpin(frame, true);
+        }
+    }
+
+    public synchronized boolean remove(long key1, long key2) {
+        long page = root();
+        if (page == 0) {
+            return false;
+        }
+
+        while (true) {
+            int frame = pool.pin(page);
+            ByteBuffer node = pool.buffer(frame);
+            int count = node.getInt(COUNT);
+            if (node.get(TYPE) == LEAF) {
+                int index = lowerBound(node, count, key1, key2, LEAF);
+                if (index >= count || compareAt(node, index, key1, key2, LEAF) != 0) {
+                    pool.unpin(frame, false);
+                    return false;
+                }
+                shift(node, leafOffset(index + 1), leafOffset(index), (count - index - 1) * ENTRY);
+                node.putInt(COUNT, count - 1);
+                pool.unpin(frame, true);
+                return true;
+            }
+            long child = childAt(node, upperBound(node, count, key1, key2));
+            pool.unpin(frame, false);
+            page = child;
+        }
+    }
+
+    public synchronized void scan(long fromKey1, long fromKey2, long toKey1, long toKey2, EntryVisitor visitor) {
+        long page = root();
+        if (page == 0) {
+            return;
+        }
+
+        while (true) {
+            int frame = pool.pin(page);
+            ByteBuffer node = pool.buffer(frame);
+            if (node.get(TYPE) == LEAF) {
+                pool.unpin(frame, false);
+                break;
+            }
+            long child = childAt(node, upperBound(node, node.getInt(COUNT), fromKey1, fromKey2));
+            pool.unpin(frame, false);
+            page = child;
+        }
+
+        long[] key1s = new long[LEAF_CAPACITY];
+        long[] key2s = new long[LEAF_CAPACITY];
+        long[] values = new long[LEAF_CAPACITY];
+        while (page != 0) {
+            int frame = pool.pin(page);
+            ByteBuffer leaf = pool.buffer(frame);
+            int count = leaf.getInt(COUNT);
+            int index = lowerBound(leaf, count, fromKey1, fromKey2, LEAF);
+            int matched = 0;
+            boolean finished = false;
+            for (; index < count; index++) {
+                if (compareAt(leaf, index, toKey1, toKey2, LEAF) > 0) {
+                    finished = true;
+                    break;
+                }
+                int offset = leafOffset(index);
+                key1s[matched] = leaf.getLong(offset);
+                key2s[matched] = leaf.getLong(offset + 8);
+                values[matched] = leaf.getLong(offset + 16);
+                matched++;
+            }
+            long next = leaf.getLong(NEXT);
+            pool.unpin(frame, false);
+
+            for (int i = 0; i < matched; i++) {
+                if (!visitor.visit(key1s[i], key2s[i], values[i])) {
+                    return;
+                }
+            }
+            if (finished) {
+                return;
+            }
+            page = next;
+        }
+    }
+
+    public synchronized long maxKey1(long missing) {
+        long page = root();
+        return page == 0 ? missing : lastKey1(page, missing);
+    }
+
+    private Split insert(long page, long key1, long key2, long value) {
+        int frame = pool.pin(page);
+        ByteBuffer node = pool.buffer(frame);
+        int count = node.getInt(COUNT);
+
+        if (node.get(TYPE) == LEAF) {
+            int index = lowerBound(node, count, key1, key2, LEAF);
+            if (index < count && compareAt(node, index, key1, key2, LEAF) == 0) {
+                node.putLong(leafOffset(index) + 16, value);
+                pool.unpin(frame, true);
+                return null;
+            }
+            if (count < LEAF_CAPACITY) {
+                shift(node, leafOffset(index), leafOffset(index + 1), (count - index) * ENTRY);
+                writeLeafEntry(node, index, key1, key2, value);
+                node.putInt(COUNT, count + 1);
+                pool.unpin(frame, true);
+                return null;
+            }
+            Split split = splitLeaf(node, count, index, key1, key2, value);
+            pool.unpin(frame, true);
+            return split;
+        }
+
+        int childIndex = upperBound(node, count, key1, key2);
+        long child = childAt(node, childIndex);
+        pool.unpin(frame, false);
+
+        Split childSplit = insert(child, key1, key2, value);
+        if (childSplit == null) {
+            return null;
+        }
+
+        frame = pool.pin(page);
+        node = pool.buffer(frame);
+        count = node.getInt(COUNT);
+        if (count < INTERNAL_CAPACITY) {
+            shift(node, internalOffset(childIndex), internalOffset(childIndex + 1), (count - childIndex) * ENTRY);
+            writeInternalEntry(node, childIndex, childSplit.key1, childSplit.key2, childSplit.rightPage);
+            node.putInt(COUNT, count + 1);
+            pool.unpin(frame, true);
+            return null;
+        }
+        Split split = splitInternal(node, count, childIndex, childSplit);
+        pool.unpin(frame, true);
+        return split;
+    }
+
+    private long lastKey1(long page, long missing) {
+        // Follows the rightmost child, stepping left only past leaves that removes emptied, since nodes never merge.
+        int frame = pool.pin(page);
+        ByteBuffer node = pool.buffer(frame);
+        int count = node.getInt(COUNT);
+        if (node.get(TYPE) == LEAF) {
+            long key1 = count > 0 ? node.getLong(leafOffset(count - 1)) : missing;
+            pool.unpin(frame, false);
+            return key1;
+        }
+        long[] children = new long[count + 1];
+        for (int i = 0; i <= count; i++) {
+            children[i] = childAt(node, i);
+        }
+        pool.unpin(frame, false);
+
+        for (int i = count; i >= 0; i--) {
+            long key1 = lastKey1(children[i], missing);
+            if (key1 != missing) {
+                return key1;
+            }
+        }
+        return missing;
+    }
+
+    private Split splitLeaf(ByteBuffer node, int count, int index, long key1, long key2, long value) {
+        long[] key1s = new long[count + 1];
+        long[] key2s = new long[count + 1];
+        long[] values = new long[count + 1];
+        for (int i = 0, j = 0; i <= count; i++) {
+            if (i == index) {
+                key1s[i] = key1;
+                key2s[i] = key2;
+                values[i] = value;
+            } else {
+                int offset = leafOffset(j++);
+                key1s[i] = node.getLong(offset);
+                key2s[i] = node.getLong(offset + 8);
+                values[i] = node.getLong(offset + 16);
+            }
+        }
+
+        int leftCount = (count + 1) / 2;
+        int rightFrame = pool.allocate();
+        ByteBuffer right = pool.buffer(rightFrame);
+        right.put(TYPE, LEAF);
+        right.putInt(COUNT, count + 1 - leftCount);
+        right.putLong(NEXT, node.getLong(NEXT));
+        for (int i = leftCount; i <= count; i++) {
+            writeLeafEntry(right, i - leftCount, key1s[i], key2s[i], values[i]);
+        }
+        for (int i = 0; i < leftCount; i++) {
+            writeLeafEntry(node, i, key1s[i], key2s[i], values[i]);
+        }
+        node.putInt(COUNT, leftCount);
+        long rightPage = pool.pageId(rightFrame);
+        node.putLong(NEXT, rightPage);
+        pool.unpin(rightFrame, true);
+        return new Split(key1s[leftCount], key2s[leftCount], rightPage);
+    }
+
+    private Split splitInternal(ByteBuffer node, int count, int index, Split inserted) {
+        long[] key1s = new long[count + 1];
+        long[] key2s = new long[count + 1];
+        long[] children = new long[count + 2];
+        children[0] = node.getLong(HEADER);
+        for (int i = 0, j = 0; i <= count; i++) {
+            if (i == index) {
+                key1s[i] = inserted.key1;
+                key2s[i] = inserted.key2;
+                children[i + 1] = inserted.rightPage;
+            } else {
+                int offset = internalOffset(j++);
+                key1s[i] = node.getLong(offset);
+                key2s[i] = node.getLong(offset + 8);
+                children[i + 1] = node.getLong(offset + 16);
+            }
+        }
+
+        int middle = (count + 1) / 2;
+        int rightFrame = pool.allocate();
+        ByteBuffer right = pool.buffer(rightFrame);
+        right.put(TYPE, INTERNAL);
+        right.putInt(COUNT, count - middle);
+        right.putLong(HEADER, children[middle + 1]);
+        for (int i = middle + 1; i <= count; i++) {
+            writeInternalEntry(right, i - middle - 1, key1s[i], key2s[i], children[i + 1]);
+        }
+        node.putLong(HEADER, children[0]);
+        for (int i = 0; i < middle; i++) {
+            writeInternalEntry(node, i, key1s[i], key2s[i], children[i + 1]);
+        }
+        node.putInt(COUNT, middle);
+        long rightPage = pool.pageId(rightFrame);
+        pool.unpin(rightFrame, true);
+        return new Split(key1s[middle], key2s[middle], rightPage);
+    }
+
+    private long root() {
+        int frame = pool.pin(META_PAGE);
+        long root = pool.buffer(frame).getLong(META_ROOTS + slot * 8);
+        pool.unpin(frame, false);
+        return root;
+    }
+
+    private void setRoot(long page) {
+        int frame = pool.pin(META_PAGE);
+        pool.buffer(frame).putLong(META_ROOTS + slot * 8, page);
+        pool.unpin(frame, true);
+    }
+
+    private static int lowerBound(ByteBuffer node, int count, long key1, long key2, byte type) {
+        int low = 0;
+        int high = count;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (compareAt(node, mid, key1, key2, type) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static int upperBound(ByteBuffer node, int count, long key1, long key2) {
+        int low = 0;
+        int high = count;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (compareAt(node, mid, key1, key2, INTERNAL) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static int compareAt(ByteBuffer node, int index, long key1, long key2, byte type) {
+        int offset = type == LEAF ? leafOffset(index) : internalOffset(index);
+        int result = Long.compare(node.getLong(offset), key1);
+        return result != 0 ? result : Long.compare(node.getLong(offset + 8), key2);
+    }
+
+    private static long childAt(ByteBuffer node, int index) {
+        return index == 0 ? node.getLong(HEADER) : node.getLong(internalOffset(index - 1) + 16);
+    }
+
+    private static void writeLeafEntry(ByteBuffer node, int index, long key1, long key2, long value) {
+        int offset = leafOffset(index);
+        node.putLong(offset, key1);
+        node.putLong(offset + 8, key2);
+        node.putLong(offset + 16, value);
+    }
+
+    private static void writeInternalEntry(ByteBuffer node, int index, long key1, long key2, long child) {
+        int offset = internalOffset(index);
+        node.putLong(offset, key1);
+        node.putLong(offset + 8, key2);
+        node.putLong(offset + 16, child);
+    }
+
+    private static void shift(ByteBuffer node, int from, int to, int length) {
+        if (length <= 0) {
+            return;
+        }
+        byte[] array = node.array();
+        System.arraycopy(array, node.arrayOffset() + from, array, node.arrayOffset() + to, length);
+    }
+
+    private static int leafOffset(int index) {
+        return HEADER + index * ENTRY;
+    }
+
+    private static int internalOffset(int index) {
+        return HEADER + 8 + index * ENTRY;
+    }
+
+    private record Split(long key1, long key2, long rightPage) {
+    }
+}
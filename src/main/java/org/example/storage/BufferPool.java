@@ -0,0 +1,190 @@
+package org.example.storage;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+
+public class BufferPool implements AutoCloseable {
+    public static final int PAGE_SIZE = 4096;
+
+    private final FileChannel channel;
+    private final ByteBuffer[] frames;
+    private final long[] pageIds;
+    private final int[] pinCounts;
+    private final boolean[] dirty;
+    private final boolean[] referenced;
+    private final Map<Long, Integer> pageTable = new HashMap<>();
+    private long pageCount;
+    private int hand;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    public BufferPool(Path file, int capacity) {
+        if (capacity < 16) {
+            throw new IllegalArgumentException("Buffer pool needs at least 16 frames: " + capacity);
+        }
+        try {
+            this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            this.pageCount = channel.size() / PAGE_SIZE;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open page file " + file, e);
+        }
+        this.frames = new ByteBuffer[capacity];
+        this.pageIds = new long[capacity];
+        this.pinCounts = new int[capacity];
+        this.dirty = new boolean[capacity];
+        this.referenced = new boolean[capacity];
+        for (int i = 0; i < capacity; i++) {
+            frames[i] = ByteBuffer.allocate(PAGE_SIZE);
+            pageIds[i] = -1;
+        }
+    }
+
+    public synchronized int pin(long pageId) {
+        Integer cached = pageTable.get(pageId);
+        if (cached != null) {
+            hits++;
+            pinCounts[cached]++;
+            referenced[cached] = true;
+            return cached;
+        }
+
+        misses++;
+        int frame = victim();
+        ByteBuffer buffer = frames[frame];
+        buffer.clear();
+        try {
+            long position = pageId * PAGE_SIZE;
+            while (buffer.hasRemaining()) {
+                int read = channel.read(buffer, position + buffer.position());
+                if (read < 0) {
+                    break;
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read page " + pageId, e);
+        }
+        while (buffer.hasRemaining()) {
+            buffer.put((byte) 0);
+        }
+        install(frame, pageId);
+        return frame;
+    }
+
+    public synchronized int allocate() {
+        long pageId = Math.max(pageCount, 1);
+        pageCount = pageId + 1;
+        int frame = victim();
+        ByteBuffer buffer = frames[frame];
+        buffer.clear();
+        while (buffer.hasRemaining()) {
+            buffer.put((byte) 0);
+        }
+        install(frame, pageId);
+        dirty[frame] = true;
+        return frame;
+    }
+
+    public ByteBuffer buffer(int frame) {
+        return frames[frame];
+    }
+
+    public long pageId(int frame) {
+        return pageIds[frame];
+    }
+
+    public synchronized void unpin(int frame, boolean modified) {
+        if (pinCounts[frame] == 0) {
+            throw new IllegalStateException("Page " + pageIds[frame] + " is not pinned");
+        }
+        pinCounts[frame]--;
+        dirty[frame] |= modified;
+    }
+
+    public synchronized void flush() {
+        for (int frame = 0; frame < frames.length; frame++) {
+            if (dirty[frame]) {
+                write(frame);
+            }
+        }
+        try {
+            channel.force(false);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot sync page file", e);
+        }
+    }
+
+    public synchronized Map<String, Object> getStatistics() {
+        Map<String, Object> statistics = new HashMap<>();
+        statistics.put("frames", frames.length);
+        statistics.put("pages", pageCount);
+        statistics.put("hits", hits);
+        statistics.put("misses", misses);
+        statistics.put("evictions", evictions);
+        return statistics;
+    }
+
+    @Override
+    public synchronized void close() {
+        flush();
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot close page file", e);
+        }
+    }
+
+    private void install(int frame, long pageId) {
+        pageIds[frame] = pageId;
+        pageTable.put(pageId, frame);
+        pinCounts[frame] = 1;
+        referenced[frame] = true;
+        dirty[frame] = false;
+        if (pageId >= pageCount) {
+            pageCount = pageId + 1;
+        }
+    }
+
+    private int victim() {
+        for (int step = 0; step < frames.length * 2; step++) {
+            int frame = hand;
+            hand = (hand + 1) % frames.length;
+            if (pinCounts[frame] > 0) {
+                continue;
+            }
+            if (pageIds[frame] >= 0 && referenced[frame]) {
+                referenced[frame] = false;
+                continue;
+            }
+            if (pageIds[frame] >= 0) {
+                if (dirty[frame]) {
+                    write(frame);
+                }
+                pageTable.remove(pageIds[frame]);
+                evictions++;
+            }
+            return frame;
+        }
+        throw new IllegalStateException("Buffer pool exhausted: all " + frames.length + " frames are pinned");
+    }
+
+    private void write(int frame) {
+        ByteBuffer buffer = frames[frame].duplicate();
+        buffer.clear();
+        try {
+            long position = pageIds[frame] * PAGE_SIZE;
+            while (buffer.hasRemaining()) {
+                channel.write(buffer, position + buffer.position());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write page " + pageIds[frame], e);
+        }
+        dirty[frame] = false;
+    }
+}
@@ -0,0 +1,76 @@
+package org.example.storage;
+
+import org.example.io.BinaryCodec;
+import org.example.model.Sprint;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+class DiskSprintRepository implements SprintRepository {
+    private static final long RECORD = DiskStore.RECORD;
+
+    private final DiskStore store;
+    private final BPlusTree primary;
+
+    DiskSprintRepository(DiskStore store) {
+        this.store = store;
+        this.primary = store.tree(DiskStore.SPRINTS);
+    }
+
+    @Override
+    public synchronized Optional<Sprint> findById(Long sprintId) {
+        long offset = primary.get(sprintId, RECORD, DiskStore.MISSING);
+        return offset == DiskStore.MISSING
+                ? Optional.empty()
+                : Optional.of(store.read(offset, BinaryCodec::readSprint));
+    }
+
+    @Override
+    public synchronized boolean insert(Sprint sprint) {
+        if (primary.get(sprint.getId(), RECORD, DiskStore.MISSING) != DiskStore.MISSING) {
+            return false;
+        }
+        write(sprint);
+        return true;
+    }
+
+    @Override
+    public void save(Sprint sprint) {
+        synchronized (this) {
+            long previous = primary.get(sprint.getId(), RECORD, DiskStore.MISSING);
+            if (previous == DiskStore.MISSING) {
+                return;
+            }
+            write(sprint);
+            store.release(previous);
+        }
+        store.compactIfWasteful();
+    }
+
+    @Override
+    public Optional<Sprint> delete(Long sprintId) {
+        Optional<Sprint> sprint;
+        synchronized (this) {
+            long offset = primary.get(sprintId, RECORD, DiskStore.MISSING);
+            sprint = findById(sprintId);
+            sprint.ifPresent(removed -> {
+                primary.remove(sprintId, RECORD);
+                store.release(offset);
+            });
+        }
+        store.compactIfWasteful();
+        return sprint;
+    }
+
+    @Override
+    public List<Sprint> findAll() {
+        List<Sprint> sprints = new ArrayList<>();
+        store.forEachRecord(this, primary, offset -> store.read(offset, BinaryCodec::readSprint), sprints::add);
+        return sprints;
+    }
+
+    private void write(Sprint sprint) {
+        primary.put(sprint.getId(), RECORD, store.append(sprint, BinaryCodec::writeSprint));
+    }
+}
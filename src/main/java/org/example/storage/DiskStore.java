@@ -0,0 +1,274 @@
+package org.example.storage;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.LongFunction;
+import java.util.function.Predicate;
+
+public class DiskStore implements AutoCloseable {
+    static final int TICKETS = 0;
+    static final int TICKETS_BY_UPDATE = 1;
+    static final int SUBTASKS = 2;
+    static final int SUBTASKS_BY_PARENT = 3;
+    static final int SPRINTS = 4;
+    static final long MISSING = -1L;
+    static final long RECORD = 0;
+    static final int SCAN_BATCH = 256;
+
+    // Version 1 stores predate the marker file and encode records without per-status entry times; version 2 keyed the
+    // update index by UTC wall time instead of the system zone the models use; version 3 encoded tickets without the
+    // time work on them first started.
+    private static final int FORMAT_MAGIC = 0x4A44534B;
+    private static final int FORMAT_VERSION = 4;
+    private static final String FORMAT_FILE = "format";
+    private static final String INDEX_FILE = "index.db";
+    private static final String RECORDS_FILE = "records.db";
+    private static final String COMPACTING_FILE = "records.db.compacting";
+    private static final long COMPACT_MIN_GARBAGE = 1 << 20;
+    private static final int[] PRIMARY_TREES = {TICKETS, SUBTASKS, SPRINTS};
+
+    private final Path directory;
+    private final BufferPool pool;
+    private final RecordHeap heap;
+    private final DiskSubTaskRepository subTasks;
+    private final DiskTicketRepository tickets;
+    private final DiskSprintRepository sprints;
+
+    @FunctionalInterface
+    interface Writer<T> {
+        void write(DataOutput out, T value) throws IOException;
+    }
+
+    @FunctionalInterface
+    interface Reader<T> {
+        T read(DataInput in) throws IOException;
+    }
+
+    private long compactions;
+
+    private DiskStore(Path directory, int bufferPoolPages) {
+        this.directory = directory;
+        this.pool = new BufferPool(directory.resolve(INDEX_FILE), bufferPoolPages);
+        this.heap = new RecordHeap(directory.resolve(RECORDS_FILE));
+        this.subTasks = new DiskSubTaskRepository(this);
+        this.tickets = new DiskTicketRepository(this, subTasks);
+        this.sprints = new DiskSprintRepository(this);
+    }
+
+    public static DiskStore open(Path directory, int bufferPoolPages) {
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot create store directory " + directory, e);
+        }
+
+        checkFormat(directory);
+        DiskStore store = new DiskStore(directory, bufferPoolPages);
+        store.reserveIds();
+        return store;
+    }
+
+    public TicketRepository ticketRepository() {
+        return tickets;
+    }
+
+    public SubTaskRepository subTaskRepository() {
+        return subTasks;
+    }
+
+    public SprintRepository sprintRepository() {
+        return sprints;
+    }
+
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> statistics = new HashMap<>(pool.getStatistics());
+        statistics.put("recordBytes", heap.size());
+        statistics.put("recordGarbageBytes", heap.garbage());
+        synchronized (this) {
+            statistics.put("compactions", compactions);
+        }
+        return statistics;
+    }
+
+    public void compact() {
+        // Every repository monitor is held, in the order ticket loads already nest them, so no reader or writer can
+        // hold an offset while records move.
+        synchronized (tickets) {
+            synchronized (subTasks) {
+                synchronized (sprints) {
+                    rewriteRecords();
+                }
+            }
+        }
+    }
+
+    public void flush() {
+        heap.flush();
+        pool.flush();
+    }
+
+    @Override
+    public void close() {
+        flush();
+        pool.close();
+        heap.close();
+    }
+
+    BPlusTree tree(int slot) {
+        return new BPlusTree(pool, slot);
+    }
+
+    <T> long append(T value, Writer<T> writer) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try {
+            writer.write(new DataOutputStream(bytes), value);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot encode record", e);
+        }
+        return heap.append(bytes.toByteArray());
+    }
+
+    void release(long offset) {
+        heap.release(offset);
+    }
+
+    void compactIfWasteful() {
+        // Called by writers after they drop their monitor; once at least half the file is garbage, the rewrite costs
+        // no more than the writes that produced it.
+        long garbage = heap.garbage();
+        if (garbage >= COMPACT_MIN_GARBAGE && garbage * 2 >= heap.size()) {
+            compact();
+        }
+    }
+
+    <T> T read(long offset, Reader<T> reader) {
+        try {
+            return reader.read(new DataInputStream(new ByteArrayInputStream(heap.read(offset))));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot decode record at " + offset, e);
+        }
+    }
+
+    <T> void forEachRecord(Object monitor, BPlusTree primary, LongFunction<T> loader, Predicate<T> action) {
+        // Records are loaded a batch at a time under the repository's monitor, since a compaction may move them once it
+        // is released, and the action runs after it is released, so a full scan never holds every record or blocks
+        // writers while the action runs.
+        RecordCursor cursor = new RecordCursor();
+        Object[] records = new Object[SCAN_BATCH];
+        long from = Long.MIN_VALUE;
+        do {
+            cursor.count = 0;
+            synchronized (monitor) {
+                primary.scan(from, RECORD, Long.MAX_VALUE, RECORD, cursor);
+                for (int i = 0; i < cursor.count; i++) {
+                    records[i] = loader.apply(cursor.offsets[i]);
+                }
+            }
+            for (int i = 0; i < cursor.count; i++) {
+                @SuppressWarnings("unchecked")
+                T record = (T) records[i];
+                records[i] = null;
+                if (!action.test(record)) {
+                    return;
+                }
+            }
+            from = cursor.lastKey + 1;
+        } while (cursor.count == SCAN_BATCH && cursor.lastKey != Long.MAX_VALUE);
+    }
+
+    private synchronized void rewriteRecords() {
+        long garbage = heap.garbage();
+        if (garbage == 0) {
+            return;
+        }
+
+        Path target = directory.resolve(COMPACTING_FILE);
+        try {
+            Files.deleteIfExists(target);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot clear " + target, e);
+        }
+        try (RecordHeap compacted = new RecordHeap(target)) {
+            for (int slot : PRIMARY_TREES) {
+                BPlusTree primary = tree(slot);
+                // Overwriting the value of a key the scan has already copied out never reshapes the tree.
+                primary.scan(Long.MIN_VALUE, RECORD, Long.MAX_VALUE, RECORD, (key1, key2, offset) -> {
+                    if (key2 == RECORD) {
+                        primary.put(key1, key2, compacted.append(heap.read(offset)));
+                    }
+                    return true;
+                });
+            }
+            compacted.flush();
+        }
+        heap.replaceWith(target);
+        pool.flush();
+        compactions++;
+    }
+
+    private static void checkFormat(Path directory) {
+        Path marker = directory.resolve(FORMAT_FILE);
+        try {
+            if (Files.exists(marker)) {
+                ByteBuffer header = ByteBuffer.wrap(Files.readAllBytes(marker));
+                if (header.remaining() < 8 || header.getInt() != FORMAT_MAGIC) {
+                    throw new IllegalArgumentException("Not a ticket store: " + directory);
+                }
+                int version = header.getInt();
+                if (version != FORMAT_VERSION) {
+                    throw new IllegalArgumentException("Unsupported store format version " + version + " in " + directory);
+                }
+            } else if (Files.exists(directory.resolve(RECORDS_FILE)) && Files.size(directory.resolve(RECORDS_FILE)) > 0) {
+                throw new IllegalArgumentException("Store " + directory + " uses format version 1, which this build cannot"
+                        + " read; export it to NDJSON with the build that wrote it and import that export instead");
+            } else {
+                Files.write(marker, ByteBuffer.allocate(8).putInt(FORMAT_MAGIC).putInt(FORMAT_VERSION).array());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot check store format in " + directory, e);
+        }
+    }
+
+    private void reserveIds() {
+        // Loading the newest record of each kind runs its restore constructor, which bumps the id counter.
+        long ticketId = tree(TICKETS).maxKey1(MISSING);
+        if (ticketId != MISSING) {
+            tickets.findById(ticketId);
+        }
+        long subTaskId = tree(SUBTASKS).maxKey1(MISSING);
+        if (subTaskId != MISSING) {
+            subTasks.findById(subTaskId);
+        }
+        long sprintId = tree(SPRINTS).maxKey1(MISSING);
+        if (sprintId != MISSING) {
+            sprints.findById(sprintId);
+        }
+    }
+
+    private static final class RecordCursor implements BPlusTree.EntryVisitor {
+        private final long[] offsets = new long[SCAN_BATCH];
+        private int count;
+        private long lastKey;
+
+        @Override
+        public boolean visit(long key1, long key2, long value) {
+            if (key2 != RECORD) {
+                return true;
+            }
+            offsets[count++] = value;
+            lastKey = key1;
+            return count < SCAN_BATCH;
+        }
+    }
+}
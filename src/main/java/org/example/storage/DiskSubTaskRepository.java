@@ -0,0 +1,92 @@
+package org.example.storage;
+
+import org.example.io.BinaryCodec;
+import org.example.model.SubTask;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+class DiskSubTaskRepository implements SubTaskRepository {
+    private static final long RECORD = DiskStore.RECORD;
+
+    private final DiskStore store;
+    private final BPlusTree primary;
+    private final BPlusTree byParent;
+
+    DiskSubTaskRepository(DiskStore store) {
+        this.store = store;
+        this.primary = store.tree(DiskStore.SUBTASKS);
+        this.byParent = store.tree(DiskStore.SUBTASKS_BY_PARENT);
+    }
+
+    @Override
+    public synchronized Optional<SubTask> findById(Long subTaskId) {
+        long offset = primary.get(subTaskId, RECORD, DiskStore.MISSING);
+        return offset == DiskStore.MISSING
+                ? Optional.empty()
+                : Optional.of(store.read(offset, BinaryCodec::readSubTask));
+    }
+
+    @Override
+    public synchronized boolean insert(SubTask subTask) {
+        if (primary.get(subTask.getId(), RECORD, DiskStore.MISSING) != DiskStore.MISSING) {
+            return false;
+        }
+        write(subTask);
+        return true;
+    }
+
+    @Override
+    public void save(SubTask subTask) {
+        synchronized (this) {
+            long previous = primary.get(subTask.getId(), RECORD, DiskStore.MISSING);
+            if (previous == DiskStore.MISSING) {
+                return;
+            }
+            write(subTask);
+            store.release(previous);
+        }
+        store.compactIfWasteful();
+    }
+
+    @Override
+    public Optional<SubTask> delete(Long subTaskId) {
+        Optional<SubTask> subTask;
+        synchronized (this) {
+            long offset = primary.get(subTaskId, RECORD, DiskStore.MISSING);
+            subTask = findById(subTaskId);
+            subTask.ifPresent(removed -> {
+                primary.remove(subTaskId, RECORD);
+                byParent.remove(removed.getParentTicketId(), subTaskId);
+                store.release(offset);
+            });
+        }
+        store.compactIfWasteful();
+        return subTask;
+    }
+
+    @Override
+    public void forEach(Consumer<SubTask> action) {
+        store.forEachRecord(this, primary, offset -> store.read(offset, BinaryCodec::readSubTask), subTask -> {
+            action.accept(subTask);
+            return true;
+        });
+    }
+
+    @Override
+    public synchronized List<SubTask> findByParent(Long parentTicketId) {
+        List<SubTask> subTasks = new ArrayList<>();
+        byParent.scan(parentTicketId, Long.MIN_VALUE, parentTicketId, Long.MAX_VALUE, (parentId, subTaskId, value) -> {
+            findById(subTaskId).ifPresent(subTasks::add);
+            return true;
+        });
+        return subTasks;
+    }
+
+    private void write(SubTask subTask) {
+        primary.put(subTask.getId(), RECORD, store.append(subTask, BinaryCodec::writeSubTask));
+        byParent.put(subTask.getParentTicketId(), subTask.getId(), subTask.getId());
+    }
+}
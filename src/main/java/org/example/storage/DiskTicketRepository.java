@@ -0,0 +1,129 @@
+package org.example.storage;
+
+import org.example.io.BinaryCodec;
+import org.example.model.Ticket;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+class DiskTicketRepository implements TicketRepository {
+    private static final long RECORD = DiskStore.RECORD;
+    private static final long UPDATED_AT = 1;
+
+    private final DiskStore store;
+    private final DiskSubTaskRepository subTasks;
+    private final BPlusTree primary;
+    private final BPlusTree byUpdatedAt;
+
+    DiskTicketRepository(DiskStore store, DiskSubTaskRepository subTasks) {
+        this.store = store;
+        this.subTasks = subTasks;
+        this.primary = store.tree(DiskStore.TICKETS);
+        this.byUpdatedAt = store.tree(DiskStore.TICKETS_BY_UPDATE);
+    }
+
+    @Override
+    public synchronized Optional<Ticket> findById(Long ticketId) {
+        long offset = primary.get(ticketId, RECORD, DiskStore.MISSING);
+        return offset == DiskStore.MISSING ? Optional.empty() : Optional.of(load(offset));
+    }
+
+    @Override
+    public synchronized boolean insert(Ticket ticket) {
+        if (primary.get(ticket.getId(), RECORD, DiskStore.MISSING) != DiskStore.MISSING) {
+            return false;
+        }
+        write(ticket);
+        return true;
+    }
+
+    @Override
+    public void save(Ticket ticket) {
+        synchronized (this) {
+            long previousUpdate = primary.get(ticket.getId(), UPDATED_AT, DiskStore.MISSING);
+            if (previousUpdate == DiskStore.MISSING) {
+                // Deleted or never inserted: a stale copy saved after a delete must not resurrect the ticket.
+                return;
+            }
+            long previous = primary.get(ticket.getId(), RECORD, DiskStore.MISSING);
+            byUpdatedAt.remove(previousUpdate, ticket.getId());
+            write(ticket);
+            store.release(previous);
+        }
+        store.compactIfWasteful();
+    }
+
+    @Override
+    public Optional<Ticket> delete(Long ticketId) {
+        Ticket ticket;
+        synchronized (this) {
+            long offset = primary.get(ticketId, RECORD, DiskStore.MISSING);
+            if (offset == DiskStore.MISSING) {
+                return Optional.empty();
+            }
+
+            ticket = load(offset);
+            byUpdatedAt.remove(primary.get(ticketId, UPDATED_AT, DiskStore.MISSING), ticketId);
+            primary.remove(ticketId, RECORD);
+            primary.remove(ticketId, UPDATED_AT);
+            store.release(offset);
+        }
+        store.compactIfWasteful();
+        return Optional.of(ticket);
+    }
+
+    @Override
+    public void forEach(Consumer<Ticket> action) {
+        store.forEachRecord(this, primary, this::load, ticket -> {
+            action.accept(ticket);
+            return true;
+        });
+    }
+
+    @Override
+    public void forEachWhile(Predicate<Ticket> action) {
+        store.forEachRecord(this, primary, this::load, action);
+    }
+
+    @Override
+    public synchronized List<Ticket> findUpdatedBetween(LocalDateTime from, LocalDateTime to, int limit) {
+        List<Long> ids = new ArrayList<>();
+        if (limit <= 0) {
+            return new ArrayList<>();
+        }
+        byUpdatedAt.scan(toMillis(from), Long.MIN_VALUE, toMillis(to) - 1, Long.MAX_VALUE, (millis, id, value) -> {
+            ids.add(id);
+            return ids.size() < limit;
+        });
+
+        List<Ticket> tickets = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            findById(id).ifPresent(tickets::add);
+        }
+        return tickets;
+    }
+
+    private void write(Ticket ticket) {
+        long offset = store.append(ticket, BinaryCodec::writeTicket);
+        long updatedAt = ticket.getUpdatedAtMillis();
+        primary.put(ticket.getId(), RECORD, offset);
+        primary.put(ticket.getId(), UPDATED_AT, updatedAt);
+        byUpdatedAt.put(updatedAt, ticket.getId(), ticket.getId());
+    }
+
+    private Ticket load(long offset) {
+        Ticket ticket = store.read(offset, BinaryCodec::readTicket);
+        ticket.setSubTasks(new ArrayList<>(subTasks.findByParent(ticket.getId())));
+        return ticket;
+    }
+
+    private static long toMillis(LocalDateTime time) {
+        // The same zone Ticket uses for its epoch-millis timestamps, so index keys match getUpdatedAtMillis().
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,251 @@
+package org.example.storage;
+
+import org.example.model.Sprint;
+import org.example.model.SubTask;
+import org.example.model.Ticket;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+public class ImageBackedStore {
+    private static final int WARMUP_BATCH = 1024;
+
+    private final StateImage image;
+    private final InMemoryTicketRepository tickets = new InMemoryTicketRepository();
+    private final InMemorySubTaskRepository subTasks = new InMemorySubTaskRepository();
+    private final InMemorySprintRepository sprints = new InMemorySprintRepository();
+    private final boolean[] attached;
+    private final CompletableFuture<Void> warm = new CompletableFuture<>();
+    private final TicketRepository ticketRepository = new ImageTicketRepository();
+    private final SubTaskRepository subTaskRepository = new ImageSubTaskRepository();
+    private int attachedCount;
+    private volatile int warmupCursor;
+    private volatile long warmupNanos;
+
+    private ImageBackedStore(StateImage image) {
+        this.image = image;
+        this.attached = new boolean[image.getTicketCount()];
+        for (Sprint sprint : image.readSprints()) {
+            sprints.insert(sprint);
+        }
+        image.reserveIds();
+        if (image.getTicketCount() == 0) {
+            warm.complete(null);
+        }
+    }
+
+    public static ImageBackedStore open(Path file) {
+        return new ImageBackedStore(StateImage.open(file));
+    }
+
+    public TicketRepository ticketRepository() {
+        return ticketRepository;
+    }
+
+    public SubTaskRepository subTaskRepository() {
+        return subTaskRepository;
+    }
+
+    public SprintRepository sprintRepository() {
+        return sprints;
+    }
+
+    public CompletableFuture<Void> startWarmup() {
+        Thread thread = new Thread(() -> {
+            try {
+                attachAll();
+            } catch (RuntimeException e) {
+                warm.completeExceptionally(e);
+            }
+        }, "state-image-warmup");
+        thread.setDaemon(true);
+        thread.start();
+        return warm;
+    }
+
+    public boolean isWarm() {
+        return warm.isDone();
+    }
+
+    public synchronized Map<String, Object> getStatistics() {
+        Map<String, Object> statistics = new HashMap<>();
+        statistics.put("imageFile", image.getFile().toString());
+        statistics.put("imageBytes", image.getSizeInBytes());
+        statistics.put("imageTickets", image.getTicketCount());
+        statistics.put("imageSubTasks", image.getSubTaskCount());
+        statistics.put("attachedTickets", attachedCount);
+        statistics.put("warm", warm.isDone());
+        statistics.put("warmupMillis", warmupNanos / 1_000_000);
+        return statistics;
+    }
+
+    void attachAll() {
+        long started = System.nanoTime();
+        // Batches keep the lock short so a request faulting in a single ticket never waits behind the whole image.
+        while (warmupCursor < attached.length) {
+            synchronized (this) {
+                int end = Math.min(attached.length, warmupCursor + WARMUP_BATCH);
+                for (int position = warmupCursor; position < end; position++) {
+                    attach(position);
+                }
+                warmupCursor = end;
+            }
+        }
+        if (!warm.isDone()) {
+            warmupNanos = System.nanoTime() - started;
+            warm.complete(null);
+        }
+    }
+
+    void ensureAttached(Long ticketId) {
+        if (ticketId == null || warmupCursor == attached.length) {
+            return;
+        }
+        int position = image.findTicket(ticketId);
+        if (position >= 0) {
+            synchronized (this) {
+                attach(position);
+            }
+        }
+    }
+
+    private void attach(int position) {
+        if (attached[position]) {
+            return;
+        }
+        Ticket ticket = image.readTicket(position);
+        for (SubTask subTask : ticket.getSubTasks()) {
+            subTasks.insert(subTask);
+        }
+        tickets.insert(ticket);
+        attached[position] = true;
+        attachedCount++;
+    }
+
+    private final class ImageTicketRepository implements TicketRepository {
+
+        @Override
+        public Optional<Ticket> findById(Long ticketId) {
+            Optional<Ticket> ticket = tickets.findById(ticketId);
+            if (ticket.isPresent()) {
+                return ticket;
+            }
+            ensureAttached(ticketId);
+            return tickets.findById(ticketId);
+        }
+
+        @Override
+        public Ticket findOrNull(Long ticketId) {
+            Ticket ticket = tickets.findOrNull(ticketId);
+            if (ticket != null) {
+                return ticket;
+            }
+            ensureAttached(ticketId);
+            return tickets.findOrNull(ticketId);
+        }
+
+        @Override
+        public boolean insert(Ticket ticket) {
+            ensureAttached(ticket.getId());
+            return tickets.insert(ticket);
+        }
+
+        @Override
+        public void save(Ticket ticket) {
+            tickets.save(ticket);
+        }
+
+        @Override
+        public Optional<Ticket> delete(Long ticketId) {
+            ensureAttached(ticketId);
+            return tickets.delete(ticketId);
+        }
+
+        @Override
+        public void forEach(Consumer<Ticket> action) {
+            attachAll();
+            tickets.forEach(action);
+        }
+
+        @Override
+        public void forEachWhile(Predicate<Ticket> action) {
+            attachAll();
+            tickets.forEachWhile(action);
+        }
+
+        @Override
+        public List<Ticket> findUpdatedBetween(LocalDateTime from, LocalDateTime to, int limit) {
+            attachAll();
+            return tickets.findUpdatedBetween(from, to, limit);
+        }
+    }
+
+    private final class ImageSubTaskRepository implements SubTaskRepository {
+
+        @Override
+        public Optional<SubTask> findById(Long subTaskId) {
+            Optional<SubTask> subTask = subTasks.findById(subTaskId);
+            if (subTask.isPresent()) {
+                return subTask;
+            }
+            attachParentOf(subTaskId);
+            return subTasks.findById(subTaskId);
+        }
+
+        @Override
+        public SubTask findOrNull(Long subTaskId) {
+            SubTask subTask = subTasks.findOrNull(subTaskId);
+            if (subTask != null) {
+                return subTask;
+            }
+            attachParentOf(subTaskId);
+            return subTasks.findOrNull(subTaskId);
+        }
+
+        @Override
+        public boolean insert(SubTask subTask) {
+            ensureAttached(subTask.getParentTicketId());
+            return subTasks.insert(subTask);
+        }
+
+        @Override
+        public void save(SubTask subTask) {
+            subTasks.save(subTask);
+        }
+
+        @Override
+        public Optional<SubTask> delete(Long subTaskId) {
+            attachParentOf(subTaskId);
+            return subTasks.delete(subTaskId);
+        }
+
+        @Override
+        public void forEach(Consumer<SubTask> action) {
+            attachAll();
+            subTasks.forEach(action);
+        }
+
+        @Override
+        public List<SubTask> findByParent(Long parentTicketId) {
+            ensureAttached(parentTicketId);
+            return subTasks.findByParent(parentTicketId);
+        }
+
+        private void attachParentOf(Long subTaskId) {
+            if (warmupCursor == attached.length) {
+                return;
+            }
+            long parentTicketId = image.findSubTaskParent(subTaskId);
+            if (parentTicketId >= 0) {
+                ensureAttached(parentTicketId);
+            }
+        }
+    }
+}
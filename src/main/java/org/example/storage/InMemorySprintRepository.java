@@ -0,0 +1,38 @@
+package org.example.storage;
+
+import org.example.model.Sprint;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class InMemorySprintRepository implements SprintRepository {
+    private final Map<Long, Sprint> sprints = new ConcurrentHashMap<>();
+
+    @Override
+    public Optional<Sprint> findById(Long sprintId) {
+        return Optional.ofNullable(sprints.get(sprintId));
+    }
+
+    @Override
+    public boolean insert(Sprint sprint) {
+        return sprints.putIfAbsent(sprint.getId(), sprint) == null;
+    }
+
+    @Override
+    public void save(Sprint sprint) {
+        sprints.replace(sprint.getId(), sprint);
+    }
+
+    @Override
+    public Optional<Sprint> delete(Long sprintId) {
+        return Optional.ofNullable(sprints.remove(sprintId));
+    }
+
+    @Override
+    public List<Sprint> findAll() {
+        return new ArrayList<>(sprints.values());
+    }
+}
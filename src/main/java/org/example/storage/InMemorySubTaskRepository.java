@@ -0,0 +1,90 @@
+package org.example.storage;
+
+import org.example.model.SubTask;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+public class InMemorySubTaskRepository implements SubTaskRepository {
+    private static final long[] NO_IDS = new long[0];
+
+    private final Map<Long, SubTask> subTasks = new ConcurrentHashMap<>();
+    // Copy-on-write id arrays: a parent has a handful of sub-tasks, and a per-parent concurrent set cost ~200 bytes.
+    private final Map<Long, long[]> subTaskIdsByParent = new ConcurrentHashMap<>();
+
+    @Override
+    public Optional<SubTask> findById(Long subTaskId) {
+        return Optional.ofNullable(subTasks.get(subTaskId));
+    }
+
+    @Override
+    public SubTask findOrNull(Long subTaskId) {
+        return subTasks.get(subTaskId);
+    }
+
+    @Override
+    public boolean insert(SubTask subTask) {
+        if (subTasks.putIfAbsent(subTask.getId(), subTask) != null) {
+            return false;
+        }
+        subTaskIdsByParent.merge(subTask.getParentTicketId(), new long[]{subTask.getId()},
+                InMemorySubTaskRepository::append);
+        return true;
+    }
+
+    @Override
+    public void save(SubTask subTask) {
+        subTasks.replace(subTask.getId(), subTask);
+    }
+
+    @Override
+    public Optional<SubTask> delete(Long subTaskId) {
+        SubTask removed = subTasks.remove(subTaskId);
+        if (removed != null) {
+            subTaskIdsByParent.computeIfPresent(removed.getParentTicketId(), (parentId, ids) -> without(ids, subTaskId));
+        }
+        return Optional.ofNullable(removed);
+    }
+
+    @Override
+    public void forEach(Consumer<SubTask> action) {
+        subTasks.values().forEach(action);
+    }
+
+    @Override
+    public List<SubTask> findByParent(Long parentTicketId) {
+        long[] ids = subTaskIdsByParent.getOrDefault(parentTicketId, NO_IDS);
+        List<SubTask> result = new ArrayList<>(ids.length);
+        for (long id : ids) {
+            SubTask subTask = subTasks.get(id);
+            if (subTask != null) {
+                result.add(subTask);
+            }
+        }
+        return result;
+    }
+
+    private static long[] append(long[] ids, long[] added) {
+        long[] merged = Arrays.copyOf(ids, ids.length + added.length);
+        System.arraycopy(added, 0, merged, ids.length, added.length);
+        return merged;
+    }
+
+    private static long[] without(long[] ids, long removedId) {
+        int index = 0;
+        while (index < ids.length && ids[index] != removedId) {
+            index++;
+        }
+        if (index == ids.length) {
+            return ids;
+        }
+        if (ids.length == 1) {
+            return null;
+        }
+        long[] remaining = new long[ids.length - 1];
+        System.arraycopy(ids, 0, remaining, 0, index);
+        System.arraycopy(ids, index + 1, remaining, index, remaining.length - index);
+        return remaining;
+    }
+}
@@ -0,0 +1,66 @@
+package org.example.storage;
+
+import org.example.model.Ticket;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+public class InMemoryTicketRepository implements TicketRepository {
+    private final Map<Long, Ticket> tickets = new ConcurrentHashMap<>();
+
+    @Override
+    public Optional<Ticket> findById(Long ticketId) {
+        return Optional.ofNullable(tickets.get(ticketId));
+    }
+
+    @Override
+    public Ticket findOrNull(Long ticketId) {
+        return tickets.get(ticketId);
+    }
+
+    @Override
+    public boolean insert(Ticket ticket) {
+        if (tickets.putIfAbsent(ticket.getId(), ticket) != null) {
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    public void save(Ticket ticket) {
+        // Only existing entries are replaced, so a save racing a delete cannot bring the ticket back.
+        tickets.replace(ticket.getId(), ticket);
+    }
+
+    @Override
+    public Optional<Ticket> delete(Long ticketId) {
+        return Optional.ofNullable(tickets.remove(ticketId));
+    }
+
+    @Override
+    public void forEach(Consumer<Ticket> action) {
+        tickets.values().forEach(action);
+    }
+
+    @Override
+    public void forEachWhile(Predicate<Ticket> action) {
+        for (Ticket ticket : tickets.values()) {
+            if (!action.test(ticket)) {
+                return;
+            }
+        }
+    }
+
+    @Override
+    public List<Ticket> findUpdatedBetween(LocalDateTime from, LocalDateTime to, int limit) {
+        return tickets.values().stream()
+                .filter(ticket -> !ticket.getUpdatedAt().isBefore(from) && ticket.getUpdatedAt().isBefore(to))
+                .sorted(Comparator.comparing(Ticket::getUpdatedAt).thenComparing(Ticket::getId))
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,124 @@
+package org.example.storage;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+public class RecordHeap implements AutoCloseable {
+    private final Path file;
+    private volatile FileChannel channel;
+    private long end;
+    // Bytes of records that were superseded or deleted since the file was opened; garbage left by an earlier session
+    // is only counted again once a compaction rewrites the file.
+    private long garbage;
+
+    public RecordHeap(Path file) {
+        this.file = file;
+        this.channel = open(file);
+        try {
+            this.end = channel.size();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open record file " + file, e);
+        }
+    }
+
+    public synchronized long append(byte[] record) {
+        long offset = end;
+        ByteBuffer buffer = ByteBuffer.allocate(4 + record.length);
+        buffer.putInt(record.length).put(record).flip();
+        try {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer, offset + buffer.position());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot append record at " + offset, e);
+        }
+        end += buffer.limit();
+        return offset;
+    }
+
+    public byte[] read(long offset) {
+        try {
+            ByteBuffer length = ByteBuffer.allocate(4);
+            readFully(length, offset);
+            ByteBuffer record = ByteBuffer.allocate(length.flip().getInt());
+            readFully(record, offset + 4);
+            return record.array();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read record at " + offset, e);
+        }
+    }
+
+    public synchronized void release(long offset) {
+        try {
+            ByteBuffer length = ByteBuffer.allocate(4);
+            readFully(length, offset);
+            garbage += 4 + length.flip().getInt();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read record at " + offset, e);
+        }
+    }
+
+    public synchronized long size() {
+        return end;
+    }
+
+    public synchronized long garbage() {
+        return garbage;
+    }
+
+    public synchronized void replaceWith(Path compacted) {
+        // The caller has copied every live record into the compacted file and re-pointed the index at it.
+        try {
+            channel.close();
+            Files.move(compacted, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot replace record file " + file, e);
+        }
+        channel = open(file);
+        try {
+            end = channel.size();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open record file " + file, e);
+        }
+        garbage = 0;
+    }
+
+    public void flush() {
+        try {
+            channel.force(false);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot sync record file", e);
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot close record file", e);
+        }
+    }
+
+    private static FileChannel open(Path file) {
+        try {
+            return FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open record file " + file, e);
+        }
+    }
+
+    private void readFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of record file at " + position);
+            }
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package org.example.storage;
+
+import org.example.model.Sprint;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface SprintRepository {
+
+    Optional<Sprint> findById(Long sprintId);
+
+    boolean insert(Sprint sprint);
+
+    void save(Sprint sprint);
+
+    Optional<Sprint> delete(Long sprintId);
+
+    List<Sprint> findAll();
+}
@@ -0,0 +1,276 @@
+package org.example.storage;
+
+import org.example.io.BinaryCodec;
+import org.example.model.Sprint;
+import org.example.model.SubTask;
+import org.example.model.Ticket;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+public final class StateImage {
+    private static final int MAGIC = 0x4A494D47;
+    private static final int VERSION = 2;
+    private static final int HEADER_BYTES = 64;
+    private static final int TICKET_ENTRY_BYTES = 16;
+    private static final int SUBTASK_ENTRY_BYTES = 24;
+
+    private final Path file;
+    private final MappedByteBuffer buffer;
+    private final int ticketCount;
+    private final int subTaskCount;
+    private final int sprintCount;
+    private final int ticketIndex;
+    private final int subTaskIndex;
+    private final int sprintSection;
+    private final long writtenAtMillis;
+
+    private StateImage(Path file, MappedByteBuffer buffer) {
+        this.file = file;
+        this.buffer = buffer;
+        if (buffer.capacity() < HEADER_BYTES || buffer.getInt(0) != MAGIC) {
+            throw new IllegalArgumentException("Not a state image: " + file);
+        }
+        if (buffer.getInt(4) != VERSION) {
+            throw new IllegalArgumentException("Unsupported state image version " + buffer.getInt(4) + " in " + file);
+        }
+        this.ticketCount = buffer.getInt(8);
+        this.subTaskCount = buffer.getInt(12);
+        this.sprintCount = buffer.getInt(16);
+        this.ticketIndex = (int) buffer.getLong(24);
+        this.subTaskIndex = (int) buffer.getLong(32);
+        this.sprintSection = (int) buffer.getLong(40);
+        this.writtenAtMillis = buffer.getLong(48);
+    }
+
+    public static StateImage open(Path file) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IllegalStateException("State image larger than 2 GB cannot be mapped: " + file);
+            }
+            // The mapping stays valid after the channel closes; pages are only read in when a record is touched.
+            return new StateImage(file, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot map state image " + file, e);
+        }
+    }
+
+    public static void write(Path file, List<Ticket> tickets, List<Sprint> sprints) {
+        List<Ticket> sortedTickets = new ArrayList<>(tickets);
+        sortedTickets.sort(Comparator.comparing(Ticket::getId));
+        long[] ticketEntries = new long[sortedTickets.size() * 2];
+        List<long[]> subTaskEntries = new ArrayList<>();
+
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary), 1 << 16))) {
+            out.write(new byte[HEADER_BYTES]);
+
+            // Each ticket is followed by its sub-tasks so attaching a ticket touches a single contiguous range.
+            for (int i = 0; i < sortedTickets.size(); i++) {
+                Ticket ticket = sortedTickets.get(i);
+                ticketEntries[i * 2] = ticket.getId();
+                ticketEntries[i * 2 + 1] = out.size();
+                writeRecord(out, ticket, BinaryCodec::writeTicket);
+                List<SubTask> subTasks = ticket.getSubTasks();
+                out.writeInt(subTasks.size());
+                for (SubTask subTask : subTasks) {
+                    subTaskEntries.add(new long[]{subTask.getId(), ticket.getId(), out.size()});
+                    writeRecord(out, subTask, BinaryCodec::writeSubTask);
+                }
+            }
+
+            int ticketIndex = out.size();
+            for (long entry : ticketEntries) {
+                out.writeLong(entry);
+            }
+            int subTaskIndex = out.size();
+            subTaskEntries.sort(Comparator.comparingLong(entry -> entry[0]));
+            for (long[] entry : subTaskEntries) {
+                out.writeLong(entry[0]);
+                out.writeLong(entry[1]);
+                out.writeLong(entry[2]);
+            }
+            int sprintSection = out.size();
+            for (Sprint sprint : sprints) {
+                writeRecord(out, sprint, BinaryCodec::writeSprint);
+            }
+            if (out.size() < 0) {
+                throw new IllegalStateException("State image exceeds 2 GB");
+            }
+            out.flush();
+
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+                ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+                header.putInt(MAGIC).putInt(VERSION)
+                        .putInt(sortedTickets.size()).putInt(subTaskEntries.size()).putInt(sprints.size()).putInt(0)
+                        .putLong(ticketIndex).putLong(subTaskIndex).putLong(sprintSection)
+                        .putLong(System.currentTimeMillis());
+                header.rewind();
+                channel.write(header, 0);
+                channel.force(true);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write state image " + file, e);
+        }
+
+        try {
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot publish state image " + file, e);
+        }
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public int getTicketCount() {
+        return ticketCount;
+    }
+
+    public int getSubTaskCount() {
+        return subTaskCount;
+    }
+
+    public long getWrittenAtMillis() {
+        return writtenAtMillis;
+    }
+
+    public long getSizeInBytes() {
+        return buffer.capacity();
+    }
+
+    int findTicket(long ticketId) {
+        int low = 0;
+        int high = ticketCount - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            long id = ticketIdAt(middle);
+            if (id < ticketId) {
+                low = middle + 1;
+            } else if (id > ticketId) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -1;
+    }
+
+    long ticketIdAt(int position) {
+        return buffer.getLong(ticketIndex + position * TICKET_ENTRY_BYTES);
+    }
+
+    long findSubTaskParent(long subTaskId) {
+        int position = findSubTask(subTaskId);
+        return position < 0 ? -1 : buffer.getLong(subTaskIndex + position * SUBTASK_ENTRY_BYTES + 8);
+    }
+
+    Ticket readTicket(int position) {
+        int offset = (int) buffer.getLong(ticketIndex + position * TICKET_ENTRY_BYTES + 8);
+        Ticket ticket = read(offset, BinaryCodec::readTicket);
+        offset += 4 + buffer.getInt(offset);
+        int subTaskCount = buffer.getInt(offset);
+        offset += 4;
+        List<SubTask> subTasks = new ArrayList<>(subTaskCount);
+        for (int i = 0; i < subTaskCount; i++) {
+            subTasks.add(read(offset, BinaryCodec::readSubTask));
+            offset += 4 + buffer.getInt(offset);
+        }
+        ticket.setSubTasks(subTasks);
+        return ticket;
+    }
+
+    List<Sprint> readSprints() {
+        List<Sprint> sprints = new ArrayList<>(sprintCount);
+        int offset = sprintSection;
+        for (int i = 0; i < sprintCount; i++) {
+            sprints.add(read(offset, BinaryCodec::readSprint));
+            offset += 4 + buffer.getInt(offset);
+        }
+        return sprints;
+    }
+
+    void reserveIds() {
+        // Decoding the newest record of each kind runs its restore constructor, which bumps the id counter, so
+        // tickets created before warm-up finishes cannot collide with ones still waiting in the image.
+        if (ticketCount > 0) {
+            readTicket(ticketCount - 1);
+        }
+        if (subTaskCount > 0) {
+            read((int) buffer.getLong(subTaskIndex + (subTaskCount - 1) * SUBTASK_ENTRY_BYTES + 16), BinaryCodec::readSubTask);
+        }
+    }
+
+    private int findSubTask(long subTaskId) {
+        int low = 0;
+        int high = subTaskCount - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            long id = buffer.getLong(subTaskIndex + middle * SUBTASK_ENTRY_BYTES);
+            if (id < subTaskId) {
+                low = middle + 1;
+            } else if (id > subTaskId) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -1;
+    }
+
+    private <T> T read(int offset, DiskStore.Reader<T> reader) {
+        int length = buffer.getInt(offset);
+        ByteBuffer record = buffer.duplicate().position(offset + 4).limit(offset + 4 + length);
+        try {
+            return reader.read(new DataInputStream(new BufferInputStream(record)));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot decode state image record at " + offset, e);
+        }
+    }
+
+    private static <T> void writeRecord(DataOutputStream out, T value, DiskStore.Writer<T> writer) throws IOException {
+        ByteArrayOutputStream record = new ByteArrayOutputStream(256);
+        writer.write(new DataOutputStream(record), value);
+        out.writeInt(record.size());
+        record.writeTo(out);
+    }
+
+    private static final class BufferInputStream extends InputStream {
+        private final ByteBuffer buffer;
+
+        BufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] bytes, int offset, int length) {
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int count = Math.min(length, buffer.remaining());
+            buffer.get(bytes, offset, count);
+            return count;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package org.example.storage;
+
+import org.example.model.SubTask;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+public interface SubTaskRepository {
+
+    Optional<SubTask> findById(Long subTaskId);
+
+    boolean insert(SubTask subTask);
+
+    void save(SubTask subTask);
+
+    Optional<SubTask> delete(Long subTaskId);
+
+    void forEach(Consumer<SubTask> action);
+
+    List<SubTask> findByParent(Long parentTicketId);
+
+    default SubTask findOrNull(Long subTaskId) {
+        return findById(subTaskId).orElse(null);
+    }
+
+    default List<SubTask> findAll() {
+        List<SubTask> subTasks = new ArrayList<>();
+        forEach(subTasks::add);
+        return subTasks;
+    }
+}
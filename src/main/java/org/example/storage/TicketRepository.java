@@ -0,0 +1,37 @@
+package org.example.storage;
+
+import org.example.model.Ticket;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+public interface TicketRepository {
+
+    Optional<Ticket> findById(Long ticketId);
+
+    boolean insert(Ticket ticket);
+
+    void save(Ticket ticket);
+
+    Optional<Ticket> delete(Long ticketId);
+
+    void forEach(Consumer<Ticket> action);
+
+    void forEachWhile(Predicate<Ticket> action);
+
+    List<Ticket> findUpdatedBetween(LocalDateTime from, LocalDateTime to, int limit);
+
+    default Ticket findOrNull(Long ticketId) {
+        return findById(ticketId).orElse(null);
+    }
+
+    default List<Ticket> findAll() {
+        List<Ticket> tickets = new ArrayList<>();
+        forEach(tickets::add);
+        return tickets;
+    }
+}
@@ -0,0 +1,44 @@
+package org.example.util;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+public class CoarseEpochClock implements EpochClock, AutoCloseable {
+    private final EpochClock source;
+    private final ScheduledExecutorService ticker;
+    private volatile long epochNanos;
+
+    public CoarseEpochClock(long resolutionMillis) {
+        this(EpochClock.system(), resolutionMillis);
+    }
+
+    public CoarseEpochClock(EpochClock source, long resolutionMillis) {
+        if (resolutionMillis <= 0) {
+            throw new IllegalArgumentException("Clock resolution must be positive: " + resolutionMillis);
+        }
+        this.source = source;
+        this.epochNanos = source.epochNanos();
+        this.ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "coarse-epoch-clock");
+            thread.setDaemon(true);
+            return thread;
+        });
+        ticker.scheduleAtFixedRate(this::tick, resolutionMillis, resolutionMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public long epochNanos() {
+        // A volatile read of the last tick; readers trade up to one resolution of accuracy for never touching the OS clock.
+        return epochNanos;
+    }
+
+    @Override
+    public void close() {
+        ticker.shutdownNow();
+    }
+
+    private void tick() {
+        epochNanos = Math.max(epochNanos, source.epochNanos());
+    }
+}
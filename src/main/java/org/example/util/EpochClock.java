@@ -0,0 +1,49 @@
+package org.example.util;
+
+public interface EpochClock {
+
+    long epochNanos();
+
+    default long epochMillis() {
+        return epochNanos() / 1_000_000L;
+    }
+
+    static EpochClock system() {
+        return SystemEpochClock.INSTANCE;
+    }
+
+    final class SystemEpochClock implements EpochClock {
+        private static final SystemEpochClock INSTANCE = new SystemEpochClock();
+
+        private static final long REANCHOR_INTERVAL_NANOS = 1_000_000_000L;
+
+        // nanoTime anchored to the wall clock gives nanosecond epoch readings without allocating an Instant. The two
+        // clocks drift apart and the wall clock is stepped by NTP, so the anchor is re-read once a second.
+        private volatile long offsetNanos;
+        private volatile long anchoredAtNanos;
+
+        private SystemEpochClock() {
+            reanchor(System.nanoTime());
+        }
+
+        @Override
+        public long epochNanos() {
+            long now = System.nanoTime();
+            if (now - anchoredAtNanos >= REANCHOR_INTERVAL_NANOS) {
+                reanchor(now);
+            }
+            return offsetNanos + now;
+        }
+
+        @Override
+        public long epochMillis() {
+            // Millisecond timestamps are what gets stored and compared with LocalDateTime.now(), so they follow the wall clock.
+            return System.currentTimeMillis();
+        }
+
+        private void reanchor(long nowNanos) {
+            offsetNanos = System.currentTimeMillis() * 1_000_000L - nowNanos;
+            anchoredAtNanos = nowNanos;
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package org.example.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class HierarchicalTimingWheel {
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final int LEVELS = 6;
+
+    private final long tickMillis;
+    private final Timer[][] heads = new Timer[LEVELS][SLOTS];
+    private long currentTick;
+    private int pending;
+
+    public HierarchicalTimingWheel(long tickMillis, long startMillis) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("Tick must be positive: " + tickMillis);
+        }
+        this.tickMillis = tickMillis;
+        this.currentTick = startMillis / tickMillis;
+    }
+
+    public synchronized Timer schedule(long deadlineMillis, Runnable task) {
+        Timer timer = new Timer(this, Math.max(ceilTick(deadlineMillis), currentTick + 1), task);
+        insert(timer);
+        pending++;
+        return timer;
+    }
+
+    public void advanceTo(long nowMillis) {
+        List<Timer> expired = new ArrayList<>();
+        synchronized (this) {
+            long targetTick = nowMillis / tickMillis;
+            while (currentTick < targetTick) {
+                currentTick++;
+                cascade();
+                collect(expired);
+            }
+        }
+        for (Timer timer : expired) {
+            timer.task.run();
+        }
+    }
+
+    public synchronized int pendingTimers() {
+        return pending;
+    }
+
+    private void cascade() {
+        for (int level = 1; level < LEVELS; level++) {
+            if ((currentTick & ((1L << (SLOT_BITS * level)) - 1)) != 0) {
+                return;
+            }
+            int slot = (int) ((currentTick >>> (SLOT_BITS * level)) & SLOT_MASK);
+            Timer timer = heads[level][slot];
+            heads[level][slot] = null;
+            while (timer != null) {
+                Timer next = timer.next;
+                timer.prev = null;
+                timer.next = null;
+                insert(timer);
+                timer = next;
+            }
+        }
+    }
+
+    private void collect(List<Timer> expired) {
+        int slot = (int) (currentTick & SLOT_MASK);
+        Timer timer = heads[0][slot];
+        heads[0][slot] = null;
+        while (timer != null) {
+            Timer next = timer.next;
+            timer.prev = null;
+            timer.next = null;
+            timer.level = -1;
+            timer.done = true;
+            pending--;
+            expired.add(timer);
+            timer = next;
+        }
+    }
+
+    private void insert(Timer timer) {
+        long delta = timer.deadlineTick - currentTick;
+        int level = 0;
+        while (level < LEVELS - 1 && delta >= (1L << (SLOT_BITS * (level + 1)))) {
+            level++;
+        }
+        long tick = level == LEVELS - 1 && delta >= (1L << (SLOT_BITS * LEVELS))
+                ? currentTick + (1L << (SLOT_BITS * LEVELS)) - 1
+                : timer.deadlineTick;
+        int slot = (int) ((tick >>> (SLOT_BITS * level)) & SLOT_MASK);
+
+        timer.level = level;
+        timer.slot = slot;
+        timer.next = heads[level][slot];
+        if (timer.next != null) {
+            timer.next.prev = timer;
+        }
+        heads[level][slot] = timer;
+    }
+
+    private synchronized boolean cancel(Timer timer) {
+        if (timer.done) {
+            return false;
+        }
+        if (timer.prev != null) {
+            timer.prev.next = timer.next;
+        } else {
+            heads[timer.level][timer.slot] = timer.next;
+        }
+        if (timer.next != null) {
+            timer.next.prev = timer.prev;
+        }
+        timer.prev = null;
+        timer.next = null;
+        timer.done = true;
+        pending--;
+        return true;
+    }
+
+    private long ceilTick(long millis) {
+        return (millis + tickMillis - 1) / tickMillis;
+    }
+
+    public static final class Timer {
+        private final HierarchicalTimingWheel wheel;
+        private final long deadlineTick;
+        private final Runnable task;
+        private Timer prev;
+        private Timer next;
+        private int level;
+        private int slot;
+        private boolean done;
+
+        private Timer(HierarchicalTimingWheel wheel, long deadlineTick, Runnable task) {
+            this.wheel = wheel;
+            this.deadlineTick = deadlineTick;
+            this.task = task;
+        }
+
+        public boolean cancel() {
+            return wheel.cancel(this);
+        }
+    }
+}
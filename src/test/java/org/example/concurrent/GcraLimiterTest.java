@@ -0,0 +1,41 @@
+package org.example.concurrent;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GcraLimiterTest {
+    private static final long MILLIS = 1_000_000L;
+    private static final int BURST = 3;
+
+    private final GcraLimiter<String> limiter = new GcraLimiter<>(1_000, BURST, 16);
+
+    @Test
+    void allowsTheBurstThenOnePerInterval() {
+        long now = 5 * MILLIS;
+        assertEquals(BURST, acquireAll(now));
+        assertTrue(limiter.tryAcquire("client", now + MILLIS));
+        assertFalse(limiter.tryAcquire("client", now + MILLIS));
+    }
+
+    @Test
+    void nanoTimeWrappingAroundDoesNotLiftTheLimit() {
+        long beforeWrap = Long.MAX_VALUE - 20 * MILLIS;
+        assertEquals(BURST, acquireAll(beforeWrap));
+
+        // Thirty milliseconds later the clock reads negative while the stored arrival time is still near MAX_VALUE.
+        long afterWrap = beforeWrap + 30 * MILLIS;
+        assertTrue(afterWrap < 0);
+        assertEquals(BURST, acquireAll(afterWrap));
+    }
+
+    private int acquireAll(long nowNanos) {
+        int granted = 0;
+        while (granted <= BURST && limiter.tryAcquire("client", nowNanos)) {
+            granted++;
+        }
+        return granted;
+    }
+}
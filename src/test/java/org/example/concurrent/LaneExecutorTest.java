@@ -0,0 +1,79 @@
+package org.example.concurrent;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LaneExecutorTest {
+
+    @Test
+    void rejectedCrossLaneTaskDoesNotParkItsLanes() throws Exception {
+        AtomicBoolean rejecting = new AtomicBoolean(true);
+        Executor executor = task -> {
+            if (rejecting.get()) {
+                throw new RejectedExecutionException("saturated");
+            }
+            task.run();
+        };
+        LaneExecutor lanes = new LaneExecutor(2, executor);
+        long first = keyOnLane(lanes, 0);
+        long second = keyOnLane(lanes, 1);
+
+        CompletableFuture<String> rejected = lanes.submitAcross(new long[]{first, second}, () -> "ran");
+        assertTrue(rejected.isCompletedExceptionally());
+        assertEquals(0, lanes.getQueuedTaskCount());
+
+        rejecting.set(false);
+        assertEquals("first", lanes.submit(first, () -> "first").get());
+        assertEquals("second", lanes.submit(second, () -> "second").get());
+        assertEquals("both", lanes.submitAcross(new long[]{first, second}, () -> "both").get());
+    }
+
+    @Test
+    void rejectedResumeFailsWhatTheParkedLaneStillHolds() throws Exception {
+        AtomicBoolean rejecting = new AtomicBoolean();
+        Queue<Runnable> pumped = new ArrayDeque<>();
+        Executor executor = task -> {
+            if (rejecting.get()) {
+                throw new RejectedExecutionException("saturated");
+            }
+            pumped.add(task);
+        };
+        LaneExecutor lanes = new LaneExecutor(2, executor);
+        long first = keyOnLane(lanes, 0);
+        long second = keyOnLane(lanes, 1);
+
+        CompletableFuture<String> across = lanes.submitAcross(new long[]{first, second}, () -> "both");
+        CompletableFuture<String> queuedBehind = lanes.submit(first, () -> "behind");
+        pumped.poll().run();
+        // The second lane arrives at the gate, runs the task and then cannot hand either lane back to the executor.
+        rejecting.set(true);
+        pumped.poll().run();
+
+        assertEquals("both", across.get());
+        assertTrue(queuedBehind.isCompletedExceptionally());
+        assertEquals(0, lanes.getQueuedTaskCount());
+
+        rejecting.set(false);
+        CompletableFuture<String> later = lanes.submit(first, () -> "later");
+        pumped.poll().run();
+        assertEquals("later", later.get());
+        assertTrue(pumped.isEmpty());
+    }
+
+    private static long keyOnLane(LaneExecutor lanes, int lane) {
+        long key = 0;
+        while (lanes.laneOf(key) != lane) {
+            key++;
+        }
+        return key;
+    }
+}
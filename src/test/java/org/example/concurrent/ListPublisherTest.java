@@ -0,0 +1,105 @@
+package org.example.concurrent;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ListPublisherTest {
+    private final Queue<Runnable> pumped = new ArrayDeque<>();
+    private final AtomicBoolean rejecting = new AtomicBoolean();
+    private final Executor executor = task -> {
+        if (rejecting.get()) {
+            throw new RejectedExecutionException("saturated");
+        }
+        pumped.add(task);
+    };
+    private final Recorder recorder = new Recorder();
+
+    @Test
+    void nonPositiveDemandIsSignalledFromTheDrainNotTheCaller() {
+        new ListPublisher<>(() -> List.of(1, 2, 3), executor).subscribe(recorder);
+        recorder.subscription.request(1);
+        recorder.subscription.request(0);
+        assertNull(recorder.error);
+
+        pump();
+        assertTrue(recorder.items.isEmpty());
+        assertInstanceOf(IllegalArgumentException.class, recorder.error);
+        assertFalse(recorder.completed);
+    }
+
+    @Test
+    void nonPositiveDemandWakesAnIdleSubscription() {
+        new ListPublisher<>(() -> List.of(1, 2, 3), executor).subscribe(recorder);
+        recorder.subscription.request(1);
+        pump();
+        recorder.subscription.request(-1);
+        pump();
+
+        assertEquals(List.of(1), recorder.items);
+        assertInstanceOf(IllegalArgumentException.class, recorder.error);
+    }
+
+    @Test
+    void rejectedDrainSignalsErrorInsteadOfStallingTheSubscription() {
+        new ListPublisher<>(() -> List.of(1, 2, 3), executor).subscribe(recorder);
+        rejecting.set(true);
+        recorder.subscription.request(1);
+
+        assertInstanceOf(RejectedExecutionException.class, recorder.error);
+        rejecting.set(false);
+        recorder.subscription.request(5);
+        pump();
+        assertTrue(recorder.items.isEmpty());
+        assertEquals(1, recorder.errors);
+    }
+
+    private void pump() {
+        Runnable task;
+        while ((task = pumped.poll()) != null) {
+            task.run();
+        }
+    }
+
+    private static final class Recorder implements Flow.Subscriber<Integer> {
+        private final List<Integer> items = new ArrayList<>();
+        private Flow.Subscription subscription;
+        private Throwable error;
+        private int errors;
+        private boolean completed;
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(Integer item) {
+            items.add(item);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            error = throwable;
+            errors++;
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+        }
+    }
+}
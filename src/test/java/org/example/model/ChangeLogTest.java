@@ -0,0 +1,64 @@
+package org.example.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ChangeLogTest {
+    private static final long MISSING = -1;
+
+    @Test
+    void answersEveryInstantBetweenRetainedChanges() {
+        ChangeLog log = new ChangeLog(1024);
+        for (int i = 0; i < 100; i++) {
+            log.append(1_000 + i * 10L, i);
+        }
+
+        assertEquals(MISSING, log.valueAt(999, MISSING));
+        assertEquals(0, log.valueAt(1_000, MISSING));
+        assertEquals(0, log.valueAt(1_009, MISSING));
+        assertEquals(37, log.valueAt(1_370, MISSING));
+        assertEquals(99, log.valueAt(Long.MAX_VALUE, MISSING));
+        assertEquals(1_420, log.lastTimeOf(42));
+        assertEquals(Long.MIN_VALUE, log.retainedSince());
+    }
+
+    @Test
+    void keepsLongValuesAndGapsBeyondIntRange() {
+        ChangeLog log = new ChangeLog(16);
+        long largeId = 5_000_000_000L;
+        log.append(0, largeId);
+        log.append(3_000_000_000L, largeId + 1);
+        // A clock stepping back is clamped to the last time rather than reordering the log.
+        log.append(2_000_000_000L, 7);
+
+        assertEquals(largeId, log.valueAt(2_999_999_999L, MISSING));
+        assertEquals(7, log.valueAt(3_000_000_000L, MISSING));
+        assertEquals(3_000_000_000L, log.lastTimeOf(largeId + 1));
+        assertEquals(7, log.lastValue(MISSING));
+    }
+
+    @Test
+    void dropsTheOldestHalfWhenFullAndReportsWhereHistoryStarts() {
+        ChangeLog log = new ChangeLog(8);
+        for (int i = 0; i < 8; i++) {
+            log.append(100 + i, i);
+        }
+        log.append(108, 8);
+
+        assertEquals(5, log.size());
+        assertEquals(104, log.retainedSince());
+        assertEquals(MISSING, log.valueAt(103, MISSING));
+        assertEquals(4, log.valueAt(104, MISSING));
+        assertEquals(8, log.valueAt(200, MISSING));
+        assertEquals(Long.MIN_VALUE, log.lastTimeOf(3));
+
+        for (int i = 9; i < 40; i++) {
+            log.append(100 + i, i);
+        }
+        long since = log.retainedSince();
+        assertEquals(139 - since + 1, log.size());
+        assertEquals(since - 100, log.valueAt(since, MISSING));
+        assertEquals(MISSING, log.valueAt(since - 1, MISSING));
+    }
+}
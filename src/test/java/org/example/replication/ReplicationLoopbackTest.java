@@ -0,0 +1,249 @@
+package org.example.replication;
+
+import org.example.model.LinkType;
+import org.example.model.MutationKind;
+import org.example.model.Ticket;
+import org.example.model.TicketStatus;
+import org.example.model.TicketType;
+import org.example.service.EpicService;
+import org.example.service.SprintService;
+import org.example.service.SubTaskService;
+import org.example.service.TicketService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.InetAddress;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReplicationLoopbackTest {
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    private final List<ReplicaNode> replicas = new ArrayList<>();
+    private TicketService ticketService;
+    private SubTaskService subTaskService;
+    private SprintService sprintService;
+    private ReplicationLeader leader;
+
+    @BeforeEach
+    void createServices() {
+        ticketService = new TicketService();
+        subTaskService = new SubTaskService(ticketService);
+        sprintService = new SprintService(ticketService);
+    }
+
+    @AfterEach
+    void stop() {
+        replicas.forEach(ReplicaNode::close);
+        if (leader != null) {
+            leader.close();
+        }
+    }
+
+    @Test
+    void followersCatchUpFromSnapshotWhenTheLogNoLongerHoldsTheirPosition() throws Exception {
+        startLeader(8);
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            Ticket ticket = ticketService.createTicket("Ticket " + i, "", TicketType.STORY, "alice");
+            ticketService.addComment(ticket.getId(), "first");
+            ids.add(ticket.getId());
+        }
+        ticketService.updateTicketStatus(ids.get(0), TicketStatus.IN_PROGRESS);
+
+        ReplicaNode first = startReplica();
+        ReplicaNode second = startReplica();
+        long token = leader.currentToken();
+        for (ReplicaNode replica : List.of(first, second)) {
+            assertTrue(replica.awaitSequence(token, TIMEOUT));
+            int replicated = replica.read(token, view -> view.ticketService().getAllTickets().size());
+            assertEquals(50, replicated);
+            assertEquals(TicketStatus.IN_PROGRESS, replica.read(token,
+                    view -> view.ticketService().getTicket(ids.get(0)).orElseThrow().getStatus()));
+            assertTrue((Long) replica.getStatus().get("snapshotsLoaded") >= 1);
+        }
+
+        ticketService.addComment(ids.get(1), "second");
+        long next = leader.currentToken();
+        for (ReplicaNode replica : List.of(first, second)) {
+            assertEquals(List.of("first", "second"), replica.read(next,
+                    view -> view.ticketService().getTicket(ids.get(1)).orElseThrow().getComments()));
+        }
+    }
+
+    @Test
+    void readTokensGiveEveryFollowerReadYourWrites() throws Exception {
+        startLeader(ReplicationLeader.DEFAULT_LOG_CAPACITY);
+        List<ReplicaNode> followers = List.of(startReplica(), startReplica(), startReplica());
+
+        for (int i = 0; i < 20; i++) {
+            Ticket ticket = ticketService.createTicket("Ticket " + i, "", TicketType.ON_CALL, "bob");
+            ticketService.updateTicketAssignee(ticket.getId(), "carol-" + i);
+            long token = leader.currentToken();
+            for (ReplicaNode replica : followers) {
+                String assignee = replica.read(token,
+                        view -> view.ticketService().getTicket(ticket.getId()).orElseThrow().getAssignee());
+                assertEquals("carol-" + i, assignee);
+                assertTrue(replica.getAppliedSequence() >= token);
+            }
+        }
+    }
+
+    @Test
+    void snapshotsTakenDuringConcurrentWritesDoNotReplayChangesTwice() throws Exception {
+        startLeader(4);
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            ids.add(ticketService.createTicket("Ticket " + i, "", TicketType.STORY, "dave").getId());
+        }
+
+        ExecutorService writers = Executors.newFixedThreadPool(2);
+        CountDownLatch started = new CountDownLatch(2);
+        List<Future<?>> results = new ArrayList<>();
+        for (int w = 0; w < 2; w++) {
+            int writer = w;
+            results.add(writers.submit(() -> {
+                started.countDown();
+                for (int round = 0; round < 200; round++) {
+                    for (Long id : ids) {
+                        ticketService.addComment(id, "w" + writer + "-" + round);
+                    }
+                }
+            }));
+        }
+        started.await();
+        List<ReplicaNode> followers = List.of(startReplica(), startReplica());
+        for (Future<?> result : results) {
+            result.get();
+        }
+        writers.shutdown();
+        assertTrue(writers.awaitTermination(TIMEOUT.toSeconds(), TimeUnit.SECONDS));
+
+        long token = leader.currentToken();
+        for (ReplicaNode replica : followers) {
+            for (Long id : ids) {
+                List<String> expected = ticketService.getTicket(id).orElseThrow().getComments();
+                List<String> replicated = replica.read(token,
+                        view -> view.ticketService().getTicket(id).orElseThrow().getComments());
+                assertEquals(expected.size(), replicated.size(), "comments on ticket " + id);
+            }
+        }
+    }
+
+    @Test
+    void linksReachFollowersThroughSnapshotsAndEvents() throws Exception {
+        startLeader(4);
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            ids.add(ticketService.createTicket("Ticket " + i, "", TicketType.STORY, "erin").getId());
+        }
+        ticketService.linkTickets(ids.get(0), ids.get(1), LinkType.BLOCKS);
+        ticketService.linkTickets(ids.get(2), ids.get(3), LinkType.RELATES);
+
+        ReplicaNode replica = startReplica();
+        long token = leader.currentToken();
+        assertEquals(List.of(ids.get(0)), replica.read(token, view -> view.ticketService().getOpenBlockers(ids.get(1))));
+        int links = replica.read(token, view -> view.ticketService().getLinks(ids.get(3)).size());
+        assertEquals(1, links);
+
+        ticketService.linkTickets(ids.get(4), ids.get(1), LinkType.BLOCKS);
+        ticketService.unlinkTickets(ids.get(0), ids.get(1), LinkType.BLOCKS);
+        long next = leader.currentToken();
+        assertEquals(List.of(ids.get(4)), replica.read(next, view -> view.ticketService().getOpenBlockers(ids.get(1))));
+    }
+
+    @Test
+    void epicMembershipReachesFollowers() throws Exception {
+        startLeader(ReplicationLeader.DEFAULT_LOG_CAPACITY);
+        ReplicaNode replica = startReplica();
+        EpicService epics = new EpicService(ticketService);
+        Long epic = ticketService.createTicket("Epic", "", TicketType.EPIC, "grace").getId();
+        Long first = ticketService.createTicket("First", "", TicketType.STORY, "grace").getId();
+        Long second = ticketService.createTicket("Second", "", TicketType.STORY, "grace").getId();
+        epics.linkStoryToEpic(epic, first);
+        epics.linkStoryToEpic(epic, second);
+        epics.unlinkStory(first);
+
+        long token = leader.currentToken();
+        assertEquals(List.of(second), epics.getStoriesInEpic(epic).stream().map(Ticket::getId).toList());
+        assertEquals(epic, replica.read(token, view -> view.ticketService().getTicket(second).orElseThrow().getEpicId()));
+        assertNull(replica.read(token, view -> view.ticketService().getTicket(first).orElseThrow().getEpicId()));
+    }
+
+    @Test
+    void sprintCapacityReachesFollowers() throws Exception {
+        Long restored = sprintService.createSprint("Restored", "", LocalDateTime.now(), LocalDateTime.now().plusDays(14))
+                .getId();
+        sprintService.setAssigneeCapacity(restored, "heidi", 8);
+        startLeader(ReplicationLeader.DEFAULT_LOG_CAPACITY);
+        ReplicaNode replica = startReplica();
+        Long sprint = sprintService.createSprint("Next", "", LocalDateTime.now(), LocalDateTime.now().plusDays(14)).getId();
+        sprintService.setAssigneeCapacity(sprint, "heidi", 13);
+        sprintService.setAssigneeCapacity(restored, "heidi", 5);
+
+        long token = leader.currentToken();
+        int next = replica.read(token, view -> view.sprintService().getSprint(sprint).orElseThrow().getCapacity("heidi"));
+        int earlier = replica.read(token, view -> view.sprintService().getSprint(restored).orElseThrow().getCapacity("heidi"));
+        assertEquals(13, next);
+        assertEquals(5, earlier);
+    }
+
+    @Test
+    void framesCarryStateFromWhenTheEventWasRecorded() throws Exception {
+        // Registered ahead of the leader, so it changes state while the leader's copy of each event is still undelivered.
+        AtomicReference<Long> doomedSubTask = new AtomicReference<>();
+        ticketService.getMutationBus().addListener(event -> {
+            if (event.kind() == MutationKind.TICKET_CREATED && "doomed".equals(((Ticket) event.payload()).getTitle())) {
+                doomedSubTask.set(subTaskService.createSubTask(event.ticketId(), "child", "", "frank").getId());
+                ticketService.deleteTicket(event.ticketId());
+            }
+            if (event.kind() == MutationKind.TICKET_DETAILS_CHANGED
+                    && "first".equals(((Ticket) event.payload()).getTitle())) {
+                ticketService.updateTicketDetails(event.ticketId(), "second", "later");
+            }
+        });
+        startLeader(ReplicationLeader.DEFAULT_LOG_CAPACITY);
+        ReplicaNode replica = startReplica();
+        assertTrue(replica.awaitSequence(leader.currentToken(), TIMEOUT));
+
+        Long doomed = ticketService.createTicket("doomed", "", TicketType.STORY, "frank").getId();
+        Long renamed = ticketService.createTicket("renamed", "", TicketType.STORY, "frank").getId();
+        ticketService.updateTicketDetails(renamed, "first", "earlier");
+        long token = leader.currentToken();
+
+        boolean replicated = replica.read(token, view -> view.ticketService().getTicket(doomed).isPresent());
+        assertFalse(replicated);
+        boolean childReplicated = replica.read(token,
+                view -> view.subTaskService().getSubTask(doomedSubTask.get()).isPresent());
+        assertEquals(subTaskService.getSubTask(doomedSubTask.get()).isPresent(), childReplicated);
+        assertEquals("second", replica.read(token,
+                view -> view.ticketService().getTicket(renamed).orElseThrow().getTitle()));
+        assertEquals(0L, replica.getStatus().get("resyncs"));
+    }
+
+    private void startLeader(int logCapacity) {
+        leader = new ReplicationLeader(ticketService, subTaskService, sprintService, 0, logCapacity);
+        leader.start();
+    }
+
+    private ReplicaNode startReplica() {
+        ReplicaNode replica = new ReplicaNode(InetAddress.getLoopbackAddress().getHostAddress(), leader.getPort(), TIMEOUT);
+        replicas.add(replica);
+        replica.start();
+        return replica;
+    }
+}
@@ -0,0 +1,34 @@
+package org.example.service;
+
+import org.example.model.BoardFilter;
+import org.example.model.TicketStatus;
+import org.example.model.TicketType;
+import org.example.util.RoaringBitmap;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BoardIndexServiceTest {
+    private final TicketService ticketService = new TicketService();
+    private final BoardIndexService index = new BoardIndexService(ticketService, new SprintService(ticketService));
+
+    @Test
+    void resultsNeverAliasTheIndex() {
+        Long story = ticketService.createTicket("Story", "", TicketType.STORY, "ivan").getId();
+
+        // No epics exist, so the empty type bitmap is the most selective constraint and short-circuits the AND.
+        RoaringBitmap noEpics = index.evaluate(new BoardFilter(Set.of(TicketType.EPIC), Set.of(TicketStatus.OPEN),
+                Set.of(), null, false));
+        noEpics.add(story.intValue());
+        RoaringBitmap stories = index.evaluate(new BoardFilter(Set.of(TicketType.STORY), Set.of(), Set.of(), null, false));
+        stories.remove(story.intValue());
+
+        assertTrue(index.getTypeBitmap(TicketType.EPIC).isEmpty());
+        assertEquals(1, index.count(new BoardFilter(Set.of(TicketType.STORY), Set.of(), Set.of(), null, false)));
+        assertEquals(0, index.count(new BoardFilter(Set.of(TicketType.EPIC), Set.of(TicketStatus.OPEN), Set.of(),
+                null, false)));
+    }
+}
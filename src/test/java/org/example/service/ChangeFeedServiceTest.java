@@ -0,0 +1,62 @@
+package org.example.service;
+
+import org.example.model.ChangeFeedPage;
+import org.example.model.MutationEvent;
+import org.example.model.MutationKind;
+import org.example.model.Ticket;
+import org.example.model.TicketType;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ChangeFeedServiceTest {
+    private final TicketService ticketService = new TicketService();
+    private final ChangeFeedService feed = new ChangeFeedService(ticketService, new SubTaskService(ticketService),
+            Duration.ofDays(7));
+
+    @Test
+    void expiredTombstonesTruncateReadersWhoseCursorIsOlder() {
+        Long deleted = ticketService.createTicket("Deleted", "", TicketType.STORY, "mia").getId();
+        Ticket kept = ticketService.createTicket("Kept", "", TicketType.STORY, "mia");
+        String beforeDelete = feed.getTicketsUpdatedSince(Instant.EPOCH, 100).continuationToken();
+        ticketService.deleteTicket(deleted);
+
+        ChangeFeedPage<Ticket> tombstoned = feed.getTicketsUpdatedSince(beforeDelete, 100);
+        assertEquals(List.of(deleted), tombstoned.deletedIds());
+        assertFalse(tombstoned.truncated());
+        String afterDelete = tombstoned.continuationToken();
+
+        // A change stamped past the retention expires the tombstone.
+        long later = System.currentTimeMillis() + Duration.ofDays(8).toMillis();
+        feed.onMutation(MutationEvent.ticket(MutationKind.TICKET_COMMENT_ADDED, kept, null, null)
+                .sequenced(Long.MAX_VALUE / 2, later));
+        assertEquals(1, feed.getIndexedTicketCount());
+
+        ChangeFeedPage<Ticket> stale = feed.getTicketsUpdatedSince(beforeDelete, 100);
+        assertTrue(stale.truncated());
+        assertTrue(stale.deletedIds().isEmpty());
+        assertEquals(List.of(kept.getId()), stale.items().stream().map(Ticket::getId).toList());
+        assertTrue(feed.getTicketsUpdatedSince(Instant.EPOCH, 100).truncated());
+
+        ChangeFeedPage<Ticket> current = feed.getTicketsUpdatedSince(afterDelete, 100);
+        assertFalse(current.truncated());
+        assertEquals(List.of(kept.getId()), current.items().stream().map(Ticket::getId).toList());
+    }
+
+    @Test
+    void recentTombstonesAreKept() {
+        Long deleted = ticketService.createTicket("Deleted", "", TicketType.STORY, "mia").getId();
+        ticketService.deleteTicket(deleted);
+        ticketService.createTicket("Later", "", TicketType.STORY, "mia");
+
+        ChangeFeedPage<Ticket> page = feed.getTicketsUpdatedSince(Instant.EPOCH, 100);
+        assertEquals(List.of(deleted), page.deletedIds());
+        assertFalse(page.truncated());
+    }
+}
@@ -0,0 +1,70 @@
+package org.example.service;
+
+import org.example.model.MutationEvent;
+import org.example.model.MutationKind;
+import org.example.model.StatusUpdateResult;
+import org.example.model.Ticket;
+import org.example.model.TicketStatus;
+import org.example.model.TicketType;
+import org.example.storage.InMemoryTicketRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CycleTimeServiceTest {
+    private long nowMillis = 1_000_000;
+    private final TicketService tickets = new TicketService(new InMemoryTicketRepository(), () -> nowMillis * 1_000_000L);
+    private final CycleTimeService cycleTimes = new CycleTimeService(tickets, new SubTaskService(tickets),
+            new SprintService(tickets));
+
+    @Test
+    void cycleTimeRunsFromTheFirstStartAndEveryStintInAStatusIsSampled() {
+        Long id = tickets.createTicket("Story", "", TicketType.STORY, "ana").getId();
+        for (TicketStatus status : List.of(TicketStatus.IN_PROGRESS, TicketStatus.OPEN, TicketStatus.IN_PROGRESS,
+                TicketStatus.TESTING, TicketStatus.IN_REVIEW, TicketStatus.DEPLOYED)) {
+            nowMillis += status == TicketStatus.OPEN ? 3_000 : 1_000;
+            assertEquals(StatusUpdateResult.UPDATED, tickets.tryUpdateTicketStatus(id, status));
+        }
+
+        // Started at +1s and deployed at +8s; the second pickup at +5s does not restart the clock.
+        assertAbout(7_000, cycleTimes.getCycleTimePercentile(TicketType.STORY, 100));
+        assertAbout(3_000, cycleTimes.getTimeInStatusPercentile(TicketType.STORY, TicketStatus.IN_PROGRESS, 100));
+        assertAbout(1_000, cycleTimes.getTimeInStatusPercentile(TicketType.STORY, TicketStatus.IN_PROGRESS, 0));
+        assertAbout(7_000, cycleTimes.getCycleTimePercentileForAssignees(List.of("ana"), 50));
+    }
+
+    @Test
+    void transitionsOfTicketsGoneBeforeDeliveryStillCount() {
+        // Never stored, as if deleted between the change and delivery: the event alone has to carry the sample.
+        Ticket ticket = new Ticket(700_001L, "Pager", "", TicketType.ON_CALL, "ana", LocalDateTime.now());
+        ticket.setStatus(TicketStatus.IN_PROGRESS);
+        ticket.markStatusEntered(TicketStatus.IN_PROGRESS, 2_000);
+        MutationEvent started = MutationEvent.ticket(MutationKind.TICKET_STATUS_CHANGED, ticket, TicketStatus.OPEN,
+                null);
+        ticket.setStatus(TicketStatus.RESOLVED);
+        ticket.markStatusEntered(TicketStatus.RESOLVED, 6_500);
+        MutationEvent resolved = MutationEvent.ticket(MutationKind.TICKET_STATUS_CHANGED, ticket,
+                TicketStatus.IN_PROGRESS, null);
+        // A later pickup must not leak into the earlier event.
+        ticket.markStatusEntered(TicketStatus.IN_PROGRESS, 9_000);
+
+        cycleTimes.onMutation(started.sequenced(1, 2_000));
+        cycleTimes.onMutation(resolved.sequenced(2, 6_500));
+
+        assertAbout(4_500, cycleTimes.getCycleTimePercentile(TicketType.ON_CALL, 50));
+        assertAbout(4_500, cycleTimes.getTimeInStatusPercentile(TicketType.ON_CALL, TicketStatus.IN_PROGRESS, 50));
+        assertTrue(cycleTimes.getLeadTimePercentile(TicketType.ON_CALL, 50).isEmpty());
+    }
+
+    private static void assertAbout(long expectedMillis, Optional<Duration> actual) {
+        // The sketch keeps values to a few percent, which is far tighter than any of the mistakes checked for here.
+        long millis = actual.orElseThrow().toMillis();
+        assertTrue(Math.abs(millis - expectedMillis) <= expectedMillis / 20, millis + " ms, expected " + expectedMillis);
+    }
+}
@@ -0,0 +1,107 @@
+package org.example.service;
+
+import org.example.model.DuplicateCandidate;
+import org.example.model.TicketType;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.StringJoiner;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DuplicateDetectorTest {
+    private static final String[] WORDS = {"login", "page", "crash", "report", "export", "timeout", "sprint", "board",
+            "filter", "search", "upload", "avatar", "invoice", "billing", "mobile", "layout", "cache", "token",
+            "session", "webhook", "retry", "queue", "latency", "spike", "memory", "leak", "render", "chart"};
+    private static final String TITLE = "Checkout fails when the basket holds more than forty items";
+    private static final String DESCRIPTION = "customers see a blank page after pressing pay and the order is lost";
+
+    private final TicketService ticketService = new TicketService();
+    private final Random random = new Random(11);
+
+    @Test
+    void nearDuplicatesScoreCloseToTheirShingleOverlap() {
+        DuplicateDetector detector = new DuplicateDetector(ticketService);
+        fillWithNoise(200);
+        Long original = ticketService.createTicket(TITLE, DESCRIPTION, TicketType.STORY, "zoe").getId();
+
+        String variant = "Checkout fails when the basket holds more than fifty items";
+        List<DuplicateCandidate> found = detector.findSimilar(variant, DESCRIPTION, TicketType.STORY, 3);
+        assertEquals(original, found.get(0).ticketId());
+        double exact = jaccard(TITLE + " " + DESCRIPTION, variant + " " + DESCRIPTION);
+        assertTrue(Math.abs(found.get(0).similarity() - exact) < 0.2, found.get(0).similarity() + " vs " + exact);
+
+        assertEquals(1.0, detector.findSimilar(TITLE.toUpperCase(), DESCRIPTION + "!", TicketType.STORY, 1).get(0)
+                .similarity(), 1e-9);
+        assertTrue(ids(detector.findSimilar(variant, DESCRIPTION, TicketType.EPIC, 3)).isEmpty());
+        assertFalse(ids(detector.findSimilar(sentence(12), sentence(16), TicketType.STORY, 5)).contains(original));
+    }
+
+    @Test
+    void editsDeletesAndRebuildsKeepTheIndexCurrent() {
+        DuplicateDetector detector = new DuplicateDetector(ticketService);
+        Long original = ticketService.createTicket(TITLE, DESCRIPTION, TicketType.STORY, "zoe").getId();
+        Long copy = ticketService.createTicket(TITLE, DESCRIPTION + " again", TicketType.STORY, "max").getId();
+        Long edited = ticketService.createTicket(TITLE, DESCRIPTION, TicketType.STORY, "max").getId();
+        ticketService.updateTicketDetails(edited, sentence(10), sentence(14));
+
+        // Enough tickets to outgrow the initial slots several times, with edits leaving dead slots behind.
+        fillWithNoise(3_000);
+        for (int i = 0; i < 500; i++) {
+            ticketService.updateTicketDetails(copy, TITLE, DESCRIPTION + " again " + i % 3);
+        }
+        assertTrue((Long) detector.getStatistics().get("rebuilds") > 2);
+
+        Set<Long> duplicates = ids(detector.findDuplicatesOf(copy, 5));
+        assertTrue(duplicates.contains(original));
+        assertFalse(duplicates.contains(copy));
+        assertFalse(duplicates.contains(edited));
+
+        ticketService.deleteTicket(original);
+        assertFalse(ids(detector.findSimilar(TITLE, DESCRIPTION, TicketType.STORY, 5)).contains(original));
+        assertEquals(Set.of(copy), ids(detector.findSimilar(TITLE, DESCRIPTION, TicketType.STORY, 5)));
+        assertTrue(detector.findDuplicatesOf(original, 5).isEmpty());
+    }
+
+    private void fillWithNoise(int count) {
+        for (int i = 0; i < count; i++) {
+            ticketService.createTicket(sentence(6), sentence(12), TicketType.STORY, "bot");
+        }
+    }
+
+    private String sentence(int words) {
+        StringJoiner joiner = new StringJoiner(" ");
+        for (int i = 0; i < words; i++) {
+            joiner.add(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return joiner.toString();
+    }
+
+    private static Set<Long> ids(List<DuplicateCandidate> candidates) {
+        Set<Long> ids = new HashSet<>();
+        candidates.forEach(candidate -> ids.add(candidate.ticketId()));
+        return ids;
+    }
+
+    private static double jaccard(String left, String right) {
+        Set<String> a = shingles(left.toLowerCase());
+        Set<String> b = shingles(right.toLowerCase());
+        Set<String> union = new HashSet<>(a);
+        union.addAll(b);
+        a.retainAll(b);
+        return (double) a.size() / union.size();
+    }
+
+    private static Set<String> shingles(String text) {
+        Set<String> shingles = new HashSet<>();
+        for (int i = 0; i + DuplicateDetector.DEFAULT_SHINGLE_LENGTH <= text.length(); i++) {
+            shingles.add(text.substring(i, i + DuplicateDetector.DEFAULT_SHINGLE_LENGTH));
+        }
+        return shingles;
+    }
+}
@@ -0,0 +1,57 @@
+package org.example.service;
+
+import org.example.model.NotificationDigest;
+import org.example.model.TicketStatus;
+import org.example.model.TicketType;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NotificationServiceTest {
+    private static final int MAX_PENDING_CHANGES = 8;
+
+    @Test
+    void stalledSinkCollapsesChangesInsteadOfGrowingWithoutBound() throws Exception {
+        TicketService ticketService = new TicketService();
+        CountDownLatch unblocked = new CountDownLatch(1);
+        List<NotificationDigest> delivered = Collections.synchronizedList(new ArrayList<>());
+        NotificationSink sink = digest -> {
+            try {
+                unblocked.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            delivered.add(digest);
+        };
+        NotificationService notifications = new NotificationService(ticketService, new SubTaskService(ticketService),
+                sink, Duration.ofHours(1), MAX_PENDING_CHANGES, 4, 1);
+
+        int mutations = 0;
+        for (int i = 0; i < 40; i++) {
+            Long id = ticketService.createTicket("Ticket " + i, "", TicketType.ON_CALL, i % 2 == 0 ? "kim" : "leo")
+                    .getId();
+            ticketService.tryUpdateTicketStatus(id, TicketStatus.IN_PROGRESS);
+            ticketService.tryUpdateTicketStatus(id, TicketStatus.OPEN);
+            mutations += 2;
+            int pending = (Integer) notifications.getStatistics().get("pendingChanges");
+            assertTrue(pending <= MAX_PENDING_CHANGES, pending + " changes pending");
+        }
+        assertTrue((Long) notifications.getStatistics().get("changesCollapsed") > 0);
+
+        unblocked.countDown();
+        notifications.close();
+        int notified = 0;
+        for (NotificationDigest digest : delivered) {
+            notified += digest.getMutationCount();
+        }
+        assertEquals(mutations, notified);
+        assertTrue(delivered.stream().anyMatch(digest -> digest.format().contains("more changes")));
+    }
+}
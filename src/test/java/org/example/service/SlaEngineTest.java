@@ -0,0 +1,88 @@
+package org.example.service;
+
+import org.example.model.MutationEvent;
+import org.example.model.MutationKind;
+import org.example.model.SlaBreach;
+import org.example.model.SlaPolicy;
+import org.example.model.SlaTarget;
+import org.example.model.Ticket;
+import org.example.model.TicketStatus;
+import org.example.model.TicketType;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SlaEngineTest {
+    private static final Duration TO_ACKNOWLEDGE = Duration.ofMinutes(5);
+    private static final Duration TO_RESOLVE = Duration.ofHours(4);
+
+    // The ticker is never started; the test drives the wheel itself.
+    private final TicketService tickets = new TicketService();
+    private final SlaEngine engine = new SlaEngine(tickets, new SlaPolicy(TO_ACKNOWLEDGE, TO_RESOLVE));
+    private final List<SlaBreach> breaches = new ArrayList<>();
+    private long sequence;
+
+    @Test
+    void handingATicketBackRearmsTheAcknowledgeClock() {
+        engine.addBreachListener(breaches::add);
+        // Fed straight to the listener so every event carries a chosen time on the wheel's clock.
+        Ticket ticket = new Ticket(800_001L, "Pager", "", TicketType.ON_CALL, "oli", LocalDateTime.now());
+        long created = System.currentTimeMillis();
+        long acknowledge = TO_ACKNOWLEDGE.toMillis();
+        publish(MutationEvent.ticket(MutationKind.TICKET_CREATED, ticket, null, "oli"), created);
+        ticket.setStatus(TicketStatus.IN_PROGRESS);
+        publish(MutationEvent.ticket(MutationKind.TICKET_STATUS_CHANGED, ticket, TicketStatus.OPEN, null),
+                created + 1_000);
+        engine.advanceTo(created + acknowledge * 2);
+        assertTrue(breaches.isEmpty());
+
+        long reopened = created + acknowledge * 2;
+        ticket.setStatus(TicketStatus.OPEN);
+        publish(MutationEvent.ticket(MutationKind.TICKET_STATUS_CHANGED, ticket, TicketStatus.IN_PROGRESS, null),
+                reopened);
+        engine.advanceTo(reopened + acknowledge - 1_000);
+        assertTrue(breaches.isEmpty());
+        engine.advanceTo(reopened + acknowledge + 1_000);
+        assertEquals(List.of(SlaTarget.ACKNOWLEDGE), breaches.stream().map(SlaBreach::target).toList());
+        assertEquals(reopened + acknowledge, breaches.get(0).deadline().toEpochMilli());
+    }
+
+    @Test
+    void aFailingListenerDoesNotStopTheOthers() {
+        engine.addBreachListener(breach -> {
+            throw new IllegalStateException("pager down");
+        });
+        engine.addBreachListener(breaches::add);
+        long created = System.currentTimeMillis();
+        tickets.createTicket("First", "", TicketType.ON_CALL, "oli");
+        tickets.createTicket("Second", "", TicketType.ON_CALL, "oli");
+
+        engine.advanceTo(created + TO_RESOLVE.toMillis() + 1_000);
+        assertEquals(4, breaches.size());
+        assertEquals(4L, engine.getBreachDashboard().get("listenerFailures"));
+        assertEquals(0, engine.getBreachDashboard().get("pendingTimers"));
+    }
+
+    @Test
+    void resolvedTicketsNoLongerBreach() {
+        engine.addBreachListener(breaches::add);
+        long created = System.currentTimeMillis();
+        Long id = tickets.createTicket("Pager", "", TicketType.ON_CALL, "oli").getId();
+        tickets.tryUpdateTicketStatus(id, TicketStatus.IN_PROGRESS);
+        tickets.tryUpdateTicketStatus(id, TicketStatus.RESOLVED);
+
+        engine.advanceTo(created + TO_RESOLVE.toMillis() + 1_000);
+        assertTrue(breaches.isEmpty());
+        assertEquals(0, engine.getBreachDashboard().get("trackedTickets"));
+    }
+
+    private void publish(MutationEvent event, long timestampMillis) {
+        engine.onMutation(event.sequenced(++sequence, timestampMillis));
+    }
+}
@@ -0,0 +1,113 @@
+package org.example.service;
+
+import org.example.model.SprintPlan;
+import org.example.model.Ticket;
+import org.example.model.TicketType;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SprintPlannerTest {
+    private static final int LARGE_CAPACITY = 1 << 20;
+
+    private final TicketService ticketService = new TicketService();
+    private final SprintService sprintService = new SprintService(ticketService);
+    private final Map<Long, Double> priorities = new HashMap<>();
+    private final SprintPlanner planner = new SprintPlanner(ticketService, sprintService,
+            story -> priorities.getOrDefault(story.getId(), 1.0));
+
+    @Test
+    void exactPlanMatchesTheBestSubsetForEveryAssignee() {
+        Random random = new Random(42);
+        Long sprintId = newSprint();
+        Map<String, List<Ticket>> stories = new HashMap<>();
+        for (String assignee : List.of("ann", "ben", "cat")) {
+            sprintService.setAssigneeCapacity(sprintId, assignee, 10 + random.nextInt(11));
+            for (int i = 0; i < 12; i++) {
+                Ticket story = story(assignee, 1 + random.nextInt(8), 0.5 + random.nextDouble() * 2);
+                stories.computeIfAbsent(assignee, key -> new ArrayList<>()).add(story);
+            }
+        }
+
+        SprintPlan plan = planner.planSprint(sprintId);
+
+        long expectedValue = 0;
+        for (Map.Entry<String, List<Ticket>> entry : stories.entrySet()) {
+            int capacity = sprintService.getSprint(sprintId).orElseThrow().getCapacity(entry.getKey());
+            expectedValue += bestValue(entry.getValue(), capacity);
+            assertTrue(plan.plannedPoints().get(entry.getKey()) <= capacity);
+        }
+        assertEquals(expectedValue / 1000.0, plan.totalValue(), 1e-9);
+
+        assertEquals(plan.storyIds().size(), planner.applyPlan(plan));
+        SprintPlan replanned = planner.planSprint(sprintId);
+        assertTrue(replanned.storyIds().stream().noneMatch(plan.storyIds()::contains));
+    }
+
+    @Test
+    void switchesToGreedyOnlyAboveTheCellLimit() {
+        // 63 stories x (2^20 + 1) cells stays under the 2^26 limit, 64 stories crosses it.
+        assertEquals(List.of("half", "other-half"), chosenLargeStories(60));
+        assertEquals(List.of("dense"), chosenLargeStories(61));
+    }
+
+    private List<String> chosenLargeStories(int fillers) {
+        Long sprintId = newSprint();
+        String assignee = "planner-" + fillers;
+        sprintService.setAssigneeCapacity(sprintId, assignee, LARGE_CAPACITY);
+        // The densest story shuts out the pair that fills the sprint; only the exact solver finds the pair.
+        Map<Long, String> large = new HashMap<>();
+        large.put(story(assignee, 600_000, 2.0).getId(), "dense");
+        large.put(story(assignee, 500_000, 1.5).getId(), "half");
+        large.put(story(assignee, 500_000, 1.5).getId(), "other-half");
+        for (int i = 0; i < fillers; i++) {
+            story(assignee, 1, 0.1);
+        }
+
+        SprintPlan plan = planner.planSprint(sprintId);
+        assertEquals(fillers, plan.storyIds().stream().filter(id -> !large.containsKey(id)).count());
+        return plan.storyIds().stream()
+                .filter(large::containsKey)
+                .map(large::get)
+                .sorted()
+                .toList();
+    }
+
+    private Long newSprint() {
+        return sprintService.createSprint("Sprint", "", LocalDateTime.now(), LocalDateTime.now().plusDays(14)).getId();
+    }
+
+    private Ticket story(String assignee, int points, double priority) {
+        Ticket story = ticketService.createTicket("Story", "", TicketType.STORY, assignee);
+        ticketService.updateStoryPoints(story.getId(), points);
+        priorities.put(story.getId(), priority);
+        return story;
+    }
+
+    private long bestValue(List<Ticket> stories, int capacity) {
+        long best = 0;
+        for (int mask = 0; mask < 1 << stories.size(); mask++) {
+            int points = 0;
+            long value = 0;
+            for (int i = 0; i < stories.size(); i++) {
+                if ((mask & 1 << i) != 0) {
+                    Ticket story = ticketService.getTicket(stories.get(i).getId()).orElseThrow();
+                    points += story.getStoryPoints();
+                    value += Math.round(story.getStoryPoints() * priorities.get(story.getId()) * 1000.0);
+                }
+            }
+            if (points <= capacity) {
+                best = Math.max(best, value);
+            }
+        }
+        return best;
+    }
+}
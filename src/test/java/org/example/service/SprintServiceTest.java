@@ -0,0 +1,98 @@
+package org.example.service;
+
+import org.example.model.Sprint;
+import org.example.model.TicketType;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+class SprintServiceTest {
+    private static final int RACERS = 4;
+    private static final int ROUNDS = 200;
+
+    private final TicketService ticketService = new TicketService();
+    private final SprintService sprintService = new SprintService(ticketService);
+
+    @Test
+    void onlyOneOfSeveralRacingSprintsStarts() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(RACERS);
+        try {
+            for (int round = 0; round < ROUNDS; round++) {
+                List<Long> sprintIds = new ArrayList<>();
+                for (int i = 0; i < RACERS; i++) {
+                    sprintIds.add(newSprint());
+                }
+                int started = race(pool, sprintIds.stream()
+                        .map(id -> (Callable<Boolean>) () -> sprintService.startSprint(id)).toList());
+
+                assertEquals(1, started);
+                List<Long> active = sprintService.getAllSprints().stream().filter(Sprint::isActive).map(Sprint::getId)
+                        .toList();
+                assertEquals(1, active.size());
+                assertEquals(active.get(0), sprintService.getActiveSprint().orElseThrow().getId());
+                sprintService.endActiveSprint();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    void aStoryRacedIntoTwoSprintsLandsInOne() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(RACERS);
+        try {
+            List<Long> sprintIds = new ArrayList<>();
+            for (int i = 0; i < RACERS; i++) {
+                sprintIds.add(newSprint());
+            }
+            for (int round = 0; round < ROUNDS; round++) {
+                Long storyId = ticketService.createTicket("Story " + round, "", TicketType.STORY, "eve").getId();
+                int added = race(pool, sprintIds.stream()
+                        .map(id -> (Callable<Boolean>) () -> sprintService.addStoryToSprint(id, storyId)).toList());
+
+                assertEquals(1, added);
+                assertEquals(1, sprintService.getAllSprints().stream()
+                        .filter(sprint -> sprint.getStoryIds().contains(storyId)).count());
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private int race(ExecutorService pool, List<Callable<Boolean>> calls) throws Exception {
+        CyclicBarrier barrier = new CyclicBarrier(calls.size());
+        List<Future<Boolean>> results = new ArrayList<>();
+        for (Callable<Boolean> call : calls) {
+            results.add(pool.submit(() -> {
+                barrier.await();
+                return call.call();
+            }));
+        }
+        int succeeded = 0;
+        for (Future<Boolean> result : results) {
+            try {
+                if (result.get()) {
+                    succeeded++;
+                }
+            } catch (ExecutionException e) {
+                assertInstanceOf(IllegalStateException.class, e.getCause());
+            }
+        }
+        return succeeded;
+    }
+
+    private Long newSprint() {
+        return sprintService.createSprint("Sprint", "", LocalDateTime.now(), LocalDateTime.now().plusDays(14)).getId();
+    }
+}
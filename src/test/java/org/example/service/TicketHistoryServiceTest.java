@@ -0,0 +1,72 @@
+package org.example.service;
+
+import org.example.model.MutationEvent;
+import org.example.model.MutationKind;
+import org.example.model.Ticket;
+import org.example.model.TicketPointInTime;
+import org.example.model.TicketStatus;
+import org.example.model.TicketType;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TicketHistoryServiceTest {
+    private static final long LARGE_SPRINT_ID = 5_000_000_000L;
+
+    // Events are fed straight to the listener so each one carries a chosen timestamp.
+    private final TicketHistoryService history = new TicketHistoryService(new TicketService(), 4);
+    private final Ticket ticket = new Ticket(900_001L, "Story", "", TicketType.STORY, "nia", LocalDateTime.now());
+    private long sequence;
+
+    @Test
+    void instantsBeforeRetainedHistoryAreReportedAsTruncated() {
+        publish(MutationEvent.ticket(MutationKind.TICKET_CREATED, ticket, null, "nia"), 1_000);
+        publish(MutationEvent.sprint(MutationKind.SPRINT_STORY_ADDED, LARGE_SPRINT_ID, ticket.getId()), 1_500);
+        assertEquals(LARGE_SPRINT_ID, at(1_600).sprintId());
+
+        TicketStatus[] cycle = {TicketStatus.IN_PROGRESS, TicketStatus.OPEN};
+        for (int i = 0; i < 6; i++) {
+            ticket.setStatus(cycle[i % 2]);
+            publish(MutationEvent.ticket(MutationKind.TICKET_STATUS_CHANGED, ticket, cycle[(i + 1) % 2], null),
+                    2_000 + i * 100L);
+        }
+
+        // Six changes through a four-entry log dropped the creation, so 1600 is no longer answerable.
+        HistoryTruncatedException truncated = assertThrows(HistoryTruncatedException.class, () -> at(1_600));
+        assertEquals(ticket.getId(), truncated.getTicketId());
+        assertTrue(truncated.getRetainedSince().toEpochMilli() > 1_600);
+
+        TicketPointInTime latest = at(3_000);
+        assertEquals(TicketStatus.OPEN, latest.status());
+        assertEquals("nia", latest.assignee());
+        assertEquals(LARGE_SPRINT_ID, latest.sprintId());
+        assertEquals(List.of(ticket.getId()), history.getStoriesInSprint(LARGE_SPRINT_ID, Instant.ofEpochMilli(3_000))
+                .stream().map(TicketPointInTime::ticketId).toList());
+        assertTrue(history.asOf(ticket.getId(), Instant.ofEpochMilli(truncated.getRetainedSince().toEpochMilli()))
+                .isPresent());
+    }
+
+    @Test
+    void beforeCreationIsEmptyWhileNothingHasBeenDropped() {
+        publish(MutationEvent.ticket(MutationKind.TICKET_CREATED, ticket, null, "nia"), 1_000);
+        publish(MutationEvent.ticket(MutationKind.TICKET_DELETED, ticket, TicketStatus.OPEN, null), 2_000);
+
+        assertTrue(history.asOf(ticket.getId(), Instant.ofEpochMilli(999)).isEmpty());
+        assertEquals(TicketStatus.OPEN, at(1_999).status());
+        assertTrue(history.asOf(ticket.getId(), Instant.ofEpochMilli(2_000)).isEmpty());
+    }
+
+    private void publish(MutationEvent event, long timestampMillis) {
+        history.onMutation(event.sequenced(++sequence, timestampMillis));
+    }
+
+    private TicketPointInTime at(long millis) {
+        return history.asOf(ticket.getId(), Instant.ofEpochMilli(millis)).orElseThrow();
+    }
+}
@@ -0,0 +1,100 @@
+package org.example.service;
+
+import org.example.model.LinkType;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.LongPredicate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TicketLinkGraphTest {
+    private static final LongPredicate OPEN = id -> false;
+    private static final int NODES = 40;
+
+    private final TicketLinkGraph graph = new TicketLinkGraph();
+
+    @Test
+    void rejectsACycleThroughAnEdgeThatForcedAReorder() {
+        // Nodes enter the order as 1, 2, 3, so 3 blocking 1 runs against it and has to move 3 ahead of 1.
+        graph.addLink(1, 2, LinkType.RELATES, OPEN);
+        graph.addLink(2, 3, LinkType.RELATES, OPEN);
+        assertTrue(graph.addLink(3, 1, LinkType.BLOCKS, OPEN));
+        assertEquals(1L, graph.getStatistics().get("reorders"));
+        assertTrue(graph.addLink(1, 2, LinkType.BLOCKS, OPEN));
+
+        assertThrows(IllegalStateException.class, () -> graph.addLink(2, 3, LinkType.BLOCKS, OPEN));
+        assertThrows(IllegalStateException.class, () -> graph.addLink(2, 1, LinkType.BLOCKS, OPEN));
+        assertTrue(graph.addLink(3, 2, LinkType.BLOCKS, OPEN));
+        assertEquals(Set.of(1L, 3L), new HashSet<>(graph.getTransitiveBlockers(2)));
+        assertEquals(2, graph.getOpenBlockerCount(2));
+    }
+
+    @Test
+    void acceptsExactlyTheLinksThatKeepBlockingAcyclic() {
+        Random random = new Random(7);
+        List<Set<Long>> blocks = new ArrayList<>();
+        for (int i = 0; i <= NODES; i++) {
+            blocks.add(new HashSet<>());
+        }
+        int rejected = 0;
+        for (int i = 0; i < 600; i++) {
+            long source = 1 + random.nextInt(NODES);
+            long target = 1 + random.nextInt(NODES);
+            if (source == target || blocks.get((int) source).contains(target)) {
+                continue;
+            }
+            if (reaches(blocks, target, source)) {
+                assertThrows(IllegalStateException.class, () -> graph.addLink(source, target, LinkType.BLOCKS, OPEN));
+                rejected++;
+            } else {
+                assertTrue(graph.addLink(source, target, LinkType.BLOCKS, OPEN));
+                blocks.get((int) source).add(target);
+            }
+            if (i % 5 == 0 && !blocks.get((int) source).isEmpty()) {
+                long dropped = blocks.get((int) source).iterator().next();
+                assertTrue(graph.removeLink(source, dropped, LinkType.BLOCKS));
+                blocks.get((int) source).remove(dropped);
+            }
+        }
+
+        assertTrue(rejected > 0);
+        assertTrue((Long) graph.getStatistics().get("reorders") > 0);
+        for (long node = 1; node <= NODES; node++) {
+            Set<Long> expected = new HashSet<>();
+            for (long other = 1; other <= NODES; other++) {
+                if (other != node && reaches(blocks, other, node)) {
+                    expected.add(other);
+                }
+            }
+            assertEquals(expected, new HashSet<>(graph.getTransitiveBlockers(node)));
+            assertFalse(expected.contains(node));
+        }
+    }
+
+    private static boolean reaches(List<Set<Long>> blocks, long from, long to) {
+        Deque<Long> pending = new ArrayDeque<>(List.of(from));
+        Set<Long> seen = new HashSet<>(pending);
+        while (!pending.isEmpty()) {
+            long node = pending.pop();
+            if (node == to) {
+                return true;
+            }
+            for (Long next : blocks.get((int) node)) {
+                if (seen.add(next)) {
+                    pending.push(next);
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,42 @@
+package org.example.service;
+
+import org.example.model.BoardFilter;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WatchServiceTest {
+
+    @Test
+    void unwatchingTheLastWatchOfASprintOrAssigneeDropsItsBucket() {
+        TicketService ticketService = new TicketService();
+        try (WatchService watches = new WatchService(ticketService, new SprintService(ticketService))) {
+            List<Long> ids = new ArrayList<>();
+            for (long sprintId = 1; sprintId <= 100; sprintId++) {
+                ids.add(watches.watch(BoardFilter.all().inSprint(sprintId), delta -> { }));
+                ids.add(watches.watch(BoardFilter.all().withAssignees(Set.of("user" + sprintId, "shared")),
+                        delta -> { }));
+            }
+            long kept = watches.watch(BoardFilter.all().withAssignees(Set.of("shared")), delta -> { });
+            assertEquals(100, watches.getStatistics().get("watchedSprints"));
+            assertEquals(101, watches.getStatistics().get("watchedAssignees"));
+
+            for (Long id : ids) {
+                assertTrue(watches.unwatch(id));
+            }
+            assertFalse(watches.unwatch(ids.get(0)));
+
+            assertEquals(0, watches.getStatistics().get("watchedSprints"));
+            assertEquals(1, watches.getStatistics().get("watchedAssignees"));
+            assertEquals(1, watches.getStatistics().get("assigneeWatchEntries"));
+            assertTrue(watches.unwatch(kept));
+            assertEquals(0, watches.getStatistics().get("watchedAssignees"));
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package org.example.storage;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BPlusTreeTest {
+    private static final long MISSING = -1;
+    // Enough entries for leaf and internal splits: a leaf holds 170 entries and an internal node 169 children.
+    private static final int KEYS = 40_000;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void splitsKeepEveryKeyReachableAndOrdered() {
+        try (BufferPool pool = new BufferPool(directory.resolve("index.db"), 16)) {
+            BPlusTree tree = new BPlusTree(pool, 0);
+            for (long key : shuffledKeys()) {
+                tree.put(key, key % 3, key * 10);
+            }
+            tree.put(7, 7 % 3, 42);
+
+            assertEquals(42, tree.get(7, 1, MISSING));
+            assertEquals(MISSING, tree.get(7, 2, MISSING));
+            for (long key = 1; key <= KEYS; key += 97) {
+                assertEquals(key == 7 ? 42 : key * 10, tree.get(key, key % 3, MISSING));
+            }
+            assertEquals(KEYS, tree.maxKey1(MISSING));
+
+            List<Long> scanned = new ArrayList<>();
+            tree.scan(100, Long.MIN_VALUE, 30_000, Long.MAX_VALUE, (key1, key2, value) -> scanned.add(key1));
+            assertEquals(29_901, scanned.size());
+            for (int i = 0; i < scanned.size(); i++) {
+                assertEquals(100 + i, scanned.get(i));
+            }
+            assertTrue((Long) pool.getStatistics().get("evictions") > 0);
+        }
+    }
+
+    @Test
+    void removesLeaveEmptyLeavesBehindWithoutLosingTheMaximum() {
+        try (BufferPool pool = new BufferPool(directory.resolve("index.db"), 16)) {
+            BPlusTree tree = new BPlusTree(pool, 1);
+            for (long key = 1; key <= KEYS; key++) {
+                tree.put(key, 0, key);
+            }
+            // Emptying the rightmost leaves forces the maximum lookup back into earlier subtrees.
+            for (long key = KEYS; key > 1_000; key--) {
+                assertTrue(tree.remove(key, 0));
+            }
+            assertFalse(tree.remove(KEYS, 0));
+            for (long key = 2; key <= 1_000; key += 2) {
+                assertTrue(tree.remove(key, 0));
+            }
+
+            assertEquals(999, tree.maxKey1(MISSING));
+            assertEquals(MISSING, tree.get(500, 0, MISSING));
+            assertEquals(501, tree.get(501, 0, MISSING));
+            int[] remaining = {0};
+            tree.scan(Long.MIN_VALUE, Long.MIN_VALUE, Long.MAX_VALUE, Long.MAX_VALUE, (key1, key2, value) -> {
+                remaining[0]++;
+                return key1 % 2 == 1;
+            });
+            assertEquals(500, remaining[0]);
+
+            tree.put(5_000, 0, 5_000);
+            assertEquals(5_000, tree.maxKey1(MISSING));
+            for (long key = 1; key <= 999; key += 2) {
+                tree.remove(key, 0);
+            }
+            tree.remove(5_000, 0);
+            assertEquals(MISSING, tree.maxKey1(MISSING));
+        }
+    }
+
+    @Test
+    void reopenedTreesSeeEverythingFlushedBeforeClose() {
+        Path file = directory.resolve("index.db");
+        try (BufferPool pool = new BufferPool(file, 16)) {
+            BPlusTree first = new BPlusTree(pool, 0);
+            BPlusTree second = new BPlusTree(pool, 4);
+            for (long key : shuffledKeys()) {
+                first.put(key, 0, key + 1);
+                if (key % 4 == 0) {
+                    second.put(-key, 0, key);
+                }
+            }
+            first.remove(1, 0);
+        }
+
+        try (BufferPool pool = new BufferPool(file, 16)) {
+            BPlusTree first = new BPlusTree(pool, 0);
+            BPlusTree second = new BPlusTree(pool, 4);
+            assertEquals(MISSING, first.get(1, 0, MISSING));
+            assertEquals(KEYS + 1, first.get(KEYS, 0, MISSING));
+            assertEquals(KEYS, first.maxKey1(MISSING));
+            assertEquals(-4, second.maxKey1(MISSING));
+            assertEquals(KEYS, second.get(-KEYS, 0, MISSING));
+            assertEquals(MISSING, new BPlusTree(pool, 2).maxKey1(MISSING));
+        }
+    }
+
+    private static List<Long> shuffledKeys() {
+        List<Long> keys = new ArrayList<>(KEYS);
+        for (long key = 1; key <= KEYS; key++) {
+            keys.add(key);
+        }
+        Collections.shuffle(keys, new Random(7));
+        return keys;
+    }
+}
@@ -0,0 +1,82 @@
+package org.example.storage;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BufferPoolTest {
+    private static final int FRAMES = 16;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void evictedDirtyPagesAreWrittenBackAndReadAgain() {
+        try (BufferPool pool = new BufferPool(directory.resolve("index.db"), FRAMES)) {
+            long[] pages = new long[FRAMES * 3];
+            for (int i = 0; i < pages.length; i++) {
+                int frame = pool.allocate();
+                pages[i] = pool.pageId(frame);
+                pool.buffer(frame).putLong(0, 1_000 + i);
+                pool.unpin(frame, true);
+            }
+            assertEquals((long) pages.length - FRAMES, pool.getStatistics().get("evictions"));
+
+            for (int i = 0; i < pages.length; i++) {
+                int frame = pool.pin(pages[i]);
+                assertEquals(1_000 + i, pool.buffer(frame).getLong(0));
+                pool.unpin(frame, false);
+            }
+            assertEquals((long) pages.length, pool.getStatistics().get("misses"));
+        }
+    }
+
+    @Test
+    void referencedPagesSurviveOneSweepOfTheClock() {
+        try (BufferPool pool = new BufferPool(directory.resolve("index.db"), FRAMES)) {
+            long[] pages = new long[FRAMES];
+            for (int i = 0; i < FRAMES; i++) {
+                int frame = pool.allocate();
+                pages[i] = pool.pageId(frame);
+                pool.unpin(frame, true);
+            }
+            // A fresh page clears every reference bit on its first sweep, then takes the first frame.
+            pool.unpin(pool.allocate(), true);
+            int hot = pool.pin(pages[1]);
+            pool.unpin(hot, false);
+            pool.unpin(pool.allocate(), true);
+
+            long misses = (Long) pool.getStatistics().get("misses");
+            pool.unpin(pool.pin(pages[1]), false);
+            assertEquals(misses, pool.getStatistics().get("misses"));
+            pool.unpin(pool.pin(pages[2]), false);
+            assertEquals(misses + 1, pool.getStatistics().get("misses"));
+        }
+    }
+
+    @Test
+    void pinnedFramesAreNeverEvicted() {
+        try (BufferPool pool = new BufferPool(directory.resolve("index.db"), FRAMES)) {
+            int[] frames = new int[FRAMES];
+            for (int i = 0; i < FRAMES; i++) {
+                frames[i] = pool.allocate();
+            }
+            assertThrows(IllegalStateException.class, pool::allocate);
+
+            pool.unpin(frames[3], true);
+            int reused = pool.allocate();
+            assertEquals(frames[3], reused);
+            pool.unpin(reused, true);
+            assertThrows(IllegalStateException.class, () -> pool.unpin(reused, false));
+            for (int i = 0; i < FRAMES; i++) {
+                if (i != 3) {
+                    pool.unpin(frames[i], true);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package org.example.storage;
+
+import org.example.model.Sprint;
+import org.example.model.SubTask;
+import org.example.model.Ticket;
+import org.example.model.TicketType;
+import org.example.service.SprintService;
+import org.example.service.SubTaskService;
+import org.example.service.TicketService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DiskStoreTest {
+    private static final int POOL_PAGES = 64;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void rewritingARecordRepeatedlyKeepsTheFileProportionalToWhatIsLive() {
+        String description = "x".repeat(64 * 1024);
+        Long ticketId;
+        Long subTaskId;
+        Long sprintId;
+        List<Long> others = new ArrayList<>();
+        try (DiskStore store = DiskStore.open(directory, POOL_PAGES)) {
+            TicketService tickets = new TicketService(store.ticketRepository());
+            SubTaskService subTasks = new SubTaskService(tickets, store.subTaskRepository());
+            SprintService sprints = new SprintService(tickets, store.sprintRepository());
+            ticketId = tickets.createTicket("Grows", "", TicketType.STORY, "judy").getId();
+            subTaskId = subTasks.createSubTask(ticketId, "Child", "", "judy").getId();
+            sprintId = sprints.createSprint("Sprint", "", LocalDateTime.now(), LocalDateTime.now().plusDays(14)).getId();
+            for (int i = 0; i < 500; i++) {
+                others.add(tickets.createTicket("Other " + i, "", TicketType.ON_CALL, "judy").getId());
+            }
+            for (int i = 0; i < 64; i++) {
+                tickets.updateTicketDetails(ticketId, "Grows " + i, description);
+                tickets.addComment(ticketId, "comment " + i);
+            }
+            tickets.deleteTicket(others.get(0));
+
+            // 128 rewrites append about 8 MiB; compaction starts once 1 MiB of that is garbage.
+            long recordBytes = (Long) store.getStatistics().get("recordBytes");
+            long garbageBytes = (Long) store.getStatistics().get("recordGarbageBytes");
+            assertTrue((Long) store.getStatistics().get("compactions") > 0);
+            assertTrue(recordBytes < 2 << 20, "record file holds " + recordBytes + " bytes");
+            assertTrue(recordBytes - garbageBytes < 3L * description.length());
+        }
+
+        try (DiskStore store = DiskStore.open(directory, POOL_PAGES)) {
+            store.compact();
+            Ticket ticket = store.ticketRepository().findById(ticketId).orElseThrow();
+            assertEquals("Grows 63", ticket.getTitle());
+            assertEquals(description, ticket.getDescription());
+            assertEquals(64, ticket.getComments().size());
+            assertEquals(List.of(subTaskId), ticket.getSubTasks().stream().map(SubTask::getId).toList());
+            assertEquals(List.of(sprintId), store.sprintRepository().findAll().stream().map(Sprint::getId).toList());
+            assertTrue(store.ticketRepository().findById(others.get(0)).isEmpty());
+            assertEquals("Other 499", store.ticketRepository().findById(others.get(499)).orElseThrow().getTitle());
+
+            int[] count = {0};
+            store.ticketRepository().forEach(t -> count[0]++);
+            assertEquals(500, count[0]);
+            assertTrue(new Ticket("Next", "", TicketType.STORY, "judy").getId() > others.get(499));
+        }
+    }
+}
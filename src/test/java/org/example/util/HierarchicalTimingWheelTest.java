@@ -0,0 +1,90 @@
+package org.example.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HierarchicalTimingWheelTest {
+    private static final long TICK = 10;
+
+    private final HierarchicalTimingWheel wheel = new HierarchicalTimingWheel(TICK, 0);
+    private final List<Long> fired = new ArrayList<>();
+
+    @Test
+    void timersOnHigherLevelsCascadeDownAndFireOnTheirTick() {
+        // Ticks past 64 and 4096 start on levels one and two and must cascade to level zero before firing.
+        long[] deadlines = {5 * TICK, 63 * TICK, 64 * TICK, 100 * TICK, 4_095 * TICK, 4_096 * TICK, 5_000 * TICK,
+                300_000 * TICK};
+        for (long deadline : deadlines) {
+            wheel.schedule(deadline, () -> fired.add(deadline));
+        }
+        assertEquals(deadlines.length, wheel.pendingTimers());
+
+        for (long deadline : deadlines) {
+            wheel.advanceTo(deadline - TICK);
+            assertFalse(fired.contains(deadline), "fired before " + deadline);
+            wheel.advanceTo(deadline);
+            assertEquals(deadline, fired.get(fired.size() - 1));
+        }
+        assertEquals(deadlines.length, fired.size());
+        assertEquals(0, wheel.pendingTimers());
+    }
+
+    @Test
+    void timersScheduledMidRotationCascadeFromAnUnalignedTick() {
+        wheel.advanceTo(37 * TICK);
+        long deadline = (37 + 4_100) * TICK;
+        wheel.schedule(deadline, () -> fired.add(deadline));
+
+        wheel.advanceTo(deadline - TICK);
+        assertTrue(fired.isEmpty());
+        wheel.advanceTo(deadline);
+        assertEquals(List.of(deadline), fired);
+    }
+
+    @Test
+    void cancelledTimersNeverFireEvenAfterCascading() {
+        HierarchicalTimingWheel.Timer near = wheel.schedule(10 * TICK, () -> fired.add(10L));
+        HierarchicalTimingWheel.Timer far = wheel.schedule(5_000 * TICK, () -> fired.add(5_000L));
+        wheel.schedule(6_000 * TICK, () -> fired.add(6_000L));
+
+        assertTrue(near.cancel());
+        assertFalse(near.cancel());
+        assertEquals(2, wheel.pendingTimers());
+
+        // Let the far timer cascade down a level before cancelling it.
+        wheel.advanceTo(4_999 * TICK);
+        assertTrue(far.cancel());
+        assertEquals(1, wheel.pendingTimers());
+
+        wheel.advanceTo(10_000 * TICK);
+        assertEquals(List.of(6_000L), fired);
+        assertEquals(0, wheel.pendingTimers());
+    }
+
+    @Test
+    void cancellingAFiredTimerReportsFalse() {
+        HierarchicalTimingWheel.Timer timer = wheel.schedule(3 * TICK, () -> fired.add(3L));
+        wheel.advanceTo(3 * TICK);
+
+        assertEquals(List.of(3L), fired);
+        assertFalse(timer.cancel());
+        assertEquals(0, wheel.pendingTimers());
+    }
+
+    @Test
+    void deadlinesInThePastFireOnTheNextTick() {
+        wheel.advanceTo(50 * TICK);
+        wheel.schedule(0, () -> fired.add(0L));
+
+        wheel.advanceTo(50 * TICK);
+        assertTrue(fired.isEmpty());
+        wheel.advanceTo(51 * TICK);
+        assertEquals(List.of(0L), fired);
+    }
+}
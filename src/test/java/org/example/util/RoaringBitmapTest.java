@@ -0,0 +1,91 @@
+package org.example.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RoaringBitmapTest {
+    private static final int ARRAY_LIMIT = 4096;
+    private static final long BITMAP_BYTES = 2 + 8192;
+
+    @Test
+    void chunkSwitchesToABitmapPastTheArrayLimitAndBack() {
+        RoaringBitmap bitmap = new RoaringBitmap();
+        for (int i = 0; i < ARRAY_LIMIT; i++) {
+            assertTrue(bitmap.add(i * 2));
+        }
+        assertEquals(2 + 2L * ARRAY_LIMIT, bitmap.getSizeInBytes());
+
+        assertTrue(bitmap.add(1));
+        assertFalse(bitmap.add(1));
+        assertEquals(ARRAY_LIMIT + 1, bitmap.cardinality());
+        assertEquals(BITMAP_BYTES, bitmap.getSizeInBytes());
+        assertTrue(bitmap.contains(1) && bitmap.contains(8190) && !bitmap.contains(3));
+
+        assertTrue(bitmap.remove(1));
+        assertFalse(bitmap.remove(1));
+        assertEquals(2 + 2L * ARRAY_LIMIT, bitmap.getSizeInBytes());
+        assertArrayEquals(IntStream.range(0, ARRAY_LIMIT).map(i -> i * 2).toArray(), bitmap.toArray());
+    }
+
+    @Test
+    void setOperationsPickTheSmallerContainerAtTheBoundary() {
+        RoaringBitmap evens = RoaringBitmap.of(IntStream.range(0, 2500).map(i -> i * 2).toArray());
+        RoaringBitmap low = RoaringBitmap.of(IntStream.range(0, 2500).toArray());
+
+        // 5000 values go in, but only 3750 distinct ones come out: still an array.
+        RoaringBitmap union = RoaringBitmap.or(evens, low);
+        assertEquals(3750, union.cardinality());
+        assertEquals(2 + 2L * 3750, union.getSizeInBytes());
+
+        RoaringBitmap dense = RoaringBitmap.of(IntStream.range(0, 10_000).toArray());
+        RoaringBitmap wide = RoaringBitmap.or(union, dense);
+        assertEquals(10_000, wide.cardinality());
+        assertEquals(BITMAP_BYTES, wide.getSizeInBytes());
+
+        RoaringBitmap and = RoaringBitmap.and(dense, RoaringBitmap.of(IntStream.range(5000, 20_000).toArray()));
+        assertEquals(5000, and.cardinality());
+        assertEquals(BITMAP_BYTES, and.getSizeInBytes());
+        RoaringBitmap narrowed = RoaringBitmap.andNot(and, RoaringBitmap.of(IntStream.range(5000, 9000).toArray()));
+        assertEquals(1000, narrowed.cardinality());
+        assertEquals(2 + 2L * 1000, narrowed.getSizeInBytes());
+        assertEquals(1000, RoaringBitmap.andCardinality(dense, narrowed));
+    }
+
+    @Test
+    void highKeysKeepUnsignedOrder() {
+        int top = 0x8000_0000;
+        RoaringBitmap bitmap = RoaringBitmap.of(-1, top, 0x7fff_ffff, 5, top + 0x1_0000);
+
+        assertArrayEquals(new int[]{5, 0x7fff_ffff, top, top + 0x1_0000, -1}, bitmap.toArray());
+        assertTrue(bitmap.contains(top) && bitmap.contains(-1));
+
+        RoaringBitmap other = RoaringBitmap.of(-1, top, 6);
+        assertArrayEquals(new int[]{top, -1}, RoaringBitmap.and(bitmap, other).toArray());
+        assertArrayEquals(new int[]{5, 6, 0x7fff_ffff, top, top + 0x1_0000, -1}, RoaringBitmap.or(bitmap, other).toArray());
+        assertArrayEquals(new int[]{5, 0x7fff_ffff, top + 0x1_0000}, RoaringBitmap.andNot(bitmap, other).toArray());
+
+        assertTrue(bitmap.remove(top + 0x1_0000));
+        assertTrue(bitmap.remove(top));
+        assertEquals(3, bitmap.cardinality());
+        assertArrayEquals(new int[]{5, 0x7fff_ffff, -1}, bitmap.toArray());
+    }
+
+    @Test
+    void copiesAreIndependent() {
+        RoaringBitmap original = RoaringBitmap.of(IntStream.range(0, 5000).toArray());
+        RoaringBitmap copy = original.copy();
+        copy.remove(0);
+        copy.add(70_000);
+
+        assertTrue(original.contains(0));
+        assertFalse(original.contains(70_000));
+        assertEquals(5000, original.cardinality());
+        assertEquals(5000, copy.cardinality());
+    }
+}